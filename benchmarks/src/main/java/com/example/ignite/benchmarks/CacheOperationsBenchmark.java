@@ -0,0 +1,161 @@
+package com.example.ignite.benchmarks;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.MutableEntry;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-key and batch cache operations against an embedded node.
+ *
+ * JMH replacement for the timing loops in Lab 3 PerformanceBenchmark and
+ * Lab 11 Lab11Benchmark. Keys are drawn at random from a pre-loaded key
+ * space and all values are built during setup, so the measured code is
+ * the cache call itself.
+ *
+ * Batch benchmarks report one operation per putAll/getAll call; multiply
+ * by batchSize to compare with the single-key numbers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CacheOperationsBenchmark extends IgniteBenchmark {
+
+    static final int KEY_COUNT = 10_000;
+
+    private static final int BATCHES_PER_THREAD = 64;
+
+    @Param({"ATOMIC", "TRANSACTIONAL"})
+    CacheAtomicityMode atomicityMode;
+
+    @Param({"100"})
+    int batchSize;
+
+    IgniteCache<Integer, String> cache;
+    IgniteCache<Integer, Long> counters;
+    String[] values;
+
+    @Override
+    protected void setUpCaches() {
+        CacheConfiguration<Integer, String> cfg = new CacheConfiguration<>("benchmarkCache");
+        cfg.setAtomicityMode(atomicityMode);
+        cache = ignite.getOrCreateCache(cfg);
+
+        CacheConfiguration<Integer, Long> countersCfg = new CacheConfiguration<>("benchmarkCounters");
+        countersCfg.setAtomicityMode(atomicityMode);
+        counters = ignite.getOrCreateCache(countersCfg);
+
+        values = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            values[i] = "Value-" + i;
+        }
+
+        try (IgniteDataStreamer<Integer, String> streamer = ignite.dataStreamer(cache.getName())) {
+            for (int i = 0; i < KEY_COUNT; i++) {
+                streamer.addData(i, values[i]);
+            }
+        }
+        try (IgniteDataStreamer<Integer, Long> streamer = ignite.dataStreamer(counters.getName())) {
+            for (int i = 0; i < KEY_COUNT; i++) {
+                streamer.addData(i, 0L);
+            }
+        }
+    }
+
+    /**
+     * Per-thread random source and pre-built batches.
+     *
+     * Batches use sorted collections so that concurrent putAll calls on a
+     * TRANSACTIONAL cache lock keys in the same order and cannot deadlock.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        SplittableRandom random;
+        Map<Integer, String>[] putBatches;
+        Set<Integer>[] getBatches;
+        int next;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp(CacheOperationsBenchmark benchmark) {
+            random = new SplittableRandom();
+            putBatches = new Map[BATCHES_PER_THREAD];
+            getBatches = new Set[BATCHES_PER_THREAD];
+
+            for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+                TreeMap<Integer, String> batch = new TreeMap<>();
+                while (batch.size() < benchmark.batchSize) {
+                    int key = random.nextInt(KEY_COUNT);
+                    batch.put(key, benchmark.values[key]);
+                }
+                putBatches[b] = batch;
+                getBatches[b] = new TreeSet<>(batch.keySet());
+            }
+        }
+
+        int nextKey() {
+            return random.nextInt(KEY_COUNT);
+        }
+
+        int nextBatch() {
+            next = (next + 1) % BATCHES_PER_THREAD;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public void put(ThreadState state) {
+        int key = state.nextKey();
+        cache.put(key, values[key]);
+    }
+
+    @Benchmark
+    public String get(ThreadState state) {
+        return cache.get(state.nextKey());
+    }
+
+    @Benchmark
+    public void putAll(ThreadState state) {
+        cache.putAll(state.putBatches[state.nextBatch()]);
+    }
+
+    @Benchmark
+    public Map<Integer, String> getAll(ThreadState state) {
+        return cache.getAll(state.getBatches[state.nextBatch()]);
+    }
+
+    @Benchmark
+    public Long invoke(ThreadState state) {
+        return counters.invoke(state.nextKey(), new IncrementProcessor());
+    }
+
+    /**
+     * Same server-side increment as the Lab 3 and Lab 8 entry processors.
+     */
+    static class IncrementProcessor implements EntryProcessor<Integer, Long, Long> {
+        @Override
+        public Long process(MutableEntry<Integer, Long> entry, Object... args) {
+            Long current = entry.getValue();
+            long updated = (current == null ? 0L : current) + 1;
+            entry.setValue(updated);
+            return updated;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ignite.benchmarks;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk loading through IgniteDataStreamer.
+ *
+ * Each invocation streams ENTRY_COUNT entries into an empty cache and
+ * closes the streamer, so the result includes the final flush. Scores
+ * are entries per second and can be compared directly with the put
+ * score of {@link CacheOperationsBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataStreamerBenchmark extends IgniteBenchmark {
+
+    static final int ENTRY_COUNT = 100_000;
+
+    @Param({"512", "1024", "4096"})
+    int perNodeBufferSize;
+
+    @Param({"8", "16"})
+    int perNodeParallelOperations;
+
+    IgniteCache<Integer, String> cache;
+    String[] values;
+
+    @Override
+    protected void setUpCaches() {
+        cache = ignite.getOrCreateCache(new CacheConfiguration<Integer, String>("streamerCache"));
+
+        values = new String[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            values[i] = "Value-" + i;
+        }
+    }
+
+    /**
+     * The streamer skips existing keys unless allowOverwrite is set, so every
+     * invocation must start from an empty cache. An invocation takes tens of
+     * milliseconds, which keeps the Level.Invocation overhead negligible.
+     */
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        cache.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public void streamEntries() {
+        try (IgniteDataStreamer<Integer, String> streamer = ignite.dataStreamer(cache.getName())) {
+            streamer.perNodeBufferSize(perNodeBufferSize);
+            streamer.perNodeParallelOperations(perNodeParallelOperations);
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                streamer.addData(i, values[i]);
+            }
+        }
+    }
+}
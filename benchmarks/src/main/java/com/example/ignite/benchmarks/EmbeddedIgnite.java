@@ -0,0 +1,55 @@
+package com.example.ignite.benchmarks;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.util.Collections;
+
+/**
+ * Starts the embedded server node used by the benchmarks.
+ *
+ * The node uses its own discovery port range so that a benchmark never
+ * joins a lab cluster that happens to be running on the same machine,
+ * and logging is switched off so JMH output stays readable.
+ */
+public final class EmbeddedIgnite {
+
+    /** First discovery port of the benchmark cluster (labs use 47500). */
+    public static final int DISCOVERY_PORT = 47600;
+
+    private EmbeddedIgnite() {
+    }
+
+    /**
+     * Start a server node with the benchmark configuration.
+     */
+    public static Ignite start(String instanceName) {
+        return Ignition.start(configuration(instanceName));
+    }
+
+    /**
+     * Build the benchmark node configuration.
+     */
+    public static IgniteConfiguration configuration(String instanceName) {
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(instanceName);
+        cfg.setGridLogger(new NullLogger());
+        cfg.setMetricsLogFrequency(0);
+        cfg.setPeerClassLoadingEnabled(false);
+
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList(
+            "127.0.0.1:" + DISCOVERY_PORT + ".." + (DISCOVERY_PORT + 9)));
+
+        TcpDiscoverySpi discoverySpi = new TcpDiscoverySpi();
+        discoverySpi.setLocalPort(DISCOVERY_PORT);
+        discoverySpi.setIpFinder(ipFinder);
+        cfg.setDiscoverySpi(discoverySpi);
+
+        return cfg;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ignite.benchmarks;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for benchmarks that run against an embedded Ignite node.
+ *
+ * Every fork starts a fresh JVM with its own server node, so JIT state,
+ * heap and page memory from one parameter combination never leak into
+ * the next. The --add-opens flags are the ones Ignite needs on Java 17+
+ * and are ignored with a warning on Java 11.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = {
+    "-Xms2g", "-Xmx2g",
+    "-DIGNITE_QUIET=true",
+    "-DIGNITE_UPDATE_NOTIFIER=false",
+    "--add-opens=java.base/jdk.internal.access=ALL-UNNAMED",
+    "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED",
+    "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+    "--add-opens=java.base/sun.util.calendar=ALL-UNNAMED",
+    "--add-opens=java.management/com.sun.jmx.mbeanserver=ALL-UNNAMED",
+    "--add-opens=jdk.internal.jvmstat/sun.jvmstat.monitor=ALL-UNNAMED",
+    "--add-opens=java.base/sun.reflect.generics.reflectiveObjects=ALL-UNNAMED",
+    "--add-opens=jdk.management/com.sun.management.internal=ALL-UNNAMED",
+    "--add-opens=java.base/java.io=ALL-UNNAMED",
+    "--add-opens=java.base/java.nio=ALL-UNNAMED",
+    "--add-opens=java.base/java.net=ALL-UNNAMED",
+    "--add-opens=java.base/java.util=ALL-UNNAMED",
+    "--add-opens=java.base/java.util.concurrent=ALL-UNNAMED",
+    "--add-opens=java.base/java.util.concurrent.locks=ALL-UNNAMED",
+    "--add-opens=java.base/java.util.concurrent.atomic=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang.invoke=ALL-UNNAMED",
+    "--add-opens=java.base/java.math=ALL-UNNAMED",
+    "--add-opens=java.sql/java.sql=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED",
+    "--add-opens=java.base/java.time=ALL-UNNAMED",
+    "--add-opens=java.base/java.text=ALL-UNNAMED",
+    "--add-opens=java.management/sun.management=ALL-UNNAMED"
+})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class IgniteBenchmark {
+
+    protected Ignite ignite;
+
+    @Setup(Level.Trial)
+    public void startNode() {
+        IgniteConfiguration cfg = EmbeddedIgnite.configuration("benchmark-node");
+        configure(cfg);
+        ignite = Ignition.start(cfg);
+        setUpCaches();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopNode() {
+        if (ignite != null) {
+            ignite.close();
+        }
+    }
+
+    /**
+     * Adjust the node configuration before the node starts, e.g. to
+     * register binary serializers. Does nothing by default.
+     */
+    protected void configure(IgniteConfiguration cfg) {
+    }
+
+    /**
+     * Create and pre-populate the caches used by the benchmark.
+     */
+    protected abstract void setUpCaches();
+}
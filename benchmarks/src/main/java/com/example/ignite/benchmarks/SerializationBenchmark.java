@@ -0,0 +1,94 @@
+package com.example.ignite.benchmarks;
+
+import com.example.ignite.benchmarks.serialization.Customer;
+import com.example.ignite.benchmarks.serialization.Order;
+import com.example.ignite.benchmarks.serialization.RawSerializers;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.marshaller.Marshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marshal and unmarshal cost of the Lab 5 model classes per format.
+ *
+ * - JAVA: ObjectOutputStream / ObjectInputStream
+ * - BINARY: Ignite's default binary format (reflection, named fields)
+ * - RAW: Ignite binary format with the raw BinarySerializers registered
+ *
+ * The payload size of each combination is printed during setup, since
+ * JMH only reports time. The binary formats use the node's own
+ * marshaller, the same code path as a cache put or get without the
+ * network and page memory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark extends IgniteBenchmark {
+
+    public enum Format { JAVA, BINARY, RAW }
+
+    @Param({"JAVA", "BINARY", "RAW"})
+    Format format;
+
+    @Param({"customer", "order"})
+    String model;
+
+    Object value;
+    byte[] bytes;
+    Marshaller marshaller;
+
+    @Override
+    protected void configure(IgniteConfiguration cfg) {
+        if (format == Format.RAW) {
+            RawSerializers.register(cfg);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    protected void setUpCaches() {
+        marshaller = ignite.configuration().getMarshaller();
+        value = "order".equals(model)
+            ? new Order(101, 1, "Laptop", 1200.00)
+            : new Customer(1, "John Doe", "john@example.com", "New York");
+
+        try {
+            bytes = marshal();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot marshal " + model, e);
+        }
+        System.out.println("\n" + format + " " + model + ": " + bytes.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] marshal() throws IOException, IgniteCheckedException {
+        if (format == Format.JAVA) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+            try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+                objects.writeObject(value);
+            }
+            return out.toByteArray();
+        }
+        return marshaller.marshal(value);
+    }
+
+    @Benchmark
+    public Object unmarshal() throws IOException, ClassNotFoundException, IgniteCheckedException {
+        if (format == Format.JAVA) {
+            try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return objects.readObject();
+            }
+        }
+        return marshaller.unmarshal(bytes, null);
+    }
+}
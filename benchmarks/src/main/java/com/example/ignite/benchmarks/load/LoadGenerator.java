@@ -0,0 +1,199 @@
+package com.example.ignite.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator.
+ *
+ * Operations are scheduled at a fixed target rate: operation n is due at
+ * start + n / rate, no matter how long earlier operations took. Worker
+ * threads claim the next due slot, wait for it, run a weighted random
+ * operation and record its latency from the scheduled start. When the
+ * grid stalls, the slots that fall due during the stall queue up and are
+ * recorded with the time they spent waiting, which is exactly what a
+ * caller arriving at that rate would have experienced.
+ *
+ * Closed-loop timing loops (Lab 3 PerformanceBenchmark, Lab 11
+ * Lab11Benchmark) instead wait for one operation before issuing the next,
+ * so they silently stop sending requests during a stall and never record
+ * the delay ("coordinated omission").
+ *
+ * Usage:
+ * <pre>
+ * LoadGenerator generator = new LoadGenerator(20_000, 32)
+ *     .addOperation("get", 70, () -&gt; cache.get(randomKey()))
+ *     .addOperation("put", 30, () -&gt; cache.put(randomKey(), "v"));
+ * generator.run(10, TimeUnit.SECONDS);             // warmup, discarded
+ * LoadReport report = generator.run(60, TimeUnit.SECONDS);
+ * report.print(System.out);
+ * </pre>
+ *
+ * The thread count only bounds how many operations can be in flight at
+ * once; it does not change the request rate. Size it so that
+ * threads &gt; rate x expected latency, otherwise the generator itself
+ * becomes the bottleneck (visible as response time growing while
+ * service time stays flat).
+ */
+public class LoadGenerator {
+
+    /** Remaining wait below which a worker spins instead of parking. */
+    private static final long SPIN_THRESHOLD_NANOS = 100_000;
+
+    /** How long to wait for operations scheduled before the end of a run. */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final double targetOpsPerSecond;
+    private final int threads;
+    private final List<String> names = new ArrayList<>();
+    private final List<LoadOperation> operations = new ArrayList<>();
+    private int[] cumulativeWeights = new int[0];
+
+    public LoadGenerator(double targetOpsPerSecond, int threads) {
+        if (targetOpsPerSecond <= 0) {
+            throw new IllegalArgumentException("Target rate must be positive: " + targetOpsPerSecond);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.targetOpsPerSecond = targetOpsPerSecond;
+        this.threads = threads;
+    }
+
+    /**
+     * Register an operation type. Each scheduled slot picks an operation
+     * with probability weight / sum(weights).
+     */
+    public LoadGenerator addOperation(String name, int weight, LoadOperation operation) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate operation name: " + name);
+        }
+        names.add(name);
+        operations.add(operation);
+
+        int[] weights = new int[cumulativeWeights.length + 1];
+        System.arraycopy(cumulativeWeights, 0, weights, 0, cumulativeWeights.length);
+        weights[weights.length - 1] = (weights.length > 1 ? weights[weights.length - 2] : 0) + weight;
+        cumulativeWeights = weights;
+        return this;
+    }
+
+    /**
+     * Run the load for the given duration and return fresh statistics.
+     * Call it once with a short duration to warm up and discard the result.
+     * An operation failing with an exception is counted as a failure; one
+     * throwing an Error stops the run, which then throws
+     * IllegalStateException rather than report an under-driven schedule.
+     */
+    public LoadReport run(long duration, TimeUnit unit) throws InterruptedException {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("No operations registered");
+        }
+
+        OperationStats[] stats = new OperationStats[operations.size()];
+        Map<String, OperationStats> byName = new LinkedHashMap<>();
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new OperationStats(names.get(i));
+            byName.put(names.get(i), stats[i]);
+        }
+
+        double periodNanos = 1_000_000_000.0 / targetOpsPerSecond;
+        // Give the workers a moment to start before the first slot is due
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long end = start + unit.toNanos(duration);
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong(start);
+        AtomicReference<Throwable> fatal = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                while (true) {
+                    long intendedStart = start + (long) (sequence.getAndIncrement() * periodNanos);
+                    if (intendedStart >= end || fatal.get() != null) {
+                        return;
+                    }
+                    waitUntil(intendedStart);
+
+                    int op = pickOperation();
+                    boolean failed = false;
+                    long actualStart = System.nanoTime();
+                    try {
+                        operations.get(op).execute();
+                    } catch (Exception e) {
+                        failed = true;
+                    } catch (Throwable e) {
+                        // This worker's slots would go unsent from now on
+                        failed = true;
+                        fatal.compareAndSet(null, e);
+                    }
+                    long completed = System.nanoTime();
+
+                    stats[op].record(intendedStart, actualStart, completed, failed);
+                    lastCompletion.accumulateAndGet(completed, Math::max);
+                }
+            });
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(unit.toSeconds(duration) + DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            System.err.println("Load generator: operations still running " + DRAIN_TIMEOUT_SECONDS +
+                " s after the end of the run, report is incomplete");
+        }
+        if (fatal.get() != null) {
+            throw new IllegalStateException("Load generator stopped: an operation threw " + fatal.get(), fatal.get());
+        }
+
+        return new LoadReport(targetOpsPerSecond, lastCompletion.get() - start, byName);
+    }
+
+    private int pickOperation() {
+        if (cumulativeWeights.length == 1) {
+            return 0;
+        }
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS / 2);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "load-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
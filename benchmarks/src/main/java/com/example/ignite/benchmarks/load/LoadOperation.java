@@ -0,0 +1,13 @@
+package com.example.ignite.benchmarks.load;
+
+/**
+ * One request issued by the {@link LoadGenerator}, e.g. a cache get or put.
+ *
+ * Implementations should pick their own key (typically from
+ * ThreadLocalRandom) and must be safe to call from many threads.
+ */
+@FunctionalInterface
+public interface LoadOperation {
+
+    void execute() throws Exception;
+}
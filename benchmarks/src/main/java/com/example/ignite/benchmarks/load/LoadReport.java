@@ -0,0 +1,111 @@
+package com.example.ignite.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of one {@link LoadGenerator} run.
+ */
+public class LoadReport {
+
+    private final double targetOpsPerSecond;
+    private final long elapsedNanos;
+    private final Map<String, OperationStats> operations;
+
+    LoadReport(double targetOpsPerSecond, long elapsedNanos, Map<String, OperationStats> operations) {
+        this.targetOpsPerSecond = targetOpsPerSecond;
+        this.elapsedNanos = elapsedNanos;
+        this.operations = Collections.unmodifiableMap(operations);
+    }
+
+    public double getTargetOpsPerSecond() {
+        return targetOpsPerSecond;
+    }
+
+    public double getAchievedOpsPerSecond() {
+        return getTotalCount() * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (OperationStats stats : operations.values()) {
+            total += stats.getCount();
+        }
+        return total;
+    }
+
+    public Collection<OperationStats> getOperations() {
+        return operations.values();
+    }
+
+    public OperationStats getOperation(String name) {
+        return operations.get(name);
+    }
+
+    /**
+     * Print throughput and p50/p99/p99.9/max per operation type.
+     */
+    public void print(PrintStream out) {
+        out.println(String.format("Target: %,.0f ops/sec   Achieved: %,.0f ops/sec   Duration: %s",
+            targetOpsPerSecond, getAchievedOpsPerSecond(), formatNanos(elapsedNanos)));
+
+        out.println("\nResponse time (from scheduled start, coordinated-omission corrected):");
+        printTable(out, true);
+
+        out.println("\nService time (from actual start, what a closed-loop benchmark reports):");
+        printTable(out, false);
+    }
+
+    /**
+     * Write one .hgrm percentile distribution per operation type, in
+     * microseconds, for the HdrHistogram plotter.
+     */
+    public void writePercentileDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (OperationStats stats : operations.values()) {
+            Path file = directory.resolve(stats.getName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                stats.getResponseTime().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void printTable(PrintStream out, boolean corrected) {
+        out.println(String.format("   %-16s %12s %8s %12s %12s %12s %12s",
+            "Operation", "Count", "Errors", "P50", "P99", "P99.9", "Max"));
+        for (OperationStats stats : operations.values()) {
+            Histogram h = corrected ? stats.getResponseTime() : stats.getServiceTime();
+            out.println(String.format("   %-16s %,12d %,8d %12s %12s %12s %12s",
+                stats.getName(),
+                stats.getCount(),
+                stats.getErrors(),
+                formatNanos(h.getValueAtPercentile(50.0)),
+                formatNanos(h.getValueAtPercentile(99.0)),
+                formatNanos(h.getValueAtPercentile(99.9)),
+                formatNanos(h.getMaxValue())));
+        }
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1000) {
+            return nanos + " ns";
+        } else if (nanos < 1_000_000) {
+            return String.format("%.2f us", nanos / 1000.0);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.2f ms", nanos / 1_000_000.0);
+        } else {
+            return String.format("%.2f s", nanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ignite.benchmarks.load;
+
+import com.example.ignite.benchmarks.EmbeddedIgnite;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-loop version of Lab11Benchmark.benchmarkConcurrentAccess.
+ *
+ * Runs the same 70% get / 30% put mix over 10,000 keys, but at a fixed
+ * request rate, and prints corrected p50/p99/p99.9/max per operation.
+ *
+ * Arguments: [opsPerSecond=10000] [seconds=30] [threads=32] [hgrmDir]
+ */
+public class OpenLoopLoadTest {
+
+    private static final int KEY_COUNT = 10_000;
+    private static final int WARMUP_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+
+        try (Ignite ignite = EmbeddedIgnite.start("load-test-node")) {
+            System.out.println("=== Open-Loop Load Test ===\n");
+
+            IgniteCache<Integer, String> cache =
+                ignite.getOrCreateCache(new CacheConfiguration<Integer, String>("loadCache"));
+
+            System.out.println("Populating cache with " + KEY_COUNT + " entries...");
+            try (IgniteDataStreamer<Integer, String> streamer = ignite.dataStreamer("loadCache")) {
+                for (int i = 0; i < KEY_COUNT; i++) {
+                    streamer.addData(i, "Value-" + i);
+                }
+            }
+
+            LoadGenerator generator = new LoadGenerator(rate, threads)
+                .addOperation("get", 70, () -> cache.get(ThreadLocalRandom.current().nextInt(KEY_COUNT)))
+                .addOperation("put", 30, () -> {
+                    int key = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+                    cache.put(key, "Updated-" + key);
+                });
+
+            System.out.println("Warming up for " + WARMUP_SECONDS + " s...");
+            generator.run(WARMUP_SECONDS, TimeUnit.SECONDS);
+
+            System.out.println("Running " + seconds + " s at " + String.format("%,.0f", rate) +
+                " ops/sec with " + threads + " threads...\n");
+            LoadReport report = generator.run(seconds, TimeUnit.SECONDS);
+            report.print(System.out);
+
+            if (args.length > 3) {
+                report.writePercentileDistributions(Paths.get(args[3]));
+                System.out.println("\nPercentile distributions written to " + args[3]);
+            }
+        }
+    }
+}
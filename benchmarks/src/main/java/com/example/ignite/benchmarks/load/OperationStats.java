@@ -0,0 +1,65 @@
+package com.example.ignite.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts for one operation type.
+ *
+ * Two histograms are kept, both in nanoseconds:
+ * - response time: completion minus the time the operation was scheduled
+ *   to start. This is what a caller arriving at the target rate actually
+ *   waits, including time queued behind a stalled grid, i.e. the
+ *   coordinated-omission-corrected latency.
+ * - service time: completion minus the time the operation really started.
+ *   This is what a closed-loop timing loop reports and it hides stalls.
+ */
+public class OperationStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedStart, long actualStart, long end, boolean failed) {
+        responseTime.recordValue(end - intendedStart);
+        serviceTime.recordValue(end - actualStart);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return responseTime.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Coordinated-omission-corrected latency histogram (nanoseconds).
+     */
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Uncorrected service time histogram (nanoseconds).
+     */
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ignite.benchmarks.serialization;
+
+import java.io.Serializable;
+
+/**
+ * Same shape as the Lab 5 Customer: a boxed id and three strings.
+ */
+public class Customer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer customerId;
+    private String name;
+    private String email;
+    private String city;
+
+    public Customer() {
+    }
+
+    public Customer(Integer customerId, String name, String email, String city) {
+        this.customerId = customerId;
+        this.name = name;
+        this.email = email;
+        this.city = city;
+    }
+
+    public Integer getCustomerId() { return customerId; }
+    public void setCustomerId(Integer customerId) { this.customerId = customerId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+}
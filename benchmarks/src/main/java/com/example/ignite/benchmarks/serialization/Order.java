@@ -0,0 +1,39 @@
+package com.example.ignite.benchmarks.serialization;
+
+import java.io.Serializable;
+
+/**
+ * Same shape as the Lab 5 Order: two boxed ids, a product name and a
+ * nullable amount.
+ */
+public class Order implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer orderId;
+    private Integer customerId;
+    private String product;
+    private Double amount;
+
+    public Order() {
+    }
+
+    public Order(Integer orderId, Integer customerId, String product, Double amount) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.product = product;
+        this.amount = amount;
+    }
+
+    public Integer getOrderId() { return orderId; }
+    public void setOrderId(Integer orderId) { this.orderId = orderId; }
+
+    public Integer getCustomerId() { return customerId; }
+    public void setCustomerId(Integer customerId) { this.customerId = customerId; }
+
+    public String getProduct() { return product; }
+    public void setProduct(String product) { this.product = product; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+}
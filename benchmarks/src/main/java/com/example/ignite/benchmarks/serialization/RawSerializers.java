@@ -0,0 +1,99 @@
+package com.example.ignite.benchmarks.serialization;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.binary.BinaryRawWriter;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+
+import java.util.Arrays;
+
+/**
+ * Raw binary serializers for the benchmark models, written the same way
+ * as the Lab 5 CustomerSerializer and OrderSerializer: a byte of null
+ * flags for the boxed fields, then the values without names.
+ */
+public final class RawSerializers {
+
+    private RawSerializers() {
+    }
+
+    /**
+     * Register both serializers in the node configuration.
+     */
+    public static void register(IgniteConfiguration cfg) {
+        BinaryTypeConfiguration customer = new BinaryTypeConfiguration(Customer.class.getName());
+        customer.setSerializer(new CustomerSerializer());
+        BinaryTypeConfiguration order = new BinaryTypeConfiguration(Order.class.getName());
+        order.setSerializer(new OrderSerializer());
+
+        cfg.setBinaryConfiguration(new BinaryConfiguration()
+            .setTypeConfigurations(Arrays.asList(customer, order)));
+    }
+
+    static class CustomerSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Customer customer = (Customer) obj;
+            BinaryRawWriter out = writer.rawWriter();
+            out.writeByte((byte) (customer.getCustomerId() != null ? 1 : 0));
+            if (customer.getCustomerId() != null) {
+                out.writeInt(customer.getCustomerId());
+            }
+            out.writeString(customer.getName());
+            out.writeString(customer.getEmail());
+            out.writeString(customer.getCity());
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Customer customer = (Customer) obj;
+            BinaryRawReader in = reader.rawReader();
+            customer.setCustomerId(in.readByte() != 0 ? in.readInt() : null);
+            customer.setName(in.readString());
+            customer.setEmail(in.readString());
+            customer.setCity(in.readString());
+        }
+    }
+
+    static class OrderSerializer implements BinarySerializer {
+        private static final int HAS_ORDER_ID = 1;
+        private static final int HAS_CUSTOMER_ID = 2;
+        private static final int HAS_AMOUNT = 4;
+
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Order order = (Order) obj;
+            BinaryRawWriter out = writer.rawWriter();
+            int flags = (order.getOrderId() != null ? HAS_ORDER_ID : 0)
+                | (order.getCustomerId() != null ? HAS_CUSTOMER_ID : 0)
+                | (order.getAmount() != null ? HAS_AMOUNT : 0);
+            out.writeByte((byte) flags);
+            if (order.getOrderId() != null) {
+                out.writeInt(order.getOrderId());
+            }
+            if (order.getCustomerId() != null) {
+                out.writeInt(order.getCustomerId());
+            }
+            if (order.getAmount() != null) {
+                out.writeDouble(order.getAmount());
+            }
+            out.writeString(order.getProduct());
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Order order = (Order) obj;
+            BinaryRawReader in = reader.rawReader();
+            byte flags = in.readByte();
+            order.setOrderId((flags & HAS_ORDER_ID) != 0 ? in.readInt() : null);
+            order.setCustomerId((flags & HAS_CUSTOMER_ID) != 0 ? in.readInt() : null);
+            order.setAmount((flags & HAS_AMOUNT) != 0 ? in.readDouble() : null);
+            order.setProduct(in.readString());
+        }
+    }
+}
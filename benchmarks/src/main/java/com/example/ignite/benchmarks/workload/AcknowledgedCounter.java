@@ -0,0 +1,56 @@
+package com.example.ignite.benchmarks.workload;
+
+/**
+ * Insert keys handed out in order and acknowledged in any order, with a
+ * watermark below which every key has been acknowledged (YCSB's
+ * AcknowledgedCounterGenerator).
+ *
+ * Reads choose keys below the watermark, so they never target a record
+ * whose insert is still in flight, and the watermark only grows.
+ * Acknowledgements are kept in a ring of WINDOW_SIZE slots: more keys
+ * than that outstanding at once is a bug in the caller.
+ */
+class AcknowledgedCounter {
+
+    private static final int WINDOW_SIZE = 1 << 20;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private final boolean[] window = new boolean[WINDOW_SIZE];
+
+    /** Next key handed out. */
+    private long next;
+
+    /** Keys below this are all acknowledged. */
+    private volatile long watermark;
+
+    /**
+     * @param start first key handed out; keys below it already exist
+     */
+    AcknowledgedCounter(long start) {
+        this.next = start;
+        this.watermark = start;
+    }
+
+    synchronized long next() {
+        if (next - watermark >= WINDOW_SIZE) {
+            throw new IllegalStateException("More than " + WINDOW_SIZE + " inserts outstanding");
+        }
+        return next++;
+    }
+
+    synchronized void acknowledge(long key) {
+        window[(int) (key & WINDOW_MASK)] = true;
+
+        long limit = watermark;
+        while (limit < next && window[(int) (limit & WINDOW_MASK)]) {
+            window[(int) (limit & WINDOW_MASK)] = false;
+            limit++;
+        }
+        watermark = limit;
+    }
+
+    /** Keys in [0, watermark) all exist. */
+    long watermark() {
+        return watermark;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ignite.benchmarks.workload;
+
+import com.example.ignite.benchmarks.load.LoadGenerator;
+import com.example.ignite.benchmarks.load.LoadOperation;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The YCSB core operations mapped onto an IgniteCache&lt;Long, byte[]&gt;.
+ *
+ * - read: get one record
+ * - update: overwrite one record with a new value
+ * - insert: add a record past the current end of the key space
+ * - scan: getAll over a run of consecutive keys (Ignite has no ordered
+ *   key range scan; a ScanQuery would visit every partition)
+ * - readmodifywrite: get a record, then put a new value for it
+ *
+ * Reads, updates, scans and read-modify-writes choose keys from the
+ * configured {@link KeyDistribution} over the records loaded so far:
+ * the loaded records plus the inserts below the acknowledged watermark,
+ * so a key whose insert is still in flight is never read.
+ */
+public class CacheWorkload {
+
+    private static final int VALUE_POOL_SIZE = 64 * 1024;
+
+    private final Ignite ignite;
+    private final WorkloadConfig config;
+    private final KeyDistribution keys;
+    private final IgniteCache<Long, byte[]> cache;
+    private final byte[] valuePool;
+
+    // Copied out of the config once; the properties are parsed on every lookup
+    private final long recordCount;
+    private final int minValueSize;
+    private final int maxValueSize;
+    private final int maxScanLength;
+
+    /** Insert keys, and the watermark below which every insert has completed. */
+    private final AcknowledgedCounter insertKeys;
+
+    public CacheWorkload(Ignite ignite, WorkloadConfig config) {
+        this.ignite = ignite;
+        this.config = config;
+        this.keys = KeyDistribution.create(config);
+        this.recordCount = config.getRecordCount();
+        this.minValueSize = config.getMinFieldLength();
+        this.maxValueSize = config.getFieldLength();
+        this.maxScanLength = config.getMaxScanLength();
+        this.insertKeys = new AcknowledgedCounter(recordCount);
+
+        if (minValueSize < 0 || minValueSize > maxValueSize) {
+            throw new IllegalArgumentException("Expected 0 <= minfieldlength <= fieldlength, got " +
+                minValueSize + " and " + maxValueSize);
+        }
+
+        CacheConfiguration<Long, byte[]> cfg = new CacheConfiguration<>(config.getCacheName());
+        cfg.setBackups(config.getCacheBackups());
+        cfg.setAtomicityMode(CacheAtomicityMode.valueOf(config.getCacheAtomicityMode()));
+        this.cache = ignite.getOrCreateCache(cfg);
+
+        this.valuePool = new byte[Math.max(VALUE_POOL_SIZE, 2 * maxValueSize)];
+        ThreadLocalRandom.current().nextBytes(valuePool);
+    }
+
+    /**
+     * Load recordcount records with a DataStreamer.
+     *
+     * @return elapsed nanoseconds
+     */
+    public long load() {
+        long start = System.nanoTime();
+        try (IgniteDataStreamer<Long, byte[]> streamer = ignite.dataStreamer(cache.getName())) {
+            streamer.allowOverwrite(true);
+            for (long key = 0; key < recordCount; key++) {
+                streamer.addData(key, newValue());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Build a load generator for one phase with the configured operation mix.
+     */
+    public LoadGenerator newGenerator(WorkloadConfig.Phase phase) {
+        LoadGenerator generator = new LoadGenerator(phase.getOpsPerSecond(), config.getThreads());
+
+        addIfEnabled(generator, "read", config.getReadProportion(), () -> cache.get(nextKey()));
+        addIfEnabled(generator, "update", config.getUpdateProportion(), () -> cache.put(nextKey(), newValue()));
+        addIfEnabled(generator, "insert", config.getInsertProportion(), () -> {
+            long key = insertKeys.next();
+            try {
+                cache.put(key, newValue());
+            } finally {
+                // A failed insert still moves the watermark on; reads of its key find nothing
+                insertKeys.acknowledge(key);
+            }
+        });
+        addIfEnabled(generator, "scan", config.getScanProportion(), () -> cache.getAll(nextScanKeys()));
+        addIfEnabled(generator, "readmodifywrite", config.getReadModifyWriteProportion(), () -> {
+            long key = nextKey();
+            cache.get(key);
+            cache.put(key, newValue());
+        });
+
+        return generator;
+    }
+
+    public IgniteCache<Long, byte[]> getCache() {
+        return cache;
+    }
+
+    private static void addIfEnabled(LoadGenerator generator, String name, double proportion,
+                                     LoadOperation operation) {
+        // LoadGenerator weights are integers; keep three decimal places of the proportion
+        int weight = (int) Math.round(proportion * 1000);
+        if (weight > 0) {
+            generator.addOperation(name, weight, operation);
+        }
+    }
+
+    private long itemCount() {
+        return insertKeys.watermark();
+    }
+
+    private long nextKey() {
+        return keys.nextKey(itemCount());
+    }
+
+    private Set<Long> nextScanKeys() {
+        long itemCount = itemCount();
+        long start = keys.nextKey(itemCount);
+        int length = 1 + ThreadLocalRandom.current().nextInt(maxScanLength);
+
+        // Consecutive keys from the chosen start, like a YCSB range scan
+        Set<Long> scanKeys = new TreeSet<>();
+        for (long key = start; key < start + length && key < itemCount; key++) {
+            scanKeys.add(key);
+        }
+        return scanKeys;
+    }
+
+    private byte[] newValue() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = minValueSize + random.nextInt(maxValueSize - minValueSize + 1);
+
+        byte[] value = new byte[size];
+        System.arraycopy(valuePool, random.nextInt(valuePool.length - size + 1), value, 0, size);
+        return value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ignite.benchmarks.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A fixed hot set receives a fixed share of the operations.
+ *
+ * With dataFraction 0.2 and opnFraction 0.8, 80% of operations go to the
+ * first 20% of the records and the rest are spread uniformly over the
+ * remaining 80%. Both sets are uniform inside, so unlike Zipfian there is
+ * no single hottest key.
+ */
+public class HotspotKeyDistribution implements KeyDistribution {
+
+    private final double dataFraction;
+    private final double opnFraction;
+
+    public HotspotKeyDistribution(double dataFraction, double opnFraction) {
+        if (dataFraction <= 0 || dataFraction >= 1) {
+            throw new IllegalArgumentException("hotspot.datafraction must be in (0, 1): " + dataFraction);
+        }
+        if (opnFraction < 0 || opnFraction > 1) {
+            throw new IllegalArgumentException("hotspot.opnfraction must be in [0, 1]: " + opnFraction);
+        }
+        this.dataFraction = dataFraction;
+        this.opnFraction = opnFraction;
+    }
+
+    @Override
+    public long nextKey(long itemCount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long hotSetSize = Math.max(1, (long) (itemCount * dataFraction));
+
+        if (hotSetSize >= itemCount || random.nextDouble() < opnFraction) {
+            return random.nextLong(hotSetSize);
+        }
+        return hotSetSize + random.nextLong(itemCount - hotSetSize);
+    }
+}
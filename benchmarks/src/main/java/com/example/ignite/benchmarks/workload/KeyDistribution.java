@@ -0,0 +1,34 @@
+package com.example.ignite.benchmarks.workload;
+
+/**
+ * Chooses which record an operation touches.
+ *
+ * Keys are record indexes in [0, itemCount). The item count is passed on
+ * every call because inserts grow the key space while the workload runs;
+ * it never shrinks, but concurrent callers may pass slightly different
+ * counts. Implementations must be thread-safe.
+ */
+public interface KeyDistribution {
+
+    long nextKey(long itemCount);
+
+    /**
+     * Create the distribution named by the requestdistribution property.
+     */
+    static KeyDistribution create(WorkloadConfig config) {
+        switch (config.getRequestDistribution()) {
+            case "uniform":
+                return new UniformKeyDistribution();
+            case "zipfian":
+                return new ZipfianKeyDistribution(config.getZipfianConstant(),
+                    config.getRecordCount() + config.getExpectedNewKeys());
+            case "hotspot":
+                return new HotspotKeyDistribution(config.getHotspotDataFraction(), config.getHotspotOpnFraction());
+            case "latest":
+                return new LatestKeyDistribution(config.getZipfianConstant());
+            default:
+                throw new IllegalArgumentException("Unknown requestdistribution: " +
+                    config.getRequestDistribution() + " (expected uniform, zipfian, hotspot or latest)");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ignite.benchmarks.workload;
+
+/**
+ * Recently inserted records are the most popular (Zipfian over recency).
+ *
+ * Models timelines and feeds: the newest record is the hottest and
+ * popularity decays with age. Only meaningful together with a non-zero
+ * insertproportion.
+ */
+public class LatestKeyDistribution implements KeyDistribution {
+
+    private final ZipfianKeyDistribution zipfian;
+
+    public LatestKeyDistribution(double theta) {
+        this.zipfian = new ZipfianKeyDistribution(theta);
+    }
+
+    @Override
+    public long nextKey(long itemCount) {
+        return itemCount - 1 - zipfian.nextRank(itemCount);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ignite.benchmarks.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every record is equally likely, as in Lab11Benchmark.benchmarkConcurrentAccess.
+ */
+public class UniformKeyDistribution implements KeyDistribution {
+
+    @Override
+    public long nextKey(long itemCount) {
+        return ThreadLocalRandom.current().nextLong(itemCount);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.ignite.benchmarks.workload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Workload definition, read from a YCSB-style properties file and
+ * command-line overrides.
+ *
+ * Command line:
+ * <pre>
+ * -P workloads/workloada.properties   load a properties file (repeatable)
+ * -p name=value                       override a single property
+ * </pre>
+ * Later sources win, so {@code -P base -P variant -p threads=64} works.
+ *
+ * Property names follow YCSB where an equivalent exists; see
+ * benchmarks/workloads/ for annotated examples.
+ */
+public class WorkloadConfig {
+
+    private final Properties props;
+
+    WorkloadConfig(Properties props) {
+        this.props = props;
+    }
+
+    /**
+     * Parse -P and -p arguments.
+     */
+    public static WorkloadConfig fromArgs(String[] args) throws IOException {
+        Properties props = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            if ("-P".equals(args[i]) && i + 1 < args.length) {
+                try (InputStream in = Files.newInputStream(Paths.get(args[++i]))) {
+                    props.load(in);
+                }
+            } else if ("-p".equals(args[i]) && i + 1 < args.length) {
+                String override = args[++i];
+                int eq = override.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Expected -p name=value, got: " + override);
+                }
+                props.setProperty(override.substring(0, eq).trim(), override.substring(eq + 1).trim());
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + args[i] +
+                    " (usage: [-P file.properties]... [-p name=value]...)");
+            }
+        }
+        WorkloadConfig config = new WorkloadConfig(props);
+        // Fail before connecting: key distributions need at least one record
+        config.getRecordCount();
+        return config;
+    }
+
+    // ==================== Data set ====================
+
+    /** Records loaded before the first phase and initial key space; at least 1. */
+    public long getRecordCount() {
+        long recordCount = getLong("recordcount", 100_000);
+        if (recordCount < 1) {
+            throw new IllegalArgumentException("recordcount must be at least 1: " + recordCount);
+        }
+        return recordCount;
+    }
+
+    /** Smallest value size in bytes. */
+    public int getMinFieldLength() {
+        return (int) getLong("minfieldlength", getFieldLength());
+    }
+
+    /** Largest value size in bytes; sizes are uniform in [min, max]. */
+    public int getFieldLength() {
+        return (int) getLong("fieldlength", 1000);
+    }
+
+    // ==================== Operation mix ====================
+
+    public double getReadProportion() {
+        return getDouble("readproportion", 0.95);
+    }
+
+    public double getUpdateProportion() {
+        return getDouble("updateproportion", 0.05);
+    }
+
+    public double getInsertProportion() {
+        return getDouble("insertproportion", 0);
+    }
+
+    public double getScanProportion() {
+        return getDouble("scanproportion", 0);
+    }
+
+    public double getReadModifyWriteProportion() {
+        return getDouble("readmodifywriteproportion", 0);
+    }
+
+    /** Scans read a uniformly chosen number of consecutive keys in [1, max]. */
+    public int getMaxScanLength() {
+        return (int) getLong("maxscanlength", 100);
+    }
+
+    /**
+     * Upper estimate of the keys inserted over all phases: twice the
+     * expected inserts, as YCSB sizes its scrambled Zipfian key space.
+     */
+    public long getExpectedNewKeys() {
+        double inserts = 0;
+        for (Phase phase : getPhases()) {
+            inserts += phase.getSeconds() * phase.getOpsPerSecond() * getInsertProportion();
+        }
+        return (long) (inserts * 2);
+    }
+
+    // ==================== Key distribution ====================
+
+    /** uniform, zipfian, hotspot or latest. */
+    public String getRequestDistribution() {
+        return props.getProperty("requestdistribution", "zipfian").trim();
+    }
+
+    public double getZipfianConstant() {
+        return getDouble("zipfian.constant", 0.99);
+    }
+
+    public double getHotspotDataFraction() {
+        return getDouble("hotspot.datafraction", 0.2);
+    }
+
+    public double getHotspotOpnFraction() {
+        return getDouble("hotspot.opnfraction", 0.8);
+    }
+
+    // ==================== Execution ====================
+
+    public int getThreads() {
+        return (int) getLong("threads", 32);
+    }
+
+    /**
+     * Phases run in order after loading. Format: name:seconds:opsPerSecond,...
+     * Default: a 10 s warmup and a 60 s run, both at 10,000 ops/sec.
+     */
+    public List<Phase> getPhases() {
+        String spec = props.getProperty("phases", "warmup:10:10000,run:60:10000");
+        List<Phase> phases = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Expected phases=name:seconds:opsPerSecond,..., got: " + part);
+            }
+            phases.add(new Phase(fields[0], Long.parseLong(fields[1]), Double.parseDouble(fields[2])));
+        }
+        return Collections.unmodifiableList(phases);
+    }
+
+    // ==================== Cluster ====================
+
+    public String getCacheName() {
+        return props.getProperty("cache.name", "usertable");
+    }
+
+    public int getCacheBackups() {
+        return (int) getLong("cache.backups", 0);
+    }
+
+    /** ATOMIC or TRANSACTIONAL. */
+    public String getCacheAtomicityMode() {
+        return props.getProperty("cache.atomicity", "ATOMIC").trim();
+    }
+
+    /**
+     * Discovery addresses of an existing cluster to join as a client,
+     * e.g. 10.0.0.1:47500..47509. Empty means start an embedded server.
+     */
+    public List<String> getClusterAddresses() {
+        String addresses = props.getProperty("cluster.addresses", "").trim();
+        return addresses.isEmpty() ? Collections.emptyList() : Arrays.asList(addresses.split("\\s*,\\s*"));
+    }
+
+    private long getLong(String name, long defaultValue) {
+        String value = props.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private double getDouble(String name, double defaultValue) {
+        String value = props.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * One timed segment of the run with its own target rate and report.
+     */
+    public static class Phase {
+        private final String name;
+        private final long seconds;
+        private final double opsPerSecond;
+
+        public Phase(String name, long seconds, double opsPerSecond) {
+            this.name = name;
+            this.seconds = seconds;
+            this.opsPerSecond = opsPerSecond;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSeconds() {
+            return seconds;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ignite.benchmarks.workload;
+
+import com.example.ignite.benchmarks.EmbeddedIgnite;
+import com.example.ignite.benchmarks.load.LoadReport;
+import com.example.ignite.benchmarks.load.OperationStats;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YCSB-style workload driver.
+ *
+ * Loads recordcount records, then runs each configured phase at its target
+ * rate with the open-loop {@link com.example.ignite.benchmarks.load.LoadGenerator}
+ * and prints throughput and corrected latency percentiles per phase.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.ignite.benchmarks.workload.WorkloadDriver \
+ *     -P workloads/workloada.properties -p threads=64 -p phases=run:120:20000
+ * </pre>
+ *
+ * Without cluster.addresses an embedded server node is started; with it the
+ * driver joins that cluster as a client node.
+ */
+public class WorkloadDriver {
+
+    public static void main(String[] args) throws Exception {
+        WorkloadConfig config = WorkloadConfig.fromArgs(args);
+
+        try (Ignite ignite = startNode(config)) {
+            System.out.println("=== Workload Driver ===\n");
+            System.out.println("Records: " + String.format("%,d", config.getRecordCount()) +
+                ", distribution: " + config.getRequestDistribution() +
+                ", value size: " + config.getMinFieldLength() + ".." + config.getFieldLength() + " bytes" +
+                ", threads: " + config.getThreads());
+            System.out.println(String.format("Mix: read %.2f, update %.2f, insert %.2f, scan %.2f, readmodifywrite %.2f",
+                config.getReadProportion(), config.getUpdateProportion(), config.getInsertProportion(),
+                config.getScanProportion(), config.getReadModifyWriteProportion()));
+
+            CacheWorkload workload = new CacheWorkload(ignite, config);
+
+            System.out.println("\n=== Phase: load ===");
+            long loadNanos = workload.load();
+            System.out.println(String.format("Loaded %,d records in %.2f s (%,.0f records/sec)",
+                config.getRecordCount(), loadNanos / 1e9,
+                config.getRecordCount() * 1e9 / Math.max(1, loadNanos)));
+
+            List<String> summary = new ArrayList<>();
+            for (WorkloadConfig.Phase phase : config.getPhases()) {
+                System.out.println("\n=== Phase: " + phase.getName() + " (" + phase.getSeconds() + " s at " +
+                    String.format("%,.0f", phase.getOpsPerSecond()) + " ops/sec) ===");
+
+                LoadReport report = workload.newGenerator(phase).run(phase.getSeconds(), TimeUnit.SECONDS);
+                report.print(System.out);
+                summary.add(summarize(phase, report));
+            }
+
+            System.out.println("\n=== Summary ===");
+            System.out.println(String.format("   %-12s %12s %12s %12s %12s",
+                "Phase", "Target/s", "Achieved/s", "Worst P99", "Errors"));
+            summary.forEach(System.out::println);
+        }
+    }
+
+    private static String summarize(WorkloadConfig.Phase phase, LoadReport report) {
+        long worstP99 = 0;
+        long errors = 0;
+        for (OperationStats stats : report.getOperations()) {
+            worstP99 = Math.max(worstP99, stats.getResponseTime().getValueAtPercentile(99.0));
+            errors += stats.getErrors();
+        }
+        return String.format("   %-12s %,12.0f %,12.0f %12s %,12d",
+            phase.getName(), phase.getOpsPerSecond(), report.getAchievedOpsPerSecond(),
+            String.format("%.2f ms", worstP99 / 1_000_000.0), errors);
+    }
+
+    private static Ignite startNode(WorkloadConfig config) {
+        if (config.getClusterAddresses().isEmpty()) {
+            return EmbeddedIgnite.start("workload-node");
+        }
+
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(config.getClusterAddresses());
+
+        TcpDiscoverySpi discoverySpi = new TcpDiscoverySpi();
+        discoverySpi.setIpFinder(ipFinder);
+
+        IgniteConfiguration cfg = EmbeddedIgnite.configuration("workload-client");
+        cfg.setClientMode(true);
+        cfg.setDiscoverySpi(discoverySpi);
+        return Ignition.start(cfg);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ignite.benchmarks.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian popularity: the i-th most popular record is chosen with
+ * probability proportional to 1 / i^theta.
+ *
+ * Uses the rejection-free method from Gray et al., "Quickly Generating
+ * Billion-Record Synthetic Databases" (also used by YCSB). The zeta
+ * constant is extended incrementally when inserts grow the key space, so
+ * only newly added items are summed. It only ever grows: a caller passing
+ * a smaller item count than another thread uses the larger constants and
+ * has its rank clamped to the count.
+ *
+ * When scrambled, popularity ranks are drawn over a fixed key space and
+ * hashed onto it, so the hottest records are not simply keys 0, 1, 2...
+ * and the same record stays hot for the whole run, however many inserts
+ * land. Keys not inserted yet are redrawn, as in YCSB; size the key space
+ * for the records expected by the end of the run.
+ */
+public class ZipfianKeyDistribution implements KeyDistribution {
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 1099511628211L;
+
+    private final double theta;
+    private final double alpha;
+    private final double zeta2;
+    /** Scrambled key space, or 0 for ranks used directly as keys. */
+    private final long keySpace;
+
+    /** Item count and constants derived from it, replaced as a unit; only grows. */
+    private volatile State state = new State(0, 0);
+
+    /** Ranks used directly as keys: key 0 is the most popular. */
+    public ZipfianKeyDistribution(double theta) {
+        this(theta, 0);
+    }
+
+    /**
+     * Ranks hashed onto [0, keySpace). Summing the zeta constant costs
+     * O(keySpace) once, here.
+     */
+    public ZipfianKeyDistribution(double theta, long keySpace) {
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("zipfian.constant must be in (0, 1): " + theta);
+        }
+        if (keySpace < 0) {
+            throw new IllegalArgumentException("keySpace must not be negative: " + keySpace);
+        }
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zeta2 = 1.0 + Math.pow(0.5, theta);
+        this.keySpace = keySpace;
+        if (keySpace > 0) {
+            stateFor(keySpace);
+        }
+    }
+
+    @Override
+    public long nextKey(long itemCount) {
+        if (keySpace == 0) {
+            return nextRank(itemCount);
+        }
+        while (true) {
+            long key = Math.floorMod(fnvHash(nextRank(keySpace)), keySpace);
+            if (key < itemCount) {
+                return key;
+            }
+        }
+    }
+
+    /**
+     * Popularity rank in [0, itemCount): 0 is the most popular item.
+     */
+    long nextRank(long itemCount) {
+        State s = stateFor(itemCount);
+
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * s.zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < zeta2) {
+            return Math.min(1, itemCount - 1);
+        }
+        long rank = (long) (s.itemCount * Math.pow(s.eta * u - s.eta + 1, alpha));
+        return Math.min(rank, itemCount - 1);
+    }
+
+    private State stateFor(long itemCount) {
+        State s = state;
+        if (s.itemCount >= itemCount) {
+            return s;
+        }
+        synchronized (this) {
+            s = state;
+            if (s.itemCount < itemCount) {
+                s = new State(itemCount, s.zetaN + zeta(s.itemCount, itemCount));
+                state = s;
+            }
+            return s;
+        }
+    }
+
+    private double zeta(long from, long to) {
+        double sum = 0;
+        for (long i = from; i < to; i++) {
+            sum += 1.0 / Math.pow(i + 1, theta);
+        }
+        return sum;
+    }
+
+    private static long fnvHash(long value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < 8; i++) {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private final class State {
+        final long itemCount;
+        final double zetaN;
+        final double eta;
+
+        State(long itemCount, double zetaN) {
+            this.itemCount = itemCount;
+            this.zetaN = zetaN;
+            this.eta = itemCount < 2 ? 0 : (1 - Math.pow(2.0 / itemCount, 1 - theta)) / (1 - zeta2 / zetaN);
+        }
+    }
+}
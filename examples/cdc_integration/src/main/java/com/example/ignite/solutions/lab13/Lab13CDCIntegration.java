@@ -101,6 +101,9 @@ public class Lab13CDCIntegration {
         discoverySpi.setIpFinder(ipFinder);
         cfg.setDiscoverySpi(discoverySpi);
 
+        // Reflection-free serializers for the model classes
+        ModelSerializers.register(cfg);
+
         return cfg;
     }
 
@@ -94,6 +94,9 @@ public class Lab13CDCStandalone {
         discoverySpi.setIpFinder(ipFinder);
         cfg.setDiscoverySpi(discoverySpi);
 
+        // Reflection-free serializers for the model classes
+        ModelSerializers.register(cfg);
+
         return cfg;
     }
 
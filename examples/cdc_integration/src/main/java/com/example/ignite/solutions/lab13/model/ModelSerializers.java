@@ -0,0 +1,180 @@
+package com.example.ignite.solutions.lab13.model;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.binary.BinaryWriter;
+import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary serializers for the CDC model classes
+ *
+ * The entities are queried with SQL, so every field keeps its name (no
+ * raw mode). The serializers skip reflection and write the audit
+ * timestamps (createdAt, updatedAt) as binary timestamps; by default an
+ * Instant is not a binary type and is written with the optimized
+ * marshaller, which costs several times as many bytes. SQL fields keep
+ * the default encoding so queries and indexes see the same values.
+ *
+ * All nodes and thick clients must register the same serializers, and a
+ * persistent cluster that already stored these types with the default
+ * layout keeps that metadata: clear it or use new type names before
+ * switching.
+ */
+public final class ModelSerializers {
+
+    private ModelSerializers() {
+    }
+
+    public static List<BinaryTypeConfiguration> typeConfigurations() {
+        return Arrays.asList(
+            type(Customer.class, new CustomerSerializer()),
+            type(Product.class, new ProductSerializer()),
+            type(Order.class, new OrderSerializer()),
+            type(OrderItem.class, new OrderItemSerializer()));
+    }
+
+    /** Add the model serializers to the node configuration. */
+    public static IgniteConfiguration register(IgniteConfiguration cfg) {
+        BinaryConfiguration binaryCfg = cfg.getBinaryConfiguration();
+        if (binaryCfg == null) {
+            binaryCfg = new BinaryConfiguration();
+            cfg.setBinaryConfiguration(binaryCfg);
+        }
+        List<BinaryTypeConfiguration> types = new ArrayList<>();
+        if (binaryCfg.getTypeConfigurations() != null) {
+            types.addAll(binaryCfg.getTypeConfigurations());
+        }
+        types.addAll(typeConfigurations());
+        binaryCfg.setTypeConfigurations(types);
+        return cfg;
+    }
+
+    private static BinaryTypeConfiguration type(Class<?> cls, BinarySerializer serializer) {
+        BinaryTypeConfiguration typeCfg = new BinaryTypeConfiguration(cls.getName());
+        typeCfg.setSerializer(serializer);
+        return typeCfg;
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    static class CustomerSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Customer customer = (Customer) obj;
+            writer.writeObject("id", customer.getId());
+            writer.writeString("firstName", customer.getFirstName());
+            writer.writeString("lastName", customer.getLastName());
+            writer.writeString("email", customer.getEmail());
+            writer.writeString("city", customer.getCity());
+            writer.writeTimestamp("createdAt", toTimestamp(customer.getCreatedAt()));
+            writer.writeTimestamp("updatedAt", toTimestamp(customer.getUpdatedAt()));
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Customer customer = (Customer) obj;
+            customer.setId(reader.readObject("id"));
+            customer.setFirstName(reader.readString("firstName"));
+            customer.setLastName(reader.readString("lastName"));
+            customer.setEmail(reader.readString("email"));
+            customer.setCity(reader.readString("city"));
+            customer.setCreatedAt(toInstant(reader.readTimestamp("createdAt")));
+            customer.setUpdatedAt(toInstant(reader.readTimestamp("updatedAt")));
+        }
+    }
+
+    static class ProductSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Product product = (Product) obj;
+            writer.writeObject("id", product.getId());
+            writer.writeString("name", product.getName());
+            writer.writeString("description", product.getDescription());
+            writer.writeObject("price", product.getPrice());
+            writer.writeObject("quantity", product.getQuantity());
+            writer.writeString("category", product.getCategory());
+            writer.writeTimestamp("createdAt", toTimestamp(product.getCreatedAt()));
+            writer.writeTimestamp("updatedAt", toTimestamp(product.getUpdatedAt()));
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Product product = (Product) obj;
+            product.setId(reader.readObject("id"));
+            product.setName(reader.readString("name"));
+            product.setDescription(reader.readString("description"));
+            product.setPrice(reader.readObject("price"));
+            product.setQuantity(reader.readObject("quantity"));
+            product.setCategory(reader.readString("category"));
+            product.setCreatedAt(toInstant(reader.readTimestamp("createdAt")));
+            product.setUpdatedAt(toInstant(reader.readTimestamp("updatedAt")));
+        }
+    }
+
+    static class OrderSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Order order = (Order) obj;
+            writer.writeObject("id", order.getId());
+            writer.writeObject("customerId", order.getCustomerId());
+            writer.writeObject("orderDate", order.getOrderDate());
+            writer.writeString("status", order.getStatus());
+            writer.writeObject("totalAmount", order.getTotalAmount());
+            writer.writeString("shippingAddress", order.getShippingAddress());
+            writer.writeTimestamp("createdAt", toTimestamp(order.getCreatedAt()));
+            writer.writeTimestamp("updatedAt", toTimestamp(order.getUpdatedAt()));
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Order order = (Order) obj;
+            order.setId(reader.readObject("id"));
+            order.setCustomerId(reader.readObject("customerId"));
+            order.setOrderDate(reader.readObject("orderDate"));
+            order.setStatus(reader.readString("status"));
+            order.setTotalAmount(reader.readObject("totalAmount"));
+            order.setShippingAddress(reader.readString("shippingAddress"));
+            order.setCreatedAt(toInstant(reader.readTimestamp("createdAt")));
+            order.setUpdatedAt(toInstant(reader.readTimestamp("updatedAt")));
+        }
+    }
+
+    static class OrderItemSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            OrderItem item = (OrderItem) obj;
+            writer.writeObject("id", item.getId());
+            writer.writeObject("orderId", item.getOrderId());
+            writer.writeObject("productId", item.getProductId());
+            writer.writeObject("quantity", item.getQuantity());
+            writer.writeObject("unitPrice", item.getUnitPrice());
+            writer.writeTimestamp("createdAt", toTimestamp(item.getCreatedAt()));
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            OrderItem item = (OrderItem) obj;
+            item.setId(reader.readObject("id"));
+            item.setOrderId(reader.readObject("orderId"));
+            item.setProductId(reader.readObject("productId"));
+            item.setQuantity(reader.readObject("quantity"));
+            item.setUnitPrice(reader.readObject("unitPrice"));
+            item.setCreatedAt(toInstant(reader.readTimestamp("createdAt")));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.ignite;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.NearCacheConfiguration;
 import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
@@ -10,6 +11,9 @@ import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
 import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 /**
@@ -19,6 +23,10 @@ import java.util.Arrays;
  * Near cache stores frequently accessed data locally on the client,
  * reducing network round-trips for repeated reads.
  *
+ * On startup the client preloads the keys its near cache held when it
+ * last stopped (NearCacheWarmer), so a restart does not begin with an
+ * empty near cache. Run it twice to see the warm start.
+ *
  * Start NearCacheServer first, then run this client.
  *
  * Usage:
@@ -36,6 +44,7 @@ public class NearCacheClient {
         // Start two clients to compare: one with near cache, one without
         Ignite clientWithNear = startClient("near-cache-client");
         Ignite clientWithoutNear = startClient("regular-client");
+        NearCacheWarmer<Integer, String> warmer = null;
 
         try {
             System.out.println("\n=== Near Cache Client Demo ===\n");
@@ -59,6 +68,22 @@ public class NearCacheClient {
                 return;
             }
 
+            // Preload the keys recorded by the previous run before serving reads
+            System.out.println("\n=== Warm Start ===\n");
+            Path hotKeys = Paths.get(System.getProperty("java.io.tmpdir"), "near-cache-client-hot-keys.bin");
+            warmer = new NearCacheWarmer<>(nearCache, hotKeys, NearCacheWarmer.intKeys());
+            int warmed = warmer.warmUp();
+            if (warmed > 0) {
+                System.out.println("Preloaded " + warmed + " keys from " + hotKeys + " in " +
+                    warmer.getWarmUpMillis() + " ms");
+            } else {
+                System.out.println("No hot-key snapshot at " + hotKeys + ", starting cold");
+                System.out.println("(run the client again to see a warm start)");
+            }
+            System.out.println("Near cache entries: " + nearCache.localSize(CachePeekMode.NEAR));
+            warmer.startRecording(10_000);
+            System.out.println("Client ready; recording hot keys every 10 seconds");
+
             // Warm up both caches
             nearCache.get(1);
             remoteCache.get(1);
@@ -126,6 +151,14 @@ public class NearCacheClient {
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
+            if (warmer != null) {
+                try {
+                    warmer.close();
+                    System.out.println("Saved " + warmer.getLastSnapshotKeys() + " hot keys for the next start");
+                } catch (IOException e) {
+                    System.err.println("Could not save hot keys: " + e.getMessage());
+                }
+            }
             clientWithoutNear.close();
             clientWithNear.close();
         }
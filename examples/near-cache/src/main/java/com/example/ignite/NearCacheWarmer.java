@@ -0,0 +1,334 @@
+package com.example.ignite;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+
+import javax.cache.Cache;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near Cache Warmer
+ *
+ * A client that restarts comes back with an empty near cache, so its
+ * first minutes of reads all go to the servers. NearCacheWarmer keeps a
+ * list of the keys the near cache holds in a small file on local disk
+ * and reads them back in before the client starts serving:
+ *
+ *   NearCacheWarmer&lt;Integer, String&gt; warmer =
+ *       new NearCacheWarmer&lt;&gt;(nearCache, file, NearCacheWarmer.intKeys());
+ *   warmer.warmUp();                // preload the last snapshot
+ *   warmer.startRecording(30_000);  // snapshot every 30 seconds
+ *   ...
+ *   warmer.close();                 // final snapshot on shutdown
+ *
+ * The near cache's own eviction policy decides which keys are hot: a
+ * snapshot is the keys it holds at that moment (up to maxKeys), so
+ * recording adds nothing to the read path.
+ *
+ * The file is a header (magic, key count) followed by the encoded keys.
+ * It is written through a memory-mapped buffer into a temporary file
+ * that then replaces the old snapshot, so a crash during a write leaves
+ * the previous snapshot intact. A file that is missing or not a valid
+ * snapshot is ignored and the client starts cold.
+ *
+ * warmUp() reads the keys in getAll batches of batchSize, with at most
+ * parallelism batches in flight. A failed batch is counted and skipped:
+ * a warm start is only an optimization.
+ */
+public class NearCacheWarmer<K, V> implements AutoCloseable {
+
+    private static final int MAGIC = 0x484b5331; // "HKS1"
+    private static final int HEADER_BYTES = 8;
+
+    private final IgniteCache<K, V> nearCache;
+    private final Path file;
+    private final KeyCodec<K> codec;
+
+    private int maxKeys = 10_000;
+    private int batchSize = 500;
+    private int parallelism = 4;
+
+    private ScheduledExecutorService recorder;
+
+    private final AtomicLong snapshots = new AtomicLong();
+    private volatile int lastSnapshotKeys;
+    private volatile int warmedKeys;
+    private volatile int failedBatches;
+    private volatile long warmUpMillis;
+
+    public NearCacheWarmer(IgniteCache<K, V> nearCache, Path file, KeyCodec<K> codec) {
+        this.nearCache = nearCache;
+        this.file = file;
+        this.codec = codec;
+    }
+
+    /** Most keys in one snapshot. Default 10,000. */
+    public NearCacheWarmer<K, V> maxKeys(int maxKeys) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be at least 1: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        return this;
+    }
+
+    /** Keys per getAll during warm-up. Default 500. */
+    public NearCacheWarmer<K, V> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /** getAll batches in flight during warm-up. Default 4. */
+    public NearCacheWarmer<K, V> parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Load the keys of the last snapshot into the near cache. Blocks until
+     * every batch has completed; returns the number of keys found.
+     */
+    public int warmUp() throws InterruptedException {
+        long start = System.nanoTime();
+        List<K> keys = readSnapshot();
+
+        Semaphore inFlight = new Semaphore(parallelism);
+        AtomicLong found = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            Set<K> batch = new HashSet<>(keys.subList(from, Math.min(keys.size(), from + batchSize)));
+            inFlight.acquire();
+            try {
+                nearCache.getAllAsync(batch).listen(future -> {
+                    try {
+                        found.addAndGet(future.get().size());
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                inFlight.release();
+            }
+        }
+        inFlight.acquire(parallelism);
+        inFlight.release(parallelism);
+
+        warmedKeys = (int) found.get();
+        failedBatches = (int) failed.get();
+        warmUpMillis = (System.nanoTime() - start) / 1_000_000;
+        return warmedKeys;
+    }
+
+    /** Write the keys the near cache holds now; returns how many were written. */
+    public synchronized int snapshot() throws IOException {
+        List<K> keys = new ArrayList<>();
+        int bytes = HEADER_BYTES;
+        for (Cache.Entry<K, V> entry : nearCache.localEntries(CachePeekMode.NEAR)) {
+            keys.add(entry.getKey());
+            bytes += codec.size(entry.getKey());
+            if (keys.size() == maxKeys) {
+                break;
+            }
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.putInt(MAGIC);
+            buffer.putInt(keys.size());
+            for (K key : keys) {
+                codec.write(buffer, key);
+            }
+            buffer.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        snapshots.incrementAndGet();
+        lastSnapshotKeys = keys.size();
+        return keys.size();
+    }
+
+    /** Take a snapshot every periodMillis in a background thread. */
+    public synchronized NearCacheWarmer<K, V> startRecording(long periodMillis) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("periodMillis must be at least 1: " + periodMillis);
+        }
+        if (recorder != null) {
+            throw new IllegalStateException("Already recording to " + file);
+        }
+        recorder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "near-cache-warmer-" + nearCache.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        recorder.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Hot-key snapshot failed: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /** Stop recording and write a final snapshot. Call before the client node stops. */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (recorder != null) {
+                recorder.shutdownNow();
+                recorder = null;
+            }
+        }
+        snapshot();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getSnapshots() {
+        return snapshots.get();
+    }
+
+    public int getLastSnapshotKeys() {
+        return lastSnapshotKeys;
+    }
+
+    /** Keys found on the cluster by the last warm-up. */
+    public int getWarmedKeys() {
+        return warmedKeys;
+    }
+
+    public int getFailedBatches() {
+        return failedBatches;
+    }
+
+    public long getWarmUpMillis() {
+        return warmUpMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("warmed %,d keys in %,d ms (%d failed batches), %,d snapshots, last %,d keys, file %s",
+            warmedKeys, warmUpMillis, failedBatches, snapshots.get(), lastSnapshotKeys, file);
+    }
+
+    /** Keys of the snapshot file; empty if there is none or it is not valid. */
+    private List<K> readSnapshot() {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return Collections.emptyList();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int count = buffer.getInt(4);
+            if (buffer.getInt(0) != MAGIC || count < 0) {
+                return Collections.emptyList();
+            }
+            buffer.position(HEADER_BYTES);
+            List<K> keys = new ArrayList<>(Math.min(count, maxKeys));
+            for (int i = 0; i < count && keys.size() < maxKeys; i++) {
+                keys.add(codec.read(buffer));
+            }
+            return keys;
+        } catch (IOException | RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /** Codec for Integer keys: 4 bytes each. */
+    public static KeyCodec<Integer> intKeys() {
+        return new KeyCodec<Integer>() {
+            public int size(Integer key) {
+                return 4;
+            }
+
+            public void write(ByteBuffer buffer, Integer key) {
+                buffer.putInt(key);
+            }
+
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /** Codec for Long keys: 8 bytes each. */
+    public static KeyCodec<Long> longKeys() {
+        return new KeyCodec<Long>() {
+            public int size(Long key) {
+                return 8;
+            }
+
+            public void write(ByteBuffer buffer, Long key) {
+                buffer.putLong(key);
+            }
+
+            public Long read(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+    }
+
+    /** Codec for String keys: 4-byte length and UTF-8 bytes. */
+    public static KeyCodec<String> stringKeys() {
+        return new KeyCodec<String>() {
+            public int size(String key) {
+                return 4 + key.getBytes(StandardCharsets.UTF_8).length;
+            }
+
+            public void write(ByteBuffer buffer, String key) {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+
+            public String read(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /** How keys are stored in the snapshot file. */
+    public interface KeyCodec<K> {
+        int size(K key);
+
+        void write(ByteBuffer buffer, K key);
+
+        K read(ByteBuffer buffer);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ignite.solutions.common;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * How the load generators run their callers: a fixed pool of platform
+ * threads, or one virtual thread per task.
+ *
+ * Chosen with -Dthread.mode=platform|virtual (default platform).
+ * Virtual threads need a build with the java21 profile on JDK 21 or later;
+ * on other builds current() falls back to platform threads with a warning
+ * instead of failing once a run is under way.
+ *
+ * Shared by labs 04, 10 and 11: their poms add common/src/main/java and
+ * the java11 or java21 VirtualThreads next to it as source roots.
+ */
+public enum ThreadMode {
+
+    PLATFORM,
+    VIRTUAL;
+
+    public static final String PROPERTY = "thread.mode";
+
+    private static final AtomicBoolean FALLBACK_WARNED = new AtomicBoolean();
+
+    /**
+     * The mode selected by the thread.mode system property, or PLATFORM
+     * if it selects VIRTUAL and this build has no virtual threads.
+     */
+    public static ThreadMode current() {
+        ThreadMode mode = parse(System.getProperty(PROPERTY, "platform"));
+        if (!mode.isSupported()) {
+            if (FALLBACK_WARNED.compareAndSet(false, true)) {
+                System.err.println("WARNING: -D" + PROPERTY + "=virtual needs a build on JDK 21 with the " +
+                    "java21 profile; using platform threads");
+            }
+            return PLATFORM;
+        }
+        return mode;
+    }
+
+    public static ThreadMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + PROPERTY + " '" + value +
+                "', expected platform or virtual");
+        }
+    }
+
+    /** False for VIRTUAL when the build has no virtual thread support. */
+    public boolean isSupported() {
+        return this == PLATFORM || VirtualThreads.isAvailable();
+    }
+
+    /**
+     * Executor for the given number of concurrent callers. Platform mode
+     * uses a fixed pool of that size; virtual mode starts a virtual thread
+     * per task and ignores the size.
+     */
+    public ExecutorService newExecutor(int threads) {
+        if (this == VIRTUAL) {
+            return VirtualThreads.newExecutor();
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+}
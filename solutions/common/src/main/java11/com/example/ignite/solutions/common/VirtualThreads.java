@@ -0,0 +1,22 @@
+package com.example.ignite.solutions.common;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Java 11 build: virtual threads are not available. The java21 profile
+ * replaces this class with one that creates them.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean isAvailable() {
+        return false;
+    }
+
+    static ExecutorService newExecutor() {
+        throw new UnsupportedOperationException(
+            "Virtual threads need JDK 21: rebuild on JDK 21 so the java21 profile is active");
+    }
+}
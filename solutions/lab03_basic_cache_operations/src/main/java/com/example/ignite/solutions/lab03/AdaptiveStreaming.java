@@ -0,0 +1,84 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.streaming.AdaptiveDataStreamer;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lab 3 Optional: Self-Tuning DataStreamer
+ *
+ * DataStreamer uses fixed perNodeBufferSize and perNodeParallelOperations
+ * values. This exercise loads 1 KB and 64 KB values through
+ * AdaptiveDataStreamer, which measures each setting for a short epoch and
+ * hill-climbs toward the fastest one, then prints the settings it chose
+ * for each entry size.
+ */
+public class AdaptiveStreaming {
+
+    private static final long LOAD_SECONDS = 15;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Adaptive DataStreamer Lab ===\n");
+
+            CacheConfiguration<Long, byte[]> cfg =
+                new CacheConfiguration<>("adaptiveStreamCache");
+            IgniteCache<Long, byte[]> cache = ignite.getOrCreateCache(cfg);
+
+            // 1. Small entries: larger buffers amortise the per-batch cost
+            System.out.println("1. Streaming 1 KB values for " + LOAD_SECONDS + " seconds:\n");
+            load(ignite, cache, 1024, 100_000);
+
+            cache.clear();
+
+            // 2. Large entries: a 64 KB value makes every buffered entry count
+            System.out.println("\n2. Streaming 64 KB values for " + LOAD_SECONDS + " seconds:\n");
+            load(ignite, cache, 64 * 1024, 2_000);
+
+            System.out.println("\n=== Tuning Guidelines ===");
+            System.out.println("- Optimal settings depend on entry size, node count and network");
+            System.out.println("- Think of perNodeBufferSize in bytes: entries x entry size");
+            System.out.println("- Tune on a representative sample, then fix the values for production loads");
+            System.out.println("- Use maxAckLatencyMillis to stop the search trading latency for throughput");
+            System.out.println("- maxBufferBytes (default 32 MB) keeps large values from growing buffers to gigabytes");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stream values of the given size for LOAD_SECONDS, cycling over
+     * keyCount keys so the cache stays within the default data region.
+     */
+    private static void load(Ignite ignite, IgniteCache<Long, byte[]> cache, int valueSize, long keyCount) {
+        byte[] value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+
+        AdaptiveDataStreamer<Long, byte[]> streamer =
+            new AdaptiveDataStreamer<Long, byte[]>(ignite, cache.getName())
+                .epochMillis(500)
+                .allowOverwrite(true);
+
+        long deadline = System.nanoTime() + LOAD_SECONDS * 1_000_000_000L;
+        long key = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                streamer.addData(key++ % keyCount, value);
+            }
+        } finally {
+            streamer.close();
+        }
+
+        streamer.printReport(System.out);
+        System.out.println(String.format("   Ingest rate at chosen settings: %.1f MB/sec",
+            streamer.getBestRate() * valueSize / (1024 * 1024)));
+    }
+}
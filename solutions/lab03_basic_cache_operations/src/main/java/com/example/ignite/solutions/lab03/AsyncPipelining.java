@@ -0,0 +1,143 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.async.AsyncPipeline;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteFuture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lab 3 Optional: Bounded Async Pipelining
+ *
+ * AsyncOperations starts every putAsync at once, keeps all the futures
+ * in a list and then waits on them one by one. This exercise measures
+ * that approach against AsyncPipeline with different in-flight windows,
+ * reporting throughput and per-operation latency for each, and then
+ * shows timeouts and completion callbacks.
+ */
+public class AsyncPipelining {
+
+    private static final int OPERATIONS = 100_000;
+    private static final int[] WINDOWS = {1, 4, 16, 64, 256, 1024};
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Async Pipelining Lab ===\n");
+
+            CacheConfiguration<Integer, String> cfg =
+                new CacheConfiguration<>("pipelineCache");
+            IgniteCache<Integer, String> cache = ignite.getOrCreateCache(cfg);
+
+            // Warm up the JIT and the cache
+            runWindow(cache, 64, false);
+            cache.clear();
+
+            // 1. Unbounded: one future per operation held until the end
+            System.out.println("1. Unbounded (collect all futures, then wait):\n");
+            long startTime = System.nanoTime();
+            List<IgniteFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS; i++) {
+                futures.add(cache.putAsync(i, "Value-" + i));
+            }
+            for (IgniteFuture<Void> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - startTime;
+            System.out.println(String.format("   %,d puts in %d ms (%,.0f ops/sec), %,d futures held at peak",
+                OPERATIONS, elapsed / 1_000_000, OPERATIONS * 1e9 / elapsed, futures.size()));
+
+            // 2. Window sizes
+            System.out.println("\n2. AsyncPipeline window sizes:\n");
+            System.out.println(String.format("   %8s %12s %10s %10s %10s %12s",
+                "Window", "Ops/sec", "P50", "P99", "Max", "Blocked"));
+            for (int window : WINDOWS) {
+                cache.clear();
+                runWindow(cache, window, true);
+            }
+
+            // 3. Timeouts and callbacks
+            System.out.println("\n3. Per-operation timeout and callback:\n");
+            try (AsyncPipeline pipeline = new AsyncPipeline(16).defaultTimeout(5, TimeUnit.SECONDS)) {
+                pipeline.submit(() -> cache.getAsync(42),
+                    (value, error) -> System.out.println("   Callback: key 42 = " + value));
+
+                // Any IgniteFuture can go through the pipeline, here a slow compute call
+                pipeline.submit(() -> ignite.compute().callAsync(() -> {
+                    Thread.sleep(500);
+                    return "slow";
+                }), 100, TimeUnit.MILLISECONDS)
+                    .whenComplete((v, error) -> System.out.println("   Slow call with 100 ms timeout: " +
+                        (error != null ? error.getClass().getSimpleName() : v)));
+
+                Thread.sleep(200);
+                System.out.println("   In flight after the timeout: " + pipeline.getInFlight() +
+                    " (the call still holds its slot)");
+
+                pipeline.awaitAll();
+                System.out.println("   Completed: " + pipeline.getCompleted() + ", timed out: " +
+                    pipeline.getTimedOut());
+            }
+
+            System.out.println("\n=== Async Pipelining Guidelines ===");
+            System.out.println("- Throughput stops improving once the window covers the round trip");
+            System.out.println("- Beyond that, a larger window only adds queueing latency");
+            System.out.println("- A bounded window keeps memory flat and protects the servers");
+            System.out.println("- Keep callbacks short; they run on Ignite threads");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void runWindow(IgniteCache<Integer, String> cache, int window, boolean print) {
+        long[] latencies = new long[OPERATIONS];
+        AtomicInteger failures = new AtomicInteger();
+
+        long startTime = System.nanoTime();
+        AsyncPipeline pipeline = new AsyncPipeline(window);
+        try {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int key = i;
+                long opStart = System.nanoTime();
+                pipeline.submit(() -> cache.putAsync(key, "Value-" + key), (v, error) -> {
+                    latencies[key] = System.nanoTime() - opStart;
+                    if (error != null) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            pipeline.close();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        if (!print) {
+            return;
+        }
+
+        Arrays.sort(latencies);
+        System.out.println(String.format("   %8d %,12.0f %10s %10s %10s %9d ms%s",
+            window, OPERATIONS * 1e9 / elapsed,
+            formatNanos(latencies[OPERATIONS / 2]),
+            formatNanos(latencies[(int) (OPERATIONS * 0.99)]),
+            formatNanos(latencies[OPERATIONS - 1]),
+            pipeline.getBlockedNanos() / 1_000_000,
+            failures.get() > 0 ? " (" + failures.get() + " failed)" : ""));
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f us", nanos / 1_000.0);
+        }
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.batching.AutoBatchingCache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Lab 3 Optional: Automatic Batching of Single-Key Calls
+ *
+ * BatchOperations shows that putAll/getAll beat individual calls, but
+ * application code usually issues one put or get per request. This
+ * exercise runs the same multi-threaded single-key workload directly
+ * against the cache and through AutoBatchingCache, which coalesces the
+ * concurrent calls into per-node putAll/getAll batches.
+ */
+public class AutoBatching {
+
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 2_000;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long MAX_LINGER_MICROS = 200;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Auto-Batching Lab ===\n");
+
+            CacheConfiguration<Integer, String> cfg =
+                new CacheConfiguration<>("autoBatchCache");
+            IgniteCache<Integer, String> cache = ignite.getOrCreateCache(cfg);
+
+            int totalOps = THREADS * OPS_PER_THREAD;
+
+            // 1. Direct single-key calls
+            System.out.println("1. Direct single-key calls (" + THREADS + " threads):\n");
+
+            long directPut = runConcurrently(i -> cache.put(i, "Value-" + i));
+            long directGet = runConcurrently(cache::get);
+            printResult("put", totalOps, directPut);
+            printResult("get", totalOps, directGet);
+
+            cache.clear();
+
+            // 2. Same calls through the auto-batching facade
+            System.out.println("\n2. Through AutoBatchingCache (max batch " + MAX_BATCH_SIZE +
+                ", linger " + MAX_LINGER_MICROS + " us):\n");
+
+            try (AutoBatchingCache<Integer, String> batching =
+                     new AutoBatchingCache<>(ignite, cache, MAX_BATCH_SIZE, MAX_LINGER_MICROS)) {
+
+                long batchedPut = runConcurrently(i -> batching.put(i, "Value-" + i));
+                long batchedGet = runConcurrently(batching::get);
+                printResult("put", totalOps, batchedPut);
+                printResult("get", totalOps, batchedGet);
+
+                System.out.println("\n   Single-key calls: " + batching.getOperationCount());
+                System.out.println("   Batches sent:     " + batching.getBatchCount());
+                System.out.println("   Avg batch size:   " +
+                    String.format("%.1f", batching.getAverageBatchSize()));
+
+                System.out.println("\n3. Speedup:\n");
+                System.out.println("   put: " + String.format("%.2fx", (double) directPut / Math.max(1, batchedPut)));
+                System.out.println("   get: " + String.format("%.2fx", (double) directGet / Math.max(1, batchedGet)));
+
+                // 4. Async usage
+                System.out.println("\n4. Async usage with CompletableFuture:\n");
+                batching.putAsync(42, "answer")
+                    .thenCompose(v -> batching.getAsync(42))
+                    .thenAccept(v -> System.out.println("   Read back: " + v))
+                    .join();
+            }
+
+            System.out.println("\n=== Auto-Batching Guidelines ===");
+            System.out.println("- Pays off when many threads issue small calls concurrently");
+            System.out.println("- Linger adds at most maxLinger to each call's latency");
+            System.out.println("- A single thread gains nothing: each call waits for its own batch");
+            System.out.println("- Keep batch size in the 100-1000 range, as with putAll");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Run OPS_PER_THREAD operations on each of THREADS threads, each thread
+     * working on its own key range. Returns elapsed milliseconds.
+     */
+    private static long runConcurrently(IntConsumer operation) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startTime = System.currentTimeMillis();
+
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * OPS_PER_THREAD;
+            executor.submit(() -> {
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    operation.accept(base + i);
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        return System.currentTimeMillis() - startTime;
+    }
+
+    private static void printResult(String operation, int totalOps, long millis) {
+        System.out.println("   " + operation + ": " + totalOps + " operations in " + millis + " ms (" +
+            (totalOps * 1000L / Math.max(1, millis)) + " ops/sec)");
+    }
+}
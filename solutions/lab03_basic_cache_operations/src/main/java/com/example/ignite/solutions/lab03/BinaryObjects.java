@@ -5,12 +5,20 @@ import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.binary.BinaryObjectBuilder;
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.binary.BinaryWriter;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.BinaryConfiguration;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
 
 import javax.cache.Cache;
 import java.io.Serializable;
+import java.util.Collections;
 
 /**
  * Lab 3 Optional: Working with Binary Objects
@@ -21,7 +29,7 @@ import java.io.Serializable;
 public class BinaryObjects {
 
     public static void main(String[] args) {
-        try (Ignite ignite = Ignition.start()) {
+        try (Ignite ignite = Ignition.start(configuration())) {
             System.out.println("=== Binary Objects and Keep Binary Lab ===\n");
 
             CacheConfiguration<Integer, Person> cfg =
@@ -139,6 +147,41 @@ public class BinaryObjects {
         }
     }
 
+    /**
+     * Node configuration registering the hand-written Person serializer.
+     */
+    static IgniteConfiguration configuration() {
+        BinaryTypeConfiguration personType = new BinaryTypeConfiguration(Person.class.getName());
+        personType.setSerializer(new PersonSerializer());
+
+        return new IgniteConfiguration()
+            .setBinaryConfiguration(new BinaryConfiguration()
+                .setTypeConfigurations(Collections.singletonList(personType)));
+    }
+
+    /**
+     * Writes Person without reflection. The fields stay named (not raw)
+     * because this lab reads them with BinaryObject.field() and rebuilds
+     * them with toBuilder(); raw fields would be invisible to both.
+     */
+    static class PersonSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            Person person = (Person) obj;
+            writer.writeString("name", person.name);
+            writer.writeInt("age", person.age);
+            writer.writeString("department", person.department);
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            Person person = (Person) obj;
+            person.name = reader.readString("name");
+            person.age = reader.readInt("age");
+            person.department = reader.readString("department");
+        }
+    }
+
     // Person class for demonstration
     static class Person implements Serializable {
         private String name;
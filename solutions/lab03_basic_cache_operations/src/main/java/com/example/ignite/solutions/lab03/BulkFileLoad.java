@@ -0,0 +1,159 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.streaming.MappedFileLoader;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Lab 3 Optional: Bulk Loading from Files
+ *
+ * Real loads start from files, not from a loop of addData(i, "Value-" + i).
+ * This exercise writes a CSV file of products and loads it into a cache
+ * twice: with the usual BufferedReader + String.split loop on one
+ * thread, and with MappedFileLoader, which maps the file, parses chunks
+ * on every core without creating a String per line, and feeds one
+ * shared DataStreamer. It then loads a fixed-width version of the same
+ * data.
+ */
+public class BulkFileLoad {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Garden", "Toys", "Sports"};
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Bulk File Load Lab ===\n");
+
+            CacheConfiguration<Long, String> cfg =
+                new CacheConfiguration<>("productNames");
+            IgniteCache<Long, String> cache = ignite.getOrCreateCache(cfg);
+
+            Path csv = Files.createTempFile("products", ".csv");
+            Path fixed = Files.createTempFile("products", ".dat");
+            try {
+                writeFiles(csv, fixed);
+                System.out.println("Generated " + ROWS + " rows: CSV " + (Files.size(csv) >> 20) +
+                    " MB, fixed-width " + (Files.size(fixed) >> 20) + " MB\n");
+
+                // 1. Line-by-line baseline
+                System.out.println("1. BufferedReader + split on one thread:\n");
+                long startTime = System.nanoTime();
+                long rows = 0;
+                try (BufferedReader reader = Files.newBufferedReader(csv);
+                     IgniteDataStreamer<Long, String> streamer = ignite.dataStreamer(cache.getName())) {
+                    reader.readLine(); // header
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split(",");
+                        streamer.addData(Long.parseLong(fields[0]), fields[1]);
+                        rows++;
+                    }
+                }
+                printResult(rows, Files.size(csv), System.nanoTime() - startTime);
+                System.out.println("   Cache size: " + cache.size());
+
+                cache.clear();
+
+                // 2. Memory-mapped, parallel parsing
+                int cores = Runtime.getRuntime().availableProcessors();
+                System.out.println("\n2. MappedFileLoader on " + cores + " cores:\n");
+
+                MappedFileLoader<Long, String> csvLoader = MappedFileLoader.<Long, String>delimited(',')
+                    .skipHeader(true)
+                    .chunkSize(16 * 1024 * 1024);
+
+                startTime = System.nanoTime();
+                MappedFileLoader.LoadResult result;
+                try (IgniteDataStreamer<Long, String> streamer = ignite.dataStreamer(cache.getName())) {
+                    result = csvLoader.load(csv, streamer, new MappedFileLoader.RowMapper<Long, String>() {
+                        @Override
+                        public Long key(MappedFileLoader.Row row) {
+                            return row.getLong(0);
+                        }
+
+                        @Override
+                        public String value(MappedFileLoader.Row row) {
+                            return row.getString(1);
+                        }
+                    });
+                }
+                printResult(result.getRows(), result.getBytes(), System.nanoTime() - startTime);
+                System.out.println("   Cache size: " + cache.size());
+
+                cache.clear();
+
+                // 3. Fixed-width records: id(10) name(20) category(12) price(10) + \n
+                System.out.println("\n3. Fixed-width file:\n");
+
+                MappedFileLoader<Long, String> fixedLoader = MappedFileLoader.<Long, String>fixedWidth(10, 20, 12, 10)
+                    .recordLength(53);
+
+                startTime = System.nanoTime();
+                try (IgniteDataStreamer<Long, String> streamer = ignite.dataStreamer(cache.getName())) {
+                    result = fixedLoader.load(fixed, streamer, new MappedFileLoader.RowMapper<Long, String>() {
+                        @Override
+                        public Long key(MappedFileLoader.Row row) {
+                            return row.getLong(0);
+                        }
+
+                        @Override
+                        public String value(MappedFileLoader.Row row) {
+                            return row.getString(1);
+                        }
+                    });
+                }
+                printResult(result.getRows(), result.getBytes(), System.nanoTime() - startTime);
+                System.out.println("   Product 42: " + cache.get(42L));
+            } finally {
+                Files.deleteIfExists(csv);
+                Files.deleteIfExists(fixed);
+            }
+
+            System.out.println("\n=== Bulk Loading Guidelines ===");
+            System.out.println("- For large files parsing, not the grid, is usually the bottleneck");
+            System.out.println("- Parse in parallel and share one DataStreamer across the parser threads");
+            System.out.println("- Avoid a String per line; parse numbers straight from the bytes");
+            System.out.println("- Chunks of 16-256 MB keep every core busy without huge mappings");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void writeFiles(Path csv, Path fixed) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter csvOut = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             BufferedWriter fixedOut = Files.newBufferedWriter(fixed, StandardCharsets.UTF_8)) {
+            csvOut.write("id,name,category,price\n");
+            for (int i = 0; i < ROWS; i++) {
+                String name = "Product-" + i;
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                String price = String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 999);
+
+                csvOut.write(i + "," + name + "," + category + "," + price + "\n");
+                fixedOut.write(String.format(Locale.ROOT, "%-10d%-20s%-12s%10s\n", i, name, category, price));
+            }
+        }
+    }
+
+    private static void printResult(long rows, long bytes, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.println(String.format("   %,d rows in %.2f s (%,.0f rows/sec, %.1f MB/sec)",
+            rows, seconds, rows / seconds, bytes / seconds / (1024 * 1024)));
+    }
+}
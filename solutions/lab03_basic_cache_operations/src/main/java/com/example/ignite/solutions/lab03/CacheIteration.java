@@ -1,5 +1,6 @@
 package com.example.ignite.solutions.lab03;
 
+import com.example.ignite.solutions.lab03.scan.BinaryProjection;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
@@ -18,7 +19,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Lab 3 Optional: Cache Iteration and ScanQuery
  *
  * This exercise demonstrates iterating over cache entries
- * using forEach and ScanQuery with filters.
+ * using forEach and ScanQuery with filters. The filters in steps 4 and 5
+ * deserialize every Product; step 8 reads the fields in binary form
+ * instead (see ProjectedScan).
  */
 public class CacheIteration {
 
@@ -129,6 +132,18 @@ public class CacheIteration {
                 System.out.println("   Processed " + pageCount + " entries");
             }
 
+            // 8. Binary projection - same electronics filter without deserializing
+            System.out.println("\n8. Binary Projection - Electronics Names and Prices:");
+            BinaryProjection<Integer> electronicsProjection =
+                new BinaryProjection<Integer>("name", "price")
+                    .whereEquals("category", "Electronics");
+
+            try (QueryCursor<Object[]> cursor = electronicsProjection.query(cache)) {
+                for (Object[] row : cursor) {
+                    System.out.println("   " + row[0] + " - $" + row[1]);
+                }
+            }
+
             System.out.println("\nPress Enter to exit...");
             System.in.read();
 
@@ -0,0 +1,112 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.CacheIteration.Product;
+import com.example.ignite.solutions.lab03.scan.PartitionScanExecutor;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+
+import javax.cache.Cache;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Lab 3 Optional: Partition-Parallel ScanQuery
+ *
+ * CacheIteration consumes each ScanQuery through a single cursor. This
+ * exercise runs the same kind of filtered scan over a larger product
+ * cache with one cursor, then with PartitionScanExecutor at increasing
+ * parallelism levels, and shows the Stream and early-close variants.
+ */
+public class ParallelScan {
+
+    private static final int PRODUCTS = 500_000;
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Education", "Garden", "Toys"};
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Partition-Parallel Scan Lab ===\n");
+
+            CacheConfiguration<Integer, Product> cfg =
+                new CacheConfiguration<>("parallelScanCache");
+            IgniteCache<Integer, Product> cache = ignite.getOrCreateCache(cfg);
+
+            System.out.println("1. Loading " + PRODUCTS + " products...");
+            Random random = new Random(42);
+            try (IgniteDataStreamer<Integer, Product> streamer = ignite.dataStreamer(cache.getName())) {
+                for (int i = 0; i < PRODUCTS; i++) {
+                    streamer.addData(i, new Product("Product-" + i,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], 1 + random.nextInt(100_000) / 100.0));
+                }
+            }
+            System.out.println("   Cache size: " + cache.size());
+
+            IgniteBiPredicate<Integer, Product> electronics =
+                (key, product) -> "Electronics".equals(product.getCategory());
+
+            // 2. One cursor, as in CacheIteration
+            System.out.println("\n2. Single ScanQuery cursor:");
+            long startTime = System.currentTimeMillis();
+            double total = 0;
+            try (QueryCursor<Cache.Entry<Integer, Product>> cursor = cache.query(new ScanQuery<>(electronics))) {
+                for (Cache.Entry<Integer, Product> entry : cursor) {
+                    total += entry.getValue().getPrice();
+                }
+            }
+            System.out.println(String.format("   Electronics value: $%,.2f in %d ms",
+                total, System.currentTimeMillis() - startTime));
+
+            // 3. One ScanQuery per partition, callback on this thread
+            System.out.println("\n3. Partition-parallel scan (callback):");
+            IgniteClosure<Cache.Entry<Integer, Product>, Double> price = entry -> entry.getValue().getPrice();
+
+            for (int parallelism : new int[] {1, 4, 8, 16}) {
+                PartitionScanExecutor<Integer, Product> executor =
+                    new PartitionScanExecutor<>(ignite, cache, parallelism);
+
+                double[] sum = new double[1];
+                startTime = System.currentTimeMillis();
+                long matches = executor.scan(electronics, price, p -> sum[0] += p);
+                System.out.println(String.format("   parallelism %2d: $%,.2f (%d products, %d partitions) in %d ms",
+                    parallelism, sum[0], matches, executor.getPartitions(), System.currentTimeMillis() - startTime));
+            }
+
+            // 4. As a Stream
+            System.out.println("\n4. Partition-parallel scan as a Stream:");
+            PartitionScanExecutor<Integer, Product> executor = new PartitionScanExecutor<>(ignite, cache, 8);
+            try (Stream<Double> prices = executor.open(electronics, price).stream()) {
+                System.out.println(String.format("   Average electronics price: $%.2f",
+                    prices.mapToDouble(Double::doubleValue).average().orElse(0)));
+            }
+
+            // 5. Closing early cancels the remaining partitions
+            System.out.println("\n5. Early close (first product over $999):");
+            try (PartitionScanExecutor.ScanCursor<Cache.Entry<Integer, Product>> cursor =
+                     executor.open((key, product) -> product.getPrice() > 999)) {
+                Optional<Cache.Entry<Integer, Product>> first = cursor.stream().findFirst();
+                System.out.println("   Found: " + first.map(Cache.Entry::getValue).orElse(null));
+                System.out.println("   Partitions scanned before close: " + cursor.getPartitionsScanned() +
+                    " of " + executor.getPartitions());
+            }
+
+            System.out.println("\n=== Parallel Scan Guidelines ===");
+            System.out.println("- Parallelism up to the number of cluster cores helps full scans");
+            System.out.println("- Filter and transform on the server so only results cross the network");
+            System.out.println("- The bounded queue keeps memory flat when the consumer is slow");
+            System.out.println("- Run long scans outside rebalancing; partitions are not retried");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -14,6 +14,11 @@ import java.util.*;
  *
  * This exercise provides detailed performance measurements
  * for various cache operations.
+ *
+ * The numbers are only indicative: a single JVM, a short warmup and
+ * one pass per operation leave them dominated by JIT and GC noise.
+ * Use CacheOperationsBenchmark and DataStreamerBenchmark in the
+ * benchmarks module for repeatable measurements.
  */
 public class PerformanceBenchmark {
 
@@ -0,0 +1,193 @@
+package com.example.ignite.solutions.lab03;
+
+import com.example.ignite.solutions.lab03.CacheIteration.Product;
+import com.example.ignite.solutions.lab03.scan.BinaryProjection;
+import com.example.ignite.solutions.lab03.scan.PartitionScanExecutor;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteBiPredicate;
+
+import javax.cache.Cache;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Lab 3 Optional: Field-Projecting Binary Scans
+ *
+ * CacheIteration's electronics and price filters deserialize every
+ * Product to read a single field. This exercise runs the same scans over
+ * a million products three ways and reports time, heap allocation and
+ * GC work for each:
+ * - Product filter: every value deserialized, matches returned whole
+ * - Binary filter: withKeepBinary and BinaryObject.field, matches still
+ *   returned whole
+ * - BinaryProjection: binary field conditions and a transformer that
+ *   returns only the projected fields
+ */
+public class ProjectedScan {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Education", "Garden", "Toys"};
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Field-Projecting Binary Scan Lab ===\n");
+
+            CacheConfiguration<Integer, Product> cfg =
+                new CacheConfiguration<>("projectedScanCache");
+            IgniteCache<Integer, Product> cache = ignite.getOrCreateCache(cfg);
+
+            System.out.println("1. Loading " + PRODUCTS + " products...");
+            Random random = new Random(42);
+            try (IgniteDataStreamer<Integer, Product> streamer = ignite.dataStreamer(cache.getName())) {
+                for (int i = 0; i < PRODUCTS; i++) {
+                    streamer.addData(i, new Product("Product-" + i,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], 1 + random.nextInt(100_000) / 100.0));
+                }
+            }
+            System.out.println("   Cache size: " + cache.size());
+
+            // 2. Total electronics value
+            System.out.println("\n2. Electronics value (category filter, read price):\n");
+            printHeader();
+
+            IgniteBiPredicate<Integer, Product> electronicsFilter =
+                (key, product) -> "Electronics".equals(product.getCategory());
+            measure("Product filter", true, () -> {
+                double total = 0;
+                try (QueryCursor<Cache.Entry<Integer, Product>> cursor =
+                         cache.query(new ScanQuery<>(electronicsFilter))) {
+                    for (Cache.Entry<Integer, Product> entry : cursor) {
+                        total += entry.getValue().getPrice();
+                    }
+                }
+                return total;
+            });
+
+            IgniteCache<Integer, BinaryObject> binaryCache = cache.withKeepBinary();
+            IgniteBiPredicate<Integer, BinaryObject> binaryElectronics =
+                (key, product) -> "Electronics".equals(product.field("category"));
+            measure("Binary filter", true, () -> {
+                double total = 0;
+                try (QueryCursor<Cache.Entry<Integer, BinaryObject>> cursor =
+                         binaryCache.query(new ScanQuery<>(binaryElectronics))) {
+                    for (Cache.Entry<Integer, BinaryObject> entry : cursor) {
+                        total += entry.getValue().<Double>field("price");
+                    }
+                }
+                return total;
+            });
+
+            BinaryProjection<Integer> electronicsPrices = new BinaryProjection<Integer>("price")
+                .whereEquals("category", "Electronics");
+            measure("BinaryProjection", true, () -> {
+                double total = 0;
+                try (QueryCursor<Object[]> cursor = electronicsPrices.query(cache)) {
+                    for (Object[] row : cursor) {
+                        total += (Double) row[0];
+                    }
+                }
+                return total;
+            });
+
+            // The same filter and transformer, one ScanQuery per partition
+            PartitionScanExecutor<Integer, BinaryObject> executor =
+                new PartitionScanExecutor<>(ignite, binaryCache, 4);
+            measure("Projection x4 parts", false, () -> {
+                double[] total = new double[1];
+                executor.scan(electronicsPrices.filter(), electronicsPrices.transformer(),
+                    row -> total[0] += (Double) row[0]);
+                return total[0];
+            });
+
+            // 3. Two-field projection with a range condition
+            System.out.println("\n3. Products under $2 (key, name and price):\n");
+            BinaryProjection<Integer> cheap = new BinaryProjection<Integer>(BinaryProjection.KEY, "name", "price")
+                .where("price", price -> (Double) price < 2);
+            try (QueryCursor<Object[]> cursor = cheap.query(cache)) {
+                int shown = 0;
+                int matches = 0;
+                for (Object[] row : cursor) {
+                    if (shown++ < 3) {
+                        System.out.println("   " + row[0] + ": " + row[1] + " - $" + row[2]);
+                    }
+                    matches++;
+                }
+                System.out.println("   ... (" + matches + " products)");
+            }
+
+            System.out.println("\n=== Projected Scan Guidelines ===");
+            System.out.println("- Scan with withKeepBinary when only a few fields are needed");
+            System.out.println("- Use a transformer so only the projected fields cross the network");
+            System.out.println("- Reuse BinaryField handles instead of BinaryObject.field(name)");
+            System.out.println("- Conditions run on the servers; keep them small and serializable");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void printHeader() {
+        System.out.println(String.format("   %-20s %16s %9s %12s %8s %9s",
+            "Approach", "Electronics $", "Best", "Allocated", "GCs", "GC time"));
+    }
+
+    /**
+     * Run once to warm up, then report the fastest of three runs with the
+     * bytes allocated by all threads and the GC work per run. Threads
+     * that exit during a run (PartitionScanExecutor workers) take their
+     * allocation count with them, so that row shows no allocation.
+     */
+    private static void measure(String label, boolean countAllocation, DoubleSupplier scan) {
+        scan.getAsDouble();
+
+        int runs = 3;
+        long best = Long.MAX_VALUE;
+        double total = 0;
+        long allocatedBefore = allocatedBytes();
+        long[] gcBefore = gcCountAndTime();
+        for (int i = 0; i < runs; i++) {
+            long startTime = System.nanoTime();
+            total = scan.getAsDouble();
+            best = Math.min(best, System.nanoTime() - startTime);
+        }
+        long allocated = (allocatedBytes() - allocatedBefore) / runs;
+        long[] gcAfter = gcCountAndTime();
+
+        System.out.println(String.format("   %-20s %,16.2f %6d ms %12s %8d %6d ms",
+            label, total, best / 1_000_000,
+            countAllocation ? allocated / (1024 * 1024) + " MB" : "-",
+            (gcAfter[0] - gcBefore[0]) / runs, (gcAfter[1] - gcBefore[1]) / runs));
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+
+    private static long[] gcCountAndTime() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, time};
+    }
+}
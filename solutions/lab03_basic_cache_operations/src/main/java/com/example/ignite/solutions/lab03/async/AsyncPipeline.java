@@ -0,0 +1,241 @@
+package com.example.ignite.solutions.lab03.async;
+
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.lang.IgniteFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Lab 3 Optional: Bounded Async Pipeline
+ *
+ * Keeps at most {@code window} asynchronous cache operations in flight.
+ * submit blocks while the window is full and continues as soon as any
+ * operation completes, so a producer loop runs exactly as fast as the
+ * cluster absorbs work instead of queueing an unbounded number of
+ * requests and futures.
+ *
+ * <pre>
+ * try (AsyncPipeline pipeline = new AsyncPipeline(64)) {
+ *     for (int i = 0; i &lt; n; i++) {
+ *         int key = i;
+ *         pipeline.submit(() -&gt; cache.putAsync(key, "Value-" + key));
+ *     }
+ * } // close() waits for the remaining operations
+ * </pre>
+ *
+ * Each submit returns a CompletableFuture, completed from the Ignite
+ * future. With a timeout the CompletableFuture fails with a
+ * TimeoutException after that long; the cache operation itself cannot be
+ * cancelled, so it keeps its window slot until the cluster finishes it.
+ *
+ * Callbacks and dependent stages run on the thread that completes the
+ * Ignite future (Ignite's async continuation executor) before the slot
+ * is freed, so awaitAll and close also wait for them. Use the *Async
+ * CompletableFuture methods for anything slow or blocking, and never
+ * submit to the same pipeline from a callback: with a full window it
+ * would wait for its own slot.
+ */
+public class AsyncPipeline implements AutoCloseable {
+
+    private final int window;
+    private final Semaphore permits;
+
+    private long defaultTimeoutNanos;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    public AsyncPipeline(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1: " + window);
+        }
+        this.window = window;
+        this.permits = new Semaphore(window);
+    }
+
+    /** Timeout applied by submit calls that do not pass one; 0 means none. */
+    public AsyncPipeline defaultTimeout(long timeout, TimeUnit unit) {
+        this.defaultTimeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Start an operation, waiting for a free slot first.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<IgniteFuture<T>> operation) {
+        return submit(operation, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Start an operation and call back when it completes, successfully or
+     * not. The callback receives the result or the failure.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<IgniteFuture<T>> operation,
+                                           BiConsumer<? super T, ? super Throwable> callback) {
+        return submit(operation).whenComplete(callback);
+    }
+
+    /**
+     * Start an operation with its own timeout; 0 means none.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<IgniteFuture<T>> operation, long timeout, TimeUnit unit) {
+        acquire();
+        submitted.increment();
+
+        IgniteFuture<T> igniteFuture;
+        try {
+            igniteFuture = operation.get();
+        } catch (Throwable e) {
+            release(e);
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        igniteFuture.listen(f -> {
+            // The slot is freed when the cluster is done, even after a
+            // timeout, and only after callbacks ran so awaitAll covers them
+            Throwable error = null;
+            try {
+                result.complete(f.get());
+            } catch (Throwable e) {
+                // Errors too: the caller's future must not be left incomplete
+                error = e;
+                result.completeExceptionally(e);
+            } finally {
+                release(error);
+            }
+        });
+
+        if (timeout > 0) {
+            result.orTimeout(timeout, unit).exceptionally(e -> {
+                if (e instanceof TimeoutException) {
+                    timedOut.increment();
+                }
+                return null;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Wait until every submitted operation has completed. Meant for the
+     * end of a batch; with other threads still submitting it waits for a
+     * moment when nothing is in flight.
+     */
+    public void awaitAll() {
+        acquireAll();
+        permits.release(window);
+    }
+
+    /**
+     * Wait up to the given time for every submitted operation to complete.
+     *
+     * @return false if operations were still in flight at the deadline
+     */
+    public boolean awaitAll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!permits.tryAcquire(window, timeout, unit)) {
+            return false;
+        }
+        permits.release(window);
+        return true;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public int getInFlight() {
+        return window - permits.availablePermits();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /** Operations that finished successfully. */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /** Operations that finished with an error. */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Futures failed by their timeout (the operation may still have succeeded later). */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /** Total time submitters spent blocked on a full window; a measure of backpressure. */
+    public long getBlockedNanos() {
+        return blockedNanos.sum();
+    }
+
+    /**
+     * Wait for the operations still in flight.
+     */
+    @Override
+    public void close() {
+        awaitAll();
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IgniteException("Interrupted while waiting for a pipeline slot", e);
+        } finally {
+            blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void acquireAll() {
+        try {
+            permits.acquire(window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IgniteException("Interrupted while waiting for in-flight operations", e);
+        }
+    }
+
+    private void release(Throwable error) {
+        if (error == null) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+        permits.release();
+    }
+
+    /**
+     * Adapt an IgniteFuture to a CompletableFuture without a window.
+     */
+    public static <T> CompletableFuture<T> toCompletableFuture(IgniteFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.listen(f -> {
+            try {
+                result.complete(f.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+}
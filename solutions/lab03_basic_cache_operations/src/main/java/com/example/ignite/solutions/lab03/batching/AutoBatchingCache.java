@@ -0,0 +1,358 @@
+package com.example.ignite.solutions.lab03.batching;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 3 Optional: Auto-Batching Cache Facade
+ *
+ * Collects single-key put/get calls from many threads into putAll/getAll
+ * batches, one batch per primary node, so application code keeps calling
+ * put(key, value) while the cluster sees the batch traffic from
+ * BatchOperations.
+ *
+ * A batch is sent when it reaches maxBatchSize operations or when its
+ * oldest operation has waited maxLingerMicros, whichever comes first.
+ * Every caller gets its own CompletableFuture, completed when the batch
+ * that carried its operation finishes.
+ *
+ * Semantics:
+ * - several puts to the same key in one batch collapse to the last value
+ * - a get for a key with a pending put in the same batch returns that
+ *   value once the put completes (read-your-writes within the batch)
+ * - batches for different nodes are independent, so there is no ordering
+ *   across keys; use the cache directly when you need it
+ * - futures complete on Ignite callback threads; do not block in
+ *   dependent stages
+ *
+ * Intended for ATOMIC caches. Batches use a TreeMap when keys are
+ * Comparable, so putAll on a TRANSACTIONAL cache still locks keys in a
+ * consistent order.
+ */
+public class AutoBatchingCache<K, V> implements AutoCloseable {
+
+    private final IgniteCache<K, V> cache;
+    private final Affinity<K> affinity;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final ScheduledExecutorService lingerTimer;
+    private final ConcurrentMap<UUID, NodeBatch> batches = new ConcurrentHashMap<>();
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder batchesSent = new LongAdder();
+
+    private volatile boolean closed;
+
+    public AutoBatchingCache(Ignite ignite, IgniteCache<K, V> cache, int maxBatchSize, long maxLingerMicros) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + maxBatchSize);
+        }
+        if (maxLingerMicros < 0) {
+            throw new IllegalArgumentException("maxLingerMicros must not be negative: " + maxLingerMicros);
+        }
+        this.cache = cache;
+        this.affinity = ignite.affinity(cache.getName());
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(maxLingerMicros);
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auto-batching-" + cache.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a put; the future completes when its batch has been written.
+     */
+    public CompletableFuture<Void> putAsync(K key, V value) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        batchFor(key).addPut(key, value, future);
+        return future;
+    }
+
+    /**
+     * Queue a get; the future completes with the value or null.
+     */
+    public CompletableFuture<V> getAsync(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        batchFor(key).addGet(key, future);
+        return future;
+    }
+
+    /**
+     * Blocking put; waits for the batch carrying this put.
+     */
+    public void put(K key, V value) {
+        join(putAsync(key, value));
+    }
+
+    /**
+     * Blocking get; waits for the batch carrying this get.
+     */
+    public V get(K key) {
+        return join(getAsync(key));
+    }
+
+    /**
+     * Send every pending batch now without waiting for the linger timeout.
+     */
+    public void flush() {
+        for (NodeBatch batch : batches.values()) {
+            batch.flush(-1);
+        }
+    }
+
+    /** Single-key operations accepted so far. */
+    public long getOperationCount() {
+        return operations.sum();
+    }
+
+    /** putAll/getAll calls sent so far. */
+    public long getBatchCount() {
+        return batchesSent.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long sent = batchesSent.sum();
+        return sent == 0 ? 0 : (double) operations.sum() / sent;
+    }
+
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    /**
+     * Flush pending operations and stop the linger timer. Futures of
+     * operations already queued still complete; operations racing with
+     * close() are either flushed or rejected with IllegalStateException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+        lingerTimer.shutdown();
+    }
+
+    private NodeBatch batchFor(K key) {
+        checkOpen();
+
+        // Keys are grouped by their primary node so each putAll/getAll goes
+        // to one server. The mapping is only an optimisation: after a
+        // topology change Ignite still routes every key correctly.
+        ClusterNode node = affinity.mapKeyToNode(key);
+        UUID nodeId = node != null ? node.id() : null;
+        return batches.computeIfAbsent(nodeId == null ? new UUID(0, 0) : nodeId, id -> new NodeBatch());
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("AutoBatchingCache is closed: " + cache.getName());
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pending operations for one primary node.
+     */
+    private class NodeBatch {
+        private Map<K, V> puts = new LinkedHashMap<>();
+        private Map<K, List<CompletableFuture<Void>>> putWaiters = new HashMap<>();
+        private Map<K, List<CompletableFuture<V>>> getWaiters = new HashMap<>();
+        private int size;
+
+        /** Incremented on every flush so a stale linger task does nothing. */
+        private long generation;
+        private ScheduledFuture<?> lingerTask;
+
+        void addPut(K key, V value, CompletableFuture<Void> future) {
+            boolean full;
+            synchronized (this) {
+                // close() sets closed before it flushes each batch under this lock
+                checkOpen();
+                puts.put(key, value);
+                putWaiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+                full = added();
+            }
+            if (full) {
+                flush(-1);
+            }
+        }
+
+        void addGet(K key, CompletableFuture<V> future) {
+            boolean full;
+            synchronized (this) {
+                checkOpen();
+                getWaiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+                full = added();
+            }
+            if (full) {
+                flush(-1);
+            }
+        }
+
+        /** Called under the lock; returns true when the batch must be sent now. */
+        private boolean added() {
+            operations.increment();
+            size++;
+            if (size >= maxBatchSize || maxLingerNanos == 0) {
+                return true;
+            }
+            if (size == 1) {
+                long scheduledGeneration = generation;
+                lingerTask = lingerTimer.schedule(() -> flush(scheduledGeneration),
+                    maxLingerNanos, TimeUnit.NANOSECONDS);
+            }
+            return false;
+        }
+
+        /**
+         * Send the pending operations. A non-negative generation comes from a
+         * linger task and only flushes the batch it was scheduled for.
+         */
+        void flush(long expectedGeneration) {
+            Map<K, V> sendPuts;
+            Map<K, List<CompletableFuture<Void>>> sendPutWaiters;
+            Map<K, List<CompletableFuture<V>>> sendGetWaiters;
+
+            synchronized (this) {
+                if (size == 0 || (expectedGeneration >= 0 && expectedGeneration != generation)) {
+                    return;
+                }
+                sendPuts = puts;
+                sendPutWaiters = putWaiters;
+                sendGetWaiters = getWaiters;
+
+                puts = new LinkedHashMap<>();
+                putWaiters = new HashMap<>();
+                getWaiters = new HashMap<>();
+                size = 0;
+                generation++;
+                if (lingerTask != null) {
+                    lingerTask.cancel(false);
+                    lingerTask = null;
+                }
+            }
+
+            // Gets for keys written in this batch are answered from the put
+            Map<K, List<CompletableFuture<V>>> readYourWrites = new HashMap<>();
+            for (K key : sendPuts.keySet()) {
+                List<CompletableFuture<V>> waiters = sendGetWaiters.remove(key);
+                if (waiters != null) {
+                    readYourWrites.put(key, waiters);
+                }
+            }
+
+            if (!sendPuts.isEmpty()) {
+                sendPutAll(sendPuts, sendPutWaiters, readYourWrites);
+            }
+            if (!sendGetWaiters.isEmpty()) {
+                sendGetAll(sendGetWaiters);
+            }
+        }
+
+        private void sendPutAll(Map<K, V> values,
+                                Map<K, List<CompletableFuture<Void>>> waiters,
+                                Map<K, List<CompletableFuture<V>>> readers) {
+            batchesSent.increment();
+            // The listeners catch Throwable: an Error left uncaught would hang every waiter
+            cache.putAllAsync(ordered(values)).listen(f -> {
+                Throwable error = null;
+                try {
+                    f.get();
+                } catch (Throwable e) {
+                    error = e;
+                }
+                for (List<CompletableFuture<Void>> list : waiters.values()) {
+                    for (CompletableFuture<Void> waiter : list) {
+                        complete(waiter, null, error);
+                    }
+                }
+                for (Map.Entry<K, List<CompletableFuture<V>>> e : readers.entrySet()) {
+                    for (CompletableFuture<V> reader : e.getValue()) {
+                        complete(reader, values.get(e.getKey()), error);
+                    }
+                }
+            });
+        }
+
+        private void sendGetAll(Map<K, List<CompletableFuture<V>>> waiters) {
+            batchesSent.increment();
+            cache.getAllAsync(waiters.keySet()).listen(f -> {
+                Map<K, V> result = null;
+                Throwable error = null;
+                try {
+                    result = f.get();
+                } catch (Throwable e) {
+                    error = e;
+                }
+                for (Map.Entry<K, List<CompletableFuture<V>>> e : waiters.entrySet()) {
+                    V value = result != null ? result.get(e.getKey()) : null;
+                    for (CompletableFuture<V> waiter : e.getValue()) {
+                        complete(waiter, value, error);
+                    }
+                }
+            });
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T value, Throwable error) {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * Sorted copy when keys are Comparable, so concurrent batches lock
+     * keys in the same order on TRANSACTIONAL caches.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Map<K, V> ordered(Map<K, V> values) {
+        Collection<K> keys = values.keySet();
+        for (K key : keys) {
+            if (!(key instanceof Comparable)) {
+                return values;
+            }
+        }
+        try {
+            return new TreeMap(values);
+        } catch (ClassCastException e) {
+            // Mixed key types that are not mutually comparable
+            return values;
+        }
+    }
+}
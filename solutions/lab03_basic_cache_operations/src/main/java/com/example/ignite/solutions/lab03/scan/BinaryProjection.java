@@ -0,0 +1,238 @@
+package com.example.ignite.solutions.lab03.scan;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryField;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgnitePredicate;
+
+import javax.cache.Cache;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lab 3 Optional: Field-Projecting Binary Scan
+ *
+ * A ScanQuery filter such as {@code (k, p) -> p.getPrice() < 100}
+ * deserializes every value just to read one field, and the matching
+ * entries then travel to the client whole. A BinaryProjection scans the
+ * cache in binary form instead: conditions read single fields of the
+ * BinaryObject, and a ScanQuery transformer returns only the requested
+ * fields, so neither side builds the domain objects and only the
+ * projection crosses the network.
+ *
+ * <pre>
+ * BinaryProjection&lt;Integer&gt; cheapElectronics = new BinaryProjection&lt;Integer&gt;("name", "price")
+ *     .whereEquals("category", "Electronics")
+ *     .where("price", price -&gt; (Double) price &lt; 100);
+ *
+ * try (QueryCursor&lt;Object[]&gt; cursor = cheapElectronics.query(cache)) {
+ *     for (Object[] row : cursor) {
+ *         String name = (String) row[0];
+ *         double price = (Double) row[1];
+ *     }
+ * }
+ * </pre>
+ *
+ * Rows hold the field values in the order given, with nested objects
+ * still in binary form; {@link #KEY} selects the entry key. Values must
+ * be objects (stored as BinaryObject), not strings or primitives.
+ * Conditions are combined with AND. They run on the nodes that own the
+ * data, so they must be serializable and should only depend on the
+ * field value.
+ *
+ * Field handles (BinaryField) are looked up once per binary type and
+ * reused for every entry, which is cheaper than BinaryObject.field(name).
+ * The filter and transformer are also available on their own, e.g. for
+ * {@link PartitionScanExecutor} over cache.withKeepBinary().
+ */
+public class BinaryProjection<K> {
+
+    /** Pseudo-field selecting the entry key, as in SQL. */
+    public static final String KEY = "_key";
+
+    private final String[] fields;
+    private final List<String> conditionFields = new ArrayList<>();
+    private final List<IgnitePredicate<Object>> conditions = new ArrayList<>();
+    private int pageSize = 1024;
+
+    public BinaryProjection(String... fields) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        this.fields = fields.clone();
+    }
+
+    /** Keep entries whose field value passes the condition (null if the field is missing). */
+    public BinaryProjection<K> where(String field, IgnitePredicate<Object> condition) {
+        conditionFields.add(Objects.requireNonNull(field, "field"));
+        conditions.add(Objects.requireNonNull(condition, "condition"));
+        return this;
+    }
+
+    /** Keep entries whose field equals the value. */
+    public BinaryProjection<K> whereEquals(String field, Object value) {
+        return where(field, new EqualsCondition(value));
+    }
+
+    public BinaryProjection<K> pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public List<String> getFields() {
+        return Arrays.asList(fields);
+    }
+
+    /**
+     * Run the scan and return the projected rows.
+     */
+    public QueryCursor<Object[]> query(IgniteCache<K, ?> cache) {
+        IgniteCache<K, BinaryObject> binaryCache = cache.withKeepBinary();
+        return binaryCache.query(toScanQuery(), transformer());
+    }
+
+    /**
+     * ScanQuery with the conditions as its filter, for caches already in
+     * keep-binary mode.
+     */
+    public ScanQuery<K, BinaryObject> toScanQuery() {
+        ScanQuery<K, BinaryObject> query = new ScanQuery<>(filter());
+        query.setPageSize(pageSize);
+        return query;
+    }
+
+    /** The conditions as a binary ScanQuery filter; null when there are none. */
+    public IgniteBiPredicate<K, BinaryObject> filter() {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        return new FieldFilter<>(conditionFields.toArray(new String[0]),
+            conditions.toArray(new IgnitePredicate[0]));
+    }
+
+    /** The projection as a binary ScanQuery transformer. */
+    public IgniteClosure<Cache.Entry<K, BinaryObject>, Object[]> transformer() {
+        return new FieldTransformer<>(fields);
+    }
+
+    /**
+     * Resolves field names to BinaryField handles. Created on the node
+     * that runs the scan; the handles are not serialized. The handles of
+     * the last type seen are tried first, since most caches hold a single
+     * value type; a BinaryField rejects objects of another type, which
+     * switches to that type's handles.
+     */
+    private static final class FieldReader {
+
+        private final String[] names;
+        private final ConcurrentHashMap<Integer, BinaryField[]> handlesByType = new ConcurrentHashMap<>();
+        private volatile BinaryField[] last;
+
+        FieldReader(String[] names) {
+            this.names = names;
+        }
+
+        Object read(int index, Object key, BinaryObject value) {
+            if (KEY.equals(names[index])) {
+                return key;
+            }
+            BinaryField[] handles = last;
+            if (handles != null) {
+                try {
+                    return handles[index].value(value);
+                } catch (BinaryObjectException e) {
+                    // Different type, resolve below
+                }
+            }
+            handles = handlesByType.computeIfAbsent(value.type().typeId(), id -> resolve(value));
+            last = handles;
+            return handles[index].value(value);
+        }
+
+        private BinaryField[] resolve(BinaryObject value) {
+            BinaryField[] result = new BinaryField[names.length];
+            for (int i = 0; i < names.length; i++) {
+                if (!KEY.equals(names[i])) {
+                    result[i] = value.type().field(names[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class FieldFilter<K> implements IgniteBiPredicate<K, BinaryObject> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] fields;
+        private final IgnitePredicate<Object>[] conditions;
+        private transient FieldReader reader;
+
+        FieldFilter(String[] fields, IgnitePredicate<Object>[] conditions) {
+            this.fields = fields;
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean apply(K key, BinaryObject value) {
+            if (reader == null) {
+                reader = new FieldReader(fields);
+            }
+            for (int i = 0; i < conditions.length; i++) {
+                if (!conditions[i].apply(reader.read(i, key, value))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class FieldTransformer<K> implements IgniteClosure<Cache.Entry<K, BinaryObject>, Object[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] fields;
+        private transient FieldReader reader;
+
+        FieldTransformer(String[] fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public Object[] apply(Cache.Entry<K, BinaryObject> entry) {
+            if (reader == null) {
+                reader = new FieldReader(fields);
+            }
+            BinaryObject value = entry.getValue();
+            Object[] row = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                row[i] = reader.read(i, entry.getKey(), value);
+            }
+            return row;
+        }
+    }
+
+    private static final class EqualsCondition implements IgnitePredicate<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object expected;
+
+        EqualsCondition(Object expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean apply(Object value) {
+            return Objects.equals(expected, value);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.ignite.solutions.lab03.scan;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+
+import javax.cache.Cache;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lab 3 Optional: Partition-Parallel ScanQuery
+ *
+ * A plain ScanQuery is consumed through one cursor, so a full-cache scan
+ * runs at the speed of one thread pulling pages. This executor runs one
+ * ScanQuery per partition (ScanQuery.setPartition), with at most
+ * parallelism partitions in flight, and merges the results into a single
+ * stream:
+ * - {@link #open} returns a cursor usable as an Iterator or a Stream
+ * - {@link #scan} pushes every result to a callback on the calling thread
+ *
+ * Workers hand results over in batches through a bounded queue. When the
+ * consumer falls behind the queue fills, workers block, and their
+ * cursors stop requesting pages, so memory stays bounded regardless of
+ * cache size. Closing the cursor early cancels the remaining partitions.
+ *
+ * Results arrive in no particular order. Filters and transformers run on
+ * the nodes that own the data, exactly as with a single ScanQuery.
+ * Partitions are not retried: if a partition moves during a rebalance
+ * the scan fails rather than returning duplicates.
+ */
+public class PartitionScanExecutor<K, V> {
+
+    private static final Object DONE = new Object();
+
+    private final IgniteCache<K, V> cache;
+    private final int partitions;
+    private final int parallelism;
+
+    private int pageSize = 1024;
+    private int batchSize = 256;
+    private int queueBatches;
+
+    public PartitionScanExecutor(Ignite ignite, IgniteCache<K, V> cache, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        this.cache = cache;
+        this.partitions = ignite.affinity(cache.getName()).partitions();
+        this.parallelism = parallelism;
+        this.queueBatches = 2 * parallelism;
+    }
+
+    /** ScanQuery page size per partition cursor. */
+    public PartitionScanExecutor<K, V> pageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /** Results handed from a worker to the consumer at a time. */
+    public PartitionScanExecutor<K, V> batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /** Batches buffered between workers and consumer before workers block. */
+    public PartitionScanExecutor<K, V> queueBatches(int queueBatches) {
+        this.queueBatches = queueBatches;
+        return this;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Scan all partitions, returning matching entries.
+     */
+    public ScanCursor<Cache.Entry<K, V>> open(IgniteBiPredicate<K, V> filter) {
+        return open(filter, null);
+    }
+
+    /**
+     * Scan all partitions, returning the transformer's result for every
+     * matching entry. A null filter matches everything; a null
+     * transformer returns the entries themselves.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ScanCursor<R> open(IgniteBiPredicate<K, V> filter, IgniteClosure<Cache.Entry<K, V>, R> transformer) {
+        ScanCursor<R> cursor = new ScanCursor<>(cache.getName(), partitions, Math.min(parallelism, partitions),
+            batchSize, queueBatches, partition -> {
+                ScanQuery<K, V> query = new ScanQuery<>(partition, filter);
+                query.setPageSize(pageSize);
+                return transformer == null ? (QueryCursor<R>) cache.query(query) : cache.query(query, transformer);
+            });
+        cursor.start();
+        return cursor;
+    }
+
+    /**
+     * Scan all partitions and pass every result to the consumer, one at a
+     * time, on the calling thread. Returns the number of results.
+     */
+    public <R> long scan(IgniteBiPredicate<K, V> filter, IgniteClosure<Cache.Entry<K, V>, R> transformer,
+                         Consumer<? super R> consumer) {
+        long count = 0;
+        try (ScanCursor<R> cursor = open(filter, transformer)) {
+            while (cursor.hasNext()) {
+                consumer.accept(cursor.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merged results of one partition-parallel scan. Not thread-safe:
+     * consume from one thread. Close it to stop a scan early.
+     */
+    public static final class ScanCursor<R> implements Iterator<R>, AutoCloseable {
+        private final int partitions;
+        private final int workerCount;
+        private final int batchSize;
+        private final IntFunction<QueryCursor<R>> partitionQuery;
+
+        private final BlockingQueue<Object> queue;
+        private final AtomicInteger nextPartition = new AtomicInteger();
+        private final LongAdder partitionsScanned = new LongAdder();
+        private final ExecutorService workers;
+
+        private volatile boolean closed;
+        private int finishedWorkers;
+        private List<R> batch = Collections.emptyList();
+        private int batchIndex;
+
+        ScanCursor(String cacheName, int partitions, int workerCount, int batchSize, int queueBatches,
+                   IntFunction<QueryCursor<R>> partitionQuery) {
+            this.partitions = partitions;
+            this.workerCount = workerCount;
+            this.batchSize = batchSize;
+            this.partitionQuery = partitionQuery;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueBatches));
+
+            AtomicInteger threadIds = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+                Thread thread = new Thread(r, "partition-scan-" + cacheName + "-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void start() {
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(this::scanPartitions);
+            }
+            workers.shutdown();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (batchIndex >= batch.size()) {
+                if (finishedWorkers == workerCount || closed) {
+                    return false;
+                }
+                Object item = take();
+                if (item == DONE) {
+                    finishedWorkers++;
+                } else if (item instanceof Failure) {
+                    close();
+                    Throwable error = ((Failure) item).error;
+                    if (error instanceof Error) {
+                        throw (Error) error;
+                    }
+                    throw error instanceof RuntimeException
+                        ? (RuntimeException) error : new IgniteException("Partition scan failed", error);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    List<R> next = (List<R>) item;
+                    batch = next;
+                    batchIndex = 0;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(batchIndex++);
+        }
+
+        /**
+         * Sequential stream over the merged results; closing the stream
+         * closes the cursor.
+         */
+        public Stream<R> stream() {
+            return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false).onClose(this::close);
+        }
+
+        /** Partitions fully scanned so far. */
+        public long getPartitionsScanned() {
+            return partitionsScanned.sum();
+        }
+
+        /**
+         * Stop the scan. Workers close their cursors at the next result
+         * and unscanned partitions are skipped.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                queue.clear();
+                workers.shutdownNow();
+            }
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IgniteException("Interrupted while waiting for scan results", e);
+            }
+        }
+
+        private void scanPartitions() {
+            try {
+                int partition;
+                while (!closed && (partition = nextPartition.getAndIncrement()) < partitions) {
+                    scanPartition(partition);
+                    partitionsScanned.increment();
+                }
+                put(DONE);
+            } catch (InterruptedException e) {
+                // Closed by the consumer
+            } catch (Throwable e) {
+                // Errors too: a worker that stops without DONE or a Failure leaves the consumer waiting
+                try {
+                    put(new Failure(e));
+                } catch (InterruptedException ignored) {
+                    // Closed by the consumer
+                }
+            }
+        }
+
+        private void scanPartition(int partition) throws InterruptedException {
+            List<R> results = new ArrayList<>(batchSize);
+            try (QueryCursor<R> cursor = partitionQuery.apply(partition)) {
+                for (R result : cursor) {
+                    if (closed) {
+                        return;
+                    }
+                    if (result == null) {
+                        continue;
+                    }
+                    results.add(result);
+                    if (results.size() == batchSize) {
+                        put(results);
+                        results = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!results.isEmpty()) {
+                put(results);
+            }
+        }
+
+        /** Blocks while the queue is full; this is the backpressure. */
+        private void put(Object item) throws InterruptedException {
+            while (!closed) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+            throw new InterruptedException("Scan closed");
+        }
+    }
+
+    private static final class Failure {
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package com.example.ignite.solutions.lab03.streaming;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.lang.IgniteFuture;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lab 3 Optional: Self-Tuning DataStreamer
+ *
+ * Wraps IgniteDataStreamer and searches for the perNodeBufferSize and
+ * perNodeParallelOperations that give the highest ingest rate for the
+ * data actually being loaded. The best values depend on entry size and
+ * node count: a buffer of 1024 x 1 KB entries is a 1 MB batch, while
+ * 1024 x 64 KB entries is a 64 MB batch.
+ *
+ * The load is split into epochs of epochMillis. Each epoch runs with one
+ * setting; at the end of the epoch the streamer is flushed and closed
+ * (those settings only take effect on a fresh streamer), its rate is
+ * measured, and a hill climb picks the next setting:
+ * - try doubling or halving the buffer size, then the parallel operations
+ * - keep a move that improves the rate by more than improvementThreshold
+ *   and keep going in that direction
+ * - when no move helps the search has converged; it re-probes after
+ *   reprobeEpochs in case conditions changed
+ *
+ * The first epoch is a warmup and is not used for tuning.
+ *
+ * The buffer size is also capped in bytes: with 64 KB values a 16384-entry
+ * buffer would be 1 GB per node. Values are sized on the same sample
+ * (byte[] and String by default, others through valueSizer) and the
+ * search never goes above maxBufferBytes / average value size entries.
+ *
+ * A sample of addData futures is timed from add to acknowledgement and
+ * grouped by primary node. A trial whose slowest node exceeds
+ * maxAckLatencyMillis (when set) is rejected even if it is faster, which
+ * stops the climb from trading unbounded server queueing for throughput.
+ *
+ * addData may be called from many threads at once; once close() has been
+ * called it throws IllegalStateException.
+ */
+public class AdaptiveDataStreamer<K, V> implements AutoCloseable {
+
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    private final Ignite ignite;
+    private final String cacheName;
+    private final Affinity<K> affinity;
+
+    private long epochMillis = 1000;
+    private int minBufferSize = 64;
+    private int maxBufferSize = 16384;
+    private long maxBufferBytes = 32L * 1024 * 1024;
+    private ToIntFunction<? super V> valueSizer = AdaptiveDataStreamer::defaultValueSize;
+    private int minParallelOps = 1;
+    private int maxParallelOps = 64;
+    private double improvementThreshold = 0.05;
+    private long maxAckLatencyMillis;
+    private int reprobeEpochs = 10;
+    private int ackSampleInterval = 64;
+    private boolean allowOverwrite;
+
+    /** Guards replacing the streamer: adds share it, a rollover is exclusive. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong addCounter = new AtomicLong();
+
+    private volatile IgniteDataStreamer<K, V> streamer;
+    private volatile boolean closed;
+    private volatile Epoch epoch;
+    private final LongAdder sampledValues = new LongAdder();
+    private final LongAdder sampledValueBytes = new LongAdder();
+    private final List<EpochResult> history = Collections.synchronizedList(new ArrayList<>());
+
+    // Hill climb state, only touched during a rollover
+    private Settings best;
+    private double bestRate;
+    private Settings trial;
+    private int moveIndex;
+    private int failedMoves;
+    private int stableEpochs;
+
+    public AdaptiveDataStreamer(Ignite ignite, String cacheName) {
+        this(ignite, cacheName, 512, 8);
+    }
+
+    public AdaptiveDataStreamer(Ignite ignite, String cacheName, int initialBufferSize, int initialParallelOps) {
+        this.ignite = ignite;
+        this.cacheName = cacheName;
+        this.affinity = ignite.affinity(cacheName);
+        this.best = new Settings(initialBufferSize, initialParallelOps);
+    }
+
+    // ==================== Configuration (before the first addData) ====================
+
+    public AdaptiveDataStreamer<K, V> epochMillis(long epochMillis) {
+        this.epochMillis = epochMillis;
+        return this;
+    }
+
+    public AdaptiveDataStreamer<K, V> bufferSizeRange(int min, int max) {
+        this.minBufferSize = min;
+        this.maxBufferSize = max;
+        return this;
+    }
+
+    /** Most bytes of values in one per-node buffer; 0 disables. Default 32 MB. */
+    public AdaptiveDataStreamer<K, V> maxBufferBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("maxBufferBytes must not be negative: " + bytes);
+        }
+        this.maxBufferBytes = bytes;
+        return this;
+    }
+
+    /** Serialized size of a value, or -1 if unknown. Default: byte[] and String lengths. */
+    public AdaptiveDataStreamer<K, V> valueSizer(ToIntFunction<? super V> valueSizer) {
+        this.valueSizer = valueSizer;
+        return this;
+    }
+
+    public AdaptiveDataStreamer<K, V> parallelOpsRange(int min, int max) {
+        this.minParallelOps = min;
+        this.maxParallelOps = max;
+        return this;
+    }
+
+    /** Relative gain a move must show to be kept, e.g. 0.05 for 5%. */
+    public AdaptiveDataStreamer<K, V> improvementThreshold(double threshold) {
+        this.improvementThreshold = threshold;
+        return this;
+    }
+
+    /** Reject settings whose slowest node averages more than this; 0 disables. */
+    public AdaptiveDataStreamer<K, V> maxAckLatencyMillis(long millis) {
+        this.maxAckLatencyMillis = millis;
+        return this;
+    }
+
+    public AdaptiveDataStreamer<K, V> reprobeEpochs(int epochs) {
+        this.reprobeEpochs = epochs;
+        return this;
+    }
+
+    public AdaptiveDataStreamer<K, V> allowOverwrite(boolean allowOverwrite) {
+        this.allowOverwrite = allowOverwrite;
+        return this;
+    }
+
+    // ==================== Streaming ====================
+
+    public void addData(K key, V value) {
+        long count = addCounter.incrementAndGet();
+
+        if (streamer == null) {
+            // Before taking the read lock, so a failure here leaves no lock to release
+            startFirstEpoch();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("AdaptiveDataStreamer for " + cacheName + " is closed");
+            }
+
+            Epoch current = epoch;
+            current.entries.increment();
+            if (count % ackSampleInterval == 0) {
+                sampleSize(value);
+                sampleAck(current, key, streamer.addData(key, value));
+            } else {
+                streamer.addData(key, value);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (count % TIME_CHECK_INTERVAL == 0 && epoch.elapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(epochMillis)) {
+            rollover(epoch.id);
+        }
+    }
+
+    /**
+     * Flush and close the underlying streamer. The last epoch is recorded
+     * but not used for tuning, since it is usually a partial one.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            if (streamer != null) {
+                streamer.close();
+                streamer = null;
+                if (epoch.entries.sum() > 0) {
+                    history.add(epoch.finish());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== Results ====================
+
+    public int getBestBufferSize() {
+        return best.bufferSize;
+    }
+
+    public int getBestParallelOps() {
+        return best.parallelOps;
+    }
+
+    public double getBestRate() {
+        return bestRate;
+    }
+
+    public List<EpochResult> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    /**
+     * Print every epoch and the settings the search settled on.
+     */
+    public void printReport(PrintStream out) {
+        out.println(String.format("   %5s %8s %8s %10s %14s %14s",
+            "Epoch", "Buffer", "ParOps", "Entries", "Entries/sec", "Max node ack"));
+        for (EpochResult r : getHistory()) {
+            out.println(String.format("   %5d %8d %8d %,10d %,14.0f %11.2f ms",
+                r.getEpoch(), r.getBufferSize(), r.getParallelOps(), r.getEntries(),
+                r.getRate(), r.getMaxNodeAckMillis()));
+        }
+        out.println(String.format("   Chosen: perNodeBufferSize=%d, perNodeParallelOperations=%d (%,.0f entries/sec)",
+            best.bufferSize, best.parallelOps, bestRate));
+    }
+
+    // ==================== Internals ====================
+
+    private Settings clamp(Settings s) {
+        return new Settings(
+            Math.max(minBufferSize, Math.min(bufferSizeCap(), s.bufferSize)),
+            Math.max(minParallelOps, Math.min(maxParallelOps, s.parallelOps)));
+    }
+
+    private boolean inRange(Settings s) {
+        return s.bufferSize >= minBufferSize && s.bufferSize <= bufferSizeCap()
+            && s.parallelOps >= minParallelOps && s.parallelOps <= maxParallelOps;
+    }
+
+    /** maxBufferSize, lowered so a buffer of average values fits in maxBufferBytes. */
+    private int bufferSizeCap() {
+        long n = sampledValues.sum();
+        if (maxBufferBytes <= 0 || n == 0) {
+            return maxBufferSize;
+        }
+        double averageBytes = Math.max(1.0, (double) sampledValueBytes.sum() / n);
+        long cap = (long) (maxBufferBytes / averageBytes);
+        return (int) Math.max(minBufferSize, Math.min(maxBufferSize, cap));
+    }
+
+    private void startFirstEpoch() {
+        lock.writeLock().lock();
+        try {
+            if (streamer == null && !closed) {
+                best = clamp(best);
+                openStreamer(best, 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rollover(long expectedEpoch) {
+        lock.writeLock().lock();
+        try {
+            // Another thread may have rolled over already
+            if (streamer == null || epoch.id != expectedEpoch) {
+                return;
+            }
+
+            // Closing flushes, so the epoch's rate includes its own drain time
+            streamer.close();
+            EpochResult result = epoch.finish();
+            history.add(result);
+
+            openStreamer(nextSettings(result), expectedEpoch + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openStreamer(Settings settings, long epochId) {
+        streamer = ignite.dataStreamer(cacheName);
+        streamer.perNodeBufferSize(settings.bufferSize);
+        streamer.perNodeParallelOperations(settings.parallelOps);
+        streamer.allowOverwrite(allowOverwrite);
+        epoch = new Epoch(epochId, settings);
+    }
+
+    private Settings nextSettings(EpochResult result) {
+        if (result.getEpoch() == 0) {
+            // Warmup: JIT and connection setup make the first epoch slow,
+            // so it is repeated rather than used as the baseline
+            return best;
+        }
+
+        if (best.bufferSize > bufferSizeCap()) {
+            // Values grew: fall back inside the byte budget and measure a new baseline
+            best = clamp(best);
+            trial = null;
+            failedMoves = 0;
+            return best;
+        }
+
+        boolean withinLatency = maxAckLatencyMillis <= 0 || result.getMaxNodeAckMillis() <= maxAckLatencyMillis;
+
+        if (trial == null) {
+            // Epoch ran at the current best: refresh its rate, then probe
+            bestRate = result.getRate();
+            if (failedMoves >= Move.values().length) {
+                if (++stableEpochs < reprobeEpochs) {
+                    return best;
+                }
+                stableEpochs = 0;
+                failedMoves = 0;
+            }
+            trial = nextTrial();
+            return trial != null ? trial : best;
+        }
+
+        if (withinLatency && result.getRate() > bestRate * (1 + improvementThreshold)) {
+            // Keep the move and continue in the same direction
+            best = trial;
+            bestRate = result.getRate();
+            failedMoves = 0;
+        } else {
+            failedMoves++;
+            moveIndex = (moveIndex + 1) % Move.values().length;
+        }
+        trial = null;
+
+        if (failedMoves >= Move.values().length) {
+            return best;
+        }
+        trial = nextTrial();
+        return trial != null ? trial : best;
+    }
+
+    /** Next in-range neighbour of the best settings, or null if every move is out of range. */
+    private Settings nextTrial() {
+        for (int i = 0; i < Move.values().length && failedMoves < Move.values().length; i++) {
+            Settings candidate = Move.values()[moveIndex].apply(best);
+            if (!inRange(candidate)) {
+                failedMoves++;
+                moveIndex = (moveIndex + 1) % Move.values().length;
+                continue;
+            }
+            return candidate;
+        }
+        return null;
+    }
+
+    private void sampleSize(V value) {
+        int size = valueSizer.applyAsInt(value);
+        if (size >= 0) {
+            sampledValues.increment();
+            sampledValueBytes.add(size);
+        }
+    }
+
+    private static int defaultValueSize(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        return -1;
+    }
+
+    private void sampleAck(Epoch current, K key, IgniteFuture<?> future) {
+        ClusterNode node = affinity.mapKeyToNode(key);
+        if (node == null) {
+            return;
+        }
+        long added = System.nanoTime();
+        AckStats stats = current.acks.computeIfAbsent(node.id(), id -> new AckStats());
+        future.listen(f -> stats.record(System.nanoTime() - added));
+    }
+
+    private enum Move {
+        BUFFER_UP, BUFFER_DOWN, PARALLEL_UP, PARALLEL_DOWN;
+
+        Settings apply(Settings s) {
+            switch (this) {
+                case BUFFER_UP:
+                    return new Settings(s.bufferSize * 2, s.parallelOps);
+                case BUFFER_DOWN:
+                    return new Settings(s.bufferSize / 2, s.parallelOps);
+                case PARALLEL_UP:
+                    return new Settings(s.bufferSize, s.parallelOps * 2);
+                default:
+                    return new Settings(s.bufferSize, s.parallelOps / 2);
+            }
+        }
+    }
+
+    private static final class Settings {
+        final int bufferSize;
+        final int parallelOps;
+
+        Settings(int bufferSize, int parallelOps) {
+            this.bufferSize = bufferSize;
+            this.parallelOps = parallelOps;
+        }
+    }
+
+    private final class Epoch {
+        final long id;
+        final Settings settings;
+        final long startNanos = System.nanoTime();
+        final LongAdder entries = new LongAdder();
+        final ConcurrentMap<UUID, AckStats> acks = new ConcurrentHashMap<>();
+
+        Epoch(long id, Settings settings) {
+            this.id = id;
+            this.settings = settings;
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        EpochResult finish() {
+            long elapsed = elapsedNanos();
+            long count = entries.sum();
+
+            double maxNodeAckMillis = 0;
+            for (Map.Entry<UUID, AckStats> e : acks.entrySet()) {
+                maxNodeAckMillis = Math.max(maxNodeAckMillis, e.getValue().meanMillis());
+            }
+            return new EpochResult(id, settings.bufferSize, settings.parallelOps, count,
+                count * 1_000_000_000.0 / Math.max(1, elapsed), maxNodeAckMillis);
+        }
+    }
+
+    private static final class AckStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        double meanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (n * 1_000_000.0);
+        }
+    }
+
+    /**
+     * Outcome of one epoch.
+     */
+    public static final class EpochResult {
+        private final long epoch;
+        private final int bufferSize;
+        private final int parallelOps;
+        private final long entries;
+        private final double rate;
+        private final double maxNodeAckMillis;
+
+        EpochResult(long epoch, int bufferSize, int parallelOps, long entries, double rate, double maxNodeAckMillis) {
+            this.epoch = epoch;
+            this.bufferSize = bufferSize;
+            this.parallelOps = parallelOps;
+            this.entries = entries;
+            this.rate = rate;
+            this.maxNodeAckMillis = maxNodeAckMillis;
+        }
+
+        public long getEpoch() { return epoch; }
+        public int getBufferSize() { return bufferSize; }
+        public int getParallelOps() { return parallelOps; }
+        public long getEntries() { return entries; }
+        /** Entries per second, including the flush at the end of the epoch. */
+        public double getRate() { return rate; }
+        /** Mean add-to-ack latency of the slowest primary node. */
+        public double getMaxNodeAckMillis() { return maxNodeAckMillis; }
+    }
+}
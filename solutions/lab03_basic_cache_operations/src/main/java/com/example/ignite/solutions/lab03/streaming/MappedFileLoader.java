@@ -0,0 +1,538 @@
+package com.example.ignite.solutions.lab03.streaming;
+
+import org.apache.ignite.IgniteDataStreamer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 3 Optional: Memory-Mapped Bulk File Loader
+ *
+ * Loads delimited (CSV, TSV, pipe) or fixed-width files into a shared
+ * IgniteDataStreamer. The file is cut into chunks that end on record
+ * boundaries; each chunk is mapped with FileChannel.map and parsed on
+ * its own thread, so parsing uses every core and the file is never
+ * copied onto the heap.
+ *
+ * Records are not turned into Strings. The {@link RowMapper} receives a
+ * reusable {@link Row} that points at field offsets inside the mapped
+ * buffer and parses numbers straight from the bytes; only fields read
+ * with getString or getBytes allocate.
+ *
+ * Limitations:
+ * - delimited files have no quoting: a delimiter always ends a field
+ * - records end with \n; a trailing \r is ignored
+ * - text is decoded as UTF-8 by getString
+ *
+ * IgniteDataStreamer is thread-safe, and its addData blocks when
+ * perNodeParallelOperations batches are in flight, which throttles the
+ * parser threads to what the cluster can absorb.
+ */
+public class MappedFileLoader<K, V> {
+
+    /** Bytes read when searching for the record boundary after a chunk start. */
+    private static final int BOUNDARY_SCAN_SIZE = 64 * 1024;
+
+    private final byte delimiter;
+    private final int[] fieldWidths;
+    private int recordLength;
+
+    private long chunkSize = 64L * 1024 * 1024;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean skipHeader;
+
+    private MappedFileLoader(byte delimiter, int[] fieldWidths) {
+        this.delimiter = delimiter;
+        this.fieldWidths = fieldWidths;
+    }
+
+    /**
+     * Loader for records separated by newlines with fields separated by
+     * the given single-byte delimiter.
+     */
+    public static <K, V> MappedFileLoader<K, V> delimited(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be a single-byte character other than CR/LF: " +
+                (int) delimiter);
+        }
+        return new MappedFileLoader<>((byte) delimiter, null);
+    }
+
+    /**
+     * Loader for fixed-width records. Fields are trimmed of spaces. The
+     * record length defaults to the sum of the widths; set it with
+     * {@link #recordLength(int)} when records carry a line terminator.
+     */
+    public static <K, V> MappedFileLoader<K, V> fixedWidth(int... fieldWidths) {
+        int total = 0;
+        for (int width : fieldWidths) {
+            if (width <= 0) {
+                throw new IllegalArgumentException("Field widths must be positive: " + width);
+            }
+            total += width;
+        }
+        MappedFileLoader<K, V> loader = new MappedFileLoader<>((byte) 0, fieldWidths.clone());
+        loader.recordLength = total;
+        return loader;
+    }
+
+    /** Bytes per fixed-width record including any terminator, e.g. sum of widths + 1 for \n. */
+    public MappedFileLoader<K, V> recordLength(int recordLength) {
+        if (fieldWidths == null) {
+            throw new IllegalStateException("recordLength applies to fixed-width files only");
+        }
+        int total = 0;
+        for (int width : fieldWidths) {
+            total += width;
+        }
+        if (recordLength < total) {
+            throw new IllegalArgumentException("recordLength " + recordLength + " is shorter than the fields (" +
+                total + ")");
+        }
+        this.recordLength = recordLength;
+        return this;
+    }
+
+    /** Target bytes per mapped chunk; at most 1 GB. */
+    public MappedFileLoader<K, V> chunkSize(long chunkSize) {
+        if (chunkSize < 1 || chunkSize > 1L << 30) {
+            throw new IllegalArgumentException("chunkSize must be between 1 byte and 1 GB: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /** Parser threads; defaults to the number of cores. */
+    public MappedFileLoader<K, V> threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /** Skip the first record (column names). */
+    public MappedFileLoader<K, V> skipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+        return this;
+    }
+
+    /**
+     * Parse the file and add every record to the streamer. Blocks until
+     * all chunks are parsed; the caller still owns the streamer and
+     * should flush or close it.
+     */
+    public LoadResult load(Path file, IgniteDataStreamer<K, V> streamer, RowMapper<K, V> mapper) throws IOException {
+        long start = System.nanoTime();
+        LongAdder rows = new LongAdder();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> chunks = fieldWidths == null ? delimitedChunks(channel, size) : fixedWidthChunks(size);
+
+            AtomicInteger threadIds = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks.size())), r -> {
+                Thread thread = new Thread(r, "mapped-loader-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < chunks.size(); i++) {
+                    long[] chunk = chunks.get(i);
+                    boolean header = skipHeader && i == 0;
+                    futures.add(executor.submit(() -> {
+                        rows.add(parseChunk(channel, chunk[0], chunk[1], header, streamer, mapper));
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading " + file, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Failed to load " + file, cause);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            return new LoadResult(rows.sum(), size, System.nanoTime() - start);
+        }
+    }
+
+    // ==================== Chunking ====================
+
+    /**
+     * Cut at every chunkSize bytes, moved forward to just past the next
+     * newline so no record straddles two chunks.
+     */
+    private List<long[]> delimitedChunks(FileChannel channel, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+
+        long chunkStart = 0;
+        while (chunkStart < size) {
+            long chunkEnd = Math.min(size, chunkStart + chunkSize);
+            if (chunkEnd < size) {
+                chunkEnd = nextLineStart(channel, chunkEnd, size, scan);
+            }
+            if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                throw new IOException("Record at offset " + chunkStart + " is longer than 2 GB");
+            }
+            chunks.add(new long[] {chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scan)
+            throws IOException {
+        // A chunk may already end right after a newline
+        long pos = position - 1;
+        while (pos < size) {
+            scan.clear();
+            int read = channel.read(scan, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /** Whole records per chunk, so boundaries are simple multiples. */
+    private List<long[]> fixedWidthChunks(long size) throws IOException {
+        if (size % recordLength != 0) {
+            throw new IOException("File size " + size + " is not a multiple of the record length " + recordLength);
+        }
+        long recordsPerChunk = Math.max(1, chunkSize / recordLength);
+        long step = recordsPerChunk * recordLength;
+
+        List<long[]> chunks = new ArrayList<>();
+        for (long start = 0; start < size; start += step) {
+            chunks.add(new long[] {start, Math.min(size, start + step)});
+        }
+        return chunks;
+    }
+
+    // ==================== Parsing ====================
+
+    private long parseChunk(FileChannel channel, long start, long end, boolean skipFirst,
+                            IgniteDataStreamer<K, V> streamer, RowMapper<K, V> mapper) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        Row row = new Row(buf, fieldWidths != null ? fieldWidths.length : 16);
+        int limit = buf.limit();
+        long count = 0;
+
+        int pos = 0;
+        boolean first = skipFirst;
+        while (pos < limit) {
+            int recordEnd;
+            if (fieldWidths != null) {
+                recordEnd = pos + recordLength;
+                row.splitFixed(pos, fieldWidths);
+            } else {
+                recordEnd = indexOf(buf, (byte) '\n', pos, limit);
+                int contentEnd = recordEnd;
+                if (contentEnd > pos && buf.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                if (contentEnd == pos) {
+                    // Blank line
+                    pos = recordEnd + 1;
+                    continue;
+                }
+                row.splitDelimited(pos, contentEnd, delimiter);
+                recordEnd++;
+            }
+            pos = recordEnd;
+
+            if (first) {
+                first = false;
+                continue;
+            }
+            try {
+                streamer.addData(mapper.key(row), mapper.value(row));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Failed to map record at offset " +
+                    (start + row.recordStart()) + ": " + e.getMessage(), e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static int indexOf(ByteBuffer buf, byte b, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buf.get(i) == b) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Turns a parsed record into a cache entry. Called concurrently from
+     * the parser threads; the Row is only valid during the call.
+     */
+    public interface RowMapper<K, V> {
+        K key(Row row);
+
+        V value(Row row);
+    }
+
+    /**
+     * One record as field offsets into the mapped file. Reused for every
+     * record of a chunk, so do not keep a reference to it.
+     */
+    public static final class Row {
+        private final ByteBuffer buf;
+        private int[] starts;
+        private int[] ends;
+        private int fieldCount;
+
+        Row(ByteBuffer buf, int capacity) {
+            this.buf = buf;
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+        }
+
+        void splitDelimited(int from, int to, byte delimiter) {
+            fieldCount = 0;
+            int fieldStart = from;
+            for (int i = from; i < to; i++) {
+                if (buf.get(i) == delimiter) {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                }
+            }
+            addField(fieldStart, to);
+        }
+
+        void splitFixed(int from, int[] widths) {
+            fieldCount = 0;
+            int fieldStart = from;
+            for (int width : widths) {
+                int s = fieldStart;
+                int e = fieldStart + width;
+                while (s < e && buf.get(s) == ' ') {
+                    s++;
+                }
+                while (e > s && buf.get(e - 1) == ' ') {
+                    e--;
+                }
+                addField(s, e);
+                fieldStart += width;
+            }
+        }
+
+        private void addField(int start, int end) {
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+            }
+            starts[fieldCount] = start;
+            ends[fieldCount] = end;
+            fieldCount++;
+        }
+
+        int recordStart() {
+            return fieldCount > 0 ? starts[0] : 0;
+        }
+
+        public int fieldCount() {
+            return fieldCount;
+        }
+
+        /** Field length in bytes. */
+        public int length(int field) {
+            check(field);
+            return ends[field] - starts[field];
+        }
+
+        public boolean isEmpty(int field) {
+            return length(field) == 0;
+        }
+
+        public long getLong(int field) {
+            check(field);
+            int i = starts[field];
+            int end = ends[field];
+            if (i == end) {
+                throw new NumberFormatException("Empty field " + field);
+            }
+
+            boolean negative = false;
+            byte first = buf.get(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (++i == end) {
+                    throw new NumberFormatException("No digits in field " + field);
+                }
+            }
+
+            // Accumulate negatively so Long.MIN_VALUE parses
+            long result = 0;
+            for (; i < end; i++) {
+                int digit = buf.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Not a number in field " + field + ": " + getString(field));
+                }
+                if (result < (Long.MIN_VALUE + digit) / 10) {
+                    throw new NumberFormatException("Overflow in field " + field + ": " + getString(field));
+                }
+                result = result * 10 - digit;
+            }
+            if (!negative) {
+                if (result == Long.MIN_VALUE) {
+                    throw new NumberFormatException("Overflow in field " + field + ": " + getString(field));
+                }
+                return -result;
+            }
+            return result;
+        }
+
+        public int getInt(int field) {
+            long value = getLong(field);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Overflow in field " + field + ": " + value);
+            }
+            return (int) value;
+        }
+
+        /**
+         * Parses plain decimals such as -12.50 from the bytes. Values with
+         * an exponent or more than 15 digits fall back to Double.parseDouble.
+         */
+        public double getDouble(int field) {
+            check(field);
+            int i = starts[field];
+            int end = ends[field];
+
+            boolean negative = false;
+            if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negative = buf.get(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; i < end; i++) {
+                byte b = buf.get(i);
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if (b >= '0' && b <= '9' && digits < 15) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else {
+                    return Double.parseDouble(getString(field));
+                }
+            }
+            if (digits == 0) {
+                return Double.parseDouble(getString(field));
+            }
+
+            // mantissa < 2^53 and 10^k <= 10^15 are exact doubles, so one
+            // division gives the correctly rounded result
+            double value = mantissa;
+            if (fractionDigits > 0) {
+                value /= POWERS_OF_TEN[fractionDigits];
+            }
+            return negative ? -value : value;
+        }
+
+        /** Allocates a String for the field. */
+        public String getString(int field) {
+            return new String(getBytes(field), StandardCharsets.UTF_8);
+        }
+
+        /** Allocates a copy of the field bytes. */
+        public byte[] getBytes(int field) {
+            byte[] bytes = new byte[length(field)];
+            copyTo(field, bytes, 0);
+            return bytes;
+        }
+
+        /** Copy the field into an existing array; returns the number of bytes copied. */
+        public int copyTo(int field, byte[] dest, int offset) {
+            int length = length(field);
+            int start = starts[field];
+            for (int i = 0; i < length; i++) {
+                dest[offset + i] = buf.get(start + i);
+            }
+            return length;
+        }
+
+        private void check(int field) {
+            if (field < 0 || field >= fieldCount) {
+                throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount);
+            }
+        }
+
+        private static final double[] POWERS_OF_TEN = new double[16];
+
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+    }
+
+    /**
+     * Outcome of one load.
+     */
+    public static final class LoadResult {
+        private final long rows;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        LoadResult(long rows, long bytes, long elapsedNanos) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() { return rows; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getRowsPerSecond() {
+            return rows * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+        }
+
+        public double getMegabytesPerSecond() {
+            return bytes * 1_000_000_000.0 / Math.max(1, elapsedNanos) / (1024 * 1024);
+        }
+    }
+}
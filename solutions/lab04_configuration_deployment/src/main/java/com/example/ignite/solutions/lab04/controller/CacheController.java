@@ -1,5 +1,6 @@
 package com.example.ignite.solutions.lab04.controller;
 
+import com.example.ignite.solutions.common.ThreadMode;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
@@ -8,13 +9,21 @@ import org.apache.ignite.configuration.IgniteConfiguration;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Lab 4 Exercise 4: REST Controller Simulation
  *
  * This class simulates REST controller operations.
  * In a real Spring Boot app, use @RestController annotation.
+ *
+ * With -Dthread.mode set, a concurrent section then handles each request
+ * on its own thread, like a servlet container: -Dthread.mode=platform uses
+ * a pool of 200 platform threads (Tomcat's default), -Dthread.mode=virtual
+ * one virtual thread per request, which is what
+ * spring.threads.virtual.enabled=true does on Spring Boot 3.2+.
  */
 // @RestController
 // @RequestMapping("/api/cache")
@@ -22,6 +31,7 @@ public class CacheController {
 
     private final Ignite ignite;
     private static final String CACHE_NAME = "springCache";
+    private static final int REQUEST_THREADS = 200;
 
     public CacheController(Ignite ignite) {
         this.ignite = ignite;
@@ -103,6 +113,11 @@ public class CacheController {
             System.out.println("\nDELETE /api/cache/key1 -> " + controller.delete("key1"));
             System.out.println("GET /api/cache/size -> " + controller.size());
 
+            // Concurrent requests, thread-per-request; only when asked for
+            if (System.getProperty(ThreadMode.PROPERTY) != null) {
+                handleConcurrently(controller, ThreadMode.current(), 10_000);
+            }
+
             System.out.println("\n=== REST API Equivalent Commands ===");
             System.out.println("# Put a value");
             System.out.println("curl -X POST http://localhost:8080/api/cache/mykey \\");
@@ -119,4 +134,40 @@ public class CacheController {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Serve the given number of simultaneous requests, each on its own
+     * thread, half POSTs and half GETs.
+     */
+    static void handleConcurrently(CacheController controller, ThreadMode mode, int requests)
+            throws InterruptedException {
+        System.out.println("\nHandling " + requests + " concurrent requests on " +
+            (mode == ThreadMode.VIRTUAL ? "virtual threads" : REQUEST_THREADS + " platform threads") + "...");
+
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = mode.newExecutor(REQUEST_THREADS);
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < requests; i++) {
+            String key = "request-" + (i / 2);
+            boolean post = i % 2 == 0;
+            executor.execute(() -> {
+                try {
+                    if (post) {
+                        controller.put(key, "value");
+                    } else {
+                        controller.get(key);
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        long duration = Math.max(1, System.currentTimeMillis() - startTime);
+
+        System.out.println("   Duration: " + duration + " ms, throughput: " +
+            (requests * 1000L / duration) + " requests/sec, failures: " + failures.get());
+        System.out.println("GET /api/cache/size -> " + controller.size());
+    }
 }
@@ -0,0 +1,106 @@
+package com.example.ignite.solutions.lab05;
+
+import com.example.ignite.solutions.lab05.model.Customer;
+import com.example.ignite.solutions.lab05.model.ModelSerializers;
+import com.example.ignite.solutions.lab05.model.Order;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.marshaller.Marshaller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+/**
+ * Lab 5 Optional: Compact Binary Serialization
+ *
+ * Demonstrates:
+ * - Payload size of Customer and Order with Java serialization, the
+ *   default (reflective) binary format and raw binary serializers
+ * - Registering the serializers in the node configuration
+ * - Round trip through a cache with the serializers registered
+ *
+ * Serializers are part of the node configuration, so each format runs
+ * on its own node, one after the other. For marshal/unmarshal cost see
+ * SerializationBenchmark in the benchmarks module.
+ */
+public class CompactSerialization {
+
+    private static final Customer CUSTOMER =
+        new Customer(1, "John Doe", "john@example.com", "New York");
+    private static final Order ORDER = new Order(101, 1, "Laptop", 1200.00);
+
+    public static void main(String[] args) {
+        System.out.println("=== Compact Binary Serialization Lab ===\n");
+
+        try {
+            // 1. Payload sizes
+            System.out.println("1. Bytes per object:\n");
+            System.out.println(String.format("   %-8s %8s %8s %8s", "Type", "Java", "Binary", "Raw"));
+
+            int[] binary;
+            try (Ignite ignite = Ignition.start(nodeConfig("default-binary"))) {
+                binary = new int[] {marshalledSize(ignite, CUSTOMER), marshalledSize(ignite, ORDER)};
+            }
+
+            try (Ignite ignite = Ignition.start(ModelSerializers.register(nodeConfig("raw-binary")))) {
+                int[] raw = {marshalledSize(ignite, CUSTOMER), marshalledSize(ignite, ORDER)};
+                System.out.println(String.format("   %-8s %8d %8d %8d", "Customer",
+                    javaSize(CUSTOMER), binary[0], raw[0]));
+                System.out.println(String.format("   %-8s %8d %8d %8d", "Order",
+                    javaSize(ORDER), binary[1], raw[1]));
+
+                // 2. Round trip through a cache
+                System.out.println("\n2. Cache round trip with raw serializers:");
+                IgniteCache<Integer, Customer> customers =
+                    ignite.getOrCreateCache(new CacheConfiguration<>("compactCustomers"));
+                IgniteCache<Integer, Order> orders =
+                    ignite.getOrCreateCache(new CacheConfiguration<>("compactOrders"));
+                customers.put(CUSTOMER.getCustomerId(), CUSTOMER);
+                orders.put(ORDER.getOrderId(), ORDER);
+                orders.put(102, new Order(102, 1, "Mouse", null));
+
+                System.out.println("   " + customers.get(1));
+                System.out.println("   " + orders.get(101));
+                System.out.println("   " + orders.get(102) + " (null amount kept)");
+
+                System.out.println("\n   Binary fields visible to SQL and BinaryObject.field(): " +
+                    ignite.binary().type(Customer.class).fieldNames());
+            }
+
+            System.out.println("\n=== Compact Serialization Guidelines ===");
+            System.out.println("- Raw mode drops field names, type bytes and the schema footer");
+            System.out.println("- Raw values cannot be queried by field; keep SQL types in named mode");
+            System.out.println("- Register the same serializers on every node and thick client");
+            System.out.println("- Changing a raw layout means migrating the stored data");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        return new IgniteConfiguration().setIgniteInstanceName(name);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int marshalledSize(Ignite ignite, Object obj) throws Exception {
+        // The node's binary marshaller, with its registered serializers
+        Marshaller marshaller = ignite.configuration().getMarshaller();
+        return marshaller.marshal(obj).length;
+    }
+
+    private static int javaSize(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        return bytes.size();
+    }
+}
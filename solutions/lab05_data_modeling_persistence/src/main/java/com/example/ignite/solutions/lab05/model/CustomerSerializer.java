@@ -0,0 +1,51 @@
+package com.example.ignite.solutions.lab05.model;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.binary.BinaryRawWriter;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryWriter;
+
+/**
+ * Lab 5 Optional: Raw Binary Serializer for Customer
+ *
+ * Writes Customer in raw mode: no field names, no per-field type bytes
+ * and no schema footer, only a null-flags byte, the id as a plain int
+ * and the strings. Registered through {@link ModelSerializers}.
+ *
+ * Raw objects have no named fields, so BinaryObject.field() and SQL
+ * cannot see into them; use this only for values that are read whole.
+ * The layout is the order of the calls below, so changing it requires
+ * migrating the stored data.
+ */
+public class CustomerSerializer implements BinarySerializer {
+
+    private static final int HAS_ID = 1;
+
+    @Override
+    public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+        Customer customer = (Customer) obj;
+        BinaryRawWriter out = writer.rawWriter();
+
+        out.writeByte((byte) (customer.getCustomerId() != null ? HAS_ID : 0));
+        if (customer.getCustomerId() != null) {
+            out.writeInt(customer.getCustomerId());
+        }
+        out.writeString(customer.getName());
+        out.writeString(customer.getEmail());
+        out.writeString(customer.getCity());
+    }
+
+    @Override
+    public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+        Customer customer = (Customer) obj;
+        BinaryRawReader in = reader.rawReader();
+
+        byte flags = in.readByte();
+        customer.setCustomerId((flags & HAS_ID) != 0 ? in.readInt() : null);
+        customer.setName(in.readString());
+        customer.setEmail(in.readString());
+        customer.setCity(in.readString());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ignite.solutions.lab05.model;
+
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lab 5 Optional: Registering Custom Binary Serializers
+ *
+ * Serializers are plugged in per class through the node's
+ * BinaryConfiguration. register() adds them to an existing configuration
+ * and keeps the type configurations already there, so applications can
+ * add their own serializers alongside the lab ones:
+ *
+ * <pre>
+ * IgniteConfiguration cfg = new IgniteConfiguration();
+ * ModelSerializers.register(cfg);                            // lab model classes
+ * ModelSerializers.register(cfg, ModelSerializers.type(Invoice.class, new InvoiceSerializer()));
+ * Ignition.start(cfg);
+ * </pre>
+ *
+ * The same BinaryTypeConfiguration beans can be declared in Spring XML.
+ * Every node and thick client must register the same serializers,
+ * otherwise they read each other's objects incorrectly.
+ */
+public final class ModelSerializers {
+
+    private ModelSerializers() {
+    }
+
+    /** Raw serializers for Customer and Order. */
+    public static List<BinaryTypeConfiguration> typeConfigurations() {
+        return Arrays.asList(
+            type(Customer.class, new CustomerSerializer()),
+            type(Order.class, new OrderSerializer()));
+    }
+
+    public static BinaryTypeConfiguration type(Class<?> cls, BinarySerializer serializer) {
+        BinaryTypeConfiguration typeCfg = new BinaryTypeConfiguration(cls.getName());
+        typeCfg.setSerializer(serializer);
+        return typeCfg;
+    }
+
+    /** Register the lab model serializers. */
+    public static IgniteConfiguration register(IgniteConfiguration cfg) {
+        return register(cfg, typeConfigurations());
+    }
+
+    public static IgniteConfiguration register(IgniteConfiguration cfg, BinaryTypeConfiguration... types) {
+        return register(cfg, Arrays.asList(types));
+    }
+
+    /**
+     * Add type configurations to the node configuration. A type already
+     * configured under the same class name is replaced.
+     */
+    public static IgniteConfiguration register(IgniteConfiguration cfg,
+                                               Collection<BinaryTypeConfiguration> types) {
+        BinaryConfiguration binaryCfg = cfg.getBinaryConfiguration();
+        if (binaryCfg == null) {
+            binaryCfg = new BinaryConfiguration();
+            cfg.setBinaryConfiguration(binaryCfg);
+        }
+
+        List<BinaryTypeConfiguration> merged = new ArrayList<>();
+        if (binaryCfg.getTypeConfigurations() != null) {
+            for (BinaryTypeConfiguration existing : binaryCfg.getTypeConfigurations()) {
+                if (types.stream().noneMatch(t -> t.getTypeName().equals(existing.getTypeName()))) {
+                    merged.add(existing);
+                }
+            }
+        }
+        merged.addAll(types);
+        binaryCfg.setTypeConfigurations(merged);
+        return cfg;
+    }
+}
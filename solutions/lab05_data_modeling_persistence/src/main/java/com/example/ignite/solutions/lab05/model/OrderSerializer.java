@@ -0,0 +1,66 @@
+package com.example.ignite.solutions.lab05.model;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.binary.BinaryRawWriter;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryWriter;
+
+/**
+ * Lab 5 Optional: Raw Binary Serializer for Order
+ *
+ * Same approach as {@link CustomerSerializer}: one byte of null flags
+ * for the boxed fields, then the values without names or type bytes.
+ *
+ * Orders are cache values here, so the @AffinityKeyMapped annotation is
+ * not involved. Do not register a raw serializer for a class used as a
+ * key with an affinity field: the affinity field is read by name.
+ */
+public class OrderSerializer implements BinarySerializer {
+
+    private static final int HAS_ORDER_ID = 1;
+    private static final int HAS_CUSTOMER_ID = 2;
+    private static final int HAS_AMOUNT = 4;
+
+    @Override
+    public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+        Order order = (Order) obj;
+        BinaryRawWriter out = writer.rawWriter();
+
+        int flags = 0;
+        if (order.getOrderId() != null) {
+            flags |= HAS_ORDER_ID;
+        }
+        if (order.getCustomerId() != null) {
+            flags |= HAS_CUSTOMER_ID;
+        }
+        if (order.getAmount() != null) {
+            flags |= HAS_AMOUNT;
+        }
+        out.writeByte((byte) flags);
+
+        if (order.getOrderId() != null) {
+            out.writeInt(order.getOrderId());
+        }
+        if (order.getCustomerId() != null) {
+            out.writeInt(order.getCustomerId());
+        }
+        if (order.getAmount() != null) {
+            out.writeDouble(order.getAmount());
+        }
+        out.writeString(order.getProduct());
+    }
+
+    @Override
+    public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+        Order order = (Order) obj;
+        BinaryRawReader in = reader.rawReader();
+
+        byte flags = in.readByte();
+        order.setOrderId((flags & HAS_ORDER_ID) != 0 ? in.readInt() : null);
+        order.setCustomerId((flags & HAS_CUSTOMER_ID) != 0 ? in.readInt() : null);
+        order.setAmount((flags & HAS_AMOUNT) != 0 ? in.readDouble() : null);
+        order.setProduct(in.readString());
+    }
+}
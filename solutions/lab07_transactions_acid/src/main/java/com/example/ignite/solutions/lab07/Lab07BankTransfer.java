@@ -3,8 +3,17 @@ package com.example.ignite.solutions.lab07;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.binary.BinaryRawWriter;
+import org.apache.ignite.binary.BinaryReader;
+import org.apache.ignite.binary.BinarySerializer;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.binary.BinaryWriter;
 import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.BinaryConfiguration;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.transactions.Transaction;
 import org.apache.ignite.transactions.TransactionConcurrency;
 import org.apache.ignite.transactions.TransactionIsolation;
@@ -12,6 +21,7 @@ import org.apache.ignite.transactions.TransactionIsolation;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -22,13 +32,15 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Consistent lock ordering to prevent deadlocks
  * - Full audit trail
  * - Transfer history tracking
+ * - Compact raw binary serializer for accounts, registered in the node
+ *   configuration
  */
 public class Lab07BankTransfer {
 
     private static final AtomicLong transactionCounter = new AtomicLong(0);
 
     public static void main(String[] args) {
-        try (Ignite ignite = Ignition.start()) {
+        try (Ignite ignite = Ignition.start(configuration())) {
             System.out.println("=== Bank Transfer Challenge ===\n");
 
             // Create caches
@@ -97,6 +109,19 @@ public class Lab07BankTransfer {
         }
     }
 
+    /**
+     * Node configuration with the compact BankAccount serializer. Every
+     * node and thick client must register it.
+     */
+    static IgniteConfiguration configuration() {
+        BinaryTypeConfiguration accountType = new BinaryTypeConfiguration(BankAccount.class.getName());
+        accountType.setSerializer(new BankAccountSerializer());
+
+        return new IgniteConfiguration()
+            .setBinaryConfiguration(new BinaryConfiguration()
+                .setTypeConfigurations(Collections.singletonList(accountType)));
+    }
+
     private static <K, V> IgniteCache<K, V> createCache(Ignite ignite,
                                                          String name,
                                                          Class<V> valueClass) {
@@ -235,6 +260,31 @@ public class Lab07BankTransfer {
         public void setBalance(double balance) { this.balance = balance; }
     }
 
+    /**
+     * Raw binary layout for BankAccount: the two strings and the balance
+     * without field names, type bytes or schema footer. Accounts are only
+     * read whole, never by field or SQL, so raw mode loses nothing.
+     */
+    static class BankAccountSerializer implements BinarySerializer {
+        @Override
+        public void writeBinary(Object obj, BinaryWriter writer) throws BinaryObjectException {
+            BankAccount account = (BankAccount) obj;
+            BinaryRawWriter out = writer.rawWriter();
+            out.writeString(account.accountNumber);
+            out.writeString(account.ownerName);
+            out.writeDouble(account.balance);
+        }
+
+        @Override
+        public void readBinary(Object obj, BinaryReader reader) throws BinaryObjectException {
+            BankAccount account = (BankAccount) obj;
+            BinaryRawReader in = reader.rawReader();
+            account.accountNumber = in.readString();
+            account.ownerName = in.readString();
+            account.balance = in.readDouble();
+        }
+    }
+
     static class TransferRecord implements Serializable {
         private long id;
         private String fromAccount;
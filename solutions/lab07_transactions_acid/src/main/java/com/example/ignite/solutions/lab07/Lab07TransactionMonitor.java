@@ -86,6 +86,8 @@ public class Lab07TransactionMonitor {
         for (int i = 0; i < numThreads; i++) {
             final int threadNum = i;
             executor.submit(() -> {
+                // Every thread updates key 1 on purpose, to produce lock waits and
+                // rollbacks to monitor; Lab08StripedCounter shows how to avoid this
                 for (int j = 0; j < transactionsPerThread; j++) {
                     try (Transaction tx = ignite.transactions().txStart(
                             TransactionConcurrency.PESSIMISTIC,
@@ -0,0 +1,149 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.Lab08EntryProcessors.IncrementProcessor;
+import com.example.ignite.solutions.lab08.bulk.BulkInvokeSummary;
+import com.example.ignite.solutions.lab08.bulk.BulkInvoker;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lab 08 Optional: Bulk Entry Processing
+ *
+ * Demonstrates:
+ * - invokeAll over 100,000 keys in one call vs BulkInvoker chunks
+ * - Results streamed to a callback as each per-node chunk completes
+ * - Counters only, for rules that return a result for few keys
+ *
+ * Two server nodes run in this JVM so that keys have two primary nodes.
+ */
+public class Lab08BulkInvoke {
+
+    private static final int KEYS = 100_000;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("bulk-node-1"));
+             Ignite second = Ignition.start(nodeConfig("bulk-node-2"))) {
+            System.out.println("=== Bulk Entry Processing Lab ===\n");
+
+            CacheConfiguration<String, Integer> cfg = new CacheConfiguration<>("bulkCounters");
+            cfg.setAtomicityMode(CacheAtomicityMode.ATOMIC);
+            IgniteCache<String, Integer> cache = ignite.getOrCreateCache(cfg);
+
+            List<String> keyList = new ArrayList<>(KEYS);
+            try (IgniteDataStreamer<String, Integer> streamer = ignite.dataStreamer(cache.getName())) {
+                for (int i = 0; i < KEYS; i++) {
+                    String key = "counter" + i;
+                    keyList.add(key);
+                    streamer.addData(key, i % 1000);
+                }
+            }
+            Set<String> keys = new HashSet<>(keyList);
+            System.out.println("Loaded " + String.format("%,d", KEYS) + " counters on " +
+                ignite.cluster().forServers().nodes().size() + " server nodes\n");
+
+            // Warm up both paths
+            cache.invokeAll(new HashSet<>(keyList.subList(0, 10_000)), new IncrementProcessor(), 0);
+            new BulkInvoker<>(ignite, cache).invokeAll(keyList.subList(0, 10_000), new IncrementProcessor(), null, 0);
+
+            // 1. One invokeAll call
+            System.out.println("1. cache.invokeAll(100,000 keys, IncrementProcessor, 5):");
+            long start = System.nanoTime();
+            Map<String, EntryProcessorResult<Integer>> all = cache.invokeAll(keys, new IncrementProcessor(), 5);
+            long total = 0;
+            for (EntryProcessorResult<Integer> result : all.values()) {
+                total += result.get();
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("   Time: " + millis + " ms, first result after " + millis + " ms");
+            System.out.println("   Results held in memory at once: " + String.format("%,d", all.size()));
+            System.out.println("   Sum of new values: " + String.format("%,d", total));
+
+            // 2. Chunked, streamed to a callback
+            System.out.println("\n2. BulkInvoker (1,000-key chunks, 2 in flight per node), same increment:");
+            BulkInvoker<String, Integer> invoker = new BulkInvoker<>(ignite, cache)
+                .chunkSize(1000)
+                .chunksPerNode(2);
+            long[] sum = new long[1];
+            long[] firstResultNanos = new long[1];
+            long bulkStart = System.nanoTime();
+            BulkInvokeSummary<String> summary = invoker.invokeAll(keys, new IncrementProcessor(),
+                (key, result) -> {
+                    if (firstResultNanos[0] == 0) {
+                        firstResultNanos[0] = System.nanoTime() - bulkStart;
+                    }
+                    sum[0] += result.get();
+                }, 5);
+            System.out.println("   " + summary);
+            System.out.println("   First result after " + firstResultNanos[0] / 1_000_000 + " ms");
+            System.out.println("   Results held in memory at once: at most " +
+                String.format("%,d", 1000 * 2 * summary.getNodes()));
+            System.out.println("   Sum of new values: " + String.format("%,d", sum[0]) +
+                " (previous sum + 100,000 x 5 = " + String.format("%,d", total + 500_000L) + ")");
+
+            // 3. Sparse results, counters only
+            System.out.println("\n3. Nightly rule: cap counters at 900 (result only for capped keys):");
+            BulkInvokeSummary<String> capped = invoker.invokeAll(keys, new CapRule(), null, 900);
+            System.out.println("   " + capped);
+            System.out.println("   Capped counters: " + String.format("%,d", capped.getResults()));
+
+            System.out.println("\n=== Bulk Invoke Guidelines ===");
+            System.out.println("- Chunk large key sets; one invokeAll holds every result until the slowest node is done");
+            System.out.println("- Group keys by primary node so each call goes to one node");
+            System.out.println("- Return null from processors when there is nothing to report");
+            System.out.println("- Failed chunks are not retried: make processors idempotent or check the failed keys");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+
+    /**
+     * Caps a counter at the given maximum; returns the old value for capped
+     * counters and null (no result) otherwise.
+     */
+    static class CapRule implements CacheEntryProcessor<String, Integer, Integer>, Serializable {
+        @Override
+        public Integer process(MutableEntry<String, Integer> entry, Object... args)
+                throws EntryProcessorException {
+            int max = (Integer) args[0];
+            Integer value = entry.getValue();
+            if (value == null || value <= max) {
+                return null;
+            }
+            entry.setValue(max);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.cq.ConflatingListener;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lab 08 Optional: Conflating Continuous Query
+ *
+ * Demonstrates:
+ * - Stock prices ticking far faster than a subscriber can render them
+ * - A per-event listener feeding a queue: the queue and the lag grow
+ *   for as long as the ticks last
+ * - ConflatingListener on the same ticks: the latest price of each stock
+ *   in batches every 100 ms, with a bounded lag and pending set
+ * - maxPendingKeys: writers slowed to the subscriber's pace when even
+ *   the distinct keys are too many to hold
+ */
+public class Lab08ConflatingContinuousQuery {
+
+    private static final int STOCKS = 100;
+    private static final int WRITERS = 2;
+    private static final long TICK_MILLIS = 5_000;
+    private static final long RENDER_MICROS = 200;
+    private static final long WINDOW_MILLIS = 100;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("conflating-cq-node"))) {
+            System.out.println("=== Conflating Continuous Query Lab ===\n");
+
+            IgniteCache<Integer, Double> cache =
+                ignite.getOrCreateCache(new CacheConfiguration<Integer, Double>("stockPrices"));
+
+            // 1. The same ticks to a per-event subscriber and a conflating one
+            System.out.println(String.format("1. %d stocks ticked by %d writers for %,d ms; " +
+                "rendering a price takes %d us", STOCKS, WRITERS, TICK_MILLIS, RENDER_MICROS));
+
+            BlockingQueue<Tick> queue = new LinkedBlockingQueue<>();
+            Map<Integer, Double> perEventScreen = new ConcurrentHashMap<>();
+            AtomicLong rendered = new AtomicLong();
+            AtomicLong lastLagNanos = new AtomicLong();
+            Thread renderer = new Thread(() -> {
+                try {
+                    while (true) {
+                        Tick tick = queue.take();
+                        render(1);
+                        perEventScreen.put(tick.stock, tick.price);
+                        rendered.incrementAndGet();
+                        lastLagNanos.set(System.nanoTime() - tick.receivedNanos);
+                    }
+                } catch (InterruptedException e) {
+                    // Stopped
+                }
+            }, "per-event-renderer");
+            renderer.setDaemon(true);
+            renderer.start();
+
+            ContinuousQuery<Integer, Double> perEvent = new ContinuousQuery<>();
+            perEvent.setLocalListener(events -> {
+                long now = System.nanoTime();
+                for (CacheEntryEvent<? extends Integer, ? extends Double> e : events) {
+                    queue.add(new Tick(e.getKey(), e.getValue(), now));
+                }
+            });
+
+            Map<Integer, Double> screen = new ConcurrentHashMap<>();
+            ConflatingListener<Integer, Double> conflating = new ConflatingListener<>(
+                (Map<Integer, Double> batch) -> {
+                    render(batch.size());
+                    screen.putAll(batch);
+                }, WINDOW_MILLIS);
+            ContinuousQuery<Integer, Double> conflated = new ContinuousQuery<>();
+            conflated.setLocalListener(conflating);
+
+            long ticks;
+            try (QueryCursor<Cache.Entry<Integer, Double>> c1 = cache.query(perEvent);
+                 QueryCursor<Cache.Entry<Integer, Double>> c2 = cache.query(conflated)) {
+                ticks = tick(cache, STOCKS, TICK_MILLIS);
+                System.out.println(String.format("   %,d ticks (%,.0f per second)\n",
+                    ticks, ticks * 1000.0 / TICK_MILLIS));
+
+                System.out.println("   Per-event queue, when the ticks stop:");
+                System.out.println(String.format("      %,d rendered, %,d still queued, lag of the last render %,d ms",
+                    rendered.get(), queue.size(), TimeUnit.NANOSECONDS.toMillis(lastLagNanos.get())));
+                System.out.println(String.format("      The queue needs another %,d ms to drain",
+                    queue.size() * RENDER_MICROS / 1000));
+
+                System.out.println("   Conflating listener, when the ticks stop:");
+                System.out.println(String.format("      %,d received, %,d rendered in %,d batches (avg %.0f keys)",
+                    conflating.getReceived(), conflating.getDelivered(), conflating.getBatches(),
+                    conflating.getAverageBatchSize()));
+                System.out.println(String.format("      %.1f%% conflated, %,d keys pending, lag avg %.0f ms, max %,d ms",
+                    conflating.getConflationRatio() * 100, conflating.getPendingKeys(),
+                    conflating.getAverageLagMillis(), conflating.getMaxLagMillis()));
+            }
+            renderer.interrupt();
+            conflating.close();
+
+            int stale = 0;
+            for (Map.Entry<Integer, Double> e : cache.getAll(screen.keySet()).entrySet()) {
+                if (!e.getValue().equals(screen.get(e.getKey()))) {
+                    stale++;
+                }
+            }
+            System.out.println(String.format("   Conflated screen vs cache after close: %d stocks, %d stale",
+                screen.size(), stale));
+
+            // 2. Backpressure when the distinct keys are too many
+            System.out.println("\n2. 200,000 distinct keys, without and with maxPendingKeys 1,000:");
+            cache.clear();
+            int keys = 200_000;
+            for (int limit : new int[] {0, 1_000}) {
+                ConflatingListener<Integer, Double> listener = new ConflatingListener<>(
+                    (Map<Integer, Double> batch) -> render(batch.size()), WINDOW_MILLIS)
+                    .maxPendingKeys(limit);
+                ContinuousQuery<Integer, Double> query = new ContinuousQuery<>();
+                query.setLocalListener(listener);
+                try (QueryCursor<Cache.Entry<Integer, Double>> cursor = cache.query(query)) {
+                    long written = tick(cache, keys, 2_000);
+                    System.out.println(String.format("   %s %,7d writes/s, peak %,6d keys pending, " +
+                            "lag max %,5d ms, %,d updates blocked for %,d ms",
+                        limit == 0 ? "No limit:  " : "Limit 1,000:", Math.round(written / 2.0),
+                        listener.getPeakPendingKeys(), listener.getMaxLagMillis(),
+                        listener.getBlockedUpdates(), listener.getBlockedMillis()));
+                }
+                listener.close();
+            }
+
+            System.out.println("\n=== Conflating Continuous Query Guidelines ===");
+            System.out.println("- Conflate when subscribers only need the latest value of each key");
+            System.out.println("- Do the work on the listener's delivery thread, never in Ignite's");
+            System.out.println("- Pick the window as the staleness subscribers accept");
+            System.out.println("- Watch lag and pending keys; a growing lag means the consumer is too slow");
+            System.out.println("- Set maxPendingKeys only if writers may be slowed down");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Random price updates of keys 0..keys-1 from WRITERS threads; returns the number written. */
+    private static long tick(IgniteCache<Integer, Double> cache, int keys, long millis) throws InterruptedException {
+        AtomicLong written = new AtomicLong();
+        long end = System.currentTimeMillis() + millis;
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            Thread writer = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.currentTimeMillis() < end) {
+                    cache.put(random.nextInt(keys), 50 + random.nextInt(10_000) / 100.0);
+                    written.incrementAndGet();
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        return written.get();
+    }
+
+    /** Stand-in for drawing prices on a screen: RENDER_MICROS of CPU each. */
+    private static void render(int prices) {
+        long until = System.nanoTime() + prices * TimeUnit.MICROSECONDS.toNanos(RENDER_MICROS);
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class Tick {
+        final int stock;
+        final double price;
+        final long receivedNanos;
+
+        Tick(int stock, double price, long receivedNanos) {
+            this.stock = stock;
+            this.price = price;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
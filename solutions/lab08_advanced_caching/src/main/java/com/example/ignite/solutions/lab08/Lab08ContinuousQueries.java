@@ -95,6 +95,7 @@ public class Lab08ContinuousQueries {
                 System.out.println("- Data synchronization");
                 System.out.println("- Streaming analytics");
                 System.out.println("- IoT sensor monitoring");
+                System.out.println("- High-rate ticks where only the latest value matters: see Lab08ConflatingContinuousQuery");
 
                 System.out.println("\n=== Filter Options ===");
                 System.out.println("- RemoteFilter: Runs on server nodes");
@@ -125,6 +125,7 @@ public class Lab08EntryProcessors {
             System.out.println("- Server-side processing for better performance");
             System.out.println("- Avoid race conditions in read-modify-write");
             System.out.println("- Clean separation of business logic");
+            System.out.println("- For very large key sets, see BulkInvoker (Lab08BulkInvoke)");
 
             System.out.println("\nPress Enter to exit...");
             System.in.read();
@@ -64,11 +64,19 @@ public class Lab08Eviction {
             System.out.println("3. Random:");
             System.out.println("   - Randomly evicts entries");
             System.out.println("   - Low overhead");
+            System.out.println("");
+            System.out.println("4. TinyLFU (see Lab08TinyLfuEviction):");
+            System.out.println("   - Admits new entries only if read more often than the victim");
+            System.out.println("   - Keeps the hot set through scans");
+            System.out.println("");
+            System.out.println("5. Byte-weighted LRU (see Lab08WeightedEviction):");
+            System.out.println("   - Bounds on-heap bytes, not entries, for values of mixed sizes");
 
             System.out.println("\n=== Eviction vs Expiry ===");
             System.out.println("Eviction: Memory management (size-based)");
             System.out.println("Expiry: Data lifecycle (time-based)");
             System.out.println("Both can work together!");
+            System.out.println("\nTo choose maxSize from real traffic, see Lab08EvictionReplay");
 
             System.out.println("\nPress Enter to exit...");
             System.in.read();
@@ -0,0 +1,183 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.trace.AccessTrace;
+import com.example.ignite.solutions.lab08.trace.AccessTraceRecorder;
+import com.example.ignite.solutions.lab08.trace.EvictionSimulator;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Lab 08 Optional: Eviction Replay
+ *
+ * Demonstrates:
+ * - Recording the accesses of a running cache to a binary trace with
+ *   AccessTraceRecorder
+ * - Replaying the trace offline against LRU, FIFO, sorted and LFU
+ *   eviction at many sizes with EvictionSimulator
+ * - Reading an on-heap or near cache size off the hit-ratio curves
+ *   instead of guessing it
+ */
+public class Lab08EvictionReplay {
+
+    private static final int KEYS = 20_000;
+    private static final int ACCESSES = 300_000;
+    private static final int SCAN_EVERY = 50_000;
+    private static final int SCAN_KEYS = 3_000;
+
+    public static void main(String[] args) {
+        IgniteConfiguration cfg = nodeConfig("eviction-replay-node");
+        cfg.setIncludeEventTypes(AccessTraceRecorder.EVENT_TYPES);
+
+        try (Ignite ignite = Ignition.start(cfg)) {
+            System.out.println("=== Eviction Replay Lab ===\n");
+
+            IgniteCache<Integer, String> cache = ignite.getOrCreateCache(
+                new CacheConfiguration<Integer, String>("products"));
+            Map<Integer, String> values = new HashMap<>();
+            for (int i = 0; i < KEYS; i++) {
+                values.put(i, "Product-" + i);
+            }
+            cache.putAll(values);
+
+            // 1. Record
+            Path file = Files.createTempFile("products-", ".trace");
+            System.out.println("1. Recording " + String.format("%,d", ACCESSES) + " accesses to " + file.getFileName() + ":");
+            System.out.println("   90% reads and 10% writes, Zipf-skewed over " + String.format("%,d", KEYS) +
+                " keys, plus a scan of " + String.format("%,d", SCAN_KEYS) + " keys every " +
+                String.format("%,d", SCAN_EVERY) + " accesses");
+            long start = System.nanoTime();
+            try (AccessTraceRecorder<Integer> recorder = new AccessTraceRecorder<>(ignite, "products", file)) {
+                runWorkload(cache);
+                recorder.close();
+                System.out.println(String.format("   %,d accesses, %,d distinct keys, %,d bytes (%.2f bytes/access) in %d ms",
+                    recorder.getRecorded(), recorder.getDistinctKeys(), recorder.getBytesWritten(),
+                    (double) recorder.getBytesWritten() / recorder.getRecorded(),
+                    (System.nanoTime() - start) / 1_000_000));
+            }
+
+            // 2. Replay
+            AccessTrace trace = AccessTrace.read(file);
+            EvictionSimulator simulator = new EvictionSimulator(trace);
+            int[] sizes = EvictionSimulator.sizes(250, KEYS, 9);
+
+            System.out.println("\n2. Hit ratio by on-heap size:");
+            System.out.print("   size   ");
+            for (EvictionSimulator.Policy policy : EvictionSimulator.Policy.values()) {
+                System.out.print(String.format("%8s", policy));
+            }
+            System.out.println();
+            start = System.nanoTime();
+            double[][] curves = new double[EvictionSimulator.Policy.values().length][];
+            for (EvictionSimulator.Policy policy : EvictionSimulator.Policy.values()) {
+                curves[policy.ordinal()] = simulator.curve(policy, sizes);
+            }
+            long replayMillis = (System.nanoTime() - start) / 1_000_000;
+            for (int i = 0; i < sizes.length; i++) {
+                System.out.print(String.format("   %,6d ", sizes[i]));
+                for (double[] curve : curves) {
+                    System.out.print(String.format("%8.3f", curve[i]));
+                }
+                System.out.println();
+            }
+            System.out.println(String.format("   %d replays of %,d accesses in %,d ms",
+                sizes.length * curves.length, trace.size(), replayMillis));
+
+            // 3. Sizing
+            double max = simulator.getMaxHitRatio();
+            double target = 0.9 * max;
+            int[] fine = EvictionSimulator.sizes(250, KEYS, 40);
+            System.out.println(String.format("\n3. Best possible hit ratio (every key cached): %.3f", max));
+            System.out.println(String.format("   Smallest size reaching %.3f (90%% of it):", target));
+            for (EvictionSimulator.Policy policy : EvictionSimulator.Policy.values()) {
+                int size = simulator.sizeFor(policy, target, fine);
+                System.out.println(String.format("   %-6s %s", policy,
+                    size < 0 ? "not reached" : String.format("%,d entries", size)));
+            }
+            System.out.println("   e.g. cfg.setEvictionPolicyFactory(new LruEvictionPolicyFactory<>(" +
+                simulator.sizeFor(EvictionSimulator.Policy.LRU, target, fine) + "))");
+
+            Files.delete(file);
+
+            System.out.println("\n=== Eviction Replay Guidelines ===");
+            System.out.println("- Record a representative period, including batch jobs and scans");
+            System.out.println("- Read the size at the knee of the curve; past it, memory buys little");
+            System.out.println("- Scans flush LRU and FIFO; frequency-based policies keep the hot set");
+            System.out.println("- Record on each node: each one's eviction policy sees only its own keys");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void runWorkload(IgniteCache<Integer, String> cache) {
+        Random random = new Random(42);
+        double[] cdf = zipf(KEYS, 0.9);
+        // Popularity is unrelated to key order
+        int[] keyOf = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keyOf[i] = i;
+        }
+        for (int i = KEYS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keyOf[i];
+            keyOf[i] = keyOf[j];
+            keyOf[j] = tmp;
+        }
+
+        int scanFrom = 0;
+        for (int i = 1; i <= ACCESSES; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int key = keyOf[index >= 0 ? index : Math.min(-index - 1, KEYS - 1)];
+            if (random.nextInt(10) == 0) {
+                cache.put(key, "Product-" + key + "-v" + i);
+            } else {
+                cache.get(key);
+            }
+            if (i % SCAN_EVERY == 0) {
+                for (int k = 0; k < SCAN_KEYS; k++) {
+                    cache.get((scanFrom + k) % KEYS);
+                }
+                scanFrom += SCAN_KEYS;
+            }
+        }
+    }
+
+    private static double[] zipf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
@@ -123,6 +123,7 @@ public class Lab08ExpiryPolicies {
             System.out.println("- CreatedExpiryPolicy: Session data, temporary tokens");
             System.out.println("- ModifiedExpiryPolicy: Frequently updated data");
             System.out.println("- TouchedExpiryPolicy: Recently accessed data (LRU-like)");
+            System.out.println("- Large waves written with one TTL: see Lab08TimingWheelExpiry");
 
             System.out.println("\nPress Enter to exit...");
             System.in.read();
@@ -1,14 +1,18 @@
 package com.example.ignite.solutions.lab08;
 
+import com.example.ignite.solutions.lab08.nearcache.InstrumentedNearCache;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.CachePeekMode;
 import org.apache.ignite.cache.eviction.lru.LruEvictionPolicy;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.NearCacheConfiguration;
 
+import java.util.Random;
+
 /**
  * Lab 08 Exercise 1: Near Cache Configuration
  *
@@ -16,6 +20,8 @@ import org.apache.ignite.configuration.NearCacheConfiguration;
  * - Client-side near cache for reduced latency
  * - LRU eviction policy for near cache
  * - Performance benefits of local caching
+ * - Near-cache metrics: hit ratio, latency, heap, invalidations and
+ *   evictions (InstrumentedNearCache, also over JMX)
  */
 public class Lab08NearCache {
 
@@ -30,6 +36,10 @@ public class Lab08NearCache {
         IgniteConfiguration cfg = new IgniteConfiguration();
         cfg.setIgniteInstanceName(isClient ? "client-node" : "server-node");
         cfg.setClientMode(isClient);
+        if (isClient) {
+            // Near-cache invalidation and eviction events for InstrumentedNearCache
+            cfg.setIncludeEventTypes(InstrumentedNearCache.EVENT_TYPES);
+        }
 
         try (Ignite ignite = Ignition.start(cfg)) {
             System.out.println("=== Near Cache Lab ===");
@@ -63,36 +73,56 @@ public class Lab08NearCache {
 
                 System.out.println("Client: Near cache created (max 100 entries)\n");
 
+                InstrumentedNearCache<Integer, String> near =
+                    new InstrumentedNearCache<>(ignite, cache).registerMBean();
+
                 // First access - from server
                 System.out.println("=== First Access (from server) ===");
-                long start = System.currentTimeMillis();
-                String value1 = cache.get(100);
-                long time1 = System.currentTimeMillis() - start;
+                String value1 = near.get(100);
                 System.out.println("Value: " + value1);
-                System.out.println("Time: " + time1 + " ms\n");
+                System.out.println(String.format("Time: %.1f us\n", near.getRemoteFetchMeanMicros()));
 
                 // Second access - from near cache
                 System.out.println("=== Second Access (from near cache) ===");
-                start = System.currentTimeMillis();
-                String value2 = cache.get(100);
-                long time2 = System.currentTimeMillis() - start;
+                String value2 = near.get(100);
                 System.out.println("Value: " + value2);
-                System.out.println("Time: " + time2 + " ms");
-                if (time2 > 0) {
-                    System.out.println("Speedup: " + (float)time1/time2 + "x faster\n");
-                } else {
-                    System.out.println("Speedup: Near instant (cached locally)\n");
-                }
+                System.out.println(String.format("Time: %.1f us", near.getNearHitMeanMicros()));
+                System.out.println(String.format("Speedup: %.0fx faster\n",
+                    near.getRemoteFetchMeanMicros() / near.getNearHitMeanMicros()));
 
                 // Access multiple entries
                 System.out.println("=== Accessing Multiple Entries ===");
                 for (int i = 0; i < 50; i++) {
-                    cache.get(i);
+                    near.get(i);
                 }
                 System.out.println("50 entries now in near cache\n");
 
                 // Check near cache size
-                System.out.println("Near cache size: " + cache.localSize());
+                System.out.println("Near cache size: " + cache.localSize(CachePeekMode.NEAR));
+
+                // Skewed reads: 80% go to 80 hot keys, the rest to all 1000
+                System.out.println("\n=== 20,000 Skewed Reads, Then 20 Updates ===");
+                near.resetStatistics();
+                Random random = new Random(42);
+                for (int i = 0; i < 20_000; i++) {
+                    near.get(random.nextInt(100) < 80 ? random.nextInt(80) : random.nextInt(1000));
+                }
+                for (int i = 0; i < 20; i++) {
+                    cache.put(i, "Value-" + i + " (updated)");
+                }
+                Thread.sleep(200);
+                System.out.println(String.format("Hit ratio:     %.3f (%,d hits, %,d misses)",
+                    near.getNearHitRatio(), near.getNearHits(), near.getNearMisses()));
+                System.out.println(String.format("Near hit:      mean %.1f us, p50 %.1f us, p99 %.1f us",
+                    near.getNearHitMeanMicros(), near.getNearHitP50Micros(), near.getNearHitP99Micros()));
+                System.out.println(String.format("Remote fetch:  mean %.1f us, p50 %.1f us, p99 %.1f us",
+                    near.getRemoteFetchMeanMicros(), near.getRemoteFetchP50Micros(), near.getRemoteFetchP99Micros()));
+                System.out.println(String.format("Entries:       %,d (~%,d KB heap)",
+                    near.getNearEntries(), near.getEstimatedHeapBytes() / 1024));
+                System.out.println(String.format("Invalidations: %,d (%.1f/s)   Evictions: %,d (%.1f/s)",
+                    near.getInvalidations(), near.getInvalidationsPerSecond(),
+                    near.getEvictions(), near.getEvictionsPerSecond()));
+                System.out.println("\nJMX: " + near.getMBeanName() + " (open with jconsole)");
 
                 System.out.println("\n=== Near Cache Benefits ===");
                 System.out.println("- Reduced network latency");
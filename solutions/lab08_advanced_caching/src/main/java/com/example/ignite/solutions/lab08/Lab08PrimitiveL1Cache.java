@@ -0,0 +1,107 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.nearcache.IntKeyL1Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import java.util.SplittableRandom;
+
+/**
+ * Lab 08 Optional: Primitive-Keyed L1 Cache
+ *
+ * Demonstrates:
+ * - Allocation-free int-keyed lookups in front of IgniteCache
+ * - Continuous-query invalidation when the cluster copy changes
+ * - Bounded size with CLOCK eviction
+ */
+public class Lab08PrimitiveL1Cache {
+
+    private static final int REFERENCE_ENTRIES = 10_000;
+    private static final int LOOKUPS = 5_000_000;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start()) {
+            System.out.println("=== Primitive L1 Cache Lab ===\n");
+
+            CacheConfiguration<Integer, String> cfg =
+                new CacheConfiguration<>("referenceData");
+            IgniteCache<Integer, String> cache = ignite.getOrCreateCache(cfg);
+
+            try (IgniteDataStreamer<Integer, String> streamer = ignite.dataStreamer(cache.getName())) {
+                for (int i = 0; i < REFERENCE_ENTRIES; i++) {
+                    streamer.addData(i, "Country-" + i);
+                }
+            }
+            System.out.println("Loaded " + REFERENCE_ENTRIES + " reference entries\n");
+
+            try (IntKeyL1Cache<String> l1 = new IntKeyL1Cache<>(cache, REFERENCE_ENTRIES)) {
+
+                // 1. Lookup cost
+                System.out.println("=== 1. Lookup Cost (" + LOOKUPS + " random gets) ===");
+                long cacheNanos = timeLookups(key -> cache.get(key));
+                timeLookups(l1::get); // warm the L1 and the JIT
+                long l1Nanos = timeLookups(l1::get);
+
+                System.out.println(String.format("IgniteCache.get(Integer): %6.0f ns/op", (double) cacheNanos / LOOKUPS));
+                System.out.println(String.format("IntKeyL1Cache.get(int):   %6.0f ns/op", (double) l1Nanos / LOOKUPS));
+                System.out.println(String.format("Hit ratio: %.4f, size: %d\n", l1.getHitRatio(), l1.size()));
+
+                // 2. Invalidation
+                System.out.println("=== 2. Continuous Query Invalidation ===");
+                System.out.println("L1 before update: " + l1.get(42));
+                cache.put(42, "Country-42 (renamed)");
+                Thread.sleep(200);
+                System.out.println("L1 after update:  " + l1.get(42));
+                System.out.println("Invalidations:    " + l1.getInvalidations() + "\n");
+            }
+
+            // 3. Bounded size
+            System.out.println("=== 3. Bounded Size ===");
+            try (IntKeyL1Cache<String> small = new IntKeyL1Cache<>(cache, REFERENCE_ENTRIES / 4)) {
+                SplittableRandom random = new SplittableRandom(7);
+                for (int i = 0; i < 200_000; i++) {
+                    // 80% of reads go to the first 1,000 keys
+                    int key = random.nextInt(10) < 8 ? random.nextInt(1_000) : random.nextInt(REFERENCE_ENTRIES);
+                    small.get(key);
+                }
+                System.out.println("Max entries: " + small.getMaxEntries() + ", size: " + small.size());
+                System.out.println("Evictions:   " + small.getEvictions());
+                System.out.println(String.format("Hit ratio:   %.3f (hot keys survive CLOCK eviction)", small.getHitRatio()));
+            }
+
+            System.out.println("\n=== Primitive L1 Cache Guidelines ===");
+            System.out.println("- Use for hot, read-mostly reference data with int/long keys");
+            System.out.println("- Updates become visible after the continuous query event arrives");
+            System.out.println("- Cached values are shared: keep them immutable");
+            System.out.println("- Size maxEntries for the hot set, not the whole cache");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private interface IntLookup {
+        Object get(int key);
+    }
+
+    private static long timeLookups(IntLookup lookup) {
+        SplittableRandom random = new SplittableRandom(42);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            Object value = lookup.get(random.nextInt(REFERENCE_ENTRIES));
+            checksum += value != null ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum != LOOKUPS) {
+            throw new IllegalStateException("Missing values: " + (LOOKUPS - checksum));
+        }
+        return elapsed;
+    }
+}
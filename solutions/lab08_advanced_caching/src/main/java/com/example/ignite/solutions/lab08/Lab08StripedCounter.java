@@ -0,0 +1,143 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.counter.StripedCounter;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lab 08 Optional: Striped Hot Counter
+ *
+ * Demonstrates:
+ * - A global counter on one key: every increment waits for the same entry
+ * - The same counter striped over 16 keys on different partitions
+ * - Adaptive striping, starting from one stripe
+ * - Node-local stripe selection
+ *
+ * Two server nodes run in this JVM so that stripes have two primary nodes.
+ */
+public class Lab08StripedCounter {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 5_000;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("counter-node-1"));
+             Ignite second = Ignition.start(nodeConfig("counter-node-2"))) {
+            System.out.println("=== Striped Hot Counter Lab ===\n");
+
+            CacheConfiguration<String, Long> cfg = new CacheConfiguration<>("counters");
+            cfg.setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL);
+            IgniteCache<String, Long> cache = ignite.getOrCreateCache(cfg);
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            long expected = (long) THREADS * INCREMENTS_PER_THREAD;
+            System.out.println(THREADS + " threads x " + String.format("%,d", INCREMENTS_PER_THREAD) +
+                " increments each\n");
+
+            // Warm up
+            run(executor, new StripedCounter(ignite, cache, "warmup", 4), 1_000);
+
+            // 1. One key
+            System.out.println("1. Single key (one stripe):");
+            StripedCounter single = new StripedCounter(ignite, cache, "requests-single", 1);
+            report(single, run(executor, single, INCREMENTS_PER_THREAD), expected);
+
+            // 2. Striped
+            System.out.println("\n2. Striped over 16 keys:");
+            StripedCounter striped = new StripedCounter(ignite, cache, "requests-striped", 16);
+            report(striped, run(executor, striped, INCREMENTS_PER_THREAD), expected);
+            System.out.println("   Stripe partitions: " + partitions(ignite, cache, striped));
+
+            // 3. Adaptive
+            System.out.println("\n3. Adaptive, from 1 stripe up to 32:");
+            StripedCounter adaptive = new StripedCounter(ignite, cache, "requests-adaptive", 1)
+                .adaptive(32);
+            report(adaptive, run(executor, adaptive, INCREMENTS_PER_THREAD), expected);
+
+            // A second instance (e.g. on another node) picks up the published stripe count
+            StripedCounter reader = new StripedCounter(ignite, cache, "requests-adaptive", 1);
+            System.out.println("   New instance of the same counter: " + reader.getStripes() +
+                " stripes, sum " + String.format("%,d", reader.sum()));
+
+            // 4. Node-local stripes
+            System.out.println("\n4. 16 stripes, node-local selection:");
+            StripedCounter local = new StripedCounter(ignite, cache, "requests-local", 16)
+                .selection(StripedCounter.Selection.LOCAL_NODE);
+            report(local, run(executor, local, INCREMENTS_PER_THREAD), expected);
+
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+
+            System.out.println("\n=== Striped Counter Guidelines ===");
+            System.out.println("- Stripe counters that every thread or node updates (request totals, quotas)");
+            System.out.println("- Place stripes on different partitions so they use different locks");
+            System.out.println("- Reads cost one getAll over all stripes; keep the stripe count modest");
+            System.out.println("- sum() is not a snapshot; enforce hard limits with a single key in a transaction");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long run(ExecutorService executor, StripedCounter counter, int increments)
+            throws Exception {
+        long start = System.nanoTime();
+        Future<?>[] futures = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            futures[t] = executor.submit(() -> {
+                for (int i = 0; i < increments; i++) {
+                    counter.increment();
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(StripedCounter counter, long nanos, long expected) {
+        long sum = counter.sum();
+        System.out.println("   " + counter);
+        System.out.println(String.format("   Time: %,d ms (%,.0f increments/sec)",
+            nanos / 1_000_000, counter.getAdds() * 1e9 / nanos));
+        System.out.println("   Sum: " + String.format("%,d", sum) +
+            (sum == expected ? " (correct)" : " (expected " + String.format("%,d", expected) + ")"));
+    }
+
+    private static String partitions(Ignite ignite, IgniteCache<String, Long> cache, StripedCounter counter) {
+        StringBuilder sb = new StringBuilder();
+        for (String key : counter.getStripeKeys()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(ignite.affinity(cache.getName()).partition(key));
+        }
+        return sb.toString();
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
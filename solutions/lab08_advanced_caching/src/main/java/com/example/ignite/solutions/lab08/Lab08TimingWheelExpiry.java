@@ -0,0 +1,167 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.expiry.TimingWheelExpiry;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lab 08 Optional: Timing-Wheel Expiry
+ *
+ * Demonstrates:
+ * - A wave of entries written together with the same TTL, expired by
+ *   Ignite (withExpiryPolicy) and by TimingWheelExpiry
+ * - Backlog and lag while TimingWheelExpiry works through the wave at
+ *   a fixed removal rate
+ * - The worst read latency each second on an unrelated cache, as a
+ *   measure of how much the expiry disturbs other traffic
+ * - Rewriting a key replaces its deadline
+ */
+public class Lab08TimingWheelExpiry {
+
+    private static final int ENTRIES = 200_000;
+    private static final int TTL_SECONDS = 3;
+    private static final int REMOVALS_PER_SECOND = 50_000;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("timing-wheel-node"))) {
+            System.out.println("=== Timing-Wheel Expiry Lab ===\n");
+
+            IgniteCache<Integer, String> probeCache = ignite.getOrCreateCache("probe");
+            for (int i = 0; i < 1000; i++) {
+                probeCache.put(i, "probe-" + i);
+            }
+            Probe probe = new Probe(probeCache);
+            Thread probeThread = new Thread(probe, "latency-probe");
+            probeThread.setDaemon(true);
+            probeThread.start();
+
+            System.out.println(String.format("%,d sessions written at once, TTL %d s; " +
+                "'probe max' is the slowest get() on another cache in that second\n", ENTRIES, TTL_SECONDS));
+
+            // 1. Ignite expiry
+            System.out.println("1. Ignite expiry (withExpiryPolicy):");
+            IgniteCache<Integer, String> igniteExpiry = ignite.getOrCreateCache(
+                new CacheConfiguration<Integer, String>("sessions-ignite-ttl"));
+            IgniteCache<Integer, String> withTtl = igniteExpiry.withExpiryPolicy(
+                new CreatedExpiryPolicy(new Duration(TimeUnit.SECONDS, TTL_SECONDS)));
+            load(values -> withTtl.putAll(values));
+            watch(probe, igniteExpiry, () -> "");
+            ignite.destroyCache(igniteExpiry.getName());
+
+            // 2. Timing wheel
+            System.out.println("\n2. TimingWheelExpiry (100 ms ticks, " +
+                String.format("%,d", REMOVALS_PER_SECOND) + " removals/sec, removeAll of 500):");
+            IgniteCache<Integer, String> wheelCache = ignite.getOrCreateCache(
+                new CacheConfiguration<Integer, String>("sessions-wheel"));
+            try (TimingWheelExpiry<Integer, String> expiry = new TimingWheelExpiry<>(ignite, wheelCache)
+                    .maxRemovalsPerSecond(REMOVALS_PER_SECOND)) {
+                load(values -> expiry.putAll(values, TimeUnit.SECONDS.toMillis(TTL_SECONDS)));
+                watch(probe, wheelCache, () -> String.format(", backlog %,7d, lag %,5d ms",
+                    expiry.getBacklog(), expiry.getCurrentLagMillis()));
+                System.out.println("   " + expiry);
+
+                // 3. Rewriting a key
+                System.out.println("\n3. Key 1 written with a 1 s TTL, then rewritten with 3 s:");
+                expiry.put(1, "first", 1000);
+                expiry.put(1, "second", 3000);
+                Thread.sleep(2000);
+                System.out.println("   After 2 s: " + wheelCache.get(1));
+                Thread.sleep(1500);
+                System.out.println("   After 3.5 s: " + wheelCache.get(1));
+                System.out.println("   Superseded deadlines: " + expiry.getSuperseded());
+            }
+            probe.stop = true;
+
+            System.out.println("\n=== Timing-Wheel Expiry Guidelines ===");
+            System.out.println("- Entries written together expire together; spread the removals, not the writes");
+            System.out.println("- Set the removal rate above the average expiry rate, or the backlog never drains");
+            System.out.println("- Watch lag: it is how long expired data stays readable");
+            System.out.println("- Batch removals by primary node and partition to cut messages and lock traffic");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void load(java.util.function.Consumer<Map<Integer, String>> putAll) {
+        Map<Integer, String> batch = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            batch.put(i, "session-" + i);
+            if (batch.size() == 1000) {
+                putAll.accept(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            putAll.accept(batch);
+        }
+    }
+
+    /** Print cache size and probe latency every second until the cache is empty. */
+    private static void watch(Probe probe, IgniteCache<Integer, String> cache, Supplier<String> extra)
+            throws InterruptedException {
+        probe.maxNanos.set(0);
+        for (int second = 1; second <= 20; second++) {
+            Thread.sleep(1000);
+            int size = cache.size();
+            System.out.println(String.format("   t=%2ds  entries %,7d%s, probe max %6.1f ms",
+                second, size, extra.get(), probe.maxNanos.getAndSet(0) / 1e6));
+            if (size == 0) {
+                break;
+            }
+        }
+    }
+
+    /** Reads random keys of an unrelated cache and keeps the slowest read. */
+    private static final class Probe implements Runnable {
+        private final IgniteCache<Integer, String> cache;
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile boolean stop;
+
+        Probe(IgniteCache<Integer, String> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void run() {
+            while (!stop) {
+                long start = System.nanoTime();
+                cache.get(ThreadLocalRandom.current().nextInt(1000));
+                maxNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
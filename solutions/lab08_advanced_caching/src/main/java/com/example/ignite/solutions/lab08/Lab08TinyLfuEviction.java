@@ -0,0 +1,204 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.eviction.TinyLfuEvictionPolicyFactory;
+import com.example.ignite.solutions.lab08.eviction.TinyLfuEvictionPolicyMBean;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.EvictionPolicy;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import javax.cache.configuration.Factory;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Lab 08 Optional: TinyLFU Eviction
+ *
+ * Demonstrates:
+ * - On-heap hit ratio of LruEvictionPolicy vs TinyLfuEvictionPolicy
+ *   under skewed reads interrupted by scans
+ * - A TinyLFU policy bounded by memory instead of entry count
+ * - TinyLfuEvictionPolicyFactory as a near cache eviction policy
+ * - Reading the policy's admission counters over JMX
+ *
+ * A server node and a client node run in this JVM. A read counts as a
+ * hit if the key was already on heap (localPeek ONHEAP or NEAR); only
+ * the second half of the reads is measured, once the cache is warm.
+ */
+public class Lab08TinyLfuEviction {
+
+    private static final int KEYS = 10_000;
+    private static final int ON_HEAP = 1_000;
+    private static final int READS = 100_000;
+    private static final int SCAN_EVERY = 10_000;
+    private static final int SCAN_KEYS = 2_500;
+
+    public static void main(String[] args) {
+        try (Ignite server = Ignition.start(nodeConfig("tinylfu-server", false));
+             Ignite client = Ignition.start(nodeConfig("tinylfu-client", true))) {
+            System.out.println("=== TinyLFU Eviction Lab ===\n");
+            System.out.println(String.format("Workload: %,d Zipf-skewed reads over %,d keys, " +
+                "a scan of %,d keys every %,d reads; hit ratio of the skewed reads\n",
+                READS, KEYS, SCAN_KEYS, SCAN_EVERY));
+
+            // 1. On-heap LRU vs TinyLFU
+            System.out.println("1. On-heap cache of " + String.format("%,d", ON_HEAP) + " entries:");
+            IgniteCache<Integer, String> lruCache =
+                onHeapCache(server, "products-lru", new LruEvictionPolicyFactory<>(ON_HEAP));
+            System.out.println(String.format("   LRU:     hit ratio %.3f", run(lruCache, CachePeekMode.ONHEAP)));
+            IgniteCache<Integer, String> tinyLfuCache =
+                onHeapCache(server, "products-tinylfu", new TinyLfuEvictionPolicyFactory<>(ON_HEAP));
+            System.out.println(String.format("   TinyLFU: hit ratio %.3f", run(tinyLfuCache, CachePeekMode.ONHEAP)));
+            print(policy(server, "products-tinylfu"));
+
+            // 2. Memory bound
+            System.out.println("\n2. TinyLFU bounded by 16 KB of serialized entries instead of a count:");
+            IgniteCache<Integer, String> byMemoryCache = onHeapCache(server, "products-tinylfu-mem",
+                new TinyLfuEvictionPolicyFactory<Integer, String>(0, 1, 16 * 1024).setSketchEntries(ON_HEAP));
+            System.out.println(String.format("   Hit ratio %.3f", run(byMemoryCache, CachePeekMode.ONHEAP)));
+            print(policy(server, "products-tinylfu-mem"));
+
+            // 3. Near caches
+            System.out.println("\n3. Near cache of " + String.format("%,d", ON_HEAP) + " entries on the client:");
+            NearCacheConfiguration<Integer, String> lruNear = new NearCacheConfiguration<Integer, String>()
+                .setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(ON_HEAP));
+            System.out.println(String.format("   LRU:     hit ratio %.3f",
+                run(client.getOrCreateNearCache("products-lru", lruNear), CachePeekMode.NEAR)));
+            NearCacheConfiguration<Integer, String> tinyLfuNear = new NearCacheConfiguration<Integer, String>()
+                .setNearEvictionPolicyFactory(new TinyLfuEvictionPolicyFactory<>(ON_HEAP));
+            System.out.println(String.format("   TinyLFU: hit ratio %.3f",
+                run(client.getOrCreateNearCache("products-tinylfu", tinyLfuNear), CachePeekMode.NEAR)));
+            print(policy(client, "products-tinylfu-near"));
+
+            System.out.println("\n=== TinyLFU Eviction Guidelines ===");
+            System.out.println("- LRU keeps whatever was read last, so one scan flushes the hot set");
+            System.out.println("- TinyLFU admits a new key only if it is read more often than the one it replaces");
+            System.out.println("- Bound by maxMemorySize when value sizes vary widely");
+            System.out.println("- Size the sketch (sketchEntries) near the expected entry count for memory bounds");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteCache<Integer, String> onHeapCache(
+            Ignite ignite, String name, Factory<? extends EvictionPolicy<? super Integer, ? super String>> policy) {
+        CacheConfiguration<Integer, String> cfg = new CacheConfiguration<>(name);
+        cfg.setOnheapCacheEnabled(true);
+        cfg.setEvictionPolicyFactory(policy);
+        IgniteCache<Integer, String> cache = ignite.getOrCreateCache(cfg);
+
+        Map<Integer, String> values = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put(i, "Product-" + i);
+        }
+        cache.putAll(values);
+        return cache;
+    }
+
+    /** The policy instance Ignite created for the cache on this node, through its MBean. */
+    private static TinyLfuEvictionPolicyMBean policy(Ignite ignite, String cacheName) throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : server.queryNames(new ObjectName("org.apache:*"), null)) {
+            // Ignite quotes names with characters such as '-'
+            if (ignite.name().equals(unquote(name.getKeyProperty("igniteInstanceName")))
+                && cacheName.equals(unquote(name.getKeyProperty("group")))
+                && unquote(name.getKeyProperty("name")).endsWith("TinyLfuEvictionPolicy")) {
+                return JMX.newMBeanProxy(server, name, TinyLfuEvictionPolicyMBean.class);
+            }
+        }
+        throw new IllegalStateException("No TinyLfuEvictionPolicy MBean for " + cacheName);
+    }
+
+    private static String unquote(String value) {
+        return value != null && value.startsWith("\"") ? ObjectName.unquote(value) : value;
+    }
+
+    private static void print(TinyLfuEvictionPolicyMBean policy) {
+        System.out.println(String.format("   Policy: %,d entries (window %,d, main %,d), %,d bytes; " +
+                "%,d candidates admitted, %,d rejected",
+            policy.getCurrentSize(), policy.getWindowSize(), policy.getMainSize(), policy.getCurrentMemorySize(),
+            policy.getAdmitted(), policy.getRejected()));
+    }
+
+    /** Hit ratio of the skewed reads in the second half of the workload. */
+    private static double run(IgniteCache<Integer, String> cache, CachePeekMode mode) {
+        Random random = new Random(1);
+        double[] cdf = zipf();
+        // Popularity is unrelated to key order
+        int[] keyOf = new int[KEYS];
+        Random shuffle = new Random(42);
+        for (int i = 0; i < KEYS; i++) {
+            keyOf[i] = i;
+        }
+        for (int i = KEYS - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int tmp = keyOf[i];
+            keyOf[i] = keyOf[j];
+            keyOf[j] = tmp;
+        }
+
+        int hits = 0;
+        int measured = 0;
+        int scanFrom = 0;
+        for (int i = 1; i <= READS; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int key = keyOf[index >= 0 ? index : Math.min(-index - 1, KEYS - 1)];
+            if (i > READS / 2) {
+                measured++;
+                if (cache.localPeek(key, mode) != null) {
+                    hits++;
+                }
+            }
+            cache.get(key);
+            if (i % SCAN_EVERY == 0) {
+                for (int k = 0; k < SCAN_KEYS; k++) {
+                    cache.get((scanFrom + k) % KEYS);
+                }
+                scanFrom += SCAN_KEYS;
+            }
+        }
+        return (double) hits / measured;
+    }
+
+    private static double[] zipf() {
+        double[] cdf = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < KEYS; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name, boolean client) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setClientMode(client);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
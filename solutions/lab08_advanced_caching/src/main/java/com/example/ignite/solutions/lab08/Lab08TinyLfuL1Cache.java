@@ -0,0 +1,168 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.nearcache.TinyLfuL1Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+/**
+ * Lab 08 Optional: W-TinyLFU L1 Cache
+ *
+ * Demonstrates:
+ * - Hit ratio of an LRU near cache vs a W-TinyLFU L1 of the same size
+ *   on a skewed (Zipf) workload with periodic scans
+ * - Admission rejections: scanned keys are not admitted
+ * - Continuous-query invalidation and its lag, also over JMX
+ *
+ * A server and a client node run in this JVM; the caches live on the
+ * client.
+ */
+public class Lab08TinyLfuL1Cache {
+
+    private static final int ENTRIES = 50_000;
+    private static final int CACHE_SIZE = 1_000;
+    private static final int READS = 100_000;
+    private static final int SCAN_EVERY = 10_000;
+    private static final int SCAN_LENGTH = 2_000;
+
+    public static void main(String[] args) {
+        try (Ignite server = Ignition.start(nodeConfig("tinylfu-server", false));
+             Ignite client = Ignition.start(nodeConfig("tinylfu-client", true))) {
+            System.out.println("=== W-TinyLFU L1 Cache Lab ===\n");
+
+            IgniteCache<Integer, String> serverCache =
+                server.getOrCreateCache(new CacheConfiguration<Integer, String>("products"));
+            try (IgniteDataStreamer<Integer, String> streamer = server.dataStreamer("products")) {
+                for (int i = 0; i < ENTRIES; i++) {
+                    streamer.addData(i, "Product-" + i);
+                }
+            }
+
+            int[] trace = trace();
+            System.out.println(String.format("Workload: %,d reads over %,d keys, Zipf(0.9), plus a %,d-key scan " +
+                "every %,d reads", READS, ENTRIES, SCAN_LENGTH, SCAN_EVERY));
+            System.out.println("Cache size: " + String.format("%,d", CACHE_SIZE) + " entries on the client\n");
+
+            // 1. LRU near cache
+            System.out.println("1. Near cache with LruEvictionPolicy(" + CACHE_SIZE + "):");
+            NearCacheConfiguration<Integer, String> nearCfg = new NearCacheConfiguration<>();
+            nearCfg.setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(CACHE_SIZE));
+            IgniteCache<Integer, String> near = client.getOrCreateNearCache("products", nearCfg);
+            long nearHits = 0;
+            long start = System.nanoTime();
+            for (int key : trace) {
+                if (near.localPeek(key, CachePeekMode.NEAR) != null) {
+                    nearHits++;
+                }
+                near.get(key);
+            }
+            long nearMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(String.format("   Hit ratio: %.3f, %,d ms", (double) nearHits / READS, nearMillis));
+
+            // 2. W-TinyLFU L1 over the plain client cache
+            System.out.println("\n2. TinyLfuL1Cache(" + CACHE_SIZE + ") over the same cache, no near cache:");
+            IgniteCache<Integer, String> remote = client.cache("products");
+            try (TinyLfuL1Cache<Integer, String> l1 = new TinyLfuL1Cache<>(remote, CACHE_SIZE).registerMBean()) {
+                start = System.nanoTime();
+                for (int key : trace) {
+                    l1.get(key);
+                }
+                long l1Millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println(String.format("   Hit ratio: %.3f, %,d ms", l1.getHitRatio(), l1Millis));
+                System.out.println("   " + l1);
+                System.out.println("   JMX: " + l1.getMBeanName() + " (open with jconsole)");
+
+                // 3. Invalidation
+                System.out.println("\n3. Server updates the 20 hottest keys:");
+                int cachedBefore = 0;
+                for (int key = 0; key < 20; key++) {
+                    cachedBefore += l1.getIfPresent(key) != null ? 1 : 0;
+                }
+                for (int key = 0; key < 20; key++) {
+                    serverCache.put(key, "Product-" + key + " (repriced)");
+                }
+                Thread.sleep(500);
+                int cachedAfter = 0;
+                for (int key = 0; key < 20; key++) {
+                    cachedAfter += l1.getIfPresent(key) != null ? 1 : 0;
+                }
+                System.out.println("   Cached before: " + cachedBefore + ", after: " + cachedAfter);
+                System.out.println("   Next read: " + l1.get(0));
+                System.out.println(String.format("   Invalidations: %d, lag avg %.0f us, max %,d us",
+                    l1.getInvalidations(), l1.getAverageInvalidationLagMicros(), l1.getMaxInvalidationLagMicros()));
+            }
+
+            System.out.println("\n=== W-TinyLFU Guidelines ===");
+            System.out.println("- LRU keeps what was read last; one scan replaces the hot set");
+            System.out.println("- TinyLFU admits a new key only if it is read more often than the one it replaces");
+            System.out.println("- Watch admission rejections: high values mean scans or a cache too small for the hot set");
+            System.out.println("- Invalidation lag is the window in which a reader may see an old value");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Zipf(0.9) reads with a sequential scan of cold keys every SCAN_EVERY reads. */
+    private static int[] trace() {
+        double[] cdf = new double[ENTRIES];
+        double sum = 0;
+        for (int i = 0; i < ENTRIES; i++) {
+            sum += 1 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] trace = new int[READS];
+        int scanStart = ENTRIES / 2;
+        for (int i = 0; i < READS; ) {
+            if (i > 0 && i % SCAN_EVERY == 0) {
+                for (int j = 0; j < SCAN_LENGTH && i < READS; j++) {
+                    trace[i++] = scanStart + j;
+                }
+                scanStart += SCAN_LENGTH;
+                if (i >= READS) {
+                    break;
+                }
+            }
+            double u = random.nextDouble() * sum;
+            int lo = 0;
+            int hi = ENTRIES - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            trace[i++] = lo;
+        }
+        return trace;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name, boolean client) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setClientMode(client);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
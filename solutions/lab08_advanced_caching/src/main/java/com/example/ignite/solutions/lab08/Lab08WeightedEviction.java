@@ -0,0 +1,159 @@
+package com.example.ignite.solutions.lab08;
+
+import com.example.ignite.solutions.lab08.eviction.WeightedLruEvictionPolicyFactory;
+import com.example.ignite.solutions.lab08.eviction.WeightedLruEvictionPolicyMBean;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.EvictionPolicy;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyMBean;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import javax.cache.configuration.Factory;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Lab 08 Optional: Byte-Weighted Eviction
+ *
+ * Demonstrates:
+ * - Values from 100 bytes to 200 KB in one cache
+ * - On-heap bytes held under an entry-count bound (LRU, 500 entries)
+ *   vs a byte budget (WeightedLruEvictionPolicy, 4 MB) as the reads move
+ *   from small values to large ones
+ * - Updates that grow values: the weighted total follows them, the
+ *   LRU memory size does not
+ * - Reading each cache's bytes from the policy MBeans
+ */
+public class Lab08WeightedEviction {
+
+    private static final int KEYS = 2_000;
+    private static final int MAX_ENTRIES = 500;
+    private static final long BUDGET = 4L * 1024 * 1024;
+    private static final int READS = 20_000;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("weighted-eviction-node"))) {
+            System.out.println("=== Byte-Weighted Eviction Lab ===\n");
+            System.out.println(String.format("%,d keys: every 10th value is 20-200 KB, the rest 100 B-1 KB\n", KEYS));
+
+            IgniteCache<Integer, byte[]> byCount = onHeapCache(ignite, "blobs-count",
+                new LruEvictionPolicyFactory<>(MAX_ENTRIES));
+            IgniteCache<Integer, byte[]> byBytes = onHeapCache(ignite, "blobs-bytes",
+                new WeightedLruEvictionPolicyFactory<>(BUDGET));
+            LruEvictionPolicyMBean countPolicy =
+                policy(ignite, "blobs-count", "LruEvictionPolicy", LruEvictionPolicyMBean.class);
+            WeightedLruEvictionPolicyMBean bytesPolicy =
+                policy(ignite, "blobs-bytes", "WeightedLruEvictionPolicy", WeightedLruEvictionPolicyMBean.class);
+
+            // 1. Reads move from small values to large ones
+            System.out.println("1. On heap after each read phase:");
+            System.out.println("   LRU by count:      500 entries max; bytes = binary key + value");
+            System.out.println("   Weighted by bytes: 4 MB budget; bytes = binary key + value + 390 B per entry");
+            for (boolean large : new boolean[] {false, true}) {
+                read(byCount, large);
+                read(byBytes, large);
+                System.out.println(String.format("   %s values:", large ? "Large" : "Small"));
+                System.out.println(String.format("      LRU by count:      %,5d entries, %,12d bytes",
+                    byCount.localSize(CachePeekMode.ONHEAP), countPolicy.getCurrentMemorySize()));
+                System.out.println(String.format("      Weighted by bytes: %,5d entries, %,12d bytes",
+                    byBytes.localSize(CachePeekMode.ONHEAP), bytesPolicy.getCurrentMemorySize()));
+            }
+
+            // 2. Updates that grow values
+            System.out.println("\n2. Small values read again, then 20 of them rewritten as 100 KB values:");
+            read(byCount, false);
+            read(byBytes, false);
+            long countBefore = countPolicy.getCurrentMemorySize();
+            long bytesBefore = bytesPolicy.getCurrentMemorySize();
+            int rewritten = 0;
+            for (int key = 1; key < KEYS && rewritten < 20; key++) {
+                if (key % 10 != 0 && byCount.localPeek(key, CachePeekMode.ONHEAP) != null
+                    && byBytes.localPeek(key, CachePeekMode.ONHEAP) != null) {
+                    byCount.put(key, new byte[100 * 1024]);
+                    byBytes.put(key, new byte[100 * 1024]);
+                    rewritten++;
+                }
+            }
+            System.out.println(String.format("   LRU by count:      %,12d -> %,12d bytes (updates not counted)",
+                countBefore, countPolicy.getCurrentMemorySize()));
+            System.out.println(String.format("   Weighted by bytes: %,12d -> %,12d bytes (within budget, %,d evicted in all)",
+                bytesBefore, bytesPolicy.getCurrentMemorySize(), bytesPolicy.getEvicted()));
+            System.out.println(String.format("   Weighted: average entry %,d B, largest %,d B",
+                bytesPolicy.getAverageEntryBytes(), bytesPolicy.getLargestEntryBytes()));
+
+            System.out.println("\n=== Byte-Weighted Eviction Guidelines ===");
+            System.out.println("- Bound on-heap caches with mixed value sizes by bytes, not entries");
+            System.out.println("- Add the per-entry overhead: small entries cost far more than their bytes");
+            System.out.println("- Sum the budgets of all on-heap and near caches to plan the JVM heap");
+            System.out.println("- Watch CurrentMemorySize per cache over JMX");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteCache<Integer, byte[]> onHeapCache(
+            Ignite ignite, String name, Factory<? extends EvictionPolicy<? super Integer, ? super byte[]>> policy) {
+        CacheConfiguration<Integer, byte[]> cfg = new CacheConfiguration<>(name);
+        cfg.setOnheapCacheEnabled(true);
+        cfg.setEvictionPolicyFactory(policy);
+        IgniteCache<Integer, byte[]> cache = ignite.getOrCreateCache(cfg);
+
+        Random random = new Random(42);
+        for (int key = 0; key < KEYS; key++) {
+            int size = key % 10 == 0 ? 20 * 1024 + random.nextInt(180 * 1024) : 100 + random.nextInt(924);
+            cache.put(key, new byte[size]);
+        }
+        return cache;
+    }
+
+    /** Random reads of the small values, or of the large ones. */
+    private static void read(IgniteCache<Integer, byte[]> cache, boolean large) {
+        Random random = new Random(7);
+        for (int i = 0; i < READS; i++) {
+            int key = random.nextInt(KEYS / 10) * 10;
+            cache.get(large ? key : key + 1 + random.nextInt(9));
+        }
+    }
+
+    /** The policy instance Ignite created for the cache, through the MBean it registered. */
+    private static <T> T policy(Ignite ignite, String cacheName, String policyClass, Class<T> mbean) throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : server.queryNames(new ObjectName("org.apache:*"), null)) {
+            // Ignite quotes names with characters such as '-'
+            if (ignite.name().equals(unquote(name.getKeyProperty("igniteInstanceName")))
+                && cacheName.equals(unquote(name.getKeyProperty("group")))
+                && unquote(name.getKeyProperty("name")).endsWith("." + policyClass)) {
+                return JMX.newMBeanProxy(server, name, mbean);
+            }
+        }
+        throw new IllegalStateException("No " + policyClass + " MBean for " + cacheName);
+    }
+
+    private static String unquote(String value) {
+        return value != null && value.startsWith("\"") ? ObjectName.unquote(value) : value;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+}
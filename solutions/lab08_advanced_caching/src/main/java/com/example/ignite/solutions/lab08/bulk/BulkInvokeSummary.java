@@ -0,0 +1,96 @@
+package com.example.ignite.solutions.lab08.bulk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lab 8 Optional: Counters from One Bulk Invoke
+ *
+ * Filled in by {@link BulkInvoker} on the calling thread; read it once
+ * invokeAll has returned.
+ */
+public class BulkInvokeSummary<K> {
+
+    private long keys;
+    private int chunks;
+    private int nodes;
+    private long results;
+    private long processorErrors;
+    private int failedChunks;
+    private final List<K> failedKeys = new ArrayList<>();
+    private long elapsedNanos;
+
+    void recordChunk(int size) {
+        chunks++;
+        keys += size;
+    }
+
+    void recordResult(boolean failed) {
+        results++;
+        if (failed) {
+            processorErrors++;
+        }
+    }
+
+    void recordFailedChunk(Collection<K> chunkKeys) {
+        failedChunks++;
+        failedKeys.addAll(chunkKeys);
+    }
+
+    void finish(int nodes, long elapsedNanos) {
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Keys sent, including those of failed chunks. */
+    public long getKeys() {
+        return keys;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    /** Primary nodes the keys were spread over. */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /** Results returned: keys whose processor returned a value or threw. */
+    public long getResults() {
+        return results;
+    }
+
+    /** Results whose processor threw an exception. */
+    public long getProcessorErrors() {
+        return processorErrors;
+    }
+
+    /** Chunks whose invokeAll call failed as a whole. */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /** Keys of the failed chunks; the processor may or may not have run for them. */
+    public List<K> getFailedKeys() {
+        return Collections.unmodifiableList(failedKeys);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getKeysPerSecond() {
+        return elapsedNanos == 0 ? 0 : keys * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d keys on %d nodes in %,d chunks, %,d results (%,d processor errors), " +
+                "%d failed chunks, %,d ms (%,.0f keys/sec)",
+            keys, nodes, chunks, results, processorErrors, failedChunks,
+            elapsedNanos / 1_000_000, getKeysPerSecond());
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.ignite.solutions.lab08.bulk;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.lang.IgniteFuture;
+
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Lab 8 Optional: Partition-Grouped Bulk Invoke
+ *
+ * {@code cache.invokeAll(keys, processor)} on 100,000 keys sends every
+ * key at once, blocks until the slowest node has processed its share,
+ * and builds a result map for all of them in memory. BulkInvoker splits
+ * the work instead:
+ * - keys are mapped to their primary node and ordered by partition
+ * - each node's keys are cut into chunks of {@code chunkSize}, so every
+ *   invokeAll call goes to a single node and touches few partitions
+ * - up to {@code chunksPerNode} chunks per node are in flight at once
+ *   (invokeAllAsync), so all nodes work in parallel and a slow node only
+ *   delays its own chunks
+ * - the results of each chunk are passed to a callback as soon as it
+ *   completes, then dropped
+ *
+ * <pre>
+ * BulkInvoker&lt;String, Integer&gt; invoker = new BulkInvoker&lt;&gt;(ignite, cache).chunkSize(1000);
+ * BulkInvokeSummary&lt;String&gt; summary = invoker.invokeAll(keys, new IncrementProcessor(),
+ *     (key, result) -&gt; report(key, result.get()), 5);
+ * </pre>
+ *
+ * The callback runs on the calling thread, one result at a time, so it
+ * needs no synchronization. Pass a null callback to keep only the counters
+ * in the summary. Like invokeAll, Ignite returns a result only for keys
+ * where the processor returned a value or threw; a processor exception
+ * surfaces from {@code result.get()} and is counted in the summary.
+ *
+ * If a whole chunk fails (for example, its node leaves the cluster), it is not
+ * retried: the processor may already have run for some of its keys. The
+ * keys of failed chunks are listed in the summary for the caller to
+ * decide. If the callback throws, dispatching stops and the exception
+ * propagates. Chunks already sent still complete on the cluster.
+ */
+public class BulkInvoker<K, V> {
+
+    private final Ignite ignite;
+    private final IgniteCache<K, V> cache;
+
+    private int chunkSize = 1000;
+    private int chunksPerNode = 2;
+
+    public BulkInvoker(Ignite ignite, IgniteCache<K, V> cache) {
+        this.ignite = ignite;
+        this.cache = cache;
+    }
+
+    /** Keys per invokeAll call. */
+    public BulkInvoker<K, V> chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /** Chunks in flight per primary node. */
+    public BulkInvoker<K, V> chunksPerNode(int chunksPerNode) {
+        if (chunksPerNode < 1) {
+            throw new IllegalArgumentException("chunksPerNode must be at least 1: " + chunksPerNode);
+        }
+        this.chunksPerNode = chunksPerNode;
+        return this;
+    }
+
+    /**
+     * Run the processor on every key and pass each result to the callback
+     * (may be null) as its chunk completes.
+     */
+    public <T> BulkInvokeSummary<K> invokeAll(Collection<? extends K> keys, EntryProcessor<K, V, T> processor,
+                                              ResultCallback<? super K, T> callback, Object... args) {
+        long start = System.nanoTime();
+        BulkInvokeSummary<K> summary = new BulkInvokeSummary<>();
+
+        List<Deque<Set<K>>> nodeChunks = chunksByNode(keys);
+        BlockingQueue<CompletedChunk<K, T>> completed = new LinkedBlockingQueue<>();
+
+        int inFlight = 0;
+        for (int node = 0; node < nodeChunks.size(); node++) {
+            for (int i = 0; i < chunksPerNode && !nodeChunks.get(node).isEmpty(); i++) {
+                dispatch(node, nodeChunks.get(node).poll(), processor, args, completed);
+                inFlight++;
+            }
+        }
+
+        while (inFlight > 0) {
+            CompletedChunk<K, T> chunk = take(completed);
+            inFlight--;
+            summary.recordChunk(chunk.keys.size());
+
+            if (chunk.error != null) {
+                summary.recordFailedChunk(chunk.keys);
+            } else {
+                for (Map.Entry<K, EntryProcessorResult<T>> entry : chunk.results.entrySet()) {
+                    summary.recordResult(failed(entry.getValue()));
+                    if (callback != null) {
+                        callback.onResult(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            // Keep this node busy with its next chunk
+            Set<K> next = nodeChunks.get(chunk.node).poll();
+            if (next != null) {
+                dispatch(chunk.node, next, processor, args, completed);
+                inFlight++;
+            }
+        }
+
+        summary.finish(nodeChunks.size(), System.nanoTime() - start);
+        return summary;
+    }
+
+    /**
+     * Group keys by primary node, then by partition within a node, and cut
+     * each node's keys into chunks.
+     */
+    private List<Deque<Set<K>>> chunksByNode(Collection<? extends K> keys) {
+        Affinity<K> affinity = ignite.affinity(cache.getName());
+        Map<ClusterNode, Collection<K>> byNode = affinity.mapKeysToNodes(keys);
+
+        List<Deque<Set<K>>> result = new ArrayList<>(byNode.size());
+        for (Collection<K> nodeKeys : byNode.values()) {
+            Map<Integer, List<K>> byPartition = new TreeMap<>();
+            for (K key : nodeKeys) {
+                byPartition.computeIfAbsent(affinity.partition(key), p -> new ArrayList<>()).add(key);
+            }
+
+            Deque<Set<K>> chunks = new ArrayDeque<>();
+            Set<K> chunk = new LinkedHashSet<>();
+            for (List<K> partitionKeys : byPartition.values()) {
+                for (K key : partitionKeys) {
+                    chunk.add(key);
+                    if (chunk.size() == chunkSize) {
+                        chunks.add(chunk);
+                        chunk = new LinkedHashSet<>();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            result.add(chunks);
+        }
+        return result;
+    }
+
+    private <T> void dispatch(int node, Set<K> keys, EntryProcessor<K, V, T> processor, Object[] args,
+                              BlockingQueue<CompletedChunk<K, T>> completed) {
+        IgniteFuture<Map<K, EntryProcessorResult<T>>> future;
+        try {
+            future = cache.invokeAllAsync(keys, processor, args);
+        } catch (RuntimeException e) {
+            completed.add(new CompletedChunk<>(node, keys, null, e));
+            return;
+        }
+        // Runs on Ignite's async continuation executor; only hands over
+        future.listen(f -> {
+            try {
+                completed.add(new CompletedChunk<>(node, keys, f.get(), null));
+            } catch (Throwable e) {
+                // Errors too: a chunk never enqueued would block invokeAll forever
+                completed.add(new CompletedChunk<>(node, keys, null, e));
+            }
+        });
+    }
+
+    private static boolean failed(EntryProcessorResult<?> result) {
+        try {
+            result.get();
+            return false;
+        } catch (EntryProcessorException e) {
+            return true;
+        }
+    }
+
+    private static <E> E take(BlockingQueue<E> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IgniteException("Interrupted while waiting for bulk invoke results", e);
+        }
+    }
+
+    /**
+     * Receives one processor result; called on the thread that called
+     * invokeAll.
+     */
+    @FunctionalInterface
+    public interface ResultCallback<K, T> {
+        void onResult(K key, EntryProcessorResult<T> result);
+    }
+
+    private static final class CompletedChunk<K, T> {
+        final int node;
+        final Set<K> keys;
+        final Map<K, EntryProcessorResult<T>> results;
+        final Throwable error;
+
+        CompletedChunk(int node, Set<K> keys, Map<K, EntryProcessorResult<T>> results, Throwable error) {
+            this.node = node;
+            this.keys = keys;
+            this.results = results;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.ignite.solutions.lab08.counter;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterNode;
+
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 8 Optional: Striped Hot Counter
+ *
+ * A single counter key such as "requests" or "quota:used" is updated by
+ * every thread on every node, and every update waits for the same entry
+ * lock on the same primary partition. StripedCounter spreads the counter
+ * over N sub-keys, in the spirit of {@link LongAdder}:
+ * - the stripe keys ({@code name#0}, {@code name#7}, ...) are chosen so
+ *   that each one lands on a different partition
+ * - each add goes to one stripe with an entry processor, chosen by the
+ *   calling thread or, with {@link Selection#LOCAL_NODE}, among the
+ *   stripes whose primary copy is on this node
+ * - {@link #sum()} reads all stripes with one getAll and adds them up
+ *
+ * <pre>
+ * StripedCounter requests = new StripedCounter(ignite, cache, "requests", 16);
+ * requests.increment();
+ * long total = requests.sum();
+ * </pre>
+ *
+ * The stripe keys are derived from the name and stripe count alone, so
+ * every node that creates a StripedCounter with the same name updates
+ * the same keys. Stripe counts only grow: the current count is stored
+ * under {@code name#stripes}, and a reader or writer that finds a larger
+ * count there picks up the new stripes.
+ *
+ * With {@link #adaptive(int)}, the counter doubles its stripes (up to the
+ * given maximum, which cannot exceed the cache's partition count) when adds from this JVM keep colliding on a stripe that
+ * already has an add in flight. Only collisions seen by this JVM are
+ * counted; contention from other nodes shows up as latency, not as
+ * collisions.
+ *
+ * sum() is not a snapshot: adds that run during the getAll may or may not
+ * be included, just as with LongAdder.sum(). Use a single key in a
+ * transaction when a read must be exact, e.g. to enforce a hard quota.
+ */
+public class StripedCounter {
+
+    /** How an add picks its stripe. */
+    public enum Selection {
+        /** Per-thread stripe; a thread moves to another stripe after a collision. */
+        THREAD,
+        /** Per-thread stripe among those whose primary copy is on this node. */
+        LOCAL_NODE
+    }
+
+    private static final int ADAPT_INTERVAL = 1024;
+
+    private final Ignite ignite;
+    private final IgniteCache<String, Long> cache;
+    private final String name;
+    private final String stripesKey;
+    private final int partitions;
+
+    private Selection selection = Selection.THREAD;
+    private int maxStripes;
+    private double collisionThreshold = 0.1;
+
+    private volatile Stripes stripes;
+
+    private final ThreadLocal<int[]> probe =
+        ThreadLocal.withInitial(() -> new int[] {ThreadLocalRandom.current().nextInt() | 1});
+
+    private final LongAdder adds = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder restripes = new LongAdder();
+
+    public StripedCounter(Ignite ignite, IgniteCache<String, Long> cache, String name, int stripes) {
+        this.partitions = ignite.affinity(cache.getName()).partitions();
+        if (stripes < 1 || stripes > partitions) {
+            throw new IllegalArgumentException("stripes must be between 1 and the " + partitions +
+                " partitions of " + cache.getName() + ": " + stripes);
+        }
+        this.ignite = ignite;
+        this.cache = cache;
+        this.name = name;
+        this.stripesKey = name + "#stripes";
+        this.maxStripes = stripes;
+
+        // Adopt a larger stripe count already published by another node
+        long published = cache.invoke(stripesKey, new MaxProcessor(), (long) stripes);
+        this.stripes = layout(placeable(published));
+    }
+
+    /** How adds pick their stripe. Default THREAD. */
+    public StripedCounter selection(Selection selection) {
+        this.selection = selection;
+        this.stripes = layout(stripes.keys.length);
+        return this;
+    }
+
+    /**
+     * Double the stripes, up to maxStripes, when more than the collision
+     * threshold (10% by default) of the adds in a window of 1,024 collide.
+     * Each stripe needs its own partition, so maxStripes is at most the
+     * cache's partition count.
+     */
+    public StripedCounter adaptive(int maxStripes) {
+        if (maxStripes < stripes.keys.length || maxStripes > partitions) {
+            throw new IllegalArgumentException("maxStripes must be between the current stripe count " +
+                stripes.keys.length + " and the " + partitions + " partitions: " + maxStripes);
+        }
+        this.maxStripes = maxStripes;
+        return this;
+    }
+
+    /** Fraction of colliding adds in a window that triggers re-striping. */
+    public StripedCounter collisionThreshold(double collisionThreshold) {
+        if (collisionThreshold <= 0 || collisionThreshold >= 1) {
+            throw new IllegalArgumentException("collisionThreshold must be between 0 and 1: " + collisionThreshold);
+        }
+        this.collisionThreshold = collisionThreshold;
+        return this;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        Stripes current = stripes;
+        int[] threadProbe = probe.get();
+        int index = current.pick(threadProbe[0]);
+
+        boolean collided = current.inFlight.getAndIncrement(index) > 0;
+        try {
+            cache.invoke(current.keys[index], new AddProcessor(), delta);
+        } finally {
+            current.inFlight.decrementAndGet(index);
+        }
+
+        if (collided) {
+            collisions.increment();
+            threadProbe[0] = advance(threadProbe[0]);
+        }
+        adds.increment();
+        if (current.window.incrementAndGet() % ADAPT_INTERVAL == 0) {
+            try {
+                adapt(current);
+            } catch (RuntimeException e) {
+                // The delta is applied; failing here would invite a retry that counts it twice.
+                // Re-striping is tried again at the end of the next window.
+            }
+        }
+    }
+
+    /** Sum of all stripes, read with one getAll. */
+    public long sum() {
+        Stripes current = refresh();
+        Map<String, Long> values = cache.getAll(current.keySet);
+        long sum = 0;
+        for (Long value : values.values()) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** Reset every stripe to zero; concurrent adds may survive. */
+    public void reset() {
+        cache.removeAll(refresh().keySet);
+    }
+
+    public int getStripes() {
+        return stripes.keys.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAdds() {
+        return adds.sum();
+    }
+
+    /** Adds that found another add from this JVM in flight on their stripe. */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public long getRestripes() {
+        return restripes.sum();
+    }
+
+    /** Stripe keys, in stripe order. */
+    public List<String> getStripeKeys() {
+        return List.of(stripes.keys);
+    }
+
+    @Override
+    public String toString() {
+        long total = getAdds();
+        return String.format("%s: %d stripes, %,d adds, %,d collisions (%.1f%%), %d restripes",
+            name, getStripes(), total, getCollisions(),
+            total == 0 ? 0.0 : getCollisions() * 100.0 / total, getRestripes());
+    }
+
+    /** Called by the thread whose add closed a window of ADAPT_INTERVAL adds. */
+    private synchronized void adapt(Stripes current) {
+        if (current != stripes) {
+            return;
+        }
+        long windowCollisions = collisions.sum() - current.collisionsAtStart;
+        current.collisionsAtStart += windowCollisions;
+
+        int count = current.keys.length;
+        if (count < maxStripes && windowCollisions > ADAPT_INTERVAL * collisionThreshold) {
+            int target = Math.min(Math.min(maxStripes, partitions), count * 2);
+            long published = cache.invoke(stripesKey, new MaxProcessor(), (long) target);
+            restripe(placeable(published));
+        } else {
+            refresh();
+        }
+    }
+
+    /** Pick up a stripe count published by another node. */
+    private Stripes refresh() {
+        Stripes current = stripes;
+        Long published = cache.get(stripesKey);
+        if (published != null && published > current.keys.length) {
+            return restripe(placeable(published));
+        }
+        return current;
+    }
+
+    private synchronized Stripes restripe(int count) {
+        Stripes current = stripes;
+        if (count > current.keys.length) {
+            current = layout(count);
+            current.collisionsAtStart = collisions.sum();
+            stripes = current;
+            restripes.increment();
+        }
+        return current;
+    }
+
+    /**
+     * A published stripe count limited to the partition count, in case a
+     * node with a different view published a larger one.
+     */
+    private int placeable(long published) {
+        return (int) Math.min(published, partitions);
+    }
+
+    /**
+     * The first count keys of the sequence name#0, name#1, ... that fall on
+     * distinct partitions. The same for every node, and a prefix of the
+     * layout for any larger count, so growing keeps the existing stripes.
+     */
+    private Stripes layout(int count) {
+        Affinity<String> affinity = ignite.affinity(cache.getName());
+        if (count > affinity.partitions()) {
+            throw new IllegalArgumentException("Cannot place " + count + " stripes on " +
+                affinity.partitions() + " partitions");
+        }
+
+        String[] keys = new String[count];
+        Set<Integer> used = new HashSet<>();
+        for (int suffix = 0, i = 0; i < count; suffix++) {
+            String key = name + "#" + suffix;
+            if (used.add(affinity.partition(key))) {
+                keys[i++] = key;
+            }
+        }
+
+        int[] preferred = null;
+        if (selection == Selection.LOCAL_NODE) {
+            ClusterNode local = ignite.cluster().localNode();
+            List<Integer> localStripes = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (affinity.isPrimary(local, keys[i])) {
+                    localStripes.add(i);
+                }
+            }
+            // A client node, or a node owning no stripe, falls back to all stripes
+            if (!localStripes.isEmpty()) {
+                preferred = localStripes.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+        return new Stripes(keys, preferred);
+    }
+
+    /** Xorshift step, as LongAdder moves a thread after a failed CAS. */
+    private static int advance(int probe) {
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        return probe;
+    }
+
+    /**
+     * One stripe layout. Replaced as a whole when the counter re-stripes,
+     * so an add always sees keys and in-flight counters of the same size.
+     */
+    private static final class Stripes {
+        final String[] keys;
+        final Set<String> keySet;
+        final int[] preferred;
+        final AtomicIntegerArray inFlight;
+
+        final AtomicInteger window = new AtomicInteger();
+        long collisionsAtStart;
+
+        Stripes(String[] keys, int[] preferred) {
+            this.keys = keys;
+            this.keySet = new LinkedHashSet<>(List.of(keys));
+            this.preferred = preferred;
+            this.inFlight = new AtomicIntegerArray(keys.length);
+        }
+
+        int pick(int probe) {
+            int h = probe & Integer.MAX_VALUE;
+            return preferred == null ? h % keys.length : preferred[h % preferred.length];
+        }
+    }
+
+    /** Adds the delta to the stripe, creating it at zero. */
+    static class AddProcessor implements CacheEntryProcessor<String, Long, Void>, Serializable {
+        @Override
+        public Void process(MutableEntry<String, Long> entry, Object... args)
+                throws EntryProcessorException {
+            long delta = (Long) args[0];
+            Long current = entry.getValue();
+            entry.setValue((current == null ? 0 : current) + delta);
+            return null;
+        }
+    }
+
+    /** Raises the value to at least the argument and returns the result. */
+    static class MaxProcessor implements CacheEntryProcessor<String, Long, Long>, Serializable {
+        @Override
+        public Long process(MutableEntry<String, Long> entry, Object... args)
+                throws EntryProcessorException {
+            long candidate = (Long) args[0];
+            Long current = entry.getValue();
+            if (current != null && current >= candidate) {
+                return current;
+            }
+            entry.setValue(candidate);
+            return candidate;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.ignite.solutions.lab08.cq;
+
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.event.EventType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Lab 08 Optional: Conflating Continuous Query Listener
+ *
+ * A continuous query calls its local listener for every update. When a
+ * key changes thousands of times a second and the subscriber is slower
+ * than that, the events queue up somewhere: in the subscriber's own
+ * queue, or in Ignite's threads if the listener does the work itself.
+ * Most subscribers (dashboards, price screens, caches) only want the
+ * latest value of each key, so this listener conflates instead:
+ * - events go into a map of pending keys; a key updated again before it
+ *   is delivered only has its value replaced
+ * - every windowMillis a delivery thread takes the pending map and hands
+ *   it to the consumer, in batches of at most maxBatchSize keys
+ * - the next window starts when the consumer returns, so a slow consumer
+ *   gets larger, more conflated batches rather than a growing backlog
+ *
+ * Memory is bounded by the number of distinct keys updated in a window,
+ * whatever the update rate. If that can still be too many, maxPendingKeys
+ * makes onUpdated wait until the consumer catches up. That wait runs on
+ * the Ignite thread delivering the event (for updates on the local node,
+ * the thread doing the update), so it slows writers down; use it only
+ * when that is what you want.
+ *
+ * The lag of a batch is how long its oldest update waited before the
+ * consumer was called; it is about windowMillis while the consumer keeps
+ * up and grows when it does not.
+ *
+ * A batch maps each key to its latest value in the order keys were first
+ * updated in the window; removed and expired keys map to null. Register
+ * with ContinuousQuery.setLocalListener, and close the query cursor
+ * before this listener so the last updates are delivered.
+ */
+public class ConflatingListener<K, V> implements CacheEntryUpdatedListener<K, V>, AutoCloseable {
+
+    private final Consumer<Map<K, V>> consumer;
+    private final long windowMillis;
+    private int maxBatchSize = 1_000;
+    private int maxPendingKeys;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<K, V> pending = new LinkedHashMap<>();
+    private long oldestPendingNanos;
+    private boolean closed;
+
+    private final ScheduledExecutorService delivery;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+    private final LongAdder lagMillis = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+    private final LongAdder windows = new LongAdder();
+    private final LongAdder consumerNanos = new LongAdder();
+    private final LongAccumulator peakPendingKeys = new LongAccumulator(Math::max, 0);
+    private final LongAdder blockedUpdates = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    /**
+     * @param consumer     receives the conflated batches, on this
+     *                     listener's delivery thread
+     * @param windowMillis time between the end of one delivery and the
+     *                     start of the next
+     */
+    public ConflatingListener(Consumer<Map<K, V>> consumer, long windowMillis) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis must be at least 1: " + windowMillis);
+        }
+        this.consumer = consumer;
+        this.windowMillis = windowMillis;
+
+        this.delivery = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "conflating-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        delivery.scheduleWithFixedDelay(this::deliver, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Most keys passed to the consumer in one call. Default 1,000. */
+    public ConflatingListener<K, V> maxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Pending keys at which onUpdated waits for the next delivery before
+     * adding a new key; updates of keys already pending never wait.
+     * Default 0: no limit.
+     */
+    public ConflatingListener<K, V> maxPendingKeys(int maxPendingKeys) {
+        if (maxPendingKeys < 0) {
+            throw new IllegalArgumentException("maxPendingKeys must not be negative: " + maxPendingKeys);
+        }
+        synchronized (lock) {
+            this.maxPendingKeys = maxPendingKeys;
+            lock.notifyAll();
+        }
+        return this;
+    }
+
+    @Override
+    public void onUpdated(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        int count = 0;
+        synchronized (lock) {
+            for (CacheEntryEvent<? extends K, ? extends V> event : events) {
+                if (closed) {
+                    break;
+                }
+                K key = event.getKey();
+                V value = event.getEventType() == EventType.REMOVED || event.getEventType() == EventType.EXPIRED
+                    ? null : event.getValue();
+                if (maxPendingKeys > 0 && !pending.containsKey(key)) {
+                    awaitRoom();
+                    if (closed) {
+                        break; // woken by close()
+                    }
+                }
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+                pending.put(key, value);
+                count++;
+            }
+            peakPendingKeys.accumulate(pending.size());
+        }
+        received.add(count);
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /** Events received from the continuous query. */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /** Keys passed to the consumer. */
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /** Events replaced by a later event of the same key before delivery. */
+    public long getConflated() {
+        return Math.max(0, getReceived() - getDelivered() - getPendingKeys());
+    }
+
+    /** Share of the received events that never reached the consumer. */
+    public double getConflationRatio() {
+        long n = getReceived();
+        return n == 0 ? 0 : (double) getConflated() / n;
+    }
+
+    /** Keys waiting for the next delivery. */
+    public int getPendingKeys() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /** Most keys pending at once. */
+    public long getPeakPendingKeys() {
+        return peakPendingKeys.get();
+    }
+
+    /** Consumer calls. */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /** Consumer calls that threw; their keys are not delivered again. */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    public long getLargestBatch() {
+        return largestBatch.get();
+    }
+
+    public double getAverageBatchSize() {
+        long n = batches.sum();
+        return n == 0 ? 0 : (double) delivered.sum() / n;
+    }
+
+    /** How long the oldest pending update has been waiting. */
+    public long getCurrentLagMillis() {
+        synchronized (lock) {
+            return pending.isEmpty() ? 0 : (System.nanoTime() - oldestPendingNanos) / 1_000_000;
+        }
+    }
+
+    /** Mean time the oldest update of a window waited for the consumer. */
+    public double getAverageLagMillis() {
+        long n = windows.sum();
+        return n == 0 ? 0 : (double) lagMillis.sum() / n;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /** Time spent in the consumer. */
+    public long getConsumerMillis() {
+        return consumerNanos.sum() / 1_000_000;
+    }
+
+    /** Updates that waited for room because of maxPendingKeys. */
+    public long getBlockedUpdates() {
+        return blockedUpdates.sum();
+    }
+
+    /** Time onUpdated spent waiting for room. */
+    public long getBlockedMillis() {
+        return blockedNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d received, %,d delivered in %,d batches (avg %.0f, largest %,d), " +
+                "%.1f%% conflated, %,d pending (peak %,d), lag avg %.0f ms, max %,d ms, consumer %,d ms, " +
+                "%,d blocked for %,d ms",
+            getReceived(), getDelivered(), getBatches(), getAverageBatchSize(), getLargestBatch(),
+            getConflationRatio() * 100, getPendingKeys(), getPeakPendingKeys(), getAverageLagMillis(), getMaxLagMillis(),
+            getConsumerMillis(), getBlockedUpdates(), getBlockedMillis());
+    }
+
+    /** Deliver what is pending and stop. Later events are dropped. */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        delivery.shutdown();
+        delivery.awaitTermination(10, TimeUnit.SECONDS);
+        deliver();
+    }
+
+    private void awaitRoom() {
+        if (pending.size() < maxPendingKeys) {
+            return;
+        }
+        blockedUpdates.increment();
+        long start = System.nanoTime();
+        try {
+            while (pending.size() >= maxPendingKeys && maxPendingKeys > 0 && !closed) {
+                lock.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void deliver() {
+        LinkedHashMap<K, V> window;
+        long oldest;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            window = pending;
+            oldest = oldestPendingNanos;
+            pending = new LinkedHashMap<>();
+            lock.notifyAll();
+        }
+
+        long start = System.nanoTime();
+        long lag = (start - oldest) / 1_000_000;
+        windows.increment();
+        lagMillis.add(lag);
+        maxLagMillis.accumulate(lag);
+
+        for (Map<K, V> batch : split(window)) {
+            try {
+                consumer.accept(batch);
+            } catch (Throwable e) {
+                // Errors too: they would cancel the delivery task and leave writers waiting for room
+                failedBatches.increment();
+                System.err.println("Conflated batch of " + batch.size() + " keys failed: " + e.getMessage());
+            }
+            batches.increment();
+            delivered.add(batch.size());
+            largestBatch.accumulate(batch.size());
+        }
+        consumerNanos.add(System.nanoTime() - start);
+    }
+
+    private List<Map<K, V>> split(LinkedHashMap<K, V> window) {
+        List<Map<K, V>> result = new ArrayList<>();
+        if (window.size() <= maxBatchSize) {
+            result.add(window);
+            return result;
+        }
+        Map<K, V> batch = new LinkedHashMap<>();
+        for (Map.Entry<K, V> entry : window.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == maxBatchSize) {
+                result.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            result.add(batch);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+import org.apache.ignite.cache.eviction.EvictableEntry;
+
+import java.io.Serializable;
+
+/**
+ * Estimated heap bytes retained by one on-heap entry, for
+ * {@link WeightedLruEvictionPolicy}. Serializable because it travels
+ * with the policy factory in the cache configuration.
+ */
+@FunctionalInterface
+public interface EntryWeigher<K, V> extends Serializable {
+
+    /**
+     * Heap of a server on-heap entry beyond its key and value bytes: the
+     * entry, its version, the cache object holders, the on-heap map and
+     * this policy's queue node. Measured on a 64-bit JVM with compressed
+     * oops: an Integer key with a short String value took about 410 bytes
+     * (20 binary), with a 100-byte array about 490 (105 binary).
+     */
+    int DEFAULT_ENTRY_OVERHEAD_BYTES = 390;
+
+    int weigh(EvictableEntry<K, V> entry);
+
+    /** Binary length of key and value (EvictableEntry.size()) plus a fixed overhead per entry. */
+    static <K, V> EntryWeigher<K, V> binarySize(int overheadBytes) {
+        if (overheadBytes < 0) {
+            throw new IllegalArgumentException("overheadBytes must not be negative: " + overheadBytes);
+        }
+        return entry -> entry.size() + overheadBytes;
+    }
+
+    /** Binary length plus {@link #DEFAULT_ENTRY_OVERHEAD_BYTES}. */
+    static <K, V> EntryWeigher<K, V> binarySize() {
+        return binarySize(DEFAULT_ENTRY_OVERHEAD_BYTES);
+    }
+}
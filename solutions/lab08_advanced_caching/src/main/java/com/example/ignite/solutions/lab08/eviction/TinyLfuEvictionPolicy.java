@@ -0,0 +1,388 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+import com.example.ignite.solutions.lab08.nearcache.FrequencySketch;
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicy;
+import org.apache.ignite.cache.eviction.EvictableEntry;
+import org.apache.ignite.mxbean.IgniteMBeanAware;
+import org.jsr166.ConcurrentLinkedDeque8;
+import org.jsr166.ConcurrentLinkedDeque8.Node;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 08 Optional: TinyLFU Eviction Policy
+ *
+ * An on-heap eviction policy (for setEvictionPolicyFactory and
+ * NearCacheConfiguration.setNearEvictionPolicyFactory) that resists scan
+ * pollution. LRU lets every key read once push out the hot set; here a
+ * new key must prove it is read more often than the entry it replaces:
+ * - new entries go into a small LRU window (windowPercent of maxSize,
+ *   1% by default), so a burst of new keys gets a chance to be re-read
+ * - the window's oldest entries move to an LRU main region while the
+ *   cache is within its bound
+ * - when the cache is over its bound and the window over its share, the
+ *   window's oldest entry (the candidate) is compared with the main
+ *   region's oldest (the victim) in a count-min frequency sketch with
+ *   aging ({@link FrequencySketch}); the less frequent one is evicted
+ *
+ * The bound is maxSize entries, maxMemorySize bytes of serialized key
+ * and value, or both, exactly as for LruEvictionPolicy. The sketch is
+ * sized for maxSize entries, or for sketchEntries when only a memory
+ * bound is set.
+ *
+ * Thread-safe without a global lock: the regions are Ignite's concurrent
+ * deques, linked to entries through entry metadata as in
+ * LruEvictionPolicy, and the sketch is split into 16 stripes by key
+ * hash, each with its own monitor.
+ *
+ * Ignite creates the policy from its factory on each node, so the
+ * instance doing the work is not the one in the configuration; its
+ * numbers are read over JMX ({@link TinyLfuEvictionPolicyMBean}).
+ */
+public class TinyLfuEvictionPolicy<K, V> extends AbstractEvictionPolicy<K, V> implements IgniteMBeanAware {
+
+    private static final long serialVersionUID = 0L;
+
+    private static final int STRIPES = 16;
+
+    /** Sketch size when only a memory bound is set. */
+    public static final int DEFAULT_SKETCH_ENTRIES = 10_000;
+
+    private final ConcurrentLinkedDeque8<EvictableEntry<K, V>> window = new ConcurrentLinkedDeque8<>();
+    private final ConcurrentLinkedDeque8<EvictableEntry<K, V>> main = new ConcurrentLinkedDeque8<>();
+
+    private volatile int windowPercent = 1;
+    private volatile int sketchEntries = DEFAULT_SKETCH_ENTRIES;
+    private volatile FrequencySketch[] sketch = sketch(DEFAULT_SKETCH_ENTRIES);
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public TinyLfuEvictionPolicy() {
+    }
+
+    public TinyLfuEvictionPolicy(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    @Override
+    public TinyLfuEvictionPolicy<K, V> setMaxSize(int max) {
+        super.setMaxSize(max);
+        this.sketch = sketch(max > 0 ? max : sketchEntries);
+        return this;
+    }
+
+    @Override
+    public TinyLfuEvictionPolicy<K, V> setMaxMemorySize(long maxMemSize) {
+        super.setMaxMemorySize(maxMemSize);
+        return this;
+    }
+
+    @Override
+    public TinyLfuEvictionPolicy<K, V> setBatchSize(int batchSize) {
+        super.setBatchSize(batchSize);
+        return this;
+    }
+
+    /** Share of the entries, in percent, kept in the admission window. Default 1. */
+    public TinyLfuEvictionPolicy<K, V> setWindowPercent(int windowPercent) {
+        if (windowPercent < 1 || windowPercent > 99) {
+            throw new IllegalArgumentException("windowPercent must be between 1 and 99: " + windowPercent);
+        }
+        this.windowPercent = windowPercent;
+        return this;
+    }
+
+    public int getWindowPercent() {
+        return windowPercent;
+    }
+
+    /** Entries the sketch is sized for when maxSize is 0. Default 10,000. */
+    public TinyLfuEvictionPolicy<K, V> setSketchEntries(int sketchEntries) {
+        if (sketchEntries < 1) {
+            throw new IllegalArgumentException("sketchEntries must be at least 1: " + sketchEntries);
+        }
+        this.sketchEntries = sketchEntries;
+        if (getMaxSize() == 0) {
+            this.sketch = sketch(sketchEntries);
+        }
+        return this;
+    }
+
+    public int getSketchEntries() {
+        return sketchEntries;
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return window.sizex() + main.sizex();
+    }
+
+    public int getWindowSize() {
+        return window.sizex();
+    }
+
+    public int getMainSize() {
+        return main.sizex();
+    }
+
+    /** Candidates that replaced a less frequent main entry. */
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    /** Candidates evicted because the main entry was read at least as often. */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /** Entries evicted, rejected candidates included. */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /** Estimated recent accesses of the key, 0 to 15. */
+    public int frequency(Object key) {
+        FrequencySketch stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.frequency(key);
+        }
+    }
+
+    @Override
+    protected boolean touch(EvictableEntry<K, V> entry) {
+        record(entry.getKey());
+
+        Slot<K, V> slot = entry.meta();
+        if (slot != null) {
+            // Move to the tail of its region
+            ConcurrentLinkedDeque8<EvictableEntry<K, V>> region = slot.main ? main : window;
+            if (region.unlinkx(slot.node)) {
+                Slot<K, V> moved = new Slot<>(region.offerLastx(entry), slot.main);
+                if (!entry.replaceMeta(slot, moved)) {
+                    region.unlinkx(moved.node);
+                }
+            }
+            return false;
+        }
+
+        while (true) {
+            Slot<K, V> created = new Slot<>(window.offerLastx(entry), false);
+            if (entry.putMetaIfAbsent(created) != null) {
+                // Added concurrently
+                window.unlinkx(created.node);
+                return false;
+            }
+            if (created.node.item() != null) {
+                if (!entry.isCached()) {
+                    // Evicted concurrently
+                    if (entry.removeMeta(created)) {
+                        window.unlinkx(created.node);
+                    }
+                    return false;
+                }
+                memSize.add(entry.size());
+                // Below the bound the window's overflow joins the main region unchallenged
+                while (window.sizex() > windowQuota() && !overBound()) {
+                    EvictableEntry<K, V> oldest = window.poll();
+                    if (oldest == null) {
+                        break;
+                    }
+                    promote(oldest);
+                }
+                return true;
+            }
+            // Polled by a concurrent shrink before the metadata was set; add it again
+            if (!entry.removeMeta(created)) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    protected int shrink0() {
+        while (window.sizex() > windowQuota()) {
+            EvictableEntry<K, V> candidate = window.poll();
+            if (candidate == null) {
+                break;
+            }
+            EvictableEntry<K, V> victim = main.peek();
+            if (victim == null) {
+                promote(candidate);
+                continue;
+            }
+            if (frequency(candidate.getKey()) > frequency(victim.getKey())) {
+                admitted.increment();
+                promote(candidate);
+                return evict(main.poll());
+            }
+            rejected.increment();
+            return evict(candidate);
+        }
+
+        EvictableEntry<K, V> victim = main.poll();
+        if (victim == null) {
+            victim = window.poll();
+        }
+        return victim == null ? -1 : evict(victim);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean removeMeta(Object meta) {
+        Slot<K, V> slot = (Slot<K, V>) meta;
+        return (slot.main ? main : window).unlinkx(slot.node);
+    }
+
+    @Override
+    public Object getMBean() {
+        return new MBean();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TinyLFU [max=%,d, maxMem=%,d B, window=%,d, main=%,d, mem=%,d B, " +
+                "admitted=%,d, rejected=%,d, evicted=%,d]",
+            getMaxSize(), getMaxMemorySize(), getWindowSize(), getMainSize(), getCurrentMemorySize(),
+            getAdmitted(), getRejected(), getEvicted());
+    }
+
+    private int windowQuota() {
+        int max = getMaxSize();
+        return Math.max(1, (int) ((long) (max > 0 ? max : getCurrentSize()) * windowPercent / 100));
+    }
+
+    private boolean overBound() {
+        int max = getMaxSize();
+        long maxMem = getMaxMemorySize();
+        return (max > 0 && getCurrentSize() > max) || (maxMem > 0 && memSize.sum() > maxMem);
+    }
+
+    /** Move a candidate polled from the window to the tail of the main region. */
+    private void promote(EvictableEntry<K, V> candidate) {
+        Slot<K, V> slot = candidate.meta();
+        if (slot == null || slot.main) {
+            return;
+        }
+        Slot<K, V> promoted = new Slot<>(main.offerLastx(candidate), true);
+        if (!candidate.replaceMeta(slot, promoted)) {
+            main.unlinkx(promoted.node);
+        }
+    }
+
+    /** Evict an entry already polled from its region; its size, or 0 if it was removed concurrently. */
+    private int evict(EvictableEntry<K, V> entry) {
+        if (entry == null || entry.removeMeta() == null) {
+            return 0;
+        }
+        int size = entry.size();
+        memSize.add(-size);
+        if (entry.evict()) {
+            evicted.increment();
+        } else {
+            // In use (locked or in a transaction); keep it
+            touch(entry);
+        }
+        return size;
+    }
+
+    private void record(Object key) {
+        FrequencySketch stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.increment(key);
+        }
+    }
+
+    private FrequencySketch stripe(Object key) {
+        FrequencySketch[] stripes = sketch;
+        int h = key.hashCode() * 0x9e3779b9;
+        return stripes[(h >>> 28) & (STRIPES - 1)];
+    }
+
+    private static FrequencySketch[] sketch(int entries) {
+        FrequencySketch[] stripes = new FrequencySketch[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new FrequencySketch(Math.max(16, entries / STRIPES));
+        }
+        return stripes;
+    }
+
+    private class MBean implements TinyLfuEvictionPolicyMBean {
+        @Override
+        public int getMaxSize() {
+            return TinyLfuEvictionPolicy.this.getMaxSize();
+        }
+
+        @Override
+        public void setMaxSize(int max) {
+            TinyLfuEvictionPolicy.this.setMaxSize(max);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return TinyLfuEvictionPolicy.this.getBatchSize();
+        }
+
+        @Override
+        public void setBatchSize(int batchSize) {
+            TinyLfuEvictionPolicy.this.setBatchSize(batchSize);
+        }
+
+        @Override
+        public long getMaxMemorySize() {
+            return TinyLfuEvictionPolicy.this.getMaxMemorySize();
+        }
+
+        @Override
+        public void setMaxMemorySize(long maxMemSize) {
+            TinyLfuEvictionPolicy.this.setMaxMemorySize(maxMemSize);
+        }
+
+        @Override
+        public int getCurrentSize() {
+            return TinyLfuEvictionPolicy.this.getCurrentSize();
+        }
+
+        @Override
+        public long getCurrentMemorySize() {
+            return TinyLfuEvictionPolicy.this.getCurrentMemorySize();
+        }
+
+        @Override
+        public int getWindowSize() {
+            return TinyLfuEvictionPolicy.this.getWindowSize();
+        }
+
+        @Override
+        public int getMainSize() {
+            return TinyLfuEvictionPolicy.this.getMainSize();
+        }
+
+        @Override
+        public long getAdmitted() {
+            return TinyLfuEvictionPolicy.this.getAdmitted();
+        }
+
+        @Override
+        public long getRejected() {
+            return TinyLfuEvictionPolicy.this.getRejected();
+        }
+
+        @Override
+        public long getEvicted() {
+            return TinyLfuEvictionPolicy.this.getEvicted();
+        }
+    }
+
+    /** Entry metadata: the entry's node and which region it is in. */
+    private static final class Slot<K, V> {
+        final Node<EvictableEntry<K, V>> node;
+        final boolean main;
+
+        Slot(Node<EvictableEntry<K, V>> node, boolean main) {
+            this.node = node;
+            this.main = main;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicyFactory;
+
+/**
+ * Factory for {@link TinyLfuEvictionPolicy}, for
+ * CacheConfiguration.setEvictionPolicyFactory and
+ * NearCacheConfiguration.setNearEvictionPolicyFactory. Like
+ * LruEvictionPolicyFactory, it is serialized with the configuration and
+ * creates one policy per node.
+ */
+public class TinyLfuEvictionPolicyFactory<K, V> extends AbstractEvictionPolicyFactory<TinyLfuEvictionPolicy<K, V>> {
+
+    private static final long serialVersionUID = 0L;
+
+    private int windowPercent = 1;
+    private int sketchEntries = TinyLfuEvictionPolicy.DEFAULT_SKETCH_ENTRIES;
+
+    public TinyLfuEvictionPolicyFactory() {
+    }
+
+    public TinyLfuEvictionPolicyFactory(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    public TinyLfuEvictionPolicyFactory(int maxSize, int batchSize, long maxMemSize) {
+        setMaxSize(maxSize);
+        setBatchSize(batchSize);
+        setMaxMemorySize(maxMemSize);
+    }
+
+    /** See {@link TinyLfuEvictionPolicy#setWindowPercent}. */
+    public TinyLfuEvictionPolicyFactory<K, V> setWindowPercent(int windowPercent) {
+        this.windowPercent = windowPercent;
+        return this;
+    }
+
+    public int getWindowPercent() {
+        return windowPercent;
+    }
+
+    /** See {@link TinyLfuEvictionPolicy#setSketchEntries}. */
+    public TinyLfuEvictionPolicyFactory<K, V> setSketchEntries(int sketchEntries) {
+        this.sketchEntries = sketchEntries;
+        return this;
+    }
+
+    public int getSketchEntries() {
+        return sketchEntries;
+    }
+
+    @Override
+    public TinyLfuEvictionPolicy<K, V> create() {
+        TinyLfuEvictionPolicy<K, V> policy = new TinyLfuEvictionPolicy<>();
+        policy.setBatchSize(getBatchSize());
+        policy.setMaxMemorySize(getMaxMemorySize());
+        policy.setSketchEntries(sketchEntries);
+        policy.setMaxSize(getMaxSize());
+        policy.setWindowPercent(windowPercent);
+        return policy;
+    }
+}
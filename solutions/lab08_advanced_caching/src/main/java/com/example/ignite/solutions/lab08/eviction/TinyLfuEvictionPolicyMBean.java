@@ -0,0 +1,37 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+/**
+ * JMX view of a {@link TinyLfuEvictionPolicy}. Ignite registers it for
+ * each cache using the policy, like LruEvictionPolicyMBean, as
+ * org.apache:igniteInstanceName=&lt;node&gt;,group=&lt;cache&gt;,
+ * name="com.example.ignite.solutions.lab08.eviction.TinyLfuEvictionPolicy";
+ * a near cache's policy is in group &lt;cache&gt;-near.
+ */
+public interface TinyLfuEvictionPolicyMBean {
+
+    int getMaxSize();
+
+    void setMaxSize(int max);
+
+    int getBatchSize();
+
+    void setBatchSize(int batchSize);
+
+    long getMaxMemorySize();
+
+    void setMaxMemorySize(long maxMemSize);
+
+    int getCurrentSize();
+
+    long getCurrentMemorySize();
+
+    int getWindowSize();
+
+    int getMainSize();
+
+    long getAdmitted();
+
+    long getRejected();
+
+    long getEvicted();
+}
@@ -0,0 +1,281 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicy;
+import org.apache.ignite.cache.eviction.EvictableEntry;
+import org.apache.ignite.mxbean.IgniteMBeanAware;
+import org.jsr166.ConcurrentLinkedDeque8;
+import org.jsr166.ConcurrentLinkedDeque8.Node;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 08 Optional: Byte-Weighted LRU Eviction Policy
+ *
+ * An entry-count bound (setMaxSize) says nothing about heap when values
+ * range from 100 bytes to 200 KB: 1,000 small entries take under a
+ * megabyte, 1,000 large ones 200 MB. This policy bounds the on-heap
+ * entries of a cache by their estimated heap instead:
+ * - each entry is weighed by an {@link EntryWeigher}, by default its
+ *   binary key and value length plus a fixed per-entry overhead
+ * - the least recently used entries are evicted until the total weight
+ *   is within maxMemorySize (an entry-count bound can be set as well)
+ * - an entry is weighed again every time it is read or written, so an
+ *   update that grows a value grows the total
+ *
+ * LruEvictionPolicy.setMaxMemorySize counts only the binary length, and
+ * only when an entry is first added, so the total drifts as values are
+ * updated. Here the weight is kept with the entry's metadata and the
+ * total is exactly what is subtracted again on eviction or removal.
+ *
+ * The total (getCurrentMemorySize) is the bytes this cache holds on the
+ * heap of this node, as estimated; Ignite registers the policy's MBean
+ * ({@link WeightedLruEvictionPolicyMBean}) per cache, like LRU's.
+ * Thread-safe without a global lock, with the same concurrent deque and
+ * metadata handling as LruEvictionPolicy.
+ */
+public class WeightedLruEvictionPolicy<K, V> extends AbstractEvictionPolicy<K, V> implements IgniteMBeanAware {
+
+    private static final long serialVersionUID = 0L;
+
+    private final ConcurrentLinkedDeque8<EvictableEntry<K, V>> queue = new ConcurrentLinkedDeque8<>();
+
+    private volatile EntryWeigher<K, V> weigher = EntryWeigher.binarySize();
+
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder evictedBytes = new LongAdder();
+    private final LongAccumulator largestEntry = new LongAccumulator(Math::max, 0);
+
+    public WeightedLruEvictionPolicy() {
+    }
+
+    public WeightedLruEvictionPolicy(long maxMemorySize) {
+        setMaxMemorySize(maxMemorySize);
+    }
+
+    @Override
+    public WeightedLruEvictionPolicy<K, V> setMaxMemorySize(long maxMemSize) {
+        super.setMaxMemorySize(maxMemSize);
+        return this;
+    }
+
+    @Override
+    public WeightedLruEvictionPolicy<K, V> setMaxSize(int max) {
+        super.setMaxSize(max);
+        return this;
+    }
+
+    @Override
+    public WeightedLruEvictionPolicy<K, V> setBatchSize(int batchSize) {
+        super.setBatchSize(batchSize);
+        return this;
+    }
+
+    /** How entries are weighed. Default: binary length plus 390 bytes. */
+    public WeightedLruEvictionPolicy<K, V> setWeigher(EntryWeigher<K, V> weigher) {
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher must not be null");
+        }
+        this.weigher = weigher;
+        return this;
+    }
+
+    public EntryWeigher<K, V> getWeigher() {
+        return weigher;
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return queue.sizex();
+    }
+
+    /** Entries evicted to stay within the bounds. */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /** Estimated bytes freed by evictions. */
+    public long getEvictedBytes() {
+        return evictedBytes.sum();
+    }
+
+    /** Heaviest entry weighed so far, in bytes. */
+    public long getLargestEntryBytes() {
+        return largestEntry.get();
+    }
+
+    public long getAverageEntryBytes() {
+        int size = getCurrentSize();
+        return size == 0 ? 0 : getCurrentMemorySize() / size;
+    }
+
+    @Override
+    public void onEntryAccessed(boolean rmv, EvictableEntry<K, V> entry) {
+        if (!rmv) {
+            if (entry.isCached() && touch(entry)) {
+                shrink();
+            }
+            return;
+        }
+        // The base class would subtract entry.size(); subtract the recorded weight instead.
+        // Whoever removes the metadata subtracts the weight, so it is counted once.
+        Slot<K, V> slot = entry.removeMeta();
+        if (slot != null) {
+            queue.unlinkx(slot.node);
+            memSize.add(-slot.weight);
+        }
+    }
+
+    @Override
+    protected boolean touch(EvictableEntry<K, V> entry) {
+        int weight = weigh(entry);
+
+        Slot<K, V> slot = entry.meta();
+        if (slot != null) {
+            // Move to the tail and record the new weight
+            if (queue.unlinkx(slot.node)) {
+                Slot<K, V> moved = new Slot<>(queue.offerLastx(entry), weight);
+                if (entry.replaceMeta(slot, moved)) {
+                    memSize.add(weight - slot.weight);
+                    return weight > slot.weight;
+                }
+                // Removed concurrently; the remover subtracted the weight
+                queue.unlinkx(moved.node);
+            }
+            return false;
+        }
+
+        while (true) {
+            Slot<K, V> created = new Slot<>(queue.offerLastx(entry), weight);
+            if (entry.putMetaIfAbsent(created) != null) {
+                // Added concurrently
+                queue.unlinkx(created.node);
+                return false;
+            }
+            if (created.node.item() != null) {
+                if (!entry.isCached()) {
+                    // Evicted concurrently
+                    if (entry.removeMeta(created)) {
+                        queue.unlinkx(created.node);
+                    }
+                    return false;
+                }
+                memSize.add(weight);
+                return true;
+            }
+            // Polled by a concurrent shrink before the metadata was set; add it again
+            if (!entry.removeMeta(created)) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    protected int shrink0() {
+        EvictableEntry<K, V> entry = queue.poll();
+        if (entry == null) {
+            return -1;
+        }
+        Slot<K, V> slot = entry.removeMeta();
+        if (slot == null) {
+            return 0;
+        }
+        memSize.add(-slot.weight);
+        if (entry.evict()) {
+            evicted.increment();
+            evictedBytes.add(slot.weight);
+        } else {
+            // In use (locked or in a transaction); keep it
+            touch(entry);
+        }
+        return slot.weight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean removeMeta(Object meta) {
+        return queue.unlinkx(((Slot<K, V>) meta).node);
+    }
+
+    @Override
+    public Object getMBean() {
+        return new MBean();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WeightedLRU [maxMem=%,d B, max=%,d, entries=%,d, mem=%,d B, avg=%,d B, " +
+                "largest=%,d B, evicted=%,d (%,d B)]",
+            getMaxMemorySize(), getMaxSize(), getCurrentSize(), getCurrentMemorySize(), getAverageEntryBytes(),
+            getLargestEntryBytes(), getEvicted(), getEvictedBytes());
+    }
+
+    private int weigh(EvictableEntry<K, V> entry) {
+        int weight = Math.max(0, weigher.weigh(entry));
+        largestEntry.accumulate(weight);
+        return weight;
+    }
+
+    private class MBean implements WeightedLruEvictionPolicyMBean {
+        @Override
+        public long getMaxMemorySize() {
+            return WeightedLruEvictionPolicy.this.getMaxMemorySize();
+        }
+
+        @Override
+        public void setMaxMemorySize(long maxMemSize) {
+            WeightedLruEvictionPolicy.this.setMaxMemorySize(maxMemSize);
+        }
+
+        @Override
+        public int getMaxSize() {
+            return WeightedLruEvictionPolicy.this.getMaxSize();
+        }
+
+        @Override
+        public void setMaxSize(int max) {
+            WeightedLruEvictionPolicy.this.setMaxSize(max);
+        }
+
+        @Override
+        public int getCurrentSize() {
+            return WeightedLruEvictionPolicy.this.getCurrentSize();
+        }
+
+        @Override
+        public long getCurrentMemorySize() {
+            return WeightedLruEvictionPolicy.this.getCurrentMemorySize();
+        }
+
+        @Override
+        public long getAverageEntryBytes() {
+            return WeightedLruEvictionPolicy.this.getAverageEntryBytes();
+        }
+
+        @Override
+        public long getLargestEntryBytes() {
+            return WeightedLruEvictionPolicy.this.getLargestEntryBytes();
+        }
+
+        @Override
+        public long getEvicted() {
+            return WeightedLruEvictionPolicy.this.getEvicted();
+        }
+
+        @Override
+        public long getEvictedBytes() {
+            return WeightedLruEvictionPolicy.this.getEvictedBytes();
+        }
+    }
+
+    /** Entry metadata: the entry's node and the weight counted for it. */
+    private static final class Slot<K, V> {
+        final Node<EvictableEntry<K, V>> node;
+        final int weight;
+
+        Slot(Node<EvictableEntry<K, V>> node, int weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+    }
+}
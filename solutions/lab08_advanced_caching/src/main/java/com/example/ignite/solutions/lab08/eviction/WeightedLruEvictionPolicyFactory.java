@@ -0,0 +1,43 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicyFactory;
+
+/**
+ * Factory for {@link WeightedLruEvictionPolicy}, for
+ * CacheConfiguration.setEvictionPolicyFactory and
+ * NearCacheConfiguration.setNearEvictionPolicyFactory.
+ */
+public class WeightedLruEvictionPolicyFactory<K, V>
+    extends AbstractEvictionPolicyFactory<WeightedLruEvictionPolicy<K, V>> {
+
+    private static final long serialVersionUID = 0L;
+
+    private EntryWeigher<K, V> weigher = EntryWeigher.binarySize();
+
+    public WeightedLruEvictionPolicyFactory() {
+    }
+
+    /** Bounded by maxMemorySize estimated heap bytes. */
+    public WeightedLruEvictionPolicyFactory(long maxMemorySize) {
+        setMaxMemorySize(maxMemorySize);
+    }
+
+    /** See {@link WeightedLruEvictionPolicy#setWeigher}. */
+    public WeightedLruEvictionPolicyFactory<K, V> setWeigher(EntryWeigher<K, V> weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
+    public EntryWeigher<K, V> getWeigher() {
+        return weigher;
+    }
+
+    @Override
+    public WeightedLruEvictionPolicy<K, V> create() {
+        return new WeightedLruEvictionPolicy<K, V>()
+            .setMaxMemorySize(getMaxMemorySize())
+            .setMaxSize(getMaxSize())
+            .setBatchSize(getBatchSize())
+            .setWeigher(weigher);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ignite.solutions.lab08.eviction;
+
+/**
+ * JMX view of a {@link WeightedLruEvictionPolicy}, registered by Ignite
+ * in the cache's group (&lt;cache&gt;-near for a near cache) with the
+ * policy's class name, like {@link TinyLfuEvictionPolicyMBean}.
+ * Sizes are estimated heap bytes.
+ */
+public interface WeightedLruEvictionPolicyMBean {
+
+    long getMaxMemorySize();
+
+    void setMaxMemorySize(long maxMemSize);
+
+    int getMaxSize();
+
+    void setMaxSize(int max);
+
+    int getCurrentSize();
+
+    long getCurrentMemorySize();
+
+    long getAverageEntryBytes();
+
+    long getLargestEntryBytes();
+
+    long getEvicted();
+
+    long getEvictedBytes();
+}
@@ -0,0 +1,136 @@
+package com.example.ignite.solutions.lab08.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: timers grouped by the tick they fire in.
+ *
+ * Level 0 has 64 slots of one tick each; each higher level has 64 slots
+ * that each span a full turn of the level below (64, 4,096 and 262,144
+ * ticks). A timer goes into the lowest level whose range covers its
+ * deadline. When a higher-level slot comes due, its timers are moved
+ * down into finer slots, so a timer is touched at most once per level
+ * and adding one is O(1) whatever its delay. Deadlines beyond the four
+ * levels (19 days with 100 ms ticks) wait in an overflow list.
+ *
+ * Timers never fire early; they fire in the first tick boundary at or
+ * after their deadline. Not thread-safe: callers add and advance under
+ * their own lock.
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timer<K>>> slots = new ArrayList<>();
+    private List<Timer<K>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis must be at least 1: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /** Add a timer; a deadline that has already passed fires on the next tick. */
+    public void add(K key, long deadlineMillis) {
+        Timer<K> timer = new Timer<>(key, deadlineMillis, Math.max(currentTick + 1, ceilDiv(deadlineMillis, tickMillis)));
+        insert(timer);
+        size++;
+    }
+
+    /** Move time forward to nowMillis, handing every timer that comes due to the consumer. */
+    public void advance(long nowMillis, Consumer<Timer<K>> due) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            // Move coarse timers down before firing this tick's slot
+            for (int level = LEVELS; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            List<Timer<K>> slot = slot(0, (int) (currentTick & MASK));
+            if (!slot.isEmpty()) {
+                slots.set((int) (currentTick & MASK), new ArrayList<>());
+                size -= slot.size();
+                slot.forEach(due);
+            }
+        }
+    }
+
+    /** Timers not yet fired. */
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void cascade(int level) {
+        List<Timer<K>> timers;
+        if (level == LEVELS) {
+            timers = overflow;
+            overflow = new ArrayList<>();
+        } else {
+            int index = level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+            timers = slots.get(index);
+            slots.set(index, new ArrayList<>());
+        }
+        for (Timer<K> timer : timers) {
+            insert(timer);
+        }
+    }
+
+    private void insert(Timer<K> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                slot(level, (int) ((timer.deadlineTick >>> (SLOT_BITS * level)) & MASK)).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private List<Timer<K>> slot(int level, int index) {
+        return slots.get(level * SLOTS + index);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /** A key and when it should fire. */
+    public static final class Timer<K> {
+        private final K key;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+
+        Timer(K key, long deadlineMillis, long deadlineTick) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
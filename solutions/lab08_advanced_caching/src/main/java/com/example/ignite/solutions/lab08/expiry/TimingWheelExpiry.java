@@ -0,0 +1,328 @@
+package com.example.ignite.solutions.lab08.expiry;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 08 Optional: Timing-Wheel Expiry
+ *
+ * Per-entry TTLs set with withExpiryPolicy() are enforced by Ignite's
+ * own expiry: entries written together expire together, and removing
+ * a large wave of them at once shows up as a burst of CPU and latency.
+ * TimingWheelExpiry manages the TTLs itself and spreads the removals out:
+ * - each key's deadline goes into a {@link HierarchicalTimingWheel} with
+ *   tickMillis resolution; scheduling is O(1) whatever the TTL
+ * - every tick, the keys whose deadline has passed join a backlog
+ * - at most maxRemovalsPerSecond keys leave the backlog, spread evenly
+ *   over the ticks; they are grouped by primary node and ordered by
+ *   partition, and removed with one removeAll per batchSize keys
+ *
+ * A wave of expiries then costs a steady removal rate for a while
+ * instead of a spike; the backlog and the lag (how long past its
+ * deadline a key is removed) show whether the rate keeps up. A failed
+ * removeAll goes back to the backlog and is retried on the next tick.
+ *
+ * Writing a key again through put() or schedule() replaces its deadline;
+ * the old timer is skipped when it fires. A key rewritten in the few
+ * milliseconds while its old deadline's removeAll is running can still
+ * be removed by it. Deadlines live on this node's heap (about 100 bytes
+ * per key) and are lost if it stops; keys written by other clients are
+ * not seen unless they call schedule() here.
+ */
+public class TimingWheelExpiry<K, V> implements AutoCloseable {
+
+    private final IgniteCache<K, V> cache;
+    private final Affinity<K> affinity;
+
+    private final long tickMillis;
+    private int maxRemovalsPerSecond = 50_000;
+    private int batchSize = 500;
+
+    private final Object lock = new Object();
+    private final HierarchicalTimingWheel<K> wheel;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private final ArrayDeque<HierarchicalTimingWheel.Timer<K>> backlog = new ArrayDeque<>();
+    private double budget;
+
+    private final ScheduledExecutorService ticker;
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+    private final LongAdder removeAllCalls = new LongAdder();
+    private final LongAdder failedRemoveAlls = new LongAdder();
+    private final LongAdder lagMillis = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param tickMillis expiry resolution; keys are removed no earlier
+     *                   than their deadline and, with no backlog, within
+     *                   about one tick after it
+     */
+    public TimingWheelExpiry(Ignite ignite, IgniteCache<K, V> cache, long tickMillis) {
+        this.cache = cache;
+        this.affinity = ignite.affinity(cache.getName());
+        this.tickMillis = tickMillis;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "timing-wheel-expiry-" + cache.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** 100 ms ticks. */
+    public TimingWheelExpiry(Ignite ignite, IgniteCache<K, V> cache) {
+        this(ignite, cache, 100);
+    }
+
+    /** Most keys removed per second; the rest wait in the backlog. Default 50,000. */
+    public TimingWheelExpiry<K, V> maxRemovalsPerSecond(int maxRemovalsPerSecond) {
+        if (maxRemovalsPerSecond < 1) {
+            throw new IllegalArgumentException("maxRemovalsPerSecond must be at least 1: " + maxRemovalsPerSecond);
+        }
+        this.maxRemovalsPerSecond = maxRemovalsPerSecond;
+        return this;
+    }
+
+    /** Most keys in one removeAll. Default 500. */
+    public TimingWheelExpiry<K, V> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /** Put the value and remove it ttlMillis from now. */
+    public void put(K key, V value, long ttlMillis) {
+        schedule(key, ttlMillis);
+        cache.put(key, value);
+    }
+
+    /** Put the values and remove them ttlMillis from now. */
+    public void putAll(Map<? extends K, ? extends V> values, long ttlMillis) {
+        for (K key : values.keySet()) {
+            schedule(key, ttlMillis);
+        }
+        cache.putAll(values);
+    }
+
+    /** Remove the key ttlMillis from now, replacing any earlier deadline. */
+    public void schedule(K key, long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative: " + ttlMillis);
+        }
+        long deadline = System.currentTimeMillis() + ttlMillis;
+        synchronized (lock) {
+            if (deadlines.put(key, deadline) != null) {
+                superseded.increment();
+            }
+            wheel.add(key, deadline);
+        }
+        scheduled.increment();
+    }
+
+    /** Keep the key; its deadline is dropped. */
+    public void cancel(K key) {
+        synchronized (lock) {
+            deadlines.remove(key);
+        }
+    }
+
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /** Calls to schedule(), put() and per key of putAll(). */
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+
+    /** Keys with a deadline that have not been removed yet. */
+    public int getPending() {
+        synchronized (lock) {
+            return deadlines.size();
+        }
+    }
+
+    /** Keys past their deadline waiting for removal. */
+    public int getBacklog() {
+        synchronized (lock) {
+            return backlog.size();
+        }
+    }
+
+    /** How far past its deadline the oldest key in the backlog is. */
+    public long getCurrentLagMillis() {
+        synchronized (lock) {
+            HierarchicalTimingWheel.Timer<K> oldest = backlog.peekFirst();
+            return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getDeadlineMillis());
+        }
+    }
+
+    /** Keys removed. */
+    public long getExpired() {
+        return expired.sum();
+    }
+
+    /** Deadlines replaced by a later schedule() of the same key. */
+    public long getSuperseded() {
+        return superseded.sum();
+    }
+
+    public long getRemoveAllCalls() {
+        return removeAllCalls.sum();
+    }
+
+    public long getFailedRemoveAlls() {
+        return failedRemoveAlls.sum();
+    }
+
+    /** Mean time from deadline to removal. */
+    public double getAverageLagMillis() {
+        long n = expired.sum();
+        return n == 0 ? 0 : (double) lagMillis.sum() / n;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    public double getAverageBatchSize() {
+        long calls = removeAllCalls.sum() - failedRemoveAlls.sum();
+        return calls <= 0 ? 0 : (double) expired.sum() / calls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d pending, backlog %,d (lag %,d ms), %,d expired in %,d removeAll calls " +
+                "(avg batch %.0f, %,d failed), lag avg %.0f ms, max %,d ms, %,d superseded",
+            getPending(), getBacklog(), getCurrentLagMillis(), getExpired(), getRemoveAllCalls(),
+            getAverageBatchSize(), getFailedRemoveAlls(), getAverageLagMillis(), getMaxLagMillis(), getSuperseded());
+    }
+
+    /** Stop expiring. Keys still pending stay in the cache. */
+    @Override
+    public void close() throws InterruptedException {
+        ticker.shutdown();
+        ticker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            List<HierarchicalTimingWheel.Timer<K>> due = new ArrayList<>();
+            synchronized (lock) {
+                wheel.advance(now, timer -> {
+                    // Skip timers replaced by a later schedule() or cancel()
+                    Long deadline = deadlines.get(timer.getKey());
+                    if (deadline != null && deadline == timer.getDeadlineMillis()) {
+                        backlog.addLast(timer);
+                    }
+                });
+
+                budget = Math.min(budget + maxRemovalsPerSecond * tickMillis / 1000.0, maxRemovalsPerSecond);
+                while (budget >= 1 && !backlog.isEmpty()) {
+                    HierarchicalTimingWheel.Timer<K> timer = backlog.pollFirst();
+                    if (deadlines.remove(timer.getKey(), timer.getDeadlineMillis())) {
+                        due.add(timer);
+                        budget--;
+                    }
+                }
+                if (backlog.isEmpty()) {
+                    // An idle engine does not save up removals for a burst
+                    budget = Math.min(budget, 1);
+                }
+            }
+            if (!due.isEmpty()) {
+                remove(due, now);
+            }
+        } catch (Throwable e) {
+            // Errors too: they would cancel the scheduled tick and stop expiry for good
+            System.err.println("Expiry tick failed for " + cache.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void remove(List<HierarchicalTimingWheel.Timer<K>> due, long now) {
+        Map<K, HierarchicalTimingWheel.Timer<K>> timers = new HashMap<>();
+        for (HierarchicalTimingWheel.Timer<K> timer : due) {
+            timers.put(timer.getKey(), timer);
+        }
+        for (Set<K> batch : batches(timers.keySet())) {
+            try {
+                cache.removeAll(batch);
+                removeAllCalls.increment();
+                expired.add(batch.size());
+                for (K key : batch) {
+                    long lag = Math.max(0, now - timers.get(key).getDeadlineMillis());
+                    lagMillis.add(lag);
+                    maxLagMillis.accumulate(lag);
+                }
+            } catch (Throwable e) {
+                // Requeue on Errors too, or the batch's timers are lost
+                removeAllCalls.increment();
+                failedRemoveAlls.increment();
+                synchronized (lock) {
+                    for (K key : batch) {
+                        HierarchicalTimingWheel.Timer<K> timer = timers.get(key);
+                        if (deadlines.putIfAbsent(key, timer.getDeadlineMillis()) == null) {
+                            backlog.addFirst(timer);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Group keys by primary node, order them by partition, and cut batches
+     * of batchSize. Batches keep that order, so removeAll on a
+     * TRANSACTIONAL cache locks keys in the same order on every call.
+     */
+    private List<Set<K>> batches(Collection<K> keys) {
+        List<Set<K>> batches = new ArrayList<>();
+        for (Collection<K> nodeKeys : affinity.mapKeysToNodes(keys).values()) {
+            Map<Integer, List<K>> byPartition = new TreeMap<>();
+            for (K key : nodeKeys) {
+                byPartition.computeIfAbsent(affinity.partition(key), p -> new ArrayList<>()).add(key);
+            }
+            Set<K> batch = new LinkedHashSet<>();
+            for (List<K> partitionKeys : byPartition.values()) {
+                for (K key : partitionKeys) {
+                    batch.add(key);
+                    if (batch.size() == batchSize) {
+                        batches.add(batch);
+                        batch = new LinkedHashSet<>();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+}
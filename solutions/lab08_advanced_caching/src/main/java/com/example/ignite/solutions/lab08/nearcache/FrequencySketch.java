@@ -0,0 +1,109 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+/**
+ * Approximate access frequency of keys: a count-min sketch of 4-bit
+ * counters, as used by TinyLFU.
+ *
+ * Each key maps to four counters, one per hash function, all within a
+ * 64-byte block of the table; its frequency is the smallest of the four,
+ * which over-estimates only when all four collide with hotter keys.
+ * Counters saturate at 15, which is enough to tell hot keys from cold
+ * ones.
+ *
+ * After 10 x maxEntries recorded accesses every counter is halved
+ * ("aging"), so keys that were popular an hour ago do not keep their
+ * advantage forever and the sketch follows a changing working set.
+ *
+ * The table takes 8 bytes per maxEntries rounded up to a power of two
+ * (8 KB for 1,000 entries). Not thread-safe: callers record and read
+ * under their own lock.
+ */
+public final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    private final long[] table;
+    private final int blockMask;
+    private final int sampleSize;
+
+    private int size;
+    private long resets;
+
+    public FrequencySketch(int maxEntries) {
+        if (maxEntries < 1 || maxEntries > 1 << 28) {
+            throw new IllegalArgumentException("maxEntries must be between 1 and 2^28: " + maxEntries);
+        }
+        int length = Math.max(8, Integer.highestOneBit(maxEntries - 1) << 1);
+        this.table = new long[length];
+        this.blockMask = (length >>> 3) - 1;
+        this.sampleSize = 10 * maxEntries;
+    }
+
+    /** Record one access to the key. */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int block = (hash & blockMask) << 3;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int h = rehash(hash, i);
+            int index = block + (h & 7);
+            int offset = ((h >>> 3) & 15) << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /** Estimated number of recent accesses, 0 to 15. */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int block = (hash & blockMask) << 3;
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            int h = rehash(hash, i);
+            int index = block + (h & 7);
+            int offset = ((h >>> 3) & 15) << 2;
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xf));
+        }
+        return frequency;
+    }
+
+    /** Times the counters have been halved. */
+    public long getResets() {
+        return resets;
+    }
+
+    /** Halve every counter. */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        // Halving an odd counter loses its low bit; keep size consistent
+        size = (size - (odd >>> 2)) >>> 1;
+        resets++;
+    }
+
+    private static int spread(int x) {
+        x ^= x >>> 17;
+        x *= 0xed5ad4bb;
+        x ^= x >>> 11;
+        x *= 0xac4c1b51;
+        x ^= x >>> 15;
+        return x;
+    }
+
+    private static int rehash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.lang.IgnitePredicate;
+
+import javax.cache.Cache;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lab 08 Optional: Near Cache Instrumentation
+ *
+ * Ignite does not say how well a near cache works: how many reads it
+ * answers, how much faster those are than a remote fetch, how much heap
+ * it takes, and how often its entries are refreshed by updates or
+ * evicted. InstrumentedNearCache wraps the near cache proxy and measures
+ * that for reads made through {@link #get}:
+ * - near hits and misses; a read is a hit if localPeek(NEAR) finds the
+ *   key just before it
+ * - latency histograms (power-of-two buckets) for near hits and for
+ *   remote fetches, with mean, p50 and p99
+ * - near entry count and an estimate of their heap use, from a sample
+ *   of up to 256 entries, each costing entryOverheadBytes plus the
+ *   estimated size of its key and value
+ * - invalidations (near copies updated or removed because the cluster
+ *   copy changed) and evictions, as totals and as a rate over the last
+ *   10 seconds
+ *
+ * Invalidations and evictions come from local cache events flagged as
+ * near, which the client node records only if they are enabled:
+ *
+ *   cfg.setIncludeEventTypes(InstrumentedNearCache.EVENT_TYPES);
+ *
+ * Without them those counters stay at 0. Recording events costs a little
+ * on every near update and eviction on that node, for all caches.
+ *
+ * The numbers are read through the getters or over JMX after
+ * {@link #registerMBean()}.
+ */
+public class InstrumentedNearCache<K, V> implements NearCacheMetricsMXBean, AutoCloseable {
+
+    /** Event types to enable on the client node. */
+    public static final int[] EVENT_TYPES = {
+        EventType.EVT_CACHE_OBJECT_PUT, EventType.EVT_CACHE_OBJECT_REMOVED,
+        EventType.EVT_CACHE_OBJECT_EXPIRED, EventType.EVT_CACHE_ENTRY_EVICTED};
+
+    /**
+     * Heap of one near entry beyond its key and value: the entry, its
+     * version and the serialized and deserialized holders. An Integer key
+     * with a short String value measured about 690 bytes in total on a
+     * 64-bit JVM with compressed oops.
+     */
+    public static final int DEFAULT_ENTRY_OVERHEAD_BYTES = 600;
+
+    private static final int HEAP_SAMPLE = 256;
+    private static final int RATE_SECONDS = 10;
+
+    private final Ignite ignite;
+    private final IgniteCache<K, V> cache;
+    private final IgnitePredicate<CacheEvent> listener;
+
+    private int entryOverheadBytes = DEFAULT_ENTRY_OVERHEAD_BYTES;
+    private ToLongFunction<Object> sizeEstimator = InstrumentedNearCache::estimateSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LatencyHistogram hitLatency = new LatencyHistogram();
+    private final LatencyHistogram fetchLatency = new LatencyHistogram();
+    private final RateCounter invalidations = new RateCounter();
+    private final RateCounter evictions = new RateCounter();
+
+    private ObjectName mbeanName;
+
+    /**
+     * @param ignite the client node
+     * @param cache  the near cache proxy from getOrCreateNearCache()
+     */
+    public InstrumentedNearCache(Ignite ignite, IgniteCache<K, V> cache) {
+        this.ignite = ignite;
+        this.cache = cache;
+
+        String cacheName = cache.getName();
+        this.listener = event -> {
+            if (event.isNear() && cacheName.equals(event.cacheName())) {
+                if (event.type() == EventType.EVT_CACHE_ENTRY_EVICTED) {
+                    evictions.increment();
+                } else {
+                    invalidations.increment();
+                }
+            }
+            return true;
+        };
+        ignite.events().localListen(listener, EVENT_TYPES);
+    }
+
+    /** Heap of one near entry beyond its key and value. Default 600. */
+    public InstrumentedNearCache<K, V> entryOverheadBytes(int entryOverheadBytes) {
+        if (entryOverheadBytes < 0) {
+            throw new IllegalArgumentException("entryOverheadBytes must not be negative: " + entryOverheadBytes);
+        }
+        this.entryOverheadBytes = entryOverheadBytes;
+        return this;
+    }
+
+    /** Estimated heap size of a key or value; the default knows strings, boxed numbers and byte arrays. */
+    public InstrumentedNearCache<K, V> sizeEstimator(ToLongFunction<Object> sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+        return this;
+    }
+
+    /** Read through the near cache, recording whether it was a near hit and how long it took. */
+    public V get(K key) {
+        boolean near = cache.localPeek(key, CachePeekMode.NEAR) != null;
+        long start = System.nanoTime();
+        V value = cache.get(key);
+        long nanos = System.nanoTime() - start;
+        if (near) {
+            hits.increment();
+            hitLatency.record(nanos);
+        } else {
+            misses.increment();
+            fetchLatency.record(nanos);
+        }
+        return value;
+    }
+
+    /** The wrapped near cache, for operations that are not measured. */
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    /** Register under com.example.ignite:type=NearCache,name=&lt;cache name&gt;. */
+    public InstrumentedNearCache<K, V> registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.example.ignite:type=NearCache,name=" + ObjectName.quote(cache.getName()));
+        server.registerMBean(new StandardMBean(this, NearCacheMetricsMXBean.class, true), name);
+        mbeanName = name;
+        return this;
+    }
+
+    public ObjectName getMBeanName() {
+        return mbeanName;
+    }
+
+    @Override
+    public String getCacheName() {
+        return cache.getName();
+    }
+
+    @Override
+    public long getNearHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getNearMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getNearHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public double getNearHitMeanMicros() {
+        return hitLatency.meanNanos() / 1000;
+    }
+
+    @Override
+    public double getNearHitP50Micros() {
+        return hitLatency.percentileNanos(0.50) / 1000.0;
+    }
+
+    @Override
+    public double getNearHitP99Micros() {
+        return hitLatency.percentileNanos(0.99) / 1000.0;
+    }
+
+    @Override
+    public double getRemoteFetchMeanMicros() {
+        return fetchLatency.meanNanos() / 1000;
+    }
+
+    @Override
+    public double getRemoteFetchP50Micros() {
+        return fetchLatency.percentileNanos(0.50) / 1000.0;
+    }
+
+    @Override
+    public double getRemoteFetchP99Micros() {
+        return fetchLatency.percentileNanos(0.99) / 1000.0;
+    }
+
+    @Override
+    public long[] getNearHitHistogram() {
+        return hitLatency.buckets();
+    }
+
+    @Override
+    public long[] getRemoteFetchHistogram() {
+        return fetchLatency.buckets();
+    }
+
+    @Override
+    public int getNearEntries() {
+        return cache.localSize(CachePeekMode.NEAR);
+    }
+
+    @Override
+    public long getEstimatedHeapBytes() {
+        int entries = getNearEntries();
+        long sampled = 0;
+        long bytes = 0;
+        for (Cache.Entry<K, V> entry : cache.localEntries(CachePeekMode.NEAR)) {
+            bytes += sizeEstimator.applyAsLong(entry.getKey()) + sizeEstimator.applyAsLong(entry.getValue());
+            if (++sampled == HEAP_SAMPLE) {
+                break;
+            }
+        }
+        long perEntry = entryOverheadBytes + (sampled == 0 ? 0 : bytes / sampled);
+        return entries * perEntry;
+    }
+
+    @Override
+    public long getInvalidations() {
+        return invalidations.total();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.total();
+    }
+
+    @Override
+    public double getInvalidationsPerSecond() {
+        return invalidations.perSecond();
+    }
+
+    @Override
+    public double getEvictionsPerSecond() {
+        return evictions.perSecond();
+    }
+
+    /** Start hit and miss counts and latency histograms over, e.g. after a warm-up. */
+    @Override
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        hitLatency.reset();
+        fetchLatency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d near entries (~%,d KB), hit ratio %.3f (%,d hits, %,d misses), " +
+                "near hit p50/p99 %.1f/%.1f us, remote fetch p50/p99 %.1f/%.1f us, " +
+                "%,d invalidations (%.1f/s), %,d evictions (%.1f/s)",
+            getCacheName(), getNearEntries(), getEstimatedHeapBytes() / 1024, getNearHitRatio(),
+            getNearHits(), getNearMisses(), getNearHitP50Micros(), getNearHitP99Micros(),
+            getRemoteFetchP50Micros(), getRemoteFetchP99Micros(),
+            getInvalidations(), getInvalidationsPerSecond(), getEvictions(), getEvictionsPerSecond());
+    }
+
+    /** Stop listening for events and unregister the MBean. The near cache itself stays. */
+    @Override
+    public void close() {
+        ignite.events().stopLocalListen(listener, EVENT_TYPES);
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+            } catch (JMException e) {
+                // Already unregistered
+            }
+            mbeanName = null;
+        }
+    }
+
+    /** Rough heap size of common key and value types; 64 bytes for anything else. */
+    static long estimateSize(Object o) {
+        if (o == null) {
+            return 0;
+        }
+        if (o instanceof String) {
+            return 40 + ((String) o).length();
+        }
+        if (o instanceof byte[]) {
+            return 16 + ((byte[]) o).length;
+        }
+        if (o instanceof Long || o instanceof Double) {
+            return 24;
+        }
+        if (o instanceof Number || o instanceof Boolean || o instanceof Character) {
+            return 16;
+        }
+        return 64;
+    }
+
+    /** Latencies in power-of-two nanosecond buckets. */
+    private static final class LatencyHistogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos) {
+            buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        double meanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        /** Upper bound of the bucket holding the percentile. */
+        long percentileNanos(double percentile) {
+            long n = count.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(n * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return i >= 62 ? Long.MAX_VALUE : 1L << (i + 1);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        long[] buckets() {
+            long[] copy = new long[buckets.length()];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = buckets.get(i);
+            }
+            return copy;
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            totalNanos.reset();
+        }
+    }
+
+    /** A total and per-second counts for the last RATE_SECONDS seconds, the current one included. */
+    private static final class RateCounter {
+        private final LongAdder total = new LongAdder();
+        private final long[] counts = new long[RATE_SECONDS];
+        private final long[] seconds = new long[RATE_SECONDS];
+
+        void increment() {
+            total.increment();
+            long now = System.nanoTime() / 1_000_000_000L;
+            int slot = (int) (now % counts.length);
+            synchronized (this) {
+                if (seconds[slot] != now) {
+                    seconds[slot] = now;
+                    counts[slot] = 0;
+                }
+                counts[slot]++;
+            }
+        }
+
+        long total() {
+            return total.sum();
+        }
+
+        /** Events per second over the last RATE_SECONDS seconds. */
+        synchronized double perSecond() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (seconds[i] > now - RATE_SECONDS) {
+                    sum += counts[i];
+                }
+            }
+            return (double) sum / RATE_SECONDS;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import org.apache.ignite.IgniteCache;
+
+/**
+ * Primitive int-keyed L1 cache in front of an IgniteCache&lt;Integer, V&gt;.
+ * See {@link PrimitiveL1Cache} for the coherence model.
+ */
+public class IntKeyL1Cache<V> extends PrimitiveL1Cache<Integer, V> {
+
+    public IntKeyL1Cache(IgniteCache<Integer, V> cache, int maxEntries) {
+        super(cache, maxEntries);
+    }
+
+    /** Cached value, or the cluster value (boxing the key only on a miss). */
+    public V get(int key) {
+        return getValue(key);
+    }
+
+    /** Cached value or null; never goes to the cluster. */
+    public V getIfPresent(int key) {
+        return getLocal(key);
+    }
+
+    public void invalidate(int key) {
+        invalidateKey(key);
+    }
+
+    @Override
+    protected long toLong(Integer key) {
+        return key;
+    }
+
+    @Override
+    protected Integer toKey(long key) {
+        return (int) key;
+    }
+}
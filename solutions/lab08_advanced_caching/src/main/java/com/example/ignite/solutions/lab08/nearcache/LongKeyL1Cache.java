@@ -0,0 +1,38 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import org.apache.ignite.IgniteCache;
+
+/**
+ * Primitive long-keyed L1 cache in front of an IgniteCache&lt;Long, V&gt;.
+ * See {@link PrimitiveL1Cache} for the coherence model.
+ */
+public class LongKeyL1Cache<V> extends PrimitiveL1Cache<Long, V> {
+
+    public LongKeyL1Cache(IgniteCache<Long, V> cache, int maxEntries) {
+        super(cache, maxEntries);
+    }
+
+    /** Cached value, or the cluster value (boxing the key only on a miss). */
+    public V get(long key) {
+        return getValue(key);
+    }
+
+    /** Cached value or null; never goes to the cluster. */
+    public V getIfPresent(long key) {
+        return getLocal(key);
+    }
+
+    public void invalidate(long key) {
+        invalidateKey(key);
+    }
+
+    @Override
+    protected long toLong(Long key) {
+        return key;
+    }
+
+    @Override
+    protected Long toKey(long key) {
+        return key;
+    }
+}
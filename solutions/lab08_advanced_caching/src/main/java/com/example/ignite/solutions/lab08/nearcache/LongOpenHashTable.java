@@ -0,0 +1,280 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Fixed-capacity hash table from primitive long keys to values.
+ *
+ * Keys and values live in parallel arrays with linear probing, so there
+ * is no Entry object per mapping and no boxing. The arrays are sized
+ * once for maxEntries at a load factor of at most 0.5 and never grow;
+ * when the table is full, inserting evicts one entry chosen by the CLOCK
+ * algorithm (a referenced bit per slot, set on a hit if not already set
+ * and cleared as the hand sweeps past). Removal uses backward-shift deletion, so there
+ * are no tombstones and probe sequences stay short.
+ *
+ * Reads take an optimistic StampedLock stamp and only fall back to a
+ * read lock if a writer interfered; writes are exclusive. A lookup
+ * therefore allocates nothing and usually performs no atomic write, and
+ * a hit on a slot already marked referenced performs no write at all, so
+ * hot slots read from many cores keep their cache lines shared.
+ *
+ * Per-stripe version counters let a caller that loads a value from the
+ * cluster detect that the key was invalidated while the load was in
+ * flight, and drop the possibly stale value.
+ */
+final class LongOpenHashTable<V> {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final long[] keys;
+    private final Object[] values;
+    private final byte[] referenced;
+    private final int mask;
+    private final int maxEntries;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final StampedLock lock = new StampedLock();
+
+    private int size;
+    private int hand;
+    private long evictions;
+
+    LongOpenHashTable(int maxEntries) {
+        if (maxEntries < 1 || maxEntries > 1 << 29) {
+            throw new IllegalArgumentException("maxEntries must be between 1 and 2^29: " + maxEntries);
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.referenced = new byte[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            int slot = find(key);
+            Object value = slot >= 0 ? values[slot] : null;
+            if (lock.validate(stamp)) {
+                if (slot >= 0 && referenced[slot] == 0) {
+                    // Racy but harmless: at worst a neighbour gets a second chance
+                    referenced[slot] = 1;
+                }
+                return (V) value;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            int slot = find(key);
+            if (slot < 0) {
+                return null;
+            }
+            if (referenced[slot] == 0) {
+                referenced[slot] = 1;
+            }
+            return (V) values[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Version of the key's stripe; read before loading a value for the key. */
+    long version(long key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * Insert or replace the mapping unless the key's stripe has been
+     * invalidated since {@code expectedVersion} was read.
+     *
+     * @return false if the value was dropped as possibly stale
+     */
+    boolean putIfVersion(long key, V value, long expectedVersion) {
+        long stamp = lock.writeLock();
+        try {
+            if (versions.get(stripe(key)) != expectedVersion) {
+                return false;
+            }
+            insert(key, value);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void put(long key, V value) {
+        long stamp = lock.writeLock();
+        try {
+            insert(key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the key and advance its stripe version so in-flight loads of
+     * it are discarded.
+     *
+     * @return true if the key was present
+     */
+    boolean invalidate(long key) {
+        long stamp = lock.writeLock();
+        try {
+            versions.incrementAndGet(stripe(key));
+            int slot = find(key);
+            if (slot < 0) {
+                return false;
+            }
+            deleteAt(slot);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < VERSION_STRIPES; i++) {
+                versions.incrementAndGet(i);
+            }
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, (byte) 0);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    long evictions() {
+        long stamp = lock.readLock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // ==================== Internals (caller holds the lock) ====================
+
+    /**
+     * Slot holding the key, or -1. Bounded by the capacity so a torn
+     * optimistic read cannot loop forever.
+     */
+    private int find(long key) {
+        int slot = home(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            if (values[slot] == null) {
+                return -1;
+            }
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long key, V value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            referenced[slot] = 1;
+            return;
+        }
+        if (size >= maxEntries) {
+            evictOne();
+        }
+
+        slot = home(key);
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // New entries start unreferenced, so one-hit wonders go first
+        referenced[slot] = 0;
+        size++;
+    }
+
+    /** CLOCK: clear referenced bits until an unreferenced entry is found. */
+    private void evictOne() {
+        while (true) {
+            if (values[hand] != null) {
+                if (referenced[hand] == 0) {
+                    deleteAt(hand);
+                    evictions++;
+                    return;
+                }
+                referenced[hand] = 0;
+            }
+            hand = (hand + 1) & mask;
+        }
+    }
+
+    /**
+     * Backward-shift deletion: pull later entries of the probe run into
+     * the hole unless that would move them before their home slot.
+     */
+    private void deleteAt(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = home(keys[slot]);
+            boolean staysPut = hole <= slot
+                ? hole < home && home <= slot
+                : hole < home || home <= slot;
+            if (staysPut) {
+                continue;
+            }
+            keys[hole] = keys[slot];
+            values[hole] = values[slot];
+            referenced[hole] = referenced[slot];
+            hole = slot;
+        }
+        values[hole] = null;
+        referenced[hole] = 0;
+        size--;
+    }
+
+    private int home(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    private static int stripe(long key) {
+        return (int) (mix(key) >>> 40) & (VERSION_STRIPES - 1);
+    }
+
+    /** Stafford variant 13 of the MurmurHash3 finaliser. */
+    private static long mix(long key) {
+        long h = key;
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+/**
+ * JMX view of an {@link InstrumentedNearCache}, registered as
+ * com.example.ignite:type=NearCache,name=&lt;cache name&gt;.
+ *
+ * Latencies are in microseconds; histogram bucket i counts reads that
+ * took from 2^i to 2^(i+1) nanoseconds.
+ */
+public interface NearCacheMetricsMXBean {
+
+    String getCacheName();
+
+    long getNearHits();
+
+    long getNearMisses();
+
+    double getNearHitRatio();
+
+    double getNearHitMeanMicros();
+
+    double getNearHitP50Micros();
+
+    double getNearHitP99Micros();
+
+    double getRemoteFetchMeanMicros();
+
+    double getRemoteFetchP50Micros();
+
+    double getRemoteFetchP99Micros();
+
+    long[] getNearHitHistogram();
+
+    long[] getRemoteFetchHistogram();
+
+    int getNearEntries();
+
+    long getEstimatedHeapBytes();
+
+    long getInvalidations();
+
+    long getEvictions();
+
+    double getInvalidationsPerSecond();
+
+    double getEvictionsPerSecond();
+
+    void resetStatistics();
+}
@@ -0,0 +1,166 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.lang.IgniteClosure;
+
+import javax.cache.Cache;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 08 Optional: Primitive-Keyed L1 Cache
+ *
+ * Common base of {@link IntKeyL1Cache} and {@link LongKeyL1Cache}: an
+ * on-heap, bounded {@link LongOpenHashTable} in front of an IgniteCache,
+ * kept coherent by a continuous query.
+ *
+ * Reads check the table first; a hit involves no boxing, no hashing of a
+ * wrapper object, no deserialization and no allocation. A miss reads
+ * the IgniteCache and stores the value unless the key was invalidated
+ * while the read was in flight.
+ *
+ * Every create, update, remove or expiry on the cluster arrives through
+ * the continuous query (with includeExpired set) and removes the key
+ * from the table. A remote
+ * transformer reduces each event to its key, so values are not sent to
+ * this node just to be discarded. Until the
+ * event arrives a reader may still see the previous value, so this suits
+ * read-mostly reference data where a short staleness window is
+ * acceptable. Null values are not cached.
+ *
+ * Values are shared, not copied: treat them as immutable. Once closed,
+ * reads throw IllegalStateException, since nothing keeps the table
+ * coherent any more.
+ */
+public abstract class PrimitiveL1Cache<K, V> implements AutoCloseable {
+
+    private final IgniteCache<K, V> cache;
+    private final LongOpenHashTable<V> table;
+    private final QueryCursor<Cache.Entry<K, V>> invalidationCursor;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    protected PrimitiveL1Cache(IgniteCache<K, V> cache, int maxEntries) {
+        this.cache = cache;
+        this.table = new LongOpenHashTable<>(maxEntries);
+
+        // Register before the first read so no update can slip past
+        ContinuousQueryWithTransformer<K, V, K> query = new ContinuousQueryWithTransformer<>();
+        query.setRemoteTransformerFactory(new KeyTransformerFactory<>());
+        // Off by default: without it keys expired on the server stay cached
+        query.setIncludeExpired(true);
+        query.setLocalListener(keys -> {
+            for (K key : keys) {
+                if (table.invalidate(toLong(key))) {
+                    invalidations.increment();
+                }
+            }
+        });
+        this.invalidationCursor = cache.query(query);
+    }
+
+    /** Widen a cache key to the table's long key. */
+    protected abstract long toLong(K key);
+
+    /** Box a table key for the IgniteCache; only called on a miss. */
+    protected abstract K toKey(long key);
+
+    protected final V getValue(long key) {
+        checkOpen();
+        V value = table.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        long version = table.version(key);
+        value = cache.get(toKey(key));
+        if (value != null) {
+            table.putIfVersion(key, value, version);
+        }
+        return value;
+    }
+
+    protected final V getLocal(long key) {
+        checkOpen();
+        return table.get(key);
+    }
+
+    protected final void invalidateKey(long key) {
+        table.invalidate(key);
+    }
+
+    /** Drop every cached value; the next reads go to the cluster. */
+    public void clear() {
+        table.clear();
+    }
+
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public int getMaxEntries() {
+        return table.maxEntries();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** Entries removed to stay within maxEntries. */
+    public long getEvictions() {
+        return table.evictions();
+    }
+
+    /** Cached entries removed because the cluster copy changed. */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Stop the continuous query. The cached values are dropped since they
+     * can no longer be kept up to date.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        invalidationCursor.close();
+        table.clear();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("L1 cache for " + cache.getName() + " is closed");
+        }
+    }
+
+    /** Reduces each event to its key on the node that produced it. */
+    static final class KeyTransformerFactory<K, V>
+            implements Factory<IgniteClosure<CacheEntryEvent<? extends K, ? extends V>, K>> {
+        @Override
+        public IgniteClosure<CacheEntryEvent<? extends K, ? extends V>, K> create() {
+            return CacheEntryEvent::getKey;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteClosure;
+
+import javax.cache.Cache;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lab 08 Optional: W-TinyLFU L1 Cache
+ *
+ * An on-heap cache in front of an IgniteCache (or a near cache) that
+ * decides what to keep by access frequency, not just recency. An LRU
+ * near cache keeps whatever was read last, so a single scan over keys
+ * that are read once replaces the whole hot set. Here:
+ * - new entries go to a small LRU window (1% of maxEntries), which
+ *   absorbs bursts and gives new keys time to build up a frequency
+ * - an entry leaving the window competes with the main region's LRU
+ *   victim, and only the one with the higher estimated frequency
+ *   ({@link FrequencySketch}) stays: a key read once cannot push out a
+ *   key read many times
+ * - the main region is a segmented LRU: entries hit a second time move
+ *   from probation (20%) to protected (80%)
+ *
+ * Coherence works as in {@link PrimitiveL1Cache}: a continuous query
+ * (with includeExpired set) removes every key created, updated, removed
+ * or expired on the cluster. Its transformer runs on the server that
+ * applied the change and stamps the event with the wall-clock time, so
+ * the client can report how long invalidations take to arrive. The
+ * transformer class must be on the server classpath (or peer class
+ * loading enabled); it returns an IgniteBiTuple rather than a class of
+ * its own, because the first event carrying a new user type can be lost
+ * while the type is registered. A value loaded on a miss is dropped if
+ * its key was invalidated while the load was in flight. Null values are
+ * not cached; values are shared, not copied.
+ *
+ * Hits are lock-free map lookups. The recency and frequency update of
+ * a hit is applied under a lock only if the lock is free, and skipped
+ * otherwise, so a hot key never makes readers wait; losing a few of those
+ * updates under contention does not change which keys are hot.
+ *
+ * The hit, admission and invalidation numbers are read through the
+ * getters or over JMX after {@link #registerMBean()}.
+ */
+public class TinyLfuL1Cache<K, V> implements TinyLfuL1CacheMXBean, AutoCloseable {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final IgniteCache<K, V> cache;
+    private final int maxEntries;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Object> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessDeque<K, V> window = new AccessDeque<>();
+    private final AccessDeque<K, V> probation = new AccessDeque<>();
+    private final AccessDeque<K, V> protectedQueue = new AccessDeque<>();
+
+    private final QueryCursor<Cache.Entry<K, V>> invalidationCursor;
+    private ObjectName mbeanName;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder admissions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder invalidationEvents = new LongAdder();
+    private final LongAdder invalidationLagMicros = new LongAdder();
+    private final LongAccumulator maxInvalidationLagMicros = new LongAccumulator(Math::max, 0);
+
+    public TinyLfuL1Cache(IgniteCache<K, V> cache, int maxEntries) {
+        if (maxEntries < 2) {
+            throw new IllegalArgumentException("maxEntries must be at least 2: " + maxEntries);
+        }
+        this.cache = cache;
+        this.maxEntries = maxEntries;
+        this.maxWindow = Math.max(1, maxEntries / 100);
+        this.maxProtected = (int) ((maxEntries - maxWindow) * 0.8);
+        this.sketch = new FrequencySketch(maxEntries);
+
+        // Register before the first read so no update can slip past
+        ContinuousQueryWithTransformer<K, V, IgniteBiTuple<K, Long>> query = new ContinuousQueryWithTransformer<>();
+        query.setRemoteTransformerFactory(new InvalidationTransformerFactory<>());
+        // Off by default: without it keys expired on the server stay cached
+        query.setIncludeExpired(true);
+        query.setLocalListener(events -> {
+            long now = epochMicros();
+            for (IgniteBiTuple<K, Long> event : events) {
+                long lag = Math.max(0, now - event.get2());
+                invalidationEvents.increment();
+                invalidationLagMicros.add(lag);
+                maxInvalidationLagMicros.accumulate(lag);
+                invalidate(event.get1());
+            }
+        });
+        this.invalidationCursor = cache.query(query);
+    }
+
+    /** Cached value, or the cluster value (admitted if the policy wants it). */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    onHit(node);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return node.value;
+        }
+        misses.increment();
+
+        Object token = new Object();
+        loading.put(key, token);
+        V value;
+        try {
+            value = cache.get(key);
+        } catch (RuntimeException e) {
+            loading.remove(key, token);
+            throw e;
+        }
+        if (value != null) {
+            admit(key, token, value);
+        } else if (loading.remove(key, token)) {
+            record(key);
+        }
+        return value;
+    }
+
+    /** Cached value or null; never goes to the cluster. */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        return node != null ? node.value : null;
+    }
+
+    /** Remove the key from this cache only. */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            loading.remove(key);
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                queueOf(node).remove(node);
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drop every cached value; the next reads go to the cluster. */
+    public void clear() {
+        lock.lock();
+        try {
+            data.clear();
+            loading.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    /** Register under com.example.ignite:type=TinyLfuL1Cache,name=&lt;cache name&gt;. */
+    public TinyLfuL1Cache<K, V> registerMBean() throws JMException {
+        ObjectName name = new ObjectName("com.example.ignite:type=TinyLfuL1Cache,name=" +
+            ObjectName.quote(cache.getName()));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+            new StandardMBean(this, TinyLfuL1CacheMXBean.class, true), name);
+        mbeanName = name;
+        return this;
+    }
+
+    public ObjectName getMBeanName() {
+        return mbeanName;
+    }
+
+    @Override
+    public String getCacheName() {
+        return cache.getName();
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public int getEntries() {
+        return size();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** Loaded values that entered the main region. */
+    @Override
+    public long getAdmissions() {
+        return admissions.sum();
+    }
+
+    /** Loaded values dropped because they were less frequent than the main region's victim. */
+    @Override
+    public long getAdmissionRejections() {
+        return rejections.sum();
+    }
+
+    /** Main-region entries removed to make room for a more frequent key. */
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** Cached entries removed because the cluster copy changed. */
+    @Override
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /** Mean time from a change on the server to its event reaching this cache. */
+    @Override
+    public double getAverageInvalidationLagMicros() {
+        long events = invalidationEvents.sum();
+        return events == 0 ? 0 : (double) invalidationLagMicros.sum() / events;
+    }
+
+    @Override
+    public long getMaxInvalidationLagMicros() {
+        return maxInvalidationLagMicros.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d/%,d entries, hit ratio %.3f (%,d hits, %,d misses), %,d admitted, " +
+                "%,d rejected, %,d evicted, %,d invalidated (lag avg %.0f us, max %,d us)",
+            size(), maxEntries, getHitRatio(), getHits(), getMisses(), getAdmissions(),
+            getAdmissionRejections(), getEvictions(), getInvalidations(),
+            getAverageInvalidationLagMicros(), getMaxInvalidationLagMicros());
+    }
+
+    /**
+     * Stop the continuous query and unregister the MBean. The cached
+     * values are dropped since they can no longer be kept up to date.
+     */
+    @Override
+    public void close() {
+        invalidationCursor.close();
+        clear();
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+            } catch (JMException e) {
+                // Already unregistered
+            }
+            mbeanName = null;
+        }
+    }
+
+    private void record(K key) {
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Called under the lock. */
+    private void onHit(Node<K, V> node) {
+        if (node.queue < 0) {
+            return; // removed while the reader held it
+        }
+        sketch.increment(node.key);
+        if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedQueue.addLast(node);
+            if (protectedQueue.size > maxProtected) {
+                Node<K, V> demoted = protectedQueue.pollFirst();
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            queueOf(node).moveToLast(node);
+        }
+    }
+
+    private void admit(K key, Object token, V value) {
+        lock.lock();
+        try {
+            // Invalidation removes the token under the same lock, so a stale load is not cached
+            if (!loading.remove(key, token)) {
+                return;
+            }
+            sketch.increment(key);
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                existing.value = value;
+                return;
+            }
+            Node<K, V> node = new Node<>(key, value);
+            node.queue = WINDOW;
+            window.addLast(node);
+            data.put(key, node);
+
+            if (window.size > maxWindow) {
+                Node<K, V> candidate = window.pollFirst();
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+                if (data.size() > maxEntries) {
+                    evictOne(candidate);
+                } else {
+                    admissions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The TinyLFU duel: the window's outgoing candidate against the
+     * probation LRU victim; the less frequent one leaves.
+     */
+    private void evictOne(Node<K, V> candidate) {
+        Node<K, V> victim = probation.peekFirst();
+        if (victim == candidate) {
+            // Probation holds only the candidate; take the protected LRU instead
+            victim = protectedQueue.peekFirst();
+        }
+        if (victim == null || victim == candidate) {
+            remove(candidate);
+            rejections.increment();
+            return;
+        }
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            remove(victim);
+            evictions.increment();
+            admissions.increment();
+        } else {
+            remove(candidate);
+            rejections.increment();
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        queueOf(node).remove(node);
+        data.remove(node.key, node);
+    }
+
+    private AccessDeque<K, V> queueOf(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedQueue;
+        }
+    }
+
+    private static long epochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        /** WINDOW, PROBATION, PROTECTED, or -1 once removed. */
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /** Intrusive doubly-linked list, least recently used first. */
+    private static final class AccessDeque<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = head;
+            if (node != null) {
+                unlink(node);
+            }
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            unlink(node);
+            node.queue = -1;
+        }
+
+        void clear() {
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                node.queue = -1;
+            }
+            head = null;
+            tail = null;
+            size = 0;
+        }
+
+        private void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+    }
+
+    /** Runs on the server: ships only the key and when it changed, never the value. */
+    static final class InvalidationTransformerFactory<K, V>
+            implements Factory<IgniteClosure<CacheEntryEvent<? extends K, ? extends V>, IgniteBiTuple<K, Long>>> {
+        @Override
+        public IgniteClosure<CacheEntryEvent<? extends K, ? extends V>, IgniteBiTuple<K, Long>> create() {
+            return event -> new IgniteBiTuple<>(event.getKey(), epochMicros());
+        }
+    }
+}
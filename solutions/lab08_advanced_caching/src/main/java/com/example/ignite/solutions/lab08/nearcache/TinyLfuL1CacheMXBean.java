@@ -0,0 +1,35 @@
+package com.example.ignite.solutions.lab08.nearcache;
+
+/**
+ * JMX view of a {@link TinyLfuL1Cache}, registered as
+ * com.example.ignite:type=TinyLfuL1Cache,name=&lt;cache name&gt;.
+ *
+ * Invalidation lag is in microseconds, from the change on the server to
+ * its event reaching the L1 cache.
+ */
+public interface TinyLfuL1CacheMXBean {
+
+    String getCacheName();
+
+    int getEntries();
+
+    int getMaxEntries();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRatio();
+
+    long getAdmissions();
+
+    long getAdmissionRejections();
+
+    long getEvictions();
+
+    long getInvalidations();
+
+    double getAverageInvalidationLagMicros();
+
+    long getMaxInvalidationLagMicros();
+}
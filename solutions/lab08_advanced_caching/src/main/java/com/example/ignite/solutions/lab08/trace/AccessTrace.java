@@ -0,0 +1,153 @@
+package com.example.ignite.solutions.lab08.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded sequence of cache accesses, loaded into memory for replay.
+ *
+ * Keys are replaced by dense ids (0, 1, 2, ... in order of first access),
+ * so a trace takes one int and one byte per access whatever the keys are.
+ * The file written by {@link AccessTraceRecorder} is:
+ *
+ *   int   magic 'ATR1'
+ *   varint (id << 2 | op) per access, op 0 = read, 1 = write, 2 = remove
+ *   varint 3 (end), varint distinct keys, byte 1 if the key order follows,
+ *   then per id its rank in the keys' natural order (varints)
+ *
+ * A file cut short (the recorder never closed) still loads, without the
+ * key order.
+ */
+public final class AccessTrace {
+
+    static final int MAGIC = 0x41545231;
+
+    public static final int READ = 0;
+    public static final int WRITE = 1;
+    public static final int REMOVE = 2;
+    static final int END = 3;
+
+    private final int[] keys;
+    private final byte[] ops;
+    private final int distinctKeys;
+    private final int[] ranks;
+    private final int reads;
+
+    private AccessTrace(int[] keys, byte[] ops, int distinctKeys, int[] ranks) {
+        this.keys = keys;
+        this.ops = ops;
+        this.distinctKeys = distinctKeys;
+        this.ranks = ranks;
+        int r = 0;
+        for (byte op : ops) {
+            if (op == READ) {
+                r++;
+            }
+        }
+        this.reads = r;
+    }
+
+    /** Load a trace file. */
+    public static AccessTrace read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an access trace: " + file);
+            }
+            int[] keys = new int[1024];
+            byte[] ops = new byte[1024];
+            int n = 0;
+            int maxId = -1;
+            while (true) {
+                int record;
+                try {
+                    record = readVarint(in);
+                } catch (EOFException e) {
+                    return new AccessTrace(Arrays.copyOf(keys, n), Arrays.copyOf(ops, n), maxId + 1, null);
+                }
+                if ((record & 3) == END) {
+                    break;
+                }
+                if (n == keys.length) {
+                    keys = Arrays.copyOf(keys, n * 2);
+                    ops = Arrays.copyOf(ops, n * 2);
+                }
+                keys[n] = record >>> 2;
+                ops[n] = (byte) (record & 3);
+                maxId = Math.max(maxId, keys[n]);
+                n++;
+            }
+            int distinct = readVarint(in);
+            int[] ranks = null;
+            if (in.readByte() == 1) {
+                ranks = new int[distinct];
+                for (int i = 0; i < distinct; i++) {
+                    ranks[i] = readVarint(in);
+                }
+            }
+            return new AccessTrace(Arrays.copyOf(keys, n), Arrays.copyOf(ops, n), distinct, ranks);
+        }
+    }
+
+    /** Accesses in the trace. */
+    public int size() {
+        return keys.length;
+    }
+
+    public int getReads() {
+        return reads;
+    }
+
+    public int getDistinctKeys() {
+        return distinctKeys;
+    }
+
+    /** Id of the key of access i. */
+    public int key(int i) {
+        return keys[i];
+    }
+
+    /** {@link #READ}, {@link #WRITE} or {@link #REMOVE}. */
+    public int op(int i) {
+        return ops[i];
+    }
+
+    /** Whether the keys' natural order was recorded (needed to replay a sorted policy). */
+    public boolean hasKeyOrder() {
+        return ranks != null;
+    }
+
+    /** Position of the key in the natural order of all recorded keys. */
+    public int rank(int id) {
+        if (ranks == null) {
+            throw new IllegalStateException("The trace has no key order: keys were not Comparable or it was not closed");
+        }
+        return ranks[id];
+    }
+
+    static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.ignite.solutions.lab08.trace;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.lang.IgnitePredicate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lab 08 Optional: Access Trace Recorder
+ *
+ * Records every read, write and remove of one cache seen by this node to
+ * a compact binary file (see {@link AccessTrace}), for replay against
+ * eviction policies with {@link EvictionSimulator}. Accesses come from
+ * local cache events, which the node records only if they are enabled:
+ *
+ *   cfg.setIncludeEventTypes(AccessTraceRecorder.EVENT_TYPES);
+ *
+ * On a server node the events are for the keys that node holds, which is
+ * the access stream its on-heap eviction policy sees; on a client with a
+ * near cache they include the near reads. Run one recorder per node to
+ * size each node.
+ *
+ * Each access costs one to five bytes in the file and a synchronized
+ * append on the thread doing the access; each distinct key stays on the
+ * heap until close() (its id is assigned on first access). Record for a
+ * representative period, not permanently.
+ */
+public class AccessTraceRecorder<K> implements AutoCloseable {
+
+    /** Event types to enable on the node. */
+    public static final int[] EVENT_TYPES = {
+        EventType.EVT_CACHE_OBJECT_READ, EventType.EVT_CACHE_OBJECT_PUT, EventType.EVT_CACHE_OBJECT_REMOVED};
+
+    private final Ignite ignite;
+    private final String cacheName;
+    private final IgnitePredicate<CacheEvent> listener;
+
+    private final DataOutputStream out;
+    private final Map<K, Integer> ids = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private long recorded;
+    private IOException failure;
+    private boolean closed;
+
+    public AccessTraceRecorder(Ignite ignite, String cacheName, Path file) throws IOException {
+        this.ignite = ignite;
+        this.cacheName = cacheName;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(AccessTrace.MAGIC);
+
+        this.listener = event -> {
+            if (cacheName.equals(event.cacheName())) {
+                record(event.key(), op(event.type()));
+            }
+            return true;
+        };
+        ignite.events().localListen(listener, EVENT_TYPES);
+    }
+
+    /** Accesses written so far. */
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    public synchronized int getDistinctKeys() {
+        return keys.size();
+    }
+
+    /** Bytes written so far. */
+    public synchronized long getBytesWritten() {
+        return out.size();
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /** Stop recording and finish the file with the key order. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ignite.events().stopLocalListen(listener, EVENT_TYPES);
+        try {
+            if (failure == null) {
+                AccessTrace.writeVarint(out, AccessTrace.END);
+                AccessTrace.writeVarint(out, keys.size());
+                int[] ranks = ranks();
+                out.writeByte(ranks != null ? 1 : 0);
+                if (ranks != null) {
+                    for (int rank : ranks) {
+                        AccessTrace.writeVarint(out, rank);
+                    }
+                }
+            }
+        } finally {
+            out.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private synchronized void record(K key, int op) {
+        if (closed || failure != null) {
+            return;
+        }
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = keys.size();
+            ids.put(key, id);
+            keys.add(key);
+        }
+        try {
+            AccessTrace.writeVarint(out, id << 2 | op);
+            recorded++;
+        } catch (IOException e) {
+            // Keep the cache running; close() reports the failure
+            failure = e;
+        }
+    }
+
+    /** Rank of each id in the keys' natural order, or null if the keys are not Comparable. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int[] ranks() {
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        try {
+            Arrays.sort(order, (a, b) -> ((Comparable) keys.get(a)).compareTo(keys.get(b)));
+        } catch (ClassCastException e) {
+            return null;
+        }
+        int[] ranks = new int[order.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    private static int op(int eventType) {
+        switch (eventType) {
+            case EventType.EVT_CACHE_OBJECT_READ:
+                return AccessTrace.READ;
+            case EventType.EVT_CACHE_OBJECT_PUT:
+                return AccessTrace.WRITE;
+            default:
+                return AccessTrace.REMOVE;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.ignite.solutions.lab08.trace;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Replays an {@link AccessTrace} against eviction policies at any size,
+ * so a cache can be sized from its real access pattern instead of a
+ * guess. The simulated cache follows an on-heap cache with an eviction
+ * policy:
+ * - a read of a resident key is a hit; any other read is a miss and
+ *   loads the key
+ * - a write makes the key resident; a remove drops it
+ * - when more than maxSize keys are resident, the policy picks a victim
+ *
+ * Policies:
+ * - LRU and FIFO, as LruEvictionPolicy and FifoEvictionPolicy
+ * - SORTED, as SortedEvictionPolicy with the keys' natural order: the
+ *   smallest key goes first (needs a trace with the key order)
+ * - LFU: the key read or written least often since it was loaded goes
+ *   first, the least recent of those on a tie
+ *
+ * Each replay is single-threaded and takes memory proportional to the
+ * distinct keys in the trace.
+ */
+public final class EvictionSimulator {
+
+    /** A policy to replay. */
+    public enum Policy {
+        LRU,
+        FIFO,
+        SORTED,
+        LFU
+    }
+
+    private final AccessTrace trace;
+
+    public EvictionSimulator(AccessTrace trace) {
+        this.trace = trace;
+    }
+
+    /** Fraction of reads that hit a cache of maxSize entries under the policy. */
+    public double hitRatio(Policy policy, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1: " + maxSize);
+        }
+        if (trace.getReads() == 0) {
+            return 0;
+        }
+        SimulatedCache cache = create(policy, maxSize);
+        long hits = 0;
+        for (int i = 0; i < trace.size(); i++) {
+            int key = trace.key(i);
+            switch (trace.op(i)) {
+                case AccessTrace.READ:
+                    if (cache.resident[key]) {
+                        hits++;
+                        cache.touch(key);
+                    } else {
+                        cache.insert(key);
+                    }
+                    break;
+                case AccessTrace.WRITE:
+                    if (cache.resident[key]) {
+                        cache.touch(key);
+                    } else {
+                        cache.insert(key);
+                    }
+                    break;
+                default:
+                    cache.remove(key);
+            }
+        }
+        return (double) hits / trace.getReads();
+    }
+
+    /** Hit ratios of the policy at each size. */
+    public double[] curve(Policy policy, int[] sizes) {
+        double[] ratios = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            ratios[i] = hitRatio(policy, sizes[i]);
+        }
+        return ratios;
+    }
+
+    /** Smallest of the sizes reaching the target hit ratio, or -1 if none does. */
+    public int sizeFor(Policy policy, double targetHitRatio, int[] sizes) {
+        int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        for (int size : sorted) {
+            if (hitRatio(policy, size) >= targetHitRatio) {
+                return size;
+            }
+        }
+        return -1;
+    }
+
+    /** Hit ratio of a cache holding every key: only first reads (and reads after a remove) miss. */
+    public double getMaxHitRatio() {
+        return hitRatio(Policy.FIFO, Math.max(1, trace.getDistinctKeys()));
+    }
+
+    /** About points sizes spaced evenly on a log scale from min to max. */
+    public static int[] sizes(int min, int max, int points) {
+        if (min < 1 || max < min || points < 2) {
+            throw new IllegalArgumentException("Need 1 <= min <= max and points >= 2: " + min + ", " + max + ", " + points);
+        }
+        double step = Math.pow((double) max / min, 1.0 / (points - 1));
+        int[] sizes = new int[points];
+        int n = 0;
+        for (int i = 0; i < points; i++) {
+            int size = i == points - 1 ? max : (int) Math.round(min * Math.pow(step, i));
+            if (n == 0 || size > sizes[n - 1]) {
+                sizes[n++] = size;
+            }
+        }
+        return Arrays.copyOf(sizes, n);
+    }
+
+    private SimulatedCache create(Policy policy, int maxSize) {
+        int keys = trace.getDistinctKeys();
+        switch (policy) {
+            case LRU:
+                return new LinkedCache(keys, maxSize, true);
+            case FIFO:
+                return new LinkedCache(keys, maxSize, false);
+            case SORTED:
+                return new SortedCache(keys, maxSize, trace);
+            default:
+                return new LfuCache(keys, maxSize);
+        }
+    }
+
+    /** Resident set of a simulated cache; ids are the trace's dense key ids. */
+    private abstract static class SimulatedCache {
+        final boolean[] resident;
+        final int maxSize;
+        int size;
+
+        SimulatedCache(int keys, int maxSize) {
+            this.resident = new boolean[keys];
+            this.maxSize = maxSize;
+        }
+
+        void insert(int key) {
+            resident[key] = true;
+            size++;
+            added(key);
+            if (size > maxSize) {
+                int victim = victim();
+                resident[victim] = false;
+                size--;
+                removed(victim);
+            }
+        }
+
+        void remove(int key) {
+            if (resident[key]) {
+                resident[key] = false;
+                size--;
+                removed(key);
+            }
+        }
+
+        /** A resident key was read or written. */
+        abstract void touch(int key);
+
+        abstract void added(int key);
+
+        abstract void removed(int key);
+
+        abstract int victim();
+    }
+
+    /** LRU (moved to the tail on access) or FIFO, as an intrusive doubly linked list. */
+    private static final class LinkedCache extends SimulatedCache {
+        private final boolean accessOrder;
+        private final int[] prev;
+        private final int[] next;
+        private final int head;
+
+        LinkedCache(int keys, int maxSize, boolean accessOrder) {
+            super(keys, maxSize);
+            this.accessOrder = accessOrder;
+            this.prev = new int[keys + 1];
+            this.next = new int[keys + 1];
+            this.head = keys;
+            prev[head] = head;
+            next[head] = head;
+        }
+
+        @Override
+        void touch(int key) {
+            if (accessOrder) {
+                removed(key);
+                added(key);
+            }
+        }
+
+        @Override
+        void added(int key) {
+            int tail = prev[head];
+            next[tail] = key;
+            prev[key] = tail;
+            next[key] = head;
+            prev[head] = key;
+        }
+
+        @Override
+        void removed(int key) {
+            next[prev[key]] = next[key];
+            prev[next[key]] = prev[key];
+        }
+
+        @Override
+        int victim() {
+            return next[head];
+        }
+    }
+
+    /** Smallest key in natural order first. */
+    private static final class SortedCache extends SimulatedCache {
+        private final AccessTrace trace;
+        private final int[] idByRank;
+        private final TreeSet<Integer> ranks = new TreeSet<>();
+
+        SortedCache(int keys, int maxSize, AccessTrace trace) {
+            super(keys, maxSize);
+            this.trace = trace;
+            this.idByRank = new int[keys];
+            for (int id = 0; id < keys; id++) {
+                idByRank[trace.rank(id)] = id;
+            }
+        }
+
+        @Override
+        void touch(int key) {
+            // The order does not depend on access
+        }
+
+        @Override
+        void added(int key) {
+            ranks.add(trace.rank(key));
+        }
+
+        @Override
+        void removed(int key) {
+            ranks.remove(trace.rank(key));
+        }
+
+        @Override
+        int victim() {
+            return idByRank[ranks.first()];
+        }
+    }
+
+    /** Least frequently used since loaded, least recently used on a tie. */
+    private static final class LfuCache extends SimulatedCache {
+        private final int[] frequency;
+        private final long[] order;
+        private final TreeMap<Long, Integer> byOrder = new TreeMap<>();
+        private long sequence;
+
+        LfuCache(int keys, int maxSize) {
+            super(keys, maxSize);
+            this.frequency = new int[keys];
+            this.order = new long[keys];
+        }
+
+        @Override
+        void touch(int key) {
+            byOrder.remove(order[key]);
+            frequency[key] = Math.min(frequency[key] + 1, Integer.MAX_VALUE - 1);
+            enqueue(key);
+        }
+
+        @Override
+        void added(int key) {
+            frequency[key] = 1;
+            enqueue(key);
+        }
+
+        @Override
+        void removed(int key) {
+            byOrder.remove(order[key]);
+        }
+
+        @Override
+        int victim() {
+            return byOrder.firstEntry().getValue();
+        }
+
+        private void enqueue(int key) {
+            // Frequency in the high bits, then access sequence for the tie-break
+            order[key] = (long) frequency[key] << 32 | (sequence++ & 0xffffffffL);
+            byOrder.put(order[key], key);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ignite.solutions.lab10;
 
+import com.example.ignite.solutions.common.ThreadMode;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.client.ClientCache;
@@ -15,7 +16,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -193,7 +193,9 @@ public class Lab10ThinClient {
 
         int numThreads = 5;
         int operationsPerThread = 100;
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        // -Dthread.mode=virtual runs each client on a virtual thread (JDK 21 build)
+        ThreadMode mode = ThreadMode.current();
+        ExecutorService executor = mode.newExecutor(numThreads);
         CountDownLatch latch = new CountDownLatch(numThreads);
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger errorCount = new AtomicInteger(0);
@@ -238,7 +240,7 @@ public class Lab10ThinClient {
         int totalOps = numThreads * operationsPerThread * 2; // put + get
 
         System.out.println("Concurrent access test results:");
-        System.out.println("  Threads: " + numThreads);
+        System.out.println("  Threads: " + numThreads + " (" + mode.name().toLowerCase() + ")");
         System.out.println("  Operations per thread: " + operationsPerThread);
         System.out.println("  Total operations: " + totalOps);
         System.out.println("  Successful: " + successCount.get());
@@ -0,0 +1,162 @@
+package com.example.ignite.solutions.lab10;
+
+import com.example.ignite.solutions.lab10.thinclient.ThinClientNearCache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Lab 10 Optional: Thin Client Near Cache
+ *
+ * Demonstrates:
+ * - Read throughput of a thin client with and without ThinClientNearCache
+ * - The same workload on a thick client with an Ignite near cache
+ * - Invalidation through a continuous query over the thin protocol
+ *
+ * A server node and a thick client node run in this JVM; the thin client
+ * connects to the server on port 10800.
+ */
+public class Lab10ThinClientNearCache {
+
+    private static final int ENTRIES = 10_000;
+    private static final int HOT_KEYS = 500;
+    private static final int NEAR_SIZE = 1_000;
+    private static final int READS = 50_000;
+
+    public static void main(String[] args) {
+        try (Ignite server = Ignition.start(nodeConfig("thin-near-server", false));
+             Ignite thick = Ignition.start(nodeConfig("thin-near-thick-client", true));
+             IgniteClient thin = Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"))) {
+            System.out.println("=== Thin Client Near Cache Lab ===\n");
+
+            IgniteCache<Integer, String> serverCache =
+                server.getOrCreateCache(new CacheConfiguration<Integer, String>("products"));
+            try (IgniteDataStreamer<Integer, String> streamer = server.dataStreamer("products")) {
+                for (int i = 0; i < ENTRIES; i++) {
+                    streamer.addData(i, "Product-" + i);
+                }
+            }
+
+            int[] keys = workload();
+            System.out.println(String.format("Workload: %,d reads, 80%% to %,d hot keys, 20%% over all %,d keys",
+                READS, HOT_KEYS, ENTRIES));
+            System.out.println("Near cache size: " + String.format("%,d", NEAR_SIZE) + " entries, LRU\n");
+
+            // 1. Thin client, every read a round trip
+            ClientCache<Integer, String> thinCache = thin.cache("products");
+            System.out.println("1. Thin client, no near cache:");
+            report(run(keys, thinCache::get), -1);
+
+            // 2. Thin client with ThinClientNearCache
+            System.out.println("\n2. Thin client + ThinClientNearCache:");
+            try (ThinClientNearCache<Integer, String> near = new ThinClientNearCache<>(thinCache, NEAR_SIZE)) {
+                report(run(keys, near::get), near.getHitRatio());
+                System.out.println("   " + near);
+
+                // 3. Thick client with an Ignite near cache
+                System.out.println("\n3. Thick client + Ignite near cache:");
+                NearCacheConfiguration<Integer, String> nearCfg = new NearCacheConfiguration<>();
+                nearCfg.setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(NEAR_SIZE));
+                IgniteCache<Integer, String> thickNear = thick.getOrCreateNearCache("products", nearCfg);
+                int[] thickHits = new int[1];
+                long nanos = run(keys, key -> {
+                    if (thickNear.localPeek(key, CachePeekMode.NEAR) != null) {
+                        thickHits[0]++;
+                    }
+                    return thickNear.get(key);
+                });
+                report(nanos, (double) thickHits[0] / (2 * READS));
+
+                // 4. Invalidation
+                System.out.println("\n4. Server updates 10 hot keys:");
+                int cachedBefore = 0;
+                for (int key = 0; key < 10; key++) {
+                    cachedBefore += near.getIfPresent(key) != null ? 1 : 0;
+                }
+                long invalidationsBefore = near.getInvalidations();
+                for (int key = 0; key < 10; key++) {
+                    serverCache.put(key, "Product-" + key + " (repriced)");
+                }
+                Thread.sleep(200);
+                int cachedAfter = 0;
+                for (int key = 0; key < 10; key++) {
+                    cachedAfter += near.getIfPresent(key) != null ? 1 : 0;
+                }
+                System.out.println("   Cached before: " + cachedBefore + ", after: " + cachedAfter);
+                System.out.println("   Invalidations: " + (near.getInvalidations() - invalidationsBefore));
+                System.out.println("   Next read: " + near.get(0));
+            }
+
+            System.out.println("\n=== Thin Client Near Cache Guidelines ===");
+            System.out.println("- A near cache turns repeated reads of hot keys into local map lookups");
+            System.out.println("- Size it to the hot set; misses still pay the full round trip");
+            System.out.println("- Invalidation is asynchronous: a read may see an old value for a few ms");
+            System.out.println("- After a disconnect the cache is cleared, since updates may have been missed");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Run the workload twice, the first time as a warm-up; returns the nanos of the second run. */
+    private static long run(int[] keys, IntFunction<String> read) {
+        for (int key : keys) {
+            read.apply(key);
+        }
+        long start = System.nanoTime();
+        for (int key : keys) {
+            read.apply(key);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(long nanos, double hitRatio) {
+        System.out.println(String.format("   %,.0f reads/sec, mean %.1f us per read",
+            READS * 1e9 / nanos, nanos / 1000.0 / READS));
+        if (hitRatio >= 0) {
+            System.out.println(String.format("   Hit ratio: %.3f (both runs)", hitRatio));
+        }
+    }
+
+    private static int[] workload() {
+        Random random = new Random(42);
+        int[] keys = new int[READS];
+        for (int i = 0; i < READS; i++) {
+            keys[i] = random.nextInt(100) < 80 ? random.nextInt(HOT_KEYS) : random.nextInt(ENTRIES);
+        }
+        return keys;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name, boolean client) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setClientMode(client);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        if (!client) {
+            cfg.setClientConnectorConfiguration(new ClientConnectorConfiguration().setPort(10800));
+        }
+        return cfg;
+    }
+}
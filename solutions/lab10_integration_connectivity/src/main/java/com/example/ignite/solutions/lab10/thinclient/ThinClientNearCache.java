@@ -0,0 +1,339 @@
+package com.example.ignite.solutions.lab10.thinclient;
+
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.ClientException;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 10 Optional: Near Cache for the Thin Client
+ *
+ * The thin client (IgniteClient/ClientCache) has no near cache, so every
+ * read is a network round trip. ThinClientNearCache keeps recently read
+ * values on the client heap:
+ * - at most maxEntries values; when full, the policy's victim is dropped
+ *   (LRU: least recently read, FIFO: first loaded)
+ * - a continuous query, subscribed through the thin protocol, removes
+ *   every key created, updated, removed or expired on the cluster
+ * - a value loaded on a miss is dropped if its key was invalidated while
+ *   the load was in flight, so a slow read never caches an old value
+ *
+ * If the connection drops, the continuous query ends with it and updates
+ * would go unnoticed, so the cache is cleared and reads go straight to
+ * the cluster until the query has been subscribed again (tried on the
+ * next miss). Loads that started under the lost subscription are not
+ * cached. Null values are not cached; values are shared, not copied.
+ *
+ * Puts through this class write to the cluster and drop the local copy;
+ * the next read loads the stored value. Every other operation goes
+ * through {@link #getCache()} and is not cached.
+ *
+ * Reads take a lock on the local map, which is held only for the map
+ * operation, never during a network call.
+ */
+public class ThinClientNearCache<K, V> implements AutoCloseable {
+
+    /** Which entry to drop when the cache is full. */
+    public enum Eviction {
+        /** Least recently read. */
+        LRU,
+        /** First loaded. */
+        FIFO
+    }
+
+    private final ClientCache<K, V> cache;
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> data;
+    private final ConcurrentHashMap<K, Object> loading = new ConcurrentHashMap<>();
+
+    private volatile QueryCursor<Cache.Entry<K, V>> invalidationCursor;
+    /** Incremented under the data lock each time the subscription is lost. */
+    private volatile long subscription;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+
+    public ThinClientNearCache(ClientCache<K, V> cache, int maxEntries, Eviction eviction) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1: " + maxEntries);
+        }
+        this.cache = cache;
+        this.maxEntries = maxEntries;
+        this.data = new LinkedHashMap<K, V>(16, 0.75f, eviction == Eviction.LRU) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > ThinClientNearCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        // Register before the first read so no update can slip past
+        subscribe();
+    }
+
+    /** LRU near cache. */
+    public ThinClientNearCache(ClientCache<K, V> cache, int maxEntries) {
+        this(cache, maxEntries, Eviction.LRU);
+    }
+
+    /** Cached value, or the cluster value (then cached). */
+    public V get(K key) {
+        V value;
+        synchronized (data) {
+            value = data.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        long loadSubscription = subscription;
+        if (invalidationCursor == null && !subscribe()) {
+            bypassed.increment();
+            return cache.get(key);
+        }
+
+        Object token = new Object();
+        loading.put(key, token);
+        try {
+            value = cache.get(key);
+        } catch (RuntimeException e) {
+            loading.remove(key, token);
+            throw e;
+        }
+        // Invalidation removes the token under the same lock, so a stale load is not cached
+        synchronized (data) {
+            if (loading.remove(key, token) && value != null && subscribed(loadSubscription)) {
+                data.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /** Cached values for the keys, with one getAll for the ones not cached. */
+    public Map<K, V> getAll(Set<? extends K> keys) {
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new HashSet<>();
+        synchronized (data) {
+            for (K key : keys) {
+                V value = data.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        hits.add(result.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long loadSubscription = subscription;
+        if (invalidationCursor == null && !subscribe()) {
+            bypassed.add(missing.size());
+            result.putAll(cache.getAll(missing));
+            return result;
+        }
+
+        Object token = new Object();
+        for (K key : missing) {
+            loading.put(key, token);
+        }
+        Map<K, V> loaded;
+        try {
+            loaded = cache.getAll(missing);
+        } catch (RuntimeException e) {
+            for (K key : missing) {
+                loading.remove(key, token);
+            }
+            throw e;
+        }
+        synchronized (data) {
+            boolean subscribed = subscribed(loadSubscription);
+            for (Map.Entry<K, V> entry : loaded.entrySet()) {
+                if (loading.remove(entry.getKey(), token) && entry.getValue() != null && subscribed) {
+                    data.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (K key : missing) {
+            loading.remove(key, token);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /** Write to the cluster and drop the local copy. */
+    public void put(K key, V value) {
+        cache.put(key, value);
+        invalidate(key);
+    }
+
+    /** Remove from the cluster and drop the local copy. */
+    public boolean remove(K key) {
+        boolean removed = cache.remove(key);
+        invalidate(key);
+        return removed;
+    }
+
+    /** Cached value or null; never goes to the cluster. */
+    public V getIfPresent(K key) {
+        synchronized (data) {
+            return data.get(key);
+        }
+    }
+
+    /** Remove the key from this cache only. */
+    public void invalidate(K key) {
+        synchronized (data) {
+            loading.remove(key);
+            if (data.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /** Drop every cached value; the next reads go to the cluster. */
+    public void clear() {
+        synchronized (data) {
+            loading.clear();
+            data.clear();
+        }
+    }
+
+    public ClientCache<K, V> getCache() {
+        return cache;
+    }
+
+    public int size() {
+        synchronized (data) {
+            return data.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** Misses read without caching because the continuous query was down. */
+    public long getBypassed() {
+        return bypassed.sum();
+    }
+
+    /** Cached entries removed because the cluster copy changed. */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /** Entries dropped to stay within maxEntries. */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** Times the continuous query was lost with the connection. */
+    public long getDisconnects() {
+        return disconnects.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d/%,d entries, hit ratio %.3f (%,d hits, %,d misses), %,d invalidated, " +
+                "%,d evicted, %,d disconnects, %,d bypassed",
+            size(), maxEntries, getHitRatio(), getHits(), getMisses(), getInvalidations(),
+            getEvictions(), getDisconnects(), getBypassed());
+    }
+
+    /** Stop the continuous query and drop the cached values. */
+    @Override
+    public void close() {
+        closed = true;
+        QueryCursor<Cache.Entry<K, V>> cursor = invalidationCursor;
+        invalidationCursor = null;
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (ClientException e) {
+                // The connection is already gone
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Called under the data lock: true if the query that was subscribed
+     * when a load started is still delivering events, so the loaded value
+     * will be invalidated when it changes.
+     */
+    private boolean subscribed(long loadSubscription) {
+        return invalidationCursor != null && subscription == loadSubscription;
+    }
+
+    /** Subscribe the invalidation query; false if the cluster cannot be reached. */
+    private synchronized boolean subscribe() {
+        if (invalidationCursor != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        ContinuousQuery<K, V> query = new ContinuousQuery<>();
+        query.setLocalListener(this::onEvents);
+        // Off by default: without it keys expired on the server stay cached
+        query.setIncludeExpired(true);
+        try {
+            invalidationCursor = cache.query(query, reason -> {
+                // Updates made while disconnected are never delivered
+                synchronized (data) {
+                    invalidationCursor = null;
+                    subscription++;
+                    loading.clear();
+                    data.clear();
+                }
+                disconnects.increment();
+            });
+            return true;
+        } catch (ClientException e) {
+            return false;
+        }
+    }
+
+    private void onEvents(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        for (CacheEntryEvent<? extends K, ? extends V> event : events) {
+            invalidate(event.getKey());
+        }
+    }
+}
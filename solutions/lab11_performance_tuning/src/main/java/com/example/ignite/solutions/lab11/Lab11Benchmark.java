@@ -1,5 +1,6 @@
 package com.example.ignite.solutions.lab11;
 
+import com.example.ignite.solutions.common.ThreadMode;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
@@ -12,7 +13,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -22,8 +22,12 @@ import java.util.concurrent.atomic.AtomicLong;
  * Demonstrates:
  * - Atomic vs Transactional cache performance
  * - Batch operations comparison
- * - Concurrent access benchmarking
+ * - Concurrent access benchmarking (platform or virtual threads)
  * - Throughput measurement
+ *
+ * The timing loops here show the relative cost of each approach during
+ * the lab. For numbers that can be compared between runs, use the JMH
+ * benchmarks module, which adds forks, proper warmup and state setup.
  */
 public class Lab11Benchmark {
 
@@ -125,7 +129,8 @@ public class Lab11Benchmark {
         System.out.println("Transactional PUT: " + txIterations +
             " operations in " + txTime + " ms");
         System.out.println("Throughput: " + (txIterations * 1000L / Math.max(1, txTime)) + " ops/sec");
-        System.out.println("(Note: Transactions have overhead for ACID guarantees)\n");
+        System.out.println("(Note: Transactions have overhead for ACID guarantees;");
+        System.out.println(" Lab11GroupCommit shares one transaction between many small updates)\n");
 
         ignite.destroyCache("txCache");
     }
@@ -188,7 +193,9 @@ public class Lab11Benchmark {
         }
         cache.putAll(initial);
 
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        // -Dthread.mode=virtual runs the callers on virtual threads (JDK 21 build)
+        ThreadMode mode = ThreadMode.current();
+        ExecutorService executor = mode.newExecutor(THREAD_COUNT);
         AtomicLong operations = new AtomicLong(0);
         AtomicLong totalLatency = new AtomicLong(0);
         Random random = new Random();
@@ -227,7 +234,7 @@ public class Lab11Benchmark {
         long concurrentTime = System.currentTimeMillis() - startTime;
         long totalOps = operations.get();
 
-        System.out.println("Threads: " + THREAD_COUNT);
+        System.out.println("Threads: " + THREAD_COUNT + " (" + mode.name().toLowerCase() + ")");
         System.out.println("Total operations: " + totalOps);
         System.out.println("Time: " + concurrentTime + " ms");
         System.out.println("Throughput: " + (totalOps * 1000L / Math.max(1, concurrentTime)) + " ops/sec");
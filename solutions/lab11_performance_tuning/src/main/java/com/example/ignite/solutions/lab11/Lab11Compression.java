@@ -0,0 +1,273 @@
+package com.example.ignite.solutions.lab11;
+
+import com.example.ignite.solutions.lab11.compression.CompressingCache;
+import com.example.ignite.solutions.lab11.compression.CompressionMetrics;
+import com.example.ignite.solutions.lab11.compression.DeflateCompressor;
+import com.example.ignite.solutions.lab11.compression.LzCompressor;
+import com.example.ignite.solutions.lab11.compression.ValueCodec;
+import com.example.ignite.solutions.lab11.compression.ValueCompressor;
+import org.apache.ignite.DataRegionMetrics;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Lab 11 Optional: Compressing Large Cache Values
+ *
+ * Lab11DataRegions fills warm-data-region with 4 KB values until page
+ * eviction starts. This exercise loads the same number of 4 KB JSON
+ * documents into two regions of that size, one with plain byte[] values
+ * and one through a CompressingCache, and compares how many entries each
+ * region keeps. It also compares the LZ and Deflate compressors and shows
+ * a shared dictionary making small documents compressible.
+ */
+public class Lab11Compression {
+
+    private static final int DOCUMENTS = 30_000;
+    private static final int READS = 20_000;
+
+    private static final String[] CITIES = {"New York", "London", "Berlin", "Tokyo", "Sydney", "Toronto"};
+    private static final String[] STATUSES = {"NEW", "PAID", "SHIPPED", "DELIVERED", "RETURNED"};
+    private static final String[] PRODUCTS = {"Laptop", "Monitor", "Keyboard", "Mouse", "Headset",
+        "Webcam", "Docking Station", "USB-C Cable", "Desk Lamp", "Office Chair"};
+    private static final String[] WAREHOUSES = {"WH-EAST-1", "WH-EAST-2", "WH-WEST-1", "WH-EU-1"};
+
+    public static void main(String[] args) {
+        System.out.println("=== Value Compression Lab ===\n");
+
+        try (Ignite ignite = Ignition.start(createConfig())) {
+            Random random = new Random(42);
+            List<byte[]> documents = new ArrayList<>(DOCUMENTS);
+            for (int i = 0; i < DOCUMENTS; i++) {
+                documents.add(document(random, i, 4096).getBytes(StandardCharsets.UTF_8));
+            }
+
+            // 1. Compressors on one document
+            System.out.println("1. Compressing one " + documents.get(0).length + "-byte JSON document:\n");
+            compareCompressors(documents);
+
+            // 2. Same data, same region size
+            System.out.println("\n2. Loading " + String.format("%,d", DOCUMENTS) +
+                " documents into two 128 MB regions (RANDOM_2_LRU, evict at 80%):\n");
+
+            IgniteCache<Integer, byte[]> plain = ignite.getOrCreateCache(
+                new CacheConfiguration<Integer, byte[]>("plainDocs").setDataRegionName("plain-region"));
+            CompressingCache<Integer, byte[]> compressed = new CompressingCache<>(
+                ignite.getOrCreateCache(new CacheConfiguration<Integer, byte[]>("compressedDocs")
+                    .setDataRegionName("compressed-region")), ValueCodec.BYTES)
+                .compressor(new LzCompressor())
+                .threshold(256);
+
+            long plainMillis = load(documents, plain::putAll);
+            long compressedMillis = load(documents, compressed::putAll);
+
+            System.out.println(String.format("   %-12s %10s %10s %12s %10s",
+                "Cache", "Entries", "Evicted", "Allocated", "Load"));
+            printRegion(ignite, "plain", plain.size(), "plain-region", plainMillis);
+            printRegion(ignite, "compressed", compressed.getCache().size(), "compressed-region", compressedMillis);
+
+            // 3. Read cost
+            System.out.println("\n3. Reading " + String.format("%,d", READS) + " random keys:\n");
+            Random keys = new Random(7);
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < READS; i++) {
+                found += plain.get(keys.nextInt(DOCUMENTS)) != null ? 1 : 0;
+            }
+            long plainReadNanos = System.nanoTime() - start;
+
+            keys = new Random(7);
+            start = System.nanoTime();
+            int foundCompressed = 0;
+            for (int i = 0; i < READS; i++) {
+                byte[] document = compressed.get(keys.nextInt(DOCUMENTS));
+                foundCompressed += document != null ? 1 : 0;
+            }
+            long compressedReadNanos = System.nanoTime() - start;
+
+            System.out.println(String.format("   plain:       %6.1f us/get, %,d hits (the rest were evicted)",
+                plainReadNanos / 1000.0 / READS, found));
+            System.out.println(String.format("   compressed:  %6.1f us/get, %,d hits",
+                compressedReadNanos / 1000.0 / READS, foundCompressed));
+
+            CompressionMetrics metrics = compressed.getMetrics();
+            System.out.println("\n   Metrics: " + metrics);
+
+            // 4. Small documents and a shared dictionary
+            System.out.println("\n4. Small (~250-byte) documents, threshold 64 bytes:\n");
+            compareDictionary(ignite, random);
+
+            System.out.println("\n=== Value Compression Guidelines ===");
+            System.out.println("- Compress large, repetitive values (JSON, XML, text); skip media and random data");
+            System.out.println("- LZ is the cheap default; Deflate saves more space for several times the CPU");
+            System.out.println("- Use a shared dictionary for small similar values; version it with the data");
+            System.out.println("- Compressed values are opaque: no SQL, ScanQuery fields or entry processors");
+            System.out.println("- Size regions for the compressed data and watch the ratio metric over time");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteConfiguration createConfig() {
+        DataStorageConfiguration storageCfg = new DataStorageConfiguration();
+        storageCfg.setDataRegionConfigurations(warmRegion("plain-region"), warmRegion("compressed-region"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName("compression-node");
+        cfg.setDataStorageConfiguration(storageCfg);
+        return cfg;
+    }
+
+    /** Same settings as warm-data-region in Lab11DataRegions. */
+    private static DataRegionConfiguration warmRegion(String name) {
+        DataRegionConfiguration region = new DataRegionConfiguration();
+        region.setName(name);
+        region.setInitialSize(64L * 1024 * 1024);
+        region.setMaxSize(128L * 1024 * 1024);
+        region.setPageEvictionMode(DataPageEvictionMode.RANDOM_2_LRU);
+        region.setEvictionThreshold(0.8);
+        region.setMetricsEnabled(true);
+        return region;
+    }
+
+    private static void compareCompressors(List<byte[]> documents) {
+        ValueCompressor[] compressors = {new LzCompressor(), new DeflateCompressor()};
+        String[] names = {"LZ (pure Java)", "Deflate level 1"};
+        System.out.println(String.format("   %-16s %8s %8s %14s %16s",
+            "Compressor", "Bytes", "Ratio", "Compress", "Decompress"));
+
+        for (int c = 0; c < compressors.length; c++) {
+            ValueCompressor compressor = compressors[c];
+            // Warm up the JIT, then time a pass over 2,000 documents
+            for (int i = 0; i < 5; i++) {
+                timePass(compressor, documents);
+            }
+            long[] nanos = timePass(compressor, documents);
+
+            byte[] original = documents.get(0);
+            byte[] packed = compressor.compress(original);
+            if (!Arrays.equals(original, compressor.decompress(packed, original.length))) {
+                throw new IllegalStateException(names[c] + " round trip failed");
+            }
+            System.out.println(String.format("   %-16s %8d %7.1fx %11.1f us %13.1f us",
+                names[c], packed.length, (double) original.length / packed.length,
+                nanos[0] / 1000.0 / 2000, nanos[1] / 1000.0 / 2000));
+        }
+    }
+
+    private static long[] timePass(ValueCompressor compressor, List<byte[]> documents) {
+        byte[][] packed = new byte[2000][];
+        long start = System.nanoTime();
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = compressor.compress(documents.get(i));
+        }
+        long compressNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < packed.length; i++) {
+            compressor.decompress(packed[i], documents.get(i).length);
+        }
+        return new long[] {compressNanos, System.nanoTime() - start};
+    }
+
+    private interface BatchWriter {
+        void write(Map<Integer, byte[]> batch);
+    }
+
+    private static long load(List<byte[]> documents, BatchWriter writer) {
+        long start = System.nanoTime();
+        Map<Integer, byte[]> batch = new TreeMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            batch.put(i, documents.get(i));
+            if (batch.size() == 500) {
+                writer.write(batch);
+                batch = new TreeMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writer.write(batch);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void printRegion(Ignite ignite, String label, int entries, String region, long loadMillis) {
+        DataRegionMetrics metrics = ignite.dataRegionMetrics(region);
+        System.out.println(String.format("   %-12s %,10d %,10d %9.1f MB %7d ms",
+            label, entries, DOCUMENTS - entries,
+            metrics.getTotalAllocatedSize() / (1024.0 * 1024), loadMillis));
+    }
+
+    private static void compareDictionary(Ignite ignite, Random random) {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            samples.add(document(random, 1_000_000 + i, 250).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] dictionary = LzCompressor.dictionaryFrom(samples, 16 * 1024);
+
+        Map<String, CompressingCache<Integer, String>> caches = new HashMap<>();
+        caches.put("no dictionary", new CompressingCache<>(ignite.getOrCreateCache(
+            new CacheConfiguration<Integer, byte[]>("smallDocs")), ValueCodec.UTF8)
+            .compressor(new LzCompressor()).threshold(64));
+        caches.put("dictionary", new CompressingCache<>(ignite.getOrCreateCache(
+            new CacheConfiguration<Integer, byte[]>("smallDocsDict")), ValueCodec.UTF8)
+            .compressor(new LzCompressor(dictionary)).threshold(64));
+
+        for (int i = 0; i < 5_000; i++) {
+            String doc = document(random, i, 250);
+            for (CompressingCache<Integer, String> cache : caches.values()) {
+                cache.put(i, doc);
+            }
+        }
+
+        System.out.println("   Dictionary: " + dictionary.length + " bytes from " + samples.size() + " sample documents");
+        for (String name : new String[] {"no dictionary", "dictionary"}) {
+            CompressionMetrics metrics = caches.get(name).getMetrics();
+            System.out.println(String.format("   %-14s ratio %.2f, %,d incompressible of %,d",
+                name + ":", metrics.getCompressionRatio(), metrics.getIncompressible(), metrics.getWrites()));
+        }
+    }
+
+    /**
+     * An order document in JSON, padded with line items to about the
+     * given size.
+     */
+    private static String document(Random random, int id, int size) {
+        StringBuilder json = new StringBuilder(size + 256);
+        int customer = random.nextInt(10_000);
+        json.append("{\"orderId\":").append(id)
+            .append(",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)]).append('"')
+            .append(",\"customer\":{\"id\":").append(customer)
+            .append(",\"email\":\"customer").append(customer).append("@example.com\"")
+            .append(",\"city\":\"").append(CITIES[random.nextInt(CITIES.length)]).append("\"}")
+            .append(",\"items\":[");
+        for (int line = 0; json.length() < size - 40; line++) {
+            if (line > 0) {
+                json.append(',');
+            }
+            json.append("{\"sku\":\"SKU-").append(10_000 + random.nextInt(90_000)).append('"')
+                .append(",\"product\":\"").append(PRODUCTS[random.nextInt(PRODUCTS.length)]).append('"')
+                .append(",\"quantity\":").append(1 + random.nextInt(5))
+                .append(",\"unitPrice\":").append(random.nextInt(50_000) / 100.0)
+                .append(",\"warehouse\":\"").append(WAREHOUSES[random.nextInt(WAREHOUSES.length)]).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
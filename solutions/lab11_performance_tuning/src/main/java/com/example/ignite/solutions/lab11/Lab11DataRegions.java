@@ -244,6 +244,7 @@ public class Lab11DataRegions {
         System.out.println("   - RANDOM_LRU: General use, low overhead");
         System.out.println("   - RANDOM_2_LRU: Better accuracy, slightly more overhead");
         System.out.println("   - Set evictionThreshold based on workload (0.7-0.9)");
+        System.out.println("   - Large text values: compress them first (Lab11Compression) so they fit");
 
         System.out.println("\n3. REGION SEPARATION:");
         System.out.println("   - Hot data: Small region, fast access, higher eviction threshold");
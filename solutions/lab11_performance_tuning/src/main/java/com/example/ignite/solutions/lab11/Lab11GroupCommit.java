@@ -0,0 +1,207 @@
+package com.example.ignite.solutions.lab11;
+
+import com.example.ignite.solutions.lab11.groupcommit.GroupCommitExecutor;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.apache.ignite.transactions.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lab 11 Optional: Group Commit for Small Transactions
+ *
+ * Lab11Benchmark starts one transaction per put. This exercise runs the
+ * same kind of workload, many threads each adding an amount to a random
+ * account, first with one txStart()/commit() per update and then through
+ * a GroupCommitExecutor that commits the updates arriving together in one
+ * transaction per partition group. It then shows a failing update being
+ * isolated from the rest of its group.
+ *
+ * Two server nodes run in this JVM so that the cache has a backup copy
+ * and every commit involves both nodes.
+ */
+public class Lab11GroupCommit {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final int THREADS = 32;
+    private static final int UPDATES_PER_THREAD = 300;
+
+    public static void main(String[] args) {
+        try (Ignite ignite = Ignition.start(nodeConfig("group-commit-node-1"));
+             Ignite second = Ignition.start(nodeConfig("group-commit-node-2"))) {
+            System.out.println("=== Group Commit Lab ===\n");
+
+            CacheConfiguration<Integer, Long> cfg = new CacheConfiguration<>("accounts");
+            cfg.setCacheMode(CacheMode.PARTITIONED);
+            cfg.setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL);
+            cfg.setBackups(1);
+            IgniteCache<Integer, Long> cache = ignite.getOrCreateCache(cfg);
+
+            Map<Integer, Long> initial = new TreeMap<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                initial.put(i, 1_000L);
+            }
+            cache.putAll(initial);
+
+            ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+            int updates = THREADS * UPDATES_PER_THREAD;
+            System.out.println(THREADS + " threads x " + UPDATES_PER_THREAD +
+                " updates (get + put of one account, +1 each)\n");
+
+            // Warm up both paths
+            run(callers, 50, key -> addInOwnTx(ignite, cache, key));
+            try (GroupCommitExecutor<Integer, Long> warmup = new GroupCommitExecutor<>(ignite, cache)) {
+                run(callers, 50, key -> warmup.submit(key, c -> add(c, key)).join());
+            }
+            long before = total(cache);
+
+            // 1. One transaction per update
+            System.out.println("1. One txStart()/commit() per update:");
+            long millis = run(callers, UPDATES_PER_THREAD, key -> addInOwnTx(ignite, cache, key));
+            System.out.println(String.format("   %,d transactions in %,d ms (%,.0f updates/sec)",
+                updates, millis, updates * 1000.0 / millis));
+            System.out.println("   Total increased by " + String.format("%,d", total(cache) - before));
+
+            // 2. Group commit
+            System.out.println("\n2. GroupCommitExecutor (max 256 per tx, 200 us linger):");
+            before = total(cache);
+            try (GroupCommitExecutor<Integer, Long> executor = new GroupCommitExecutor<>(ignite, cache)) {
+                millis = run(callers, UPDATES_PER_THREAD, key -> executor.submit(key, c -> add(c, key)).join());
+                System.out.println(String.format("   %,d updates in %,d ms (%,.0f updates/sec)",
+                    updates, millis, updates * 1000.0 / millis));
+                System.out.println("   " + executor);
+            }
+            System.out.println("   Total increased by " + String.format("%,d", total(cache) - before));
+
+            // 3. Failure isolation
+            System.out.println("\n3. Ten withdrawals of 600 submitted together, account 3 withdrawn twice:");
+            try (GroupCommitExecutor<Integer, Long> executor = new GroupCommitExecutor<>(ignite, cache)
+                    .maxLingerMicros(50_000)) {
+                cache.put(3, 1_000L);
+                List<CompletableFuture<Long>> futures = new ArrayList<>();
+                for (int key : new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 3}) {
+                    futures.add(executor.submit(key, c -> withdraw(c, key, 600)));
+                }
+                int ok = 0;
+                for (CompletableFuture<Long> future : futures) {
+                    try {
+                        future.join();
+                        ok++;
+                    } catch (CompletionException e) {
+                        System.out.println("   Failed: " + e.getCause().getMessage());
+                    }
+                }
+                System.out.println("   Committed: " + ok + " of " + futures.size());
+                System.out.println("   " + executor);
+                System.out.println("   Account 3 balance: " + cache.get(3));
+            }
+
+            callers.shutdown();
+            callers.awaitTermination(10, TimeUnit.SECONDS);
+
+            System.out.println("\n=== Group Commit Guidelines ===");
+            System.out.println("- Every transaction pays for locks, prepare and commit; share them between updates");
+            System.out.println("- Group by primary node so most transactions involve one primary");
+            System.out.println("- Keep mutations small, key-local and free of side effects outside the cache");
+            System.out.println("- A failed group is retried member by member; one bad update fails alone");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void addInOwnTx(Ignite ignite, IgniteCache<Integer, Long> cache, int key) {
+        try (Transaction tx = ignite.transactions().txStart()) {
+            add(cache, key);
+            tx.commit();
+        }
+    }
+
+    private static Long add(IgniteCache<Integer, Long> cache, int key) {
+        long balance = cache.get(key) + 1;
+        cache.put(key, balance);
+        return balance;
+    }
+
+    private static Long withdraw(IgniteCache<Integer, Long> cache, int key, long amount) {
+        long balance = cache.get(key);
+        if (balance < amount) {
+            throw new IllegalStateException("Insufficient funds in account " + key + ": " + balance);
+        }
+        cache.put(key, balance - amount);
+        return balance - amount;
+    }
+
+    private static long run(ExecutorService callers, int updatesPerThread, KeyTask task) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < updatesPerThread; i++) {
+                    task.run(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return Math.max(1, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long total(IgniteCache<Integer, Long> cache) {
+        long sum = 0;
+        for (int i = 0; i < ACCOUNTS; i += 1000) {
+            Map<Integer, Long> values = cache.getAll(range(i, Math.min(ACCOUNTS, i + 1000)));
+            for (Long value : values.values()) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    private static Set<Integer> range(int from, int to) {
+        Set<Integer> keys = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            keys.add(i);
+        }
+        return keys;
+    }
+
+    private static IgniteConfiguration nodeConfig(String name) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+
+    @FunctionalInterface
+    private interface KeyTask {
+        void run(int key);
+    }
+}
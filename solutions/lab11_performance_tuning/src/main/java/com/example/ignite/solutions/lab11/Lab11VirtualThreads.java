@@ -0,0 +1,202 @@
+package com.example.ignite.solutions.lab11;
+
+import com.example.ignite.solutions.common.ThreadMode;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 11 Optional: Platform vs Virtual Threads
+ *
+ * Demonstrates:
+ * - Thread-per-request callers against a server node over the network
+ * - 10, 1,000 and 10,000 concurrent callers on platform and virtual threads
+ * - Throughput, latency, start-up time and peak platform thread count
+ *
+ * Each caller blocks on every cache call, the way a request handler
+ * does. The server and the client node run in this JVM, but the client's
+ * calls still travel over TCP, so callers spend most of their time
+ * waiting for a response.
+ *
+ * Virtual threads need a build on JDK 21 (the java21 profile) and Ignite's
+ * --add-opens flags at run time; with a Java 11 build only the platform
+ * rows are measured.
+ */
+public class Lab11VirtualThreads {
+
+    private static final int[] CALLERS = {10, 1_000, 10_000};
+    private static final int KEYS = 10_000;
+    private static final long RUN_MILLIS = 5_000;
+
+    public static void main(String[] args) {
+        try (Ignite server = Ignition.start(nodeConfig("vt-server", false));
+             Ignite client = Ignition.start(nodeConfig("vt-client", true))) {
+            System.out.println("=== Platform vs Virtual Threads Lab ===\n");
+
+            server.getOrCreateCache(new CacheConfiguration<Integer, String>("vtCache"));
+            try (IgniteDataStreamer<Integer, String> streamer = server.dataStreamer("vtCache")) {
+                for (int i = 0; i < KEYS; i++) {
+                    streamer.addData(i, "Value-" + i);
+                }
+            }
+            IgniteCache<Integer, String> cache = client.cache("vtCache");
+
+            boolean virtualSupported = ThreadMode.VIRTUAL.isSupported();
+            System.out.println("Java " + Runtime.version().feature() + ", virtual threads " +
+                (virtualSupported ? "available" : "not available (build on JDK 21)"));
+            System.out.println("Each run: " + RUN_MILLIS / 1000 + " s of blocking get (80%) / put (20%) calls " +
+                "from a client node\n");
+
+            // Warm up the JIT and the connections
+            run(cache, ThreadMode.PLATFORM, 10, 2_000, false);
+
+            System.out.println(String.format("%-9s %8s %12s %10s %10s %10s %13s",
+                "Mode", "Callers", "Ops/sec", "Mean", "P99 <=", "Start", "Peak threads"));
+            for (int callers : CALLERS) {
+                run(cache, ThreadMode.PLATFORM, callers, RUN_MILLIS, true);
+                if (virtualSupported) {
+                    run(cache, ThreadMode.VIRTUAL, callers, RUN_MILLIS, true);
+                }
+            }
+
+            System.out.println("\n=== Virtual Thread Guidelines ===");
+            System.out.println("- Virtual threads make thread-per-request cheap, not each request faster");
+            System.out.println("- Throughput is still bounded by the cluster; more callers add queueing");
+            System.out.println("- Platform threads cost memory and start-up time at thousands of callers");
+            System.out.println("- Never pool virtual threads; limit concurrency with a semaphore instead");
+            System.out.println("- Avoid long synchronized blocks around blocking calls (they pin the carrier)");
+
+            System.out.println("\nPress Enter to exit...");
+            System.in.read();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static IgniteConfiguration nodeConfig(String name, boolean clientMode) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration cfg = new IgniteConfiguration();
+        cfg.setIgniteInstanceName(name);
+        cfg.setClientMode(clientMode);
+        cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return cfg;
+    }
+
+    private static void run(IgniteCache<Integer, String> cache, ThreadMode mode, int callers,
+                            long runMillis, boolean print) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        LongAdder operations = new LongAdder();
+        LongAdder totalLatency = new LongAdder();
+        // Bucket i counts latencies in [2^i, 2^(i+1)) ns
+        AtomicLongArray histogram = new AtomicLongArray(64);
+        CountDownLatch ready = new CountDownLatch(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        ExecutorService executor = mode.newExecutor(callers);
+        long startNanos = System.nanoTime();
+        int started = 0;
+        try {
+            for (int c = 0; c < callers; c++) {
+                int seed = c;
+                executor.execute(() -> {
+                    ready.countDown();
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    SplittableRandom random = new SplittableRandom(seed);
+                    while (System.nanoTime() < deadline[0]) {
+                        int key = random.nextInt(KEYS);
+                        long opStart = System.nanoTime();
+                        if (random.nextInt(10) < 2) {
+                            cache.put(key, "Updated-" + key);
+                        } else {
+                            cache.get(key);
+                        }
+                        long latency = System.nanoTime() - opStart;
+                        totalLatency.add(latency);
+                        histogram.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, latency)));
+                        operations.increment();
+                    }
+                });
+                started++;
+            }
+        } catch (OutOfMemoryError e) {
+            // "unable to create native thread": the OS thread limit was hit
+            for (int c = started; c < callers; c++) {
+                ready.countDown();
+            }
+            executor.shutdownNow();
+            if (print) {
+                System.out.println(String.format("%-9s %8d   could not start more than %,d threads",
+                    label(mode), callers, started));
+            }
+            return;
+        }
+        ready.await();
+        long startupNanos = System.nanoTime() - startNanos;
+
+        long runStart = System.nanoTime();
+        deadline[0] = runStart + TimeUnit.MILLISECONDS.toNanos(runMillis);
+        go.countDown();
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - runStart;
+
+        if (!print) {
+            return;
+        }
+        long ops = operations.sum();
+        System.out.println(String.format("%-9s %8d %,12.0f %10s %10s %10s %13d",
+            label(mode), callers, ops * 1e9 / elapsed,
+            formatNanos(ops == 0 ? 0 : totalLatency.sum() / ops),
+            formatNanos(percentileUpperBound(histogram, ops, 0.99)),
+            formatNanos(startupNanos),
+            threads.getPeakThreadCount()));
+    }
+
+    private static long percentileUpperBound(AtomicLongArray histogram, long count, double percentile) {
+        long target = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= target) {
+                return 1L << Math.min(62, i + 1);
+            }
+        }
+        return 0;
+    }
+
+    private static String label(ThreadMode mode) {
+        return mode.name().toLowerCase();
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f us", nanos / 1_000.0);
+        }
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+}
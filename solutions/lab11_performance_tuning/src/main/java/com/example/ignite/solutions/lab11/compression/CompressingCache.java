@@ -0,0 +1,221 @@
+package com.example.ignite.solutions.lab11.compression;
+
+import org.apache.ignite.IgniteCache;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lab 11 Optional: Transparent Value Compression
+ *
+ * Ignite stores values off-heap exactly as marshalled; it does not
+ * compress them in memory (disk page compression only applies to
+ * persistence files). For large, repetitive values such as JSON
+ * documents, compressing on the client before put fits several times
+ * more entries into the same data region, which can remove the need for
+ * page eviction altogether.
+ *
+ * CompressingCache wraps an {@code IgniteCache<K, byte[]>}: values are
+ * converted to bytes by a {@link ValueCodec}, compressed when they are at
+ * least {@code threshold} bytes long, and stored with a small header
+ * recording the format. Reads decompress transparently.
+ *
+ * <pre>
+ * CompressingCache&lt;Integer, String&gt; docs =
+ *     new CompressingCache&lt;&gt;(ignite.cache("docs"), ValueCodec.UTF8)
+ *         .compressor(new LzCompressor())
+ *         .threshold(256);
+ *
+ * docs.put(1, json);
+ * String back = docs.get(1);
+ * System.out.println(docs.getMetrics());
+ * </pre>
+ *
+ * Values that do not shrink are stored as-is, so random or already
+ * compressed data costs one header byte. Every client writing to the
+ * cache must use the same compressor and dictionary; a value written
+ * with another format or dictionary fails on read instead of decoding
+ * to garbage. Stored values are opaque bytes: SQL, ScanQuery filters
+ * and entry processors cannot look inside them.
+ */
+public class CompressingCache<K, V> {
+
+    private static final int STORED = 0;
+    private static final int HAS_DICTIONARY = 0x40;
+    private static final int ID_MASK = 0x3F;
+
+    private final IgniteCache<K, byte[]> cache;
+    private final ValueCodec<V> codec;
+    private final CompressionMetrics metrics;
+
+    private ValueCompressor compressor = new LzCompressor();
+    private int threshold = 256;
+
+    public CompressingCache(IgniteCache<K, byte[]> cache, ValueCodec<V> codec) {
+        this.cache = cache;
+        this.codec = codec;
+        this.metrics = new CompressionMetrics(cache.getName());
+    }
+
+    public CompressingCache<K, V> compressor(ValueCompressor compressor) {
+        int id = compressor.id();
+        if (id < 1 || id > ID_MASK) {
+            throw new IllegalArgumentException("Compressor id must be 1-" + ID_MASK + ": " + id);
+        }
+        this.compressor = compressor;
+        return this;
+    }
+
+    /** Values shorter than this many bytes are stored uncompressed. */
+    public CompressingCache<K, V> threshold(int threshold) {
+        this.threshold = threshold;
+        return this;
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, encode(value));
+    }
+
+    public void putAll(Map<? extends K, ? extends V> values) {
+        // Keeps the caller's key order; pass a sorted map when batches can overlap
+        Map<K, byte[]> encoded = new LinkedHashMap<>();
+        for (Map.Entry<? extends K, ? extends V> entry : values.entrySet()) {
+            encoded.put(entry.getKey(), encode(entry.getValue()));
+        }
+        cache.putAll(encoded);
+    }
+
+    public V get(K key) {
+        byte[] stored = cache.get(key);
+        return stored == null ? null : decode(stored);
+    }
+
+    public Map<K, V> getAll(Set<? extends K> keys) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (Map.Entry<K, byte[]> entry : cache.getAll(keys).entrySet()) {
+            result.put(entry.getKey(), decode(entry.getValue()));
+        }
+        return result;
+    }
+
+    public boolean remove(K key) {
+        return cache.remove(key);
+    }
+
+    /** The underlying cache holding the encoded bytes. */
+    public IgniteCache<K, byte[]> getCache() {
+        return cache;
+    }
+
+    public CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Encode a value the way put stores it, e.g. to load the cache with a
+     * DataStreamer.
+     */
+    public byte[] encode(V value) {
+        byte[] bytes = codec.toBytes(value);
+        if (bytes.length < threshold) {
+            metrics.recordBelowThreshold();
+            return stored(bytes);
+        }
+
+        long start = System.nanoTime();
+        byte[] compressed = compressor.compress(bytes);
+        long nanos = System.nanoTime() - start;
+
+        int dictionaryId = compressor.dictionaryId();
+        int headerLength = 1 + varIntLength(bytes.length) + (dictionaryId != 0 ? 4 : 0);
+        if (headerLength + compressed.length >= bytes.length + 1) {
+            metrics.recordIncompressible(nanos);
+            return stored(bytes);
+        }
+
+        byte[] result = new byte[headerLength + compressed.length];
+        result[0] = (byte) (compressor.id() | (dictionaryId != 0 ? HAS_DICTIONARY : 0));
+        int pos = writeVarInt(result, 1, bytes.length);
+        if (dictionaryId != 0) {
+            result[pos++] = (byte) (dictionaryId >>> 24);
+            result[pos++] = (byte) (dictionaryId >>> 16);
+            result[pos++] = (byte) (dictionaryId >>> 8);
+            result[pos++] = (byte) dictionaryId;
+        }
+        System.arraycopy(compressed, 0, result, pos, compressed.length);
+
+        metrics.recordCompressed(nanos);
+        metrics.recordWrite(bytes.length, result.length);
+        return result;
+    }
+
+    /**
+     * Decode bytes written by encode.
+     */
+    public V decode(byte[] stored) {
+        int header = stored[0] & 0xFF;
+        if (header == STORED) {
+            metrics.recordRead(false, 0);
+            return codec.fromBytes(Arrays.copyOfRange(stored, 1, stored.length));
+        }
+
+        int id = header & ID_MASK;
+        if (id != compressor.id()) {
+            throw new IllegalStateException("Value in " + cache.getName() + " was compressed with format " +
+                id + ", this cache uses " + compressor.id());
+        }
+
+        int originalLength = 0;
+        int shift = 0;
+        int pos = 1;
+        int b;
+        do {
+            b = stored[pos++] & 0xFF;
+            originalLength |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        int dictionaryId = 0;
+        if ((header & HAS_DICTIONARY) != 0) {
+            dictionaryId = (stored[pos] & 0xFF) << 24 | (stored[pos + 1] & 0xFF) << 16 |
+                (stored[pos + 2] & 0xFF) << 8 | (stored[pos + 3] & 0xFF);
+            pos += 4;
+        }
+        if (dictionaryId != compressor.dictionaryId()) {
+            throw new IllegalStateException("Value in " + cache.getName() +
+                " was compressed with a different dictionary");
+        }
+
+        long start = System.nanoTime();
+        byte[] bytes = compressor.decompress(Arrays.copyOfRange(stored, pos, stored.length), originalLength);
+        metrics.recordRead(true, System.nanoTime() - start);
+        return codec.fromBytes(bytes);
+    }
+
+    private byte[] stored(byte[] bytes) {
+        byte[] result = new byte[bytes.length + 1];
+        result[0] = STORED;
+        System.arraycopy(bytes, 0, result, 1, bytes.length);
+        metrics.recordWrite(bytes.length, result.length);
+        return result;
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeVarInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
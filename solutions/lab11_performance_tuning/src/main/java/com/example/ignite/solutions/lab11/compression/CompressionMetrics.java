@@ -0,0 +1,137 @@
+package com.example.ignite.solutions.lab11.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 11 Optional: Compression Metrics for One Cache
+ *
+ * Counts what a {@link CompressingCache} wrote and read. Sizes are the
+ * value bytes before and after encoding, header included; Ignite's own
+ * per-entry overhead (key, version, page layout) is not counted. Times
+ * are measured around the compressor calls on the caller's thread, where
+ * compression is pure CPU work.
+ */
+public class CompressionMetrics {
+
+    private final String cacheName;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder belowThreshold = new LongAdder();
+    private final LongAdder incompressible = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder decompressed = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    CompressionMetrics(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    void recordWrite(int originalLength, int storedLength) {
+        writes.increment();
+        originalBytes.add(originalLength);
+        storedBytes.add(storedLength);
+    }
+
+    void recordCompressed(long nanos) {
+        compressed.increment();
+        compressNanos.add(nanos);
+    }
+
+    void recordBelowThreshold() {
+        belowThreshold.increment();
+    }
+
+    void recordIncompressible(long nanos) {
+        incompressible.increment();
+        compressNanos.add(nanos);
+    }
+
+    void recordRead(boolean wasCompressed, long nanos) {
+        reads.increment();
+        if (wasCompressed) {
+            decompressed.increment();
+            decompressNanos.add(nanos);
+        }
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /** Values written through the cache. */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /** Values stored compressed. */
+    public long getCompressed() {
+        return compressed.sum();
+    }
+
+    /** Values stored as-is because they are smaller than the threshold. */
+    public long getBelowThreshold() {
+        return belowThreshold.sum();
+    }
+
+    /** Values stored as-is because compression did not make them smaller. */
+    public long getIncompressible() {
+        return incompressible.sum();
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes.sum();
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.sum();
+    }
+
+    /** Original size over stored size across all writes; 1.0 before any write. */
+    public double getCompressionRatio() {
+        long stored = storedBytes.sum();
+        return stored == 0 ? 1.0 : (double) originalBytes.sum() / stored;
+    }
+
+    /** Time spent compressing, including attempts that were discarded. */
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    public long getReads() {
+        return reads.sum();
+    }
+
+    public long getDecompressed() {
+        return decompressed.sum();
+    }
+
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+
+    /** Average time per compression attempt, in microseconds. */
+    public double getAverageCompressMicros() {
+        long attempts = compressed.sum() + incompressible.sum();
+        return attempts == 0 ? 0 : compressNanos.sum() / 1000.0 / attempts;
+    }
+
+    /** Average time per decompression, in microseconds. */
+    public double getAverageDecompressMicros() {
+        long count = decompressed.sum();
+        return count == 0 ? 0 : decompressNanos.sum() / 1000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: ratio %.2f, %,d -> %,d bytes, compressed %,d / %,d writes " +
+                "(%,d below threshold, %,d incompressible), compress %.1f us, decompress %.1f us",
+            cacheName, getCompressionRatio(), getOriginalBytes(), getStoredBytes(),
+            getCompressed(), getWrites(), getBelowThreshold(), getIncompressible(),
+            getAverageCompressMicros(), getAverageDecompressMicros());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ignite.solutions.lab11.compression;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Lab 11 Optional: Deflate Compressor
+ *
+ * java.util.zip Deflate (zlib) without the zlib header. Compresses
+ * noticeably better than {@link LzCompressor} thanks to Huffman coding,
+ * and costs several times more CPU, mostly on put. Worth it for large
+ * values that are read rarely. Supports the same kind of preset
+ * dictionary.
+ */
+public class DeflateCompressor implements ValueCompressor {
+
+    public static final int ID = 2;
+
+    private final int level;
+    private final byte[] dictionary;
+    private final int dictionaryId;
+
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    public DeflateCompressor() {
+        this(Deflater.BEST_SPEED, new byte[0]);
+    }
+
+    /**
+     * @param level      1 (fastest) to 9 (smallest)
+     * @param dictionary bytes that typical values share; the last 32 KB
+     *                   are used by Deflate
+     */
+    public DeflateCompressor(int level, byte[] dictionary) {
+        this.level = level;
+        this.dictionary = dictionary.clone();
+        this.dictionaryId = LzCompressor.checksum(this.dictionary);
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(this.level, true));
+    }
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public int dictionaryId() {
+        return dictionaryId;
+    }
+
+    @Override
+    public byte[] compress(byte[] input) {
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        if (dictionary.length > 0) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(input);
+        deflater.finish();
+
+        byte[] out = new byte[input.length + input.length / 1000 + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    @Override
+    public byte[] decompress(byte[] input, int originalLength) {
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        if (dictionary.length > 0) {
+            inflater.setDictionary(dictionary);
+        }
+        inflater.setInput(input);
+
+        byte[] out = new byte[originalLength];
+        try {
+            int length = 0;
+            while (length < originalLength) {
+                int n = inflater.inflate(out, length, originalLength - length);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != originalLength) {
+                throw new IllegalStateException("Corrupt compressed value: decoded " + length +
+                    " bytes, expected " + originalLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed value", e);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.ignite.solutions.lab11.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Lab 11 Optional: Pure-Java LZ Compressor
+ *
+ * A byte-oriented LZ77 compressor in the style of LZ4: a single pass
+ * with a hash table of 4-byte sequences, no entropy coding, and a
+ * decoder that only copies bytes. It compresses less than Deflate but
+ * is several times faster in both directions, which is the right trade
+ * for values that are compressed on every put and decompressed on every
+ * get.
+ *
+ * Each sequence is a token (literal length in the high nibble, match
+ * length - 4 in the low nibble, 15 meaning "more length bytes follow"),
+ * the literals, and a 2-byte little-endian offset back into the data
+ * already decoded. The last sequence has literals only.
+ *
+ * A preset dictionary of up to 64 KB acts as data decoded just before
+ * the value, so matches can point into it. That is what makes small
+ * values compress: a 200-byte JSON document has little repetition of
+ * its own, but shares its field names with every other document.
+ */
+public class LzCompressor implements ValueCompressor {
+
+    public static final int ID = 1;
+
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_BITS = 12;
+    private static final int SKIP_TRIGGER = 6;
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final ThreadLocal<int[]> TABLES =
+        ThreadLocal.withInitial(() -> new int[1 << HASH_BITS]);
+
+    private final byte[] dictionary;
+    private final int dictionaryId;
+    private final int[] dictionaryTable;
+
+    public LzCompressor() {
+        this(new byte[0]);
+    }
+
+    /**
+     * @param dictionary bytes that typical values share; the last 64 KB
+     *                   are used
+     */
+    public LzCompressor(byte[] dictionary) {
+        this.dictionary = dictionary.length > MAX_OFFSET
+            ? Arrays.copyOfRange(dictionary, dictionary.length - MAX_OFFSET, dictionary.length)
+            : dictionary.clone();
+        this.dictionaryId = checksum(this.dictionary);
+
+        // Hash the dictionary once; every compress call starts from a copy
+        this.dictionaryTable = new int[1 << HASH_BITS];
+        for (int i = 0; i + MIN_MATCH <= this.dictionary.length; i++) {
+            dictionaryTable[hash(readInt(this.dictionary, i))] = i + 1;
+        }
+    }
+
+    /**
+     * Build a dictionary from sample values: the samples are concatenated,
+     * most recent last, up to maxSize bytes. Samples near the end are
+     * matched at the shortest offsets, so pass the most typical ones last.
+     */
+    public static byte[] dictionaryFrom(List<byte[]> samples, int maxSize) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int size = 0;
+        int first = samples.size();
+        while (first > 0 && size + samples.get(first - 1).length <= maxSize) {
+            size += samples.get(--first).length;
+        }
+        for (int i = first; i < samples.size(); i++) {
+            out.write(samples.get(i), 0, samples.get(i).length);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public int dictionaryId() {
+        return dictionaryId;
+    }
+
+    @Override
+    public byte[] compress(byte[] input) {
+        int base = dictionary.length;
+        byte[] buf = input;
+        if (base > 0) {
+            buf = new byte[base + input.length];
+            System.arraycopy(dictionary, 0, buf, 0, base);
+            System.arraycopy(input, 0, buf, base, input.length);
+        }
+        int end = buf.length;
+
+        // Table entries are positions + 1, so 0 means empty
+        int[] table = TABLES.get();
+        System.arraycopy(dictionaryTable, 0, table, 0, table.length);
+
+        byte[] out = new byte[input.length + input.length / 255 + 16];
+        int op = 0;
+        int anchor = base;
+        int ip = base;
+
+        while (ip + MIN_MATCH <= end) {
+            int sequence = readInt(buf, ip);
+            int h = hash(sequence);
+            int ref = table[h] - 1;
+            table[h] = ip + 1;
+
+            if (ref < 0 || ip - ref > MAX_OFFSET || readInt(buf, ref) != sequence) {
+                // Step faster through data that does not compress
+                ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+                continue;
+            }
+
+            int length = MIN_MATCH + matchLength(buf, ref + MIN_MATCH, ip + MIN_MATCH, end);
+            while (ip > anchor && ref > 0 && buf[ip - 1] == buf[ref - 1]) {
+                ip--;
+                ref--;
+                length++;
+            }
+
+            op = writeSequence(out, op, buf, anchor, ip - anchor, ip - ref, length);
+            ip += length;
+            anchor = ip;
+
+            if (ip - 2 >= base && ip + 2 <= end) {
+                table[hash(readInt(buf, ip - 2))] = ip - 2 + 1;
+            }
+        }
+
+        op = writeLiterals(out, op, buf, anchor, end - anchor);
+        return Arrays.copyOf(out, op);
+    }
+
+    @Override
+    public byte[] decompress(byte[] input, int originalLength) {
+        int base = dictionary.length;
+        byte[] out = new byte[base + originalLength];
+        System.arraycopy(dictionary, 0, out, 0, base);
+        int op = base;
+        int ip = 0;
+
+        try {
+            while (true) {
+                int token = input[ip++] & 0xFF;
+
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = input[ip++] & 0xFF;
+                        literals += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(input, ip, out, op, literals);
+                ip += literals;
+                op += literals;
+                if (ip >= input.length) {
+                    break;
+                }
+
+                int offset = (input[ip++] & 0xFF) | (input[ip++] & 0xFF) << 8;
+                int length = token & 15;
+                if (length == 15) {
+                    int b;
+                    do {
+                        b = input[ip++] & 0xFF;
+                        length += b;
+                    } while (b == 255);
+                }
+                length += MIN_MATCH;
+
+                int ref = op - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IllegalStateException("Corrupt compressed value: bad offset " + offset);
+                }
+                if (offset >= length) {
+                    System.arraycopy(out, ref, out, op, length);
+                } else {
+                    // Overlapping match, e.g. a run of one repeated byte
+                    for (int i = 0; i < length; i++) {
+                        out[op + i] = out[ref + i];
+                    }
+                }
+                op += length;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Corrupt compressed value", e);
+        }
+
+        if (op != out.length) {
+            throw new IllegalStateException("Corrupt compressed value: decoded " + (op - base) +
+                " bytes, expected " + originalLength);
+        }
+        return base == 0 ? out : Arrays.copyOfRange(out, base, out.length);
+    }
+
+    private static int writeSequence(byte[] out, int op, byte[] buf, int anchor, int literals,
+                                     int offset, int length) {
+        int token = op;
+        op = writeLiterals(out, op, buf, anchor, literals);
+        out[op++] = (byte) offset;
+        out[op++] = (byte) (offset >>> 8);
+
+        int matchLength = length - MIN_MATCH;
+        if (matchLength >= 15) {
+            out[token] |= 15;
+            op = writeLength(out, op, matchLength - 15);
+        } else {
+            out[token] |= (byte) matchLength;
+        }
+        return op;
+    }
+
+    private static int writeLiterals(byte[] out, int op, byte[] buf, int anchor, int literals) {
+        int token = op++;
+        if (literals >= 15) {
+            out[token] = (byte) (15 << 4);
+            op = writeLength(out, op, literals - 15);
+        } else {
+            out[token] = (byte) (literals << 4);
+        }
+        System.arraycopy(buf, anchor, out, op, literals);
+        return op + literals;
+    }
+
+    private static int writeLength(byte[] out, int op, int length) {
+        while (length >= 255) {
+            out[op++] = (byte) 255;
+            length -= 255;
+        }
+        out[op++] = (byte) length;
+        return op;
+    }
+
+    /**
+     * Number of equal bytes at ref and ip, compared 8 at a time.
+     */
+    private static int matchLength(byte[] buf, int ref, int ip, int end) {
+        int start = ip;
+        while (ip + 8 <= end) {
+            long diff = (long) LONG.get(buf, ref) ^ (long) LONG.get(buf, ip);
+            if (diff != 0) {
+                return ip - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+            ip += 8;
+            ref += 8;
+        }
+        while (ip < end && buf[ref] == buf[ip]) {
+            ip++;
+            ref++;
+        }
+        return ip - start;
+    }
+
+    private static int readInt(byte[] buf, int i) {
+        return (int) INT.get(buf, i);
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_BITS);
+    }
+
+    static int checksum(byte[] dictionary) {
+        if (dictionary.length == 0) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dictionary);
+        int id = (int) crc.getValue();
+        return id == 0 ? 1 : id;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ignite.solutions.lab11.compression;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lab 11 Optional: Value to Bytes Conversion
+ *
+ * Turns the application's value type into the bytes that
+ * {@link CompressingCache} compresses. Bytes and UTF-8 strings are
+ * provided; for domain objects, plug in JSON, protobuf or any other
+ * encoding the application already has.
+ */
+public interface ValueCodec<V> {
+
+    ValueCodec<byte[]> BYTES = new ValueCodec<byte[]>() {
+        @Override
+        public byte[] toBytes(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] fromBytes(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    ValueCodec<String> UTF8 = new ValueCodec<String>() {
+        @Override
+        public byte[] toBytes(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String fromBytes(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    byte[] toBytes(V value);
+
+    V fromBytes(byte[] bytes);
+}
@@ -0,0 +1,30 @@
+package com.example.ignite.solutions.lab11.compression;
+
+/**
+ * Lab 11 Optional: Compression Algorithm for Cache Values
+ *
+ * Implementations must be thread-safe: one instance serves every thread
+ * using a {@link CompressingCache}. The id and dictionary id are written
+ * into each compressed value, so a value is never decoded with the wrong
+ * algorithm or dictionary.
+ */
+public interface ValueCompressor {
+
+    /**
+     * Format id stored in the value header, 1 to 63, unique per
+     * algorithm.
+     */
+    int id();
+
+    /**
+     * Checksum of the preset dictionary, or 0 when there is none.
+     */
+    int dictionaryId();
+
+    byte[] compress(byte[] input);
+
+    /**
+     * @param originalLength length of the input passed to compress
+     */
+    byte[] decompress(byte[] input, int originalLength);
+}
@@ -0,0 +1,487 @@
+package com.example.ignite.solutions.lab11.groupcommit;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.transactions.Transaction;
+import org.apache.ignite.transactions.TransactionConcurrency;
+import org.apache.ignite.transactions.TransactionIsolation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lab 11 Optional: Group-Commit Transaction Executor
+ *
+ * A service that wraps every small update in its own txStart()/commit()
+ * pays a full transaction round trip (lock, prepare, commit) per update.
+ * GroupCommitExecutor lets callers keep submitting single updates, and
+ * commits many of them in one transaction:
+ * - each mutation is routed by its key to a partition group, the
+ *   partitions whose primary copy is on the same node; a transaction on
+ *   one primary node can use Ignite's one-phase commit
+ * - each group runs at most one transaction at a time; mutations that
+ *   arrive while it commits form the next transaction, so the busier the
+ *   group, the larger its transactions (classic group commit)
+ * - an idle group waits up to maxLingerMicros for company, and a
+ *   transaction never holds more than maxBatchSize mutations
+ * - each caller's future completes after the transaction that carried
+ *   its mutation has committed
+ *
+ * If a group transaction fails, whether a mutation threw (an Error
+ * included), a lock timed out or the commit failed, it is rolled back
+ * and every member is retried alone in its own transaction. One bad
+ * update then fails only its own future, and the others still commit.
+ *
+ * <pre>
+ * GroupCommitExecutor&lt;Integer, Long&gt; executor = new GroupCommitExecutor&lt;&gt;(ignite, accounts);
+ * executor.submit(accountId, cache -&gt; {
+ *     long balance = cache.get(accountId);
+ *     cache.put(accountId, balance + amount);
+ *     return balance + amount;
+ * }).join();
+ * </pre>
+ *
+ * Transactions are PESSIMISTIC / REPEATABLE_READ. A group transaction
+ * locks all of its keys with one getAll before running the mutations,
+ * ordered by key when keys are Comparable, so concurrent groups and
+ * other writers lock keys in a consistent order. Mutations for the same
+ * key keep their submission order. Futures complete on the executor's
+ * commit threads; do not block in dependent stages.
+ */
+public class GroupCommitExecutor<K, V> implements AutoCloseable {
+
+    private final Ignite ignite;
+    private final IgniteCache<K, V> cache;
+    private final Affinity<K> affinity;
+
+    private int maxBatchSize = 256;
+    private long maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(200);
+    private long txTimeoutMillis = 5000;
+
+    private final ExecutorService committers;
+    private final ScheduledExecutorService lingerTimer;
+    private final ConcurrentMap<UUID, Group> groups = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder groupFailures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean closed;
+
+    public GroupCommitExecutor(Ignite ignite, IgniteCache<K, V> cache) {
+        this.ignite = ignite;
+        this.cache = cache;
+        this.affinity = ignite.affinity(cache.getName());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.committers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "group-commit-" + cache.getName() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "group-commit-linger-" + cache.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Most mutations in one transaction. Default 256. */
+    public GroupCommitExecutor<K, V> maxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /** How long an idle group waits for more mutations. Default 200 us. */
+    public GroupCommitExecutor<K, V> maxLingerMicros(long maxLingerMicros) {
+        if (maxLingerMicros < 0) {
+            throw new IllegalArgumentException("maxLingerMicros must not be negative: " + maxLingerMicros);
+        }
+        this.maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(maxLingerMicros);
+        return this;
+    }
+
+    /** Timeout of each group and retry transaction. Default 5000 ms. */
+    public GroupCommitExecutor<K, V> txTimeoutMillis(long txTimeoutMillis) {
+        if (txTimeoutMillis < 0) {
+            throw new IllegalArgumentException("txTimeoutMillis must not be negative: " + txTimeoutMillis);
+        }
+        this.txTimeoutMillis = txTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Queue a mutation of the given key; the future completes with its
+     * result once the transaction carrying it has committed.
+     */
+    public <T> CompletableFuture<T> submit(K key, TxMutation<K, V, T> mutation) {
+        checkOpen();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // Checks closed again under the group lock, so close() cannot miss it
+        groupFor(key).add(new Member<>(key, mutation, future));
+        submitted.increment();
+        return future;
+    }
+
+    /** Queue a transactional put. */
+    public CompletableFuture<Void> putAsync(K key, V value) {
+        return submit(key, c -> {
+            c.put(key, value);
+            return null;
+        });
+    }
+
+    /** Blocking put; waits for the commit of the transaction carrying it. */
+    public void put(K key, V value) {
+        join(putAsync(key, value));
+    }
+
+    /** Mutations submitted so far. */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /** Group and retry transactions committed or rolled back. */
+    public long getTransactions() {
+        return transactions.sum();
+    }
+
+    /** Group transactions that failed and were split into retries. */
+    public long getGroupFailures() {
+        return groupFailures.sum();
+    }
+
+    /** Mutations retried alone after their group failed. */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /** Mutations whose future failed. */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Mutations per group transaction, retries not counted. */
+    public double getAverageBatchSize() {
+        long groupTx = transactions.sum() - retries.sum();
+        return groupTx <= 0 ? 0 : (double) submitted.sum() / groupTx;
+    }
+
+    public IgniteCache<K, V> getCache() {
+        return cache;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d mutations in %,d transactions (avg %.1f per group tx), " +
+                "%d group failures, %d retries, %d failed",
+            getSubmitted(), getTransactions(), getAverageBatchSize(),
+            getGroupFailures(), getRetries(), getFailed());
+    }
+
+    /**
+     * Commit everything queued, wait for it, and stop the threads.
+     * Submissions racing with close() either make it into the final
+     * transactions or throw IllegalStateException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Group group : groups.values()) {
+            group.lingerExpired(-1);
+        }
+        committers.shutdown();
+        try {
+            committers.awaitTermination(txTimeoutMillis * 2 + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lingerTimer.shutdown();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("GroupCommitExecutor is closed: " + cache.getName());
+        }
+    }
+
+    private Group groupFor(K key) {
+        // Only an optimisation: after a topology change a transaction may
+        // span two primaries, which is slower but still correct
+        ClusterNode node = affinity.mapKeyToNode(key);
+        UUID nodeId = node != null ? node.id() : new UUID(0, 0);
+        return groups.computeIfAbsent(nodeId, id -> new Group());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pending mutations of one partition group, and whether its
+     * transaction is running.
+     */
+    private class Group {
+        private List<Member<K, V, ?>> pending = new ArrayList<>();
+        private boolean running;
+
+        /** Incremented whenever a batch is taken so a stale linger task does nothing. */
+        private long generation;
+        private ScheduledFuture<?> lingerTask;
+
+        void add(Member<K, V, ?> member) {
+            boolean start = false;
+            synchronized (this) {
+                // close() sets closed before it flushes each group under this lock
+                checkOpen();
+                pending.add(member);
+                if (!running) {
+                    if (pending.size() >= maxBatchSize || maxLingerNanos == 0) {
+                        running = true;
+                        start = true;
+                    } else if (pending.size() == 1) {
+                        long scheduledGeneration = generation;
+                        lingerTask = lingerTimer.schedule(() -> lingerExpired(scheduledGeneration),
+                            maxLingerNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            if (start) {
+                start();
+            }
+        }
+
+        /**
+         * Start a transaction for what is pending. A non-negative generation
+         * comes from a linger task and only applies to the batch it was
+         * scheduled for.
+         */
+        void lingerExpired(long expectedGeneration) {
+            synchronized (this) {
+                if (running || pending.isEmpty() ||
+                        (expectedGeneration >= 0 && expectedGeneration != generation)) {
+                    return;
+                }
+                running = true;
+            }
+            start();
+        }
+
+        /** Run drain on a commit thread; running has just been set. */
+        private void start() {
+            try {
+                committers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shut down by close(): nothing will commit what is pending
+                List<Member<K, V, ?>> orphans;
+                synchronized (this) {
+                    orphans = pending;
+                    pending = new ArrayList<>();
+                    running = false;
+                }
+                for (Member<K, V, ?> member : orphans) {
+                    member.fail(new IllegalStateException("GroupCommitExecutor is closed: " + cache.getName()));
+                    failed.increment();
+                }
+            }
+        }
+
+        /** Commit batches until nothing is pending. */
+        private void drain() {
+            boolean finished = false;
+            try {
+                drainBatches();
+                finished = true;
+            } finally {
+                if (!finished) {
+                    // Never leave the group marked running, or nothing would commit for it again
+                    boolean restart;
+                    synchronized (this) {
+                        restart = !pending.isEmpty();
+                        running = restart;
+                    }
+                    if (restart) {
+                        start();
+                    }
+                }
+            }
+        }
+
+        private void drainBatches() {
+            while (true) {
+                List<Member<K, V, ?>> batch;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        running = false;
+                        return;
+                    }
+                    if (pending.size() <= maxBatchSize) {
+                        batch = pending;
+                        pending = new ArrayList<>();
+                    } else {
+                        batch = new ArrayList<>(pending.subList(0, maxBatchSize));
+                        pending = new ArrayList<>(pending.subList(maxBatchSize, pending.size()));
+                    }
+                    generation++;
+                    if (lingerTask != null) {
+                        lingerTask.cancel(false);
+                        lingerTask = null;
+                    }
+                }
+                commit(batch);
+            }
+        }
+    }
+
+    private void commit(List<Member<K, V, ?>> batch) {
+        orderByKey(batch);
+
+        List<Object> results = new ArrayList<>(batch.size());
+        try (Transaction tx = txStart(batch.size())) {
+            if (batch.size() > 1) {
+                lockAll(batch);
+            }
+            for (Member<K, V, ?> member : batch) {
+                results.add(member.mutation.apply(cache));
+            }
+            tx.commit();
+        } catch (Throwable e) {
+            // Errors too: a member left without a failed future would wait forever
+            transactions.increment();
+            if (batch.size() == 1) {
+                batch.get(0).fail(e);
+                failed.increment();
+            } else {
+                groupFailures.increment();
+                for (Member<K, V, ?> member : batch) {
+                    retryAlone(member);
+                }
+            }
+            return;
+        }
+        transactions.increment();
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results.get(i));
+        }
+    }
+
+    /**
+     * A pessimistic read locks its key, so one getAll locks every key of the
+     * batch in one request per node instead of one per mutation. The
+     * mutations then read the values from the transaction. A sorted set
+     * when keys are Comparable, so every transaction locks in key order
+     * (Ignite warns about unordered collections in pessimistic
+     * transactions); otherwise keys are locked in submission order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void lockAll(List<Member<K, V, ?>> batch) {
+        Set<K> keys = new LinkedHashSet<>();
+        boolean comparable = true;
+        for (Member<K, V, ?> member : batch) {
+            keys.add(member.key);
+            comparable &= member.key instanceof Comparable;
+        }
+        if (comparable) {
+            try {
+                keys = new TreeSet(keys);
+            } catch (ClassCastException e) {
+                // Mixed key types that are not mutually comparable
+            }
+        }
+        cache.getAll(keys);
+    }
+
+    private void retryAlone(Member<K, V, ?> member) {
+        retries.increment();
+        transactions.increment();
+        Object result;
+        try (Transaction tx = txStart(1)) {
+            result = member.mutation.apply(cache);
+            tx.commit();
+        } catch (Throwable e) {
+            member.fail(e);
+            failed.increment();
+            return;
+        }
+        member.complete(result);
+    }
+
+    private Transaction txStart(int size) {
+        return ignite.transactions().txStart(TransactionConcurrency.PESSIMISTIC,
+            TransactionIsolation.REPEATABLE_READ, txTimeoutMillis, size);
+    }
+
+    /**
+     * Stable sort by key when keys are Comparable, so locks are taken in
+     * the same order by every transaction and mutations of one key keep
+     * their order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> void orderByKey(List<Member<K, V, ?>> batch) {
+        for (Member<K, V, ?> member : batch) {
+            if (!(member.key instanceof Comparable)) {
+                return;
+            }
+        }
+        try {
+            batch.sort(Comparator.comparing(m -> (Comparable) m.key));
+        } catch (ClassCastException e) {
+            // Mixed key types that are not mutually comparable
+        }
+    }
+
+    private static final class Member<K, V, T> {
+        final K key;
+        final TxMutation<K, V, T> mutation;
+        final CompletableFuture<T> future;
+
+        Member(K key, TxMutation<K, V, T> mutation, CompletableFuture<T> future) {
+            this.key = key;
+            this.mutation = mutation;
+            this.future = future;
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object result) {
+            future.complete((T) result);
+        }
+
+        void fail(Throwable error) {
+            future.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ignite.solutions.lab11.groupcommit;
+
+import org.apache.ignite.IgniteCache;
+
+/**
+ * Lab 11 Optional: One Small Transactional Update
+ *
+ * Runs inside a transaction started by {@link GroupCommitExecutor},
+ * together with other callers' mutations. It should read and write its
+ * own key only, and have no side effects outside the cache: if the group
+ * transaction fails, it is rolled back and the mutation runs again in a
+ * transaction of its own.
+ */
+@FunctionalInterface
+public interface TxMutation<K, V, T> {
+
+    /**
+     * Apply the update. Throwing rolls back the group transaction; the
+     * mutation is then retried alone and its future fails with the
+     * exception of that second run.
+     */
+    T apply(IgniteCache<K, V> cache);
+}